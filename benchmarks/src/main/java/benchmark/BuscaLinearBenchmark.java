@@ -0,0 +1,106 @@
+package benchmark;
+
+import model.Conta;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Linha de base do {@link ContaRepositoryBenchmark}: as mesmas buscas e listagens como o
+ * repositório original as fazia, com as contas em um {@link HashMap} por ID e as buscas por
+ * CPF e nome e a ordenação percorrendo todas as contas a cada chamada.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx16g")
+@State(Scope.Benchmark)
+public class BuscaLinearBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000", "5000000"})
+    private int contas;
+
+    private Map<String, Conta> contasPorId;
+    private String[] ids;
+    private String[] cpfs;
+
+    @Setup
+    public void popular() {
+        List<Conta> criadas = DadosBenchmark.criarContas(contas);
+        contasPorId = new HashMap<>();
+        ids = new String[contas];
+        cpfs = new String[contas];
+        for (int i = 0; i < contas; i++) {
+            Conta conta = criadas.get(i);
+            contasPorId.put(conta.getId(), conta);
+            ids[i] = conta.getId();
+            cpfs[i] = conta.getCliente().getCpf();
+        }
+    }
+
+    @Benchmark
+    public Optional<Conta> buscarPorId() {
+        return Optional.ofNullable(contasPorId.get(ids[ThreadLocalRandom.current().nextInt(contas)]));
+    }
+
+    @Benchmark
+    public Optional<Conta> buscarPorCpf() {
+        String cpfLimpo = cpfs[ThreadLocalRandom.current().nextInt(contas)].replaceAll("[^0-9]", "");
+        return contasPorId.values().stream()
+                .filter(conta -> conta.getCliente().getCpf().equals(cpfLimpo))
+                .findFirst();
+    }
+
+    @Benchmark
+    public List<Conta> buscarPorNome() {
+        return filtrarPorNome(DadosBenchmark.nome(ThreadLocalRandom.current().nextInt(contas)));
+    }
+
+    @Benchmark
+    public List<Conta> buscarPorParteDoNome() {
+        return filtrarPorNome("arvalh");
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<Conta> listarTodasOrdenadas() {
+        return ordenarPorNome();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<Conta> listarPaginaDoMeio() {
+        List<Conta> ordenadas = ordenarPorNome();
+        return ordenadas.subList(contas / 2, Math.min(contas / 2 + 20, ordenadas.size()));
+    }
+
+    private List<Conta> filtrarPorNome(String nome) {
+        String nomeBusca = nome.trim().toLowerCase();
+        return contasPorId.values().stream()
+                .filter(conta -> conta.getCliente().getNome().toLowerCase().contains(nomeBusca))
+                .collect(Collectors.toList());
+    }
+
+    private List<Conta> ordenarPorNome() {
+        return contasPorId.values().stream()
+                .sorted(Comparator.comparing(conta -> conta.getCliente().getNome()))
+                .collect(Collectors.toList());
+    }
+}
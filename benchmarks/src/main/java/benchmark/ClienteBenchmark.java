@@ -0,0 +1,162 @@
+package benchmark;
+
+import model.Cliente;
+import model.Cpf;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Criação de clientes, dominada pela normalização e validação do CPF.
+ * Cada medição do caminho atual tem um par {@code *ComRegex*} que reproduz a validação
+ * anterior, com expressões regulares, para comparação com a leitura em uma passada de
+ * {@link Cpf}; a criação anterior de clientes é reproduzida por {@link ClienteComRegex}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ClienteBenchmark {
+    private String nome = "João da Silva";
+    private String cpf = "11144477735";
+    private String cpfFormatado = "111.444.777-35";
+    private String cpfInvalido = "11144477736";
+
+    @Benchmark
+    public Cliente criarComCpfSemFormatacao() {
+        return new Cliente(nome, cpf);
+    }
+
+    @Benchmark
+    public Object criarComRegexCpfSemFormatacao() {
+        return new ClienteComRegex(nome, cpf);
+    }
+
+    @Benchmark
+    public Cliente criarComCpfFormatado() {
+        return new Cliente(nome, cpfFormatado);
+    }
+
+    @Benchmark
+    public Object criarComRegexCpfFormatado() {
+        return new ClienteComRegex(nome, cpfFormatado);
+    }
+
+    @Benchmark
+    public Object rejeitarCpfInvalido() {
+        try {
+            return new Cliente(nome, cpfInvalido);
+        } catch (IllegalArgumentException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object rejeitarComRegexCpfInvalido() {
+        try {
+            return new ClienteComRegex(nome, cpfInvalido);
+        } catch (IllegalArgumentException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public long validarCpfSemFormatacao() {
+        return Cpf.converter(cpf);
+    }
+
+    @Benchmark
+    public boolean validarComRegexCpfSemFormatacao() {
+        return validarComRegex(cpf);
+    }
+
+    @Benchmark
+    public long validarCpfInvalido() {
+        return Cpf.converter(cpfInvalido);
+    }
+
+    @Benchmark
+    public boolean validarComRegexCpfInvalido() {
+        return validarComRegex(cpfInvalido);
+    }
+
+    @Benchmark
+    public long validarCpfFormatado() {
+        return Cpf.converter(cpfFormatado);
+    }
+
+    @Benchmark
+    public boolean validarComRegexCpfFormatado() {
+        return validarComRegex(cpfFormatado);
+    }
+
+    @Benchmark
+    public String normalizarCpfSemFormatacao() {
+        return Cpf.normalizar(cpf);
+    }
+
+    @Benchmark
+    public String normalizarComRegexCpfSemFormatacao() {
+        return validarComRegex(cpf) ? cpf.replaceAll("[^0-9]", "") : null;
+    }
+
+    private static boolean validarComRegex(String cpf) {
+        if (cpf == null) {
+            return false;
+        }
+
+        cpf = cpf.replaceAll("[^0-9]", "");
+        if (cpf.length() != 11 || cpf.matches("(\\d)\\1{10}")) {
+            return false;
+        }
+
+        int soma = 0;
+        for (int i = 0; i < 9; i++) {
+            soma += Character.getNumericValue(cpf.charAt(i)) * (10 - i);
+        }
+        int primeiroDigito = 11 - (soma % 11);
+        if (primeiroDigito >= 10) {
+            primeiroDigito = 0;
+        }
+        soma = 0;
+        for (int i = 0; i < 10; i++) {
+            soma += Character.getNumericValue(cpf.charAt(i)) * (11 - i);
+        }
+        int segundoDigito = 11 - (soma % 11);
+        if (segundoDigito >= 10) {
+            segundoDigito = 0;
+        }
+        return Character.getNumericValue(cpf.charAt(9)) == primeiroDigito
+                && Character.getNumericValue(cpf.charAt(10)) == segundoDigito;
+    }
+
+    /**
+     * Cliente como era criado antes de {@link Cpf}: valida com {@link #validarComRegex} e
+     * remove a formatação com outra expressão regular.
+     */
+    private static final class ClienteComRegex {
+        private final String nome;
+        private final String cpf;
+
+        ClienteComRegex(String nome, String cpf) {
+            if (nome == null || nome.trim().isEmpty()) {
+                throw new IllegalArgumentException("Nome não pode ser vazio");
+            }
+            if (!validarComRegex(cpf)) {
+                throw new IllegalArgumentException("CPF inválido");
+            }
+
+            this.nome = nome.trim();
+            this.cpf = cpf.replaceAll("[^0-9]", "");
+        }
+    }
+}
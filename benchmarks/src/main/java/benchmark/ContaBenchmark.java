@@ -0,0 +1,102 @@
+package benchmark;
+
+import model.AlocadorIds;
+import model.Cliente;
+import model.Conta;
+import model.SaldoCentavos;
+import model.SaldoVersionado;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Depósitos e saques em uma conta, sem disputa e com várias threads na mesma conta, comparados
+ * com as mesmas operações em um {@link SaldoCentavos}, que atualiza um {@code long} sem alocar.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContaBenchmark {
+    private static final BigDecimal VALOR = new BigDecimal("10.00");
+    private static final long VALOR_CENTAVOS = 10_00L;
+
+    @State(Scope.Thread)
+    public static class ContaPropria {
+        Conta conta;
+
+        @Setup
+        public void criar() {
+            conta = new Conta(new Cliente("João da Silva", "11144477735"), AlocadorIds.comDigitos(6));
+            conta.depositar(new BigDecimal("1000.00"));
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class SaldoProprio {
+        final SaldoCentavos saldo = new SaldoCentavos(1000_00L);
+    }
+
+    @State(Scope.Benchmark)
+    public static class SaldoCompartilhado {
+        final SaldoCentavos saldo = new SaldoCentavos(1000_00L);
+    }
+
+    @State(Scope.Benchmark)
+    public static class ContaCompartilhada {
+        Conta conta;
+
+        @Setup
+        public void criar() {
+            conta = new Conta(new Cliente("João da Silva", "11144477735"), AlocadorIds.comDigitos(6));
+            conta.depositar(new BigDecimal("1000.00"));
+        }
+    }
+
+    @Benchmark
+    public SaldoVersionado depositarESacar(ContaPropria estado) {
+        estado.conta.depositar(VALOR);
+        return estado.conta.sacar(VALOR);
+    }
+
+    @Benchmark
+    public BigDecimal consultarSaldo(ContaPropria estado) {
+        return estado.conta.getSaldo();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public SaldoVersionado depositarESacarCom4Threads(ContaCompartilhada estado) {
+        estado.conta.depositar(VALOR);
+        return estado.conta.sacar(VALOR);
+    }
+
+    @Benchmark
+    public long depositarESacarEmCentavos(SaldoProprio estado) {
+        estado.saldo.depositar(VALOR_CENTAVOS);
+        return estado.saldo.sacar(VALOR_CENTAVOS);
+    }
+
+    @Benchmark
+    public BigDecimal consultarSaldoEmCentavos(SaldoProprio estado) {
+        return estado.saldo.getSaldo();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long depositarESacarEmCentavosCom4Threads(SaldoCompartilhado estado) {
+        estado.saldo.depositar(VALOR_CENTAVOS);
+        return estado.saldo.sacar(VALOR_CENTAVOS);
+    }
+}
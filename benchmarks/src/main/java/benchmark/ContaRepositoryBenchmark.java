@@ -0,0 +1,96 @@
+package benchmark;
+
+import model.Conta;
+import repository.ContaRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Buscas e listagens do repositório em cada modo de armazenamento, por tamanho da base.
+ * {@link BuscaLinearBenchmark} mede as mesmas operações no repositório original, sem índices.
+ *
+ * Acima de 900.000 contas os IDs têm 7 dígitos; no modo indexado eles ficam na tabela de
+ * reserva, fora do array denso. As bases de 1 e 5 milhões de contas precisam do heap maior
+ * configurado no fork.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx16g")
+@State(Scope.Benchmark)
+public class ContaRepositoryBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000", "5000000"})
+    private int contas;
+
+    @Param({"padrao", "concorrente", "indexado", "foraDoHeap"})
+    private String modo;
+
+    private ContaRepository repositorio;
+    private String[] ids;
+    private String[] cpfs;
+
+    @Setup
+    public void popular() {
+        repositorio = DadosBenchmark.criarRepositorio(modo, contas);
+        List<Conta> criadas = DadosBenchmark.popular(repositorio, contas, BigDecimal.ZERO);
+        ids = new String[contas];
+        cpfs = new String[contas];
+        for (int i = 0; i < contas; i++) {
+            ids[i] = criadas.get(i).getId();
+            cpfs[i] = criadas.get(i).getCliente().getCpf();
+        }
+    }
+
+    @Benchmark
+    public Optional<Conta> buscarPorId() {
+        return repositorio.buscarPorId(ids[ThreadLocalRandom.current().nextInt(contas)]);
+    }
+
+    @Benchmark
+    public Optional<Conta> buscarPorIdInexistente() {
+        return repositorio.buscarPorId("000000");
+    }
+
+    @Benchmark
+    public Optional<Conta> buscarPorCpf() {
+        return repositorio.buscarPorCpf(cpfs[ThreadLocalRandom.current().nextInt(contas)]);
+    }
+
+    @Benchmark
+    public List<Conta> buscarPorNome() {
+        return repositorio.buscarPorNome(DadosBenchmark.nome(ThreadLocalRandom.current().nextInt(contas)));
+    }
+
+    @Benchmark
+    public List<Conta> buscarPorParteDoNome() {
+        return repositorio.buscarPorNome("arvalh");
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<Conta> listarTodasOrdenadas() {
+        return repositorio.listarTodasOrdenadas();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<Conta> listarPaginaDoMeio() {
+        return repositorio.listarOrdenadas(contas / 2, 20);
+    }
+}
@@ -0,0 +1,107 @@
+package benchmark;
+
+import model.Conta;
+import repository.ContaRepository;
+import service.ContaService;
+import service.OperacaoLote;
+import service.ResultadoOperacao;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transferências do serviço com 1, 4 e todas as threads disponíveis, e lotes comparados
+ * com as mesmas operações feitas uma a uma.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ContaServiceBenchmark {
+    private static final BigDecimal VALOR = new BigDecimal("0.01");
+    private static final int TAMANHO_LOTE = 100;
+
+    @Param({"16", "100000"})
+    private int contas;
+
+    private ContaService contaService;
+    private String[] ids;
+    private List<OperacaoLote> lote;
+
+    @Setup
+    public void popular() {
+        ContaRepository repositorio = ContaRepository.concorrente();
+        contaService = new ContaService(repositorio);
+        List<Conta> criadas = DadosBenchmark.popular(repositorio, contas, new BigDecimal("1000000000.00"));
+        ids = new String[contas];
+        for (int i = 0; i < contas; i++) {
+            ids[i] = criadas.get(i).getId();
+        }
+
+        lote = new ArrayList<>(TAMANHO_LOTE);
+        for (int i = 0; i < TAMANHO_LOTE; i++) {
+            String id = ids[i % contas];
+            lote.add(i % 2 == 0 ? OperacaoLote.deposito(id, VALOR) : OperacaoLote.saque(id, VALOR));
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void transferirCom1Thread() {
+        transferirEntreContasAleatorias();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void transferirCom4Threads() {
+        transferirEntreContasAleatorias();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public void transferirComTodasAsThreads() {
+        transferirEntreContasAleatorias();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TAMANHO_LOTE)
+    public List<ResultadoOperacao> executarLote() {
+        return contaService.executarLote(lote);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TAMANHO_LOTE)
+    public void executarUmaAUma() {
+        for (OperacaoLote operacao : lote) {
+            if (operacao.getTipo() == OperacaoLote.Tipo.DEPOSITO) {
+                contaService.depositar(operacao.getIdConta(), operacao.getValor());
+            } else {
+                contaService.sacar(operacao.getIdConta(), operacao.getValor());
+            }
+        }
+    }
+
+    private void transferirEntreContasAleatorias() {
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        int origem = aleatorio.nextInt(contas);
+        int destino = (origem + 1 + aleatorio.nextInt(contas - 1)) % contas;
+        contaService.transferir(ids[origem], ids[destino], VALOR);
+    }
+}
@@ -0,0 +1,128 @@
+package benchmark;
+
+import model.AlocadorIds;
+import model.Cliente;
+import model.Conta;
+import repository.ContaRepository;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Geração dos dados usados pelos benchmarks: CPFs válidos, nomes e repositórios populados.
+ */
+final class DadosBenchmark {
+    static final String[] PRIMEIROS_NOMES = {
+        "Ana", "Bruno", "Carla", "Daniel", "Eduarda", "Felipe", "Gabriela", "Henrique",
+        "Isabela", "João", "Larissa", "Marcos", "Natália", "Otávio", "Paula", "Rafael"
+    };
+    static final String[] SOBRENOMES = {
+        "Silva", "Santos", "Oliveira", "Souza", "Rodrigues", "Ferreira", "Alves", "Pereira",
+        "Lima", "Gomes", "Costa", "Ribeiro", "Martins", "Carvalho", "Araújo", "Melo"
+    };
+
+    private DadosBenchmark() {
+    }
+
+    /**
+     * Gera um CPF válido, sem formatação, a partir de um número sequencial.
+     */
+    static String cpf(long sequencial) {
+        // A base começa em 100000000 para nunca ter todos os dígitos iguais
+        long base = 100_000_000L + sequencial % 900_000_000L;
+        int[] digitos = new int[11];
+        for (int i = 8; i >= 0; i--) {
+            digitos[i] = (int) (base % 10);
+            base /= 10;
+        }
+        digitos[9] = digitoVerificador(digitos, 9);
+        digitos[10] = digitoVerificador(digitos, 10);
+
+        StringBuilder cpf = new StringBuilder(11);
+        for (int digito : digitos) {
+            cpf.append(digito);
+        }
+        return cpf.toString();
+    }
+
+    /**
+     * Gera um nome completo; as combinações se repetem a cada 4096 índices.
+     */
+    static String nome(int indice) {
+        return PRIMEIROS_NOMES[indice % PRIMEIROS_NOMES.length] + " "
+                + SOBRENOMES[(indice / PRIMEIROS_NOMES.length) % SOBRENOMES.length] + " "
+                + SOBRENOMES[(indice / (PRIMEIROS_NOMES.length * SOBRENOMES.length)) % SOBRENOMES.length];
+    }
+
+    /**
+     * Cria um repositório no modo informado.
+     *
+     * @param modo padrao, concorrente, indexado ou foraDoHeap
+     * @param capacidade Número de contas que serão inseridas
+     */
+    static ContaRepository criarRepositorio(String modo, int capacidade) {
+        return switch (modo) {
+            case "padrao" -> new ContaRepository();
+            case "concorrente" -> ContaRepository.concorrente();
+            case "indexado" -> ContaRepository.indexadoPorId();
+            case "foraDoHeap" -> ContaRepository.foraDoHeap(capacidade);
+            default -> throw new IllegalArgumentException("Modo de repositório desconhecido: " + modo);
+        };
+    }
+
+    /**
+     * Cria um alocador próprio com espaço para a quantidade de contas informada, para não
+     * esgotar o padrão quando vários parâmetros são medidos no mesmo processo. Usa IDs de
+     * 6 dígitos enquanto couberem, como os do alocador padrão, e 7 ou mais acima de 900.000.
+     */
+    static AlocadorIds alocadorPara(int quantidade) {
+        int digitos = 6;
+        for (long espaco = 900_000; espaco < quantidade; espaco *= 10) {
+            digitos++;
+        }
+        return AlocadorIds.comDigitos(digitos);
+    }
+
+    /**
+     * Cria contas sem inseri-las em um repositório, com os mesmos nomes, CPFs e IDs de
+     * {@link #popular}.
+     *
+     * @return contas criadas, na ordem de criação
+     */
+    static List<Conta> criarContas(int quantidade) {
+        AlocadorIds alocador = alocadorPara(quantidade);
+        List<Conta> contas = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            contas.add(new Conta(new Cliente(nome(i), cpf(i)), alocador));
+        }
+        return contas;
+    }
+
+    /**
+     * Insere contas no repositório com IDs de {@link #alocadorPara}.
+     *
+     * @return contas inseridas, na ordem de criação
+     */
+    static List<Conta> popular(ContaRepository repositorio, int quantidade, BigDecimal saldoInicial) {
+        AlocadorIds alocador = alocadorPara(quantidade);
+        List<Conta> contas = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            Conta conta = new Conta(new Cliente(nome(i), cpf(i)), alocador);
+            if (saldoInicial.signum() > 0) {
+                conta.depositar(saldoInicial);
+            }
+            repositorio.salvar(conta);
+            contas.add(repositorio.buscarPorId(conta.getId()).orElseThrow());
+        }
+        return contas;
+    }
+
+    private static int digitoVerificador(int[] digitos, int quantidade) {
+        int soma = 0;
+        for (int i = 0; i < quantidade; i++) {
+            soma += digitos[i] * (quantidade + 1 - i);
+        }
+        int resto = soma % 11;
+        return resto < 2 ? 0 : 11 - resto;
+    }
+}
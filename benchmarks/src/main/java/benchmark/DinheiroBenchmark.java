@@ -0,0 +1,51 @@
+package benchmark;
+
+import model.Centavos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aritmética de valores em centavos {@code long} comparada com {@link BigDecimal}.
+ * {@link ContaBenchmark} compara depósitos e saques no {@link model.SaldoCentavos} com os da conta.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DinheiroBenchmark {
+    private long saldoCentavos = 12_345_678L;
+    private long valorCentavos = 10_00L;
+    private BigDecimal saldo = new BigDecimal("123456.78");
+    private BigDecimal valor = new BigDecimal("10.00");
+
+    @Benchmark
+    public long somarESubtrairCentavos() {
+        return Centavos.subtrair(Centavos.somar(saldoCentavos, valorCentavos), valorCentavos);
+    }
+
+    @Benchmark
+    public BigDecimal somarESubtrairBigDecimal() {
+        return saldo.add(valor).subtract(valor);
+    }
+
+    @Benchmark
+    public BigDecimal converterCentavosParaValor() {
+        return Centavos.paraValor(saldoCentavos);
+    }
+
+    @Benchmark
+    public long converterValorParaCentavos() {
+        return Centavos.deValor(saldo);
+    }
+}
@@ -0,0 +1,41 @@
+package benchmark;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Distribuição de Zipf sobre {@code 0..elementos-1}: o elemento de posição {@code k}
+ * é sorteado com peso proporcional a {@code 1 / (k + 1)^expoente}. Expoente zero
+ * resulta em distribuição uniforme; perto de 1, poucas contas concentram boa parte
+ * das operações.
+ */
+final class DistribuicaoZipf {
+    private final double[] acumulada;
+
+    DistribuicaoZipf(int elementos, double expoente) {
+        if (elementos <= 0) {
+            throw new IllegalArgumentException("Número de elementos deve ser positivo");
+        }
+        if (expoente < 0) {
+            throw new IllegalArgumentException("Expoente não pode ser negativo");
+        }
+
+        acumulada = new double[elementos];
+        double soma = 0;
+        for (int k = 0; k < elementos; k++) {
+            soma += 1 / Math.pow(k + 1, expoente);
+            acumulada[k] = soma;
+        }
+        for (int k = 0; k < elementos; k++) {
+            acumulada[k] /= soma;
+        }
+    }
+
+    /**
+     * Sorteia uma posição, com busca binária na distribuição acumulada.
+     */
+    int amostrar(SplittableRandom aleatorio) {
+        int posicao = Arrays.binarySearch(acumulada, aleatorio.nextDouble());
+        return Math.min(posicao >= 0 ? posicao : -posicao - 1, acumulada.length - 1);
+    }
+}
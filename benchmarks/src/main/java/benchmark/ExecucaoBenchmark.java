@@ -0,0 +1,103 @@
+package benchmark;
+
+import model.Conta;
+import repository.ContaRepository;
+import service.ContaService;
+import service.ContaServiceAssincrono;
+import service.ContaServiceParticionado;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vazão e latência de cauda das formas de execução do serviço com 8 threads clientes:
+ * chamada direta ao {@link ContaService}, fachada assíncrona em threads virtuais e
+ * execução particionada com um escritor por conta. O modo SampleTime mostra os percentis.
+ * O parâmetro {@code contas} é o número de contas sorteadas; cada thread espera a resposta
+ * antes de submeter a próxima, então há no máximo 8 requisições pendentes.
+ * {@link RequisicoesPendentesBenchmark} mede a fachada assíncrona com até 100.000 pendentes.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class ExecucaoBenchmark {
+    private static final BigDecimal VALOR = new BigDecimal("0.01");
+
+    @Param({"16", "100000"})
+    private int contas;
+
+    @Param({"direto", "assincrono", "particionado"})
+    private String execucao;
+
+    private ContaService contaService;
+    private ContaServiceAssincrono assincrono;
+    private ContaServiceParticionado particionado;
+    private String[] ids;
+
+    @Setup
+    public void iniciar() {
+        ContaRepository repositorio = ContaRepository.concorrente();
+        contaService = new ContaService(repositorio);
+        List<Conta> criadas = DadosBenchmark.popular(repositorio, contas, new BigDecimal("1000000000.00"));
+        ids = criadas.stream().map(Conta::getId).toArray(String[]::new);
+
+        switch (execucao) {
+            case "assincrono" -> assincrono = new ContaServiceAssincrono(contaService, 256);
+            case "particionado" -> particionado = new ContaServiceParticionado(contaService,
+                    Math.max(1, Runtime.getRuntime().availableProcessors() / 2), 1024);
+            default -> {
+            }
+        }
+    }
+
+    @TearDown
+    public void encerrar() {
+        if (assincrono != null) {
+            assincrono.close();
+        }
+        if (particionado != null) {
+            particionado.close();
+        }
+    }
+
+    @Benchmark
+    public void depositar() {
+        String id = ids[ThreadLocalRandom.current().nextInt(contas)];
+        switch (execucao) {
+            case "assincrono" -> assincrono.depositar(id, VALOR).join();
+            case "particionado" -> particionado.depositar(id, VALOR).join();
+            default -> contaService.depositar(id, VALOR);
+        }
+    }
+
+    @Benchmark
+    public void transferir() {
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        int origem = aleatorio.nextInt(contas);
+        String idOrigem = ids[origem];
+        String idDestino = ids[(origem + 1 + aleatorio.nextInt(contas - 1)) % contas];
+        switch (execucao) {
+            case "assincrono" -> assincrono.transferir(idOrigem, idDestino, VALOR).join();
+            case "particionado" -> particionado.transferir(idOrigem, idDestino, VALOR).join();
+            default -> contaService.transferir(idOrigem, idDestino, VALOR);
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package benchmark;
+
+import metrics.HistogramaLatencia;
+import metrics.PercentisLatencia;
+import model.Conta;
+import repository.ContaRepository;
+import service.ContaService;
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Gerador de carga sintética contra o {@link ContaService}.
+ *
+ * <p>Pré-carrega as contas com CPFs válidos e dispara uma mistura configurável de operações
+ * em malha aberta: cada requisição tem um instante previsto de chegada, calculado pela taxa,
+ * e a latência é medida a partir desse instante. Assim, se o sistema atrasa, o atraso entra
+ * nos percentis em vez de apenas reduzir a carga enviada (omissão coordenada). As contas
+ * são sorteadas por uma distribuição de Zipf, concentrando as operações em poucas contas.
+ *
+ * <p>Uso: {@code java -cp benchmarks/target/benchmarks.jar benchmark.GeradorCarga [--opcao=valor ...]}
+ */
+public final class GeradorCarga {
+    private static final BigDecimal SALDO_INICIAL = new BigDecimal("1000.00");
+
+    /**
+     * Operações sorteadas pelo gerador, com a chave usada na opção {@code --mistura}.
+     */
+    enum TipoOperacao {
+        DEPOSITAR("deposito"),
+        SACAR("saque"),
+        TRANSFERIR("transferencia"),
+        CONSULTAR_SALDO("saldo"),
+        BUSCAR_POR_NOME("nome");
+
+        private final String chave;
+
+        TipoOperacao(String chave) {
+            this.chave = chave;
+        }
+
+        static TipoOperacao daChave(String chave) {
+            for (TipoOperacao tipo : values()) {
+                if (tipo.chave.equals(chave)) {
+                    return tipo;
+                }
+            }
+            throw new IllegalArgumentException("Operação desconhecida na mistura: " + chave);
+        }
+    }
+
+    /**
+     * Parâmetros de uma execução.
+     *
+     * @param contas Número de contas pré-carregadas
+     * @param taxa Requisições por segundo
+     * @param duracaoSegundos Duração da medição
+     * @param aquecimentoSegundos Tempo inicial com carga, mas sem registrar latências
+     * @param expoenteZipf Concentração das operações; zero é uniforme
+     * @param mistura Peso de cada operação
+     * @param repositorio Modo do repositório: padrao, concorrente, indexado ou foraDoHeap
+     * @param semente Semente dos sorteios
+     */
+    record Configuracao(int contas, int taxa, int duracaoSegundos, int aquecimentoSegundos,
+                        double expoenteZipf, Map<TipoOperacao, Integer> mistura,
+                        String repositorio, long semente) {
+
+        static final String USO = """
+                Opções (todas opcionais):
+                  --contas=10000          contas pré-carregadas (até 900000)
+                  --taxa=10000            requisições por segundo
+                  --duracao=10            segundos de medição
+                  --aquecimento=2         segundos iniciais sem registro de latência
+                  --zipf=0.99             expoente de Zipf; 0 sorteia contas uniformemente
+                  --mistura=deposito=30,saque=20,transferencia=30,saldo=15,nome=5
+                  --repositorio=concorrente   padrao, concorrente, indexado ou foraDoHeap
+                  --semente=42""";
+
+        static Configuracao de(String[] argumentos) {
+            Map<String, String> opcoes = new HashMap<>();
+            for (String argumento : argumentos) {
+                int separador = argumento.indexOf('=');
+                if (!argumento.startsWith("--") || separador < 0) {
+                    throw new IllegalArgumentException("Argumento inválido: " + argumento);
+                }
+                opcoes.put(argumento.substring(2, separador), argumento.substring(separador + 1));
+            }
+
+            Configuracao configuracao = new Configuracao(
+                    Integer.parseInt(opcoes.getOrDefault("contas", "10000")),
+                    Integer.parseInt(opcoes.getOrDefault("taxa", "10000")),
+                    Integer.parseInt(opcoes.getOrDefault("duracao", "10")),
+                    Integer.parseInt(opcoes.getOrDefault("aquecimento", "2")),
+                    Double.parseDouble(opcoes.getOrDefault("zipf", "0.99")),
+                    lerMistura(opcoes.getOrDefault("mistura",
+                            "deposito=30,saque=20,transferencia=30,saldo=15,nome=5")),
+                    opcoes.getOrDefault("repositorio", "concorrente"),
+                    Long.parseLong(opcoes.getOrDefault("semente", "42")));
+
+            if (configuracao.contas < 2 || configuracao.contas > 900_000) {
+                throw new IllegalArgumentException("Número de contas deve estar entre 2 e 900000");
+            }
+            if (configuracao.taxa <= 0 || configuracao.duracaoSegundos <= 0 || configuracao.aquecimentoSegundos < 0) {
+                throw new IllegalArgumentException("Taxa e duração devem ser positivas");
+            }
+            return configuracao;
+        }
+
+        private static Map<TipoOperacao, Integer> lerMistura(String texto) {
+            Map<TipoOperacao, Integer> mistura = new EnumMap<>(TipoOperacao.class);
+            for (String parte : texto.split(",")) {
+                String[] chaveValor = parte.trim().split("=");
+                if (chaveValor.length != 2) {
+                    throw new IllegalArgumentException("Mistura inválida: " + parte);
+                }
+                int peso = Integer.parseInt(chaveValor[1].trim());
+                if (peso < 0) {
+                    throw new IllegalArgumentException("Peso não pode ser negativo: " + parte);
+                }
+                mistura.put(TipoOperacao.daChave(chaveValor[0].trim()), peso);
+            }
+            if (mistura.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+                throw new IllegalArgumentException("A mistura deve ter ao menos um peso positivo");
+            }
+            return mistura;
+        }
+    }
+
+    private final Configuracao configuracao;
+    private final ContaService contaService;
+    private final String[] ids;
+    private final String[] nomes;
+    private final Map<TipoOperacao, HistogramaLatencia> latencias = new EnumMap<>(TipoOperacao.class);
+    private final HistogramaLatencia latenciaGeral = new HistogramaLatencia();
+    private final Map<TipoOperacao, LongAdder> erros = new EnumMap<>(TipoOperacao.class);
+    private final LongAdder concluidas = new LongAdder();
+
+    GeradorCarga(Configuracao configuracao) {
+        this.configuracao = configuracao;
+        ContaRepository repositorio = DadosBenchmark.criarRepositorio(configuracao.repositorio(), configuracao.contas());
+        this.contaService = new ContaService(repositorio);
+
+        List<Conta> contas = DadosBenchmark.popular(repositorio, configuracao.contas(), SALDO_INICIAL);
+        // Embaralha as contas para que as mais sorteadas não sejam as primeiras criadas
+        SplittableRandom aleatorio = new SplittableRandom(configuracao.semente());
+        this.ids = new String[contas.size()];
+        this.nomes = new String[contas.size()];
+        for (int i = 0; i < contas.size(); i++) {
+            int j = aleatorio.nextInt(i + 1);
+            ids[i] = ids[j];
+            nomes[i] = nomes[j];
+            ids[j] = contas.get(i).getId();
+            nomes[j] = contas.get(i).getCliente().getNome();
+        }
+
+        for (TipoOperacao tipo : TipoOperacao.values()) {
+            latencias.put(tipo, new HistogramaLatencia());
+            erros.put(tipo, new LongAdder());
+        }
+    }
+
+    public static void main(String[] args) {
+        Configuracao configuracao;
+        try {
+            configuracao = Configuracao.de(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(Configuracao.USO);
+            System.exit(1);
+            return;
+        }
+
+        System.out.printf("Pré-carregando %d contas...%n", configuracao.contas());
+        GeradorCarga gerador = new GeradorCarga(configuracao);
+        System.out.printf("Disparando %d req/s por %d s (+%d s de aquecimento), Zipf %.2f%n",
+                configuracao.taxa(), configuracao.duracaoSegundos(), configuracao.aquecimentoSegundos(),
+                configuracao.expoenteZipf());
+        gerador.executar();
+    }
+
+    /**
+     * Dispara as requisições e imprime o relatório ao final.
+     */
+    void executar() {
+        DistribuicaoZipf distribuicao = new DistribuicaoZipf(ids.length, configuracao.expoenteZipf());
+        SplittableRandom aleatorio = new SplittableRandom(configuracao.semente() + 1);
+        TipoOperacao[] tipos = TipoOperacao.values();
+        int[] pesosAcumulados = new int[tipos.length];
+        int soma = 0;
+        for (int i = 0; i < tipos.length; i++) {
+            soma += configuracao.mistura().getOrDefault(tipos[i], 0);
+            pesosAcumulados[i] = soma;
+        }
+
+        double intervalo = 1e9 / configuracao.taxa();
+        long totalRequisicoes = (long) configuracao.taxa() * (configuracao.aquecimentoSegundos() + configuracao.duracaoSegundos());
+        long aquecidas = (long) configuracao.taxa() * configuracao.aquecimentoSegundos();
+        long inicio = System.nanoTime();
+        long inicioMedicao = inicio + (long) (aquecidas * intervalo);
+        long atrasoMaximo = 0;
+
+        // Uma thread virtual por requisição: o despacho nunca espera uma resposta
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; i < totalRequisicoes; i++) {
+                long previsto = inicio + (long) (i * intervalo);
+                long agora = System.nanoTime();
+                while (agora < previsto) {
+                    LockSupport.parkNanos(previsto - agora);
+                    agora = System.nanoTime();
+                }
+                atrasoMaximo = Math.max(atrasoMaximo, agora - previsto);
+
+                int sorteio = aleatorio.nextInt(soma);
+                int tipo = 0;
+                while (sorteio >= pesosAcumulados[tipo]) {
+                    tipo++;
+                }
+                TipoOperacao operacao = tipos[tipo];
+                int conta = distribuicao.amostrar(aleatorio);
+                int outra = (conta + 1 + aleatorio.nextInt(ids.length - 1)) % ids.length;
+                BigDecimal valor = BigDecimal.valueOf(1 + aleatorio.nextInt(10_000), 2);
+                boolean registrar = i >= aquecidas;
+
+                executor.execute(() -> executarRequisicao(operacao, conta, outra, valor, previsto, registrar));
+            }
+        }
+        long fim = System.nanoTime();
+
+        imprimirRelatorio(fim - inicioMedicao, atrasoMaximo);
+    }
+
+    private void executarRequisicao(TipoOperacao operacao, int conta, int outra, BigDecimal valor,
+                                    long previsto, boolean registrar) {
+        try {
+            switch (operacao) {
+                case DEPOSITAR -> contaService.depositar(ids[conta], valor);
+                case SACAR -> contaService.sacar(ids[conta], valor);
+                case TRANSFERIR -> contaService.transferir(ids[conta], ids[outra], valor);
+                case CONSULTAR_SALDO -> contaService.consultarSaldo(ids[conta]);
+                case BUSCAR_POR_NOME -> contaService.buscarContasPorNome(nomes[conta]);
+            }
+        } catch (IllegalArgumentException e) {
+            // Saldo insuficiente é esperado com contas muito sorteadas
+            if (registrar) {
+                erros.get(operacao).increment();
+            }
+        }
+        if (registrar) {
+            long latencia = System.nanoTime() - previsto;
+            latencias.get(operacao).registrar(latencia);
+            latenciaGeral.registrar(latencia);
+            concluidas.increment();
+        }
+    }
+
+    private void imprimirRelatorio(long nanosMedicao, long atrasoMaximo) {
+        double segundos = nanosMedicao / 1e9;
+        System.out.printf("%nVazão: %.0f operações/s (%d em %.2f s; alvo %d/s)%n",
+                concluidas.sum() / segundos, concluidas.sum(), segundos, configuracao.taxa());
+        System.out.printf("Maior atraso do despacho: %.1f µs%n%n", atrasoMaximo / 1e3);
+        System.out.printf("%-16s %10s %8s %12s %12s %12s %12s%n",
+                "Operação", "Total", "Erros", "p50 (µs)", "p99 (µs)", "p99.9 (µs)", "máx (µs)");
+
+        for (TipoOperacao tipo : TipoOperacao.values()) {
+            PercentisLatencia percentis = latencias.get(tipo).capturar();
+            if (percentis.getTotal() > 0) {
+                imprimirLinha(tipo.name(), percentis, erros.get(tipo).sum());
+            }
+        }
+        long totalErros = erros.values().stream().mapToLong(LongAdder::sum).sum();
+        imprimirLinha("TOTAL", latenciaGeral.capturar(), totalErros);
+    }
+
+    private static void imprimirLinha(String rotulo, PercentisLatencia percentis, long erros) {
+        System.out.printf("%-16s %10d %8d %12.1f %12.1f %12.1f %12.1f%n", rotulo, percentis.getTotal(), erros,
+                percentis.getP50() / 1e3, percentis.getP99() / 1e3, percentis.getP999() / 1e3,
+                percentis.getMaximo() / 1e3);
+    }
+}
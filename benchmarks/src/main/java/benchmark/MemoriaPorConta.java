@@ -0,0 +1,95 @@
+package benchmark;
+
+import model.AlocadorIds;
+import model.Cliente;
+import model.Conta;
+import repository.ContaRepository;
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Medição da memória ocupada por conta em cada modo do repositório.
+ *
+ * <p>Para cada modo, insere as contas sem guardar referências a elas e compara o heap usado
+ * e a memória direta antes e depois, com coletas forçadas até o heap parar de diminuir. Mede
+ * de novo depois da primeira busca por nome e listagem ordenada, que no modo foraDoHeap
+ * constroem os índices de nome. Os modos em memória guardam os objetos {@link Conta}; o
+ * foraDoHeap guarda registros em memória direta. Os valores são estimativas do heap vivo,
+ * não da alocação.
+ *
+ * <p>Uso: {@code java -Xmx16g -cp benchmarks/target/benchmarks.jar benchmark.MemoriaPorConta
+ * [--contas=10000000] [--repositorios=padrao,foraDoHeap]}
+ */
+public final class MemoriaPorConta {
+
+    private MemoriaPorConta() {
+    }
+
+    public static void main(String[] args) {
+        Map<String, String> opcoes = new HashMap<>();
+        for (String argumento : args) {
+            int separador = argumento.indexOf('=');
+            if (!argumento.startsWith("--") || separador < 0) {
+                System.err.println("Argumento inválido: " + argumento);
+                System.err.println("Opções: --contas=10000000 --repositorios=padrao,foraDoHeap");
+                System.exit(1);
+            }
+            opcoes.put(argumento.substring(2, separador), argumento.substring(separador + 1));
+        }
+        int contas = Integer.parseInt(opcoes.getOrDefault("contas", "10000000"));
+        List<String> modos = List.of(opcoes.getOrDefault("repositorios", "padrao,foraDoHeap").split(","));
+
+        System.out.printf("%-12s %-22s %16s %18s%n", "Modo", "Etapa", "Heap/conta (B)", "Direta/conta (B)");
+        for (String modo : modos) {
+            medir(modo.trim(), contas);
+        }
+    }
+
+    private static void medir(String modo, int contas) {
+        long heapInicial = heapUsado();
+        long diretaInicial = memoriaDireta();
+
+        ContaRepository repositorio = DadosBenchmark.criarRepositorio(modo, contas);
+        AlocadorIds alocador = DadosBenchmark.alocadorPara(contas);
+        for (int i = 0; i < contas; i++) {
+            repositorio.salvar(new Conta(new Cliente(DadosBenchmark.nome(i), DadosBenchmark.cpf(i)), alocador));
+        }
+        imprimir(modo, "contas inseridas", contas, heapInicial, diretaInicial);
+
+        repositorio.buscarPorNome(DadosBenchmark.nome(0));
+        repositorio.listarOrdenadas(0, 20);
+        imprimir(modo, "com índices de nome", contas, heapInicial, diretaInicial);
+
+        Reference.reachabilityFence(repositorio);
+    }
+
+    private static void imprimir(String modo, String etapa, int contas, long heapInicial, long diretaInicial) {
+        System.out.printf("%-12s %-22s %16.1f %18.1f%n", modo, etapa,
+                (double) (heapUsado() - heapInicial) / contas,
+                (double) (memoriaDireta() - diretaInicial) / contas);
+    }
+
+    private static long heapUsado() {
+        long anterior = Long.MAX_VALUE;
+        long usado = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        for (int i = 0; i < 10 && usado < anterior; i++) {
+            System.gc();
+            anterior = usado;
+            usado = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        }
+        return Math.min(usado, anterior);
+    }
+
+    private static long memoriaDireta() {
+        for (BufferPoolMXBean pool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+            if (pool.getName().equals("direct")) {
+                return pool.getMemoryUsed();
+            }
+        }
+        return 0;
+    }
+}
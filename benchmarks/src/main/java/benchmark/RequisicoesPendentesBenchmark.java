@@ -0,0 +1,90 @@
+package benchmark;
+
+import model.Conta;
+import repository.ContaRepository;
+import service.ContaService;
+import service.ContaServiceAssincrono;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Vazão da {@link ContaServiceAssincrono} com muitas requisições pendentes ao mesmo tempo.
+ *
+ * Uma única thread cliente mantém {@code pendentes} depósitos em andamento: cada submissão
+ * ocupa uma vaga de uma janela e a conclusão do futuro a devolve, sem esperar resposta a
+ * resposta como o {@link ExecucaoBenchmark}. Cada invocação submete {@value #OPERACOES}
+ * depósitos e espera o último; a vazão é por depósito. A fachada usa o limite de pendentes
+ * padrão, e uma rejeição faz a invocação falhar.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class RequisicoesPendentesBenchmark {
+    private static final int OPERACOES = 1_000_000;
+    private static final int CONTAS = 100_000;
+    private static final BigDecimal VALOR = new BigDecimal("0.01");
+
+    @Param({"1000", "100000"})
+    private int pendentes;
+
+    @Param({"256"})
+    private int concorrencia;
+
+    private ContaServiceAssincrono assincrono;
+    private String[] ids;
+
+    @Setup
+    public void iniciar() {
+        ContaRepository repositorio = ContaRepository.concorrente();
+        List<Conta> criadas = DadosBenchmark.popular(repositorio, CONTAS, BigDecimal.ZERO);
+        ids = criadas.stream().map(Conta::getId).toArray(String[]::new);
+        assincrono = new ContaServiceAssincrono(new ContaService(repositorio), concorrencia);
+    }
+
+    @TearDown
+    public void encerrar() {
+        assincrono.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERACOES)
+    public void depositar() throws InterruptedException {
+        Semaphore janela = new Semaphore(pendentes);
+        LongAdder falhas = new LongAdder();
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        for (int i = 0; i < OPERACOES; i++) {
+            janela.acquire();
+            assincrono.depositar(ids[aleatorio.nextInt(CONTAS)], VALOR).whenComplete((resultado, erro) -> {
+                if (erro != null) {
+                    falhas.increment();
+                }
+                janela.release();
+            });
+        }
+
+        janela.acquire(pendentes);
+        if (falhas.sum() > 0) {
+            throw new IllegalStateException(falhas.sum() + " depósitos falharam ou foram rejeitados");
+        }
+    }
+}
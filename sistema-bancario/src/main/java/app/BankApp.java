@@ -10,10 +10,17 @@ import javafx.scene.layout.*;
 import javafx.stage.Stage;
 import model.Cliente;
 import model.Conta;
+import persistence.GerenciadorSnapshots;
+import persistence.Journal;
 import repository.ContaRepository;
+import repository.MonitorContaRepository;
 import service.ContaService;
+import service.MonitorContaService;
 
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.text.NumberFormat;
 import java.text.ParseException;
 import java.util.List;
@@ -26,6 +33,10 @@ import java.util.Optional;
  */
 public class BankApp extends Application {
     private ContaService contaService;
+    private Journal journal;
+    private GerenciadorSnapshots snapshots;
+    private MonitorContaService monitorServico;
+    private MonitorContaRepository monitorRepositorio;
     private TableView<Conta> tabelaContas;
     private Label labelTotalContas;
     private static final NumberFormat currencyFormat = NumberFormat.getCurrencyInstance(new Locale("pt", "BR"));
@@ -33,8 +44,11 @@ public class BankApp extends Application {
     @Override
     public void start(Stage primaryStage) {
         // Inicializa os serviços
-        ContaRepository repository = new ContaRepository();
+        // Os snapshots leem o repositório em outra thread enquanto a interface o altera
+        ContaRepository repository = ContaRepository.concorrente();
         contaService = new ContaService(repository);
+        abrirJournal(repository);
+        registrarMonitores(repository);
 
         // Configura a janela principal
         primaryStage.setTitle("Sistema Bancário - Gerenciamento de Contas");
@@ -66,6 +80,57 @@ public class BankApp extends Application {
         atualizarTabelaContas();
     }
 
+    @Override
+    public void stop() throws IOException {
+        if (monitorServico != null) {
+            monitorServico.close();
+        }
+        if (monitorRepositorio != null) {
+            monitorRepositorio.close();
+        }
+        if (snapshots != null) {
+            snapshots.close();
+        }
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    /**
+     * Publica as métricas do serviço e do repositório como MBeans, sob o domínio "sistema.bancario".
+     */
+    private void registrarMonitores(ContaRepository repository) {
+        // O monitoramento é opcional; uma falha no registro não impede o uso da aplicação
+        try {
+            monitorServico = MonitorContaService.registrar(contaService, "ContaService");
+            monitorRepositorio = MonitorContaRepository.registrar(repository, "ContaRepository");
+        } catch (IllegalStateException e) {
+            System.getLogger(BankApp.class.getName()).log(System.Logger.Level.WARNING, "Monitoramento JMX indisponível", e);
+        }
+    }
+
+    /**
+     * Recupera as contas do último snapshot e do journal e passa a registrar as novas operações,
+     * com snapshots periódicos. O diretório pode ser definido pela propriedade de sistema "banco.dados".
+     */
+    private void abrirJournal(ContaRepository repository) {
+        Path diretorio = Path.of(System.getProperty("banco.dados",
+                Path.of(System.getProperty("user.home"), ".sistema-bancario").toString()));
+        try {
+            journal = Journal.abrir(diretorio);
+            journal.recuperar(repository);
+            contaService.registrarObservador(journal);
+            snapshots = new GerenciadorSnapshots(journal, repository);
+            snapshots.agendar(Duration.ofMinutes(10));
+        } catch (IOException e) {
+            Alert alerta = new Alert(Alert.AlertType.WARNING,
+                    "Não foi possível abrir o journal em " + diretorio + ": " + e.getMessage()
+                    + "\nAs operações desta sessão não serão persistidas.");
+            alerta.setHeaderText("Persistência indisponível");
+            alerta.show();
+        }
+    }
+
     private VBox criarHeader() {
         VBox header = new VBox();
         header.setStyle("-fx-background-color: #2c3e50; -fx-padding: 20;");
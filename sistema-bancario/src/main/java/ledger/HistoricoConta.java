@@ -0,0 +1,178 @@
+package ledger;
+
+import model.SaldoVersionado;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * Movimentações de uma conta em blocos apenas acrescentados.
+ *
+ * O primeiro bloco tem {@value #TAMANHO_BLOCO_INICIAL} posições e cada bloco seguinte tem o
+ * dobro do anterior até {@value #TAMANHO_BLOCO}, mantido daí em diante, para que contas com
+ * poucas movimentações não reservem um bloco inteiro.
+ *
+ * Cada bloco guarda os campos em arrays paralelos de primitivos (instante em milissegundos,
+ * valor e saldo sem escala, escalas, tipo e versão), então uma movimentação ocupa algumas
+ * dezenas de bytes e nenhum objeto próprio. Os instantes nunca diminuem, o que permite
+ * localizar um intervalo de tempo por busca binária. Os registros são serializados pela
+ * trava da instância; leituras não bloqueiam e enxergam as movimentações publicadas até
+ * a leitura de {@link #getTotal()}.
+ */
+final class HistoricoConta {
+    static final int TAMANHO_BLOCO_INICIAL = 8;
+    static final int TAMANHO_BLOCO = 256;
+    private static final int BITS_BLOCO_INICIAL = Integer.numberOfTrailingZeros(TAMANHO_BLOCO_INICIAL);
+    private static final int BLOCOS_CRESCENTES = Integer.numberOfTrailingZeros(TAMANHO_BLOCO / TAMANHO_BLOCO_INICIAL);
+    /** Posições dos blocos menores que {@link #TAMANHO_BLOCO}, antes do primeiro bloco cheio. */
+    private static final int POSICOES_CRESCENTES = TAMANHO_BLOCO - TAMANHO_BLOCO_INICIAL;
+    private static final TipoMovimentacao[] TIPOS = TipoMovimentacao.values();
+
+    private volatile Bloco[] blocos;
+    private volatile int total;
+    private long ultimoInstante;
+
+    HistoricoConta() {
+        this.blocos = new Bloco[1];
+    }
+
+    /**
+     * Acrescenta uma movimentação. O instante é ajustado para não ser anterior ao da
+     * movimentação anterior desta conta.
+     *
+     * @throws IllegalArgumentException se algum valor não couber na representação compacta
+     */
+    synchronized void registrar(long instante, TipoMovimentacao tipo, BigDecimal valor, String contraparte,
+                                SaldoVersionado resultado) {
+        BigDecimal valorCompacto = compactar(valor);
+        BigDecimal saldoCompacto = compactar(resultado.getSaldo());
+
+        int posicao = total;
+        int indiceBloco = indiceBloco(posicao);
+        Bloco[] atuais = blocos;
+        if (indiceBloco == atuais.length) {
+            atuais = Arrays.copyOf(atuais, atuais.length * 2);
+        }
+        if (atuais[indiceBloco] == null) {
+            atuais[indiceBloco] = new Bloco(tamanhoBloco(indiceBloco));
+            blocos = atuais;
+        }
+
+        ultimoInstante = Math.max(instante, ultimoInstante);
+        Bloco bloco = atuais[indiceBloco];
+        int i = deslocamento(posicao, indiceBloco);
+        bloco.instantes[i] = ultimoInstante;
+        bloco.tipos[i] = (byte) tipo.ordinal();
+        bloco.valores[i] = valorCompacto.unscaledValue().longValue();
+        bloco.escalasValor[i] = (byte) valorCompacto.scale();
+        bloco.saldos[i] = saldoCompacto.unscaledValue().longValue();
+        bloco.escalasSaldo[i] = (byte) saldoCompacto.scale();
+        bloco.versoes[i] = resultado.getVersao();
+        bloco.contrapartes[i] = contraparte;
+
+        // Publica a movimentação para as leituras
+        total = posicao + 1;
+    }
+
+    /**
+     * Retorna quantas movimentações estão publicadas.
+     */
+    int getTotal() {
+        return total;
+    }
+
+    /**
+     * Retorna a primeira posição, entre as {@code limite} primeiras, com instante maior
+     * ou igual ao informado, ou {@code limite} se não houver.
+     */
+    int primeiraAPartir(long instante, int limite) {
+        Bloco[] atuais = blocos;
+        int inicio = 0;
+        int fim = limite;
+        while (inicio < fim) {
+            int meio = (inicio + fim) >>> 1;
+            int indiceBloco = indiceBloco(meio);
+            if (atuais[indiceBloco].instantes[deslocamento(meio, indiceBloco)] < instante) {
+                inicio = meio + 1;
+            } else {
+                fim = meio;
+            }
+        }
+        return inicio;
+    }
+
+    /**
+     * Cria a movimentação da posição informada, que deve ser menor que {@link #getTotal()}.
+     */
+    Movimentacao ler(int posicao) {
+        int indiceBloco = indiceBloco(posicao);
+        Bloco bloco = blocos[indiceBloco];
+        int i = deslocamento(posicao, indiceBloco);
+        return new Movimentacao(
+                Instant.ofEpochMilli(bloco.instantes[i]),
+                TIPOS[bloco.tipos[i]],
+                BigDecimal.valueOf(bloco.valores[i], bloco.escalasValor[i]),
+                bloco.contrapartes[i],
+                BigDecimal.valueOf(bloco.saldos[i], bloco.escalasSaldo[i]),
+                bloco.versoes[i]);
+    }
+
+    /**
+     * Bloco que contém a posição: os blocos crescentes cobrem as primeiras
+     * {@link #POSICOES_CRESCENTES} posições e os seguintes têm {@link #TAMANHO_BLOCO} cada.
+     */
+    private static int indiceBloco(int posicao) {
+        if (posicao < POSICOES_CRESCENTES) {
+            return 31 - Integer.numberOfLeadingZeros((posicao >>> BITS_BLOCO_INICIAL) + 1);
+        }
+        return BLOCOS_CRESCENTES + (posicao - POSICOES_CRESCENTES) / TAMANHO_BLOCO;
+    }
+
+    private static int tamanhoBloco(int indiceBloco) {
+        return indiceBloco < BLOCOS_CRESCENTES ? TAMANHO_BLOCO_INICIAL << indiceBloco : TAMANHO_BLOCO;
+    }
+
+    /**
+     * Posição dentro do bloco, que começa depois de todas as posições dos blocos anteriores.
+     */
+    private static int deslocamento(int posicao, int indiceBloco) {
+        if (indiceBloco < BLOCOS_CRESCENTES) {
+            return posicao - (TAMANHO_BLOCO_INICIAL << indiceBloco) + TAMANHO_BLOCO_INICIAL;
+        }
+        return (posicao - POSICOES_CRESCENTES) % TAMANHO_BLOCO;
+    }
+
+    /**
+     * Ajusta o valor para caber em um long sem escala e uma escala de um byte.
+     */
+    private static BigDecimal compactar(BigDecimal valor) {
+        BigDecimal compacto = valor.unscaledValue().bitLength() < Long.SIZE ? valor : valor.stripTrailingZeros();
+        if (compacto.unscaledValue().bitLength() >= Long.SIZE
+                || compacto.scale() < Byte.MIN_VALUE || compacto.scale() > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("Valor excede o limite suportado pelo extrato");
+        }
+        return compacto;
+    }
+
+    private static final class Bloco {
+        final long[] instantes;
+        final long[] valores;
+        final long[] saldos;
+        final long[] versoes;
+        final byte[] tipos;
+        final byte[] escalasValor;
+        final byte[] escalasSaldo;
+        final String[] contrapartes;
+
+        Bloco(int tamanho) {
+            this.instantes = new long[tamanho];
+            this.valores = new long[tamanho];
+            this.saldos = new long[tamanho];
+            this.versoes = new long[tamanho];
+            this.tipos = new byte[tamanho];
+            this.escalasValor = new byte[tamanho];
+            this.escalasSaldo = new byte[tamanho];
+            this.contrapartes = new String[tamanho];
+        }
+    }
+}
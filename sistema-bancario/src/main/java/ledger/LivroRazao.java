@@ -0,0 +1,124 @@
+package ledger;
+
+import model.Conta;
+import model.ResultadoTransferencia;
+import model.SaldoVersionado;
+import service.ObservadorOperacoes;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Livro-razão com as movimentações de cada conta, alimentado pelo {@link service.ContaService}.
+ *
+ * Registre a instância com {@code contaService.registrarObservador(livro)}. Cada depósito,
+ * saque e transferência vira uma movimentação no histórico da conta, com instante, tipo,
+ * valor, contraparte e saldo resultante; uma transferência gera uma movimentação em cada
+ * conta. O extrato de um intervalo é localizado por busca binária no tempo e entregue como
+ * {@link Stream} preguiçoso, que cria as movimentações à medida que são consumidas.
+ *
+ * As movimentações de uma conta ficam na ordem em que foram registradas. Operações
+ * simultâneas na mesma conta podem ser registradas fora da ordem de versão; a versão de
+ * cada movimentação permite reordená-las se necessário. Os instantes têm precisão de
+ * milissegundos. O histórico fica em memória e não é persistido.
+ */
+public class LivroRazao implements ObservadorOperacoes {
+    private final Clock relogio;
+    private final Map<String, HistoricoConta> historicos;
+
+    /**
+     * Construtor do livro-razão, usando o relógio do sistema.
+     */
+    public LivroRazao() {
+        this(Clock.systemUTC());
+    }
+
+    /**
+     * Construtor do livro-razão com relógio específico.
+     *
+     * @param relogio Relógio que fornece o instante das movimentações
+     * @throws IllegalArgumentException se o relógio for nulo
+     */
+    public LivroRazao(Clock relogio) {
+        if (relogio == null) {
+            throw new IllegalArgumentException("Relógio não pode ser nulo");
+        }
+        this.relogio = relogio;
+        this.historicos = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Retorna o extrato completo de uma conta.
+     *
+     * @param idConta ID da conta
+     * @return movimentações da conta, em ordem de registro
+     * @throws IllegalArgumentException se o ID for vazio
+     */
+    public Stream<Movimentacao> extrato(String idConta) {
+        HistoricoConta historico = buscarHistorico(idConta);
+        if (historico == null) {
+            return Stream.empty();
+        }
+
+        return IntStream.range(0, historico.getTotal()).mapToObj(historico::ler);
+    }
+
+    /**
+     * Retorna o extrato de uma conta em um intervalo de tempo.
+     * As movimentações registradas depois da chamada não entram no extrato.
+     *
+     * @param idConta ID da conta
+     * @param inicio Início do intervalo, inclusive
+     * @param fim Fim do intervalo, exclusive
+     * @return movimentações do intervalo, em ordem de registro
+     * @throws IllegalArgumentException se o ID for vazio ou o intervalo for inválido
+     */
+    public Stream<Movimentacao> extrato(String idConta, Instant inicio, Instant fim) {
+        if (inicio == null || fim == null || inicio.isAfter(fim)) {
+            throw new IllegalArgumentException("Intervalo do extrato inválido");
+        }
+
+        HistoricoConta historico = buscarHistorico(idConta);
+        if (historico == null) {
+            return Stream.empty();
+        }
+
+        int total = historico.getTotal();
+        int primeira = historico.primeiraAPartir(inicio.toEpochMilli(), total);
+        int depoisDaUltima = historico.primeiraAPartir(fim.toEpochMilli(), total);
+        return IntStream.range(primeira, depoisDaUltima).mapToObj(historico::ler);
+    }
+
+    @Override
+    public void aoDepositar(Conta conta, BigDecimal valor, SaldoVersionado resultado) {
+        registrar(conta.getId(), TipoMovimentacao.DEPOSITO, valor, null, resultado);
+    }
+
+    @Override
+    public void aoSacar(Conta conta, BigDecimal valor, SaldoVersionado resultado) {
+        registrar(conta.getId(), TipoMovimentacao.SAQUE, valor, null, resultado);
+    }
+
+    @Override
+    public void aoTransferir(Conta origem, Conta destino, BigDecimal valor, ResultadoTransferencia resultado) {
+        registrar(origem.getId(), TipoMovimentacao.TRANSFERENCIA_ENVIADA, valor, destino.getId(), resultado.getOrigem());
+        registrar(destino.getId(), TipoMovimentacao.TRANSFERENCIA_RECEBIDA, valor, origem.getId(), resultado.getDestino());
+    }
+
+    private void registrar(String idConta, TipoMovimentacao tipo, BigDecimal valor, String contraparte,
+                           SaldoVersionado resultado) {
+        historicos.computeIfAbsent(idConta, id -> new HistoricoConta())
+                .registrar(relogio.millis(), tipo, valor, contraparte, resultado);
+    }
+
+    private HistoricoConta buscarHistorico(String idConta) {
+        if (idConta == null || idConta.trim().isEmpty()) {
+            throw new IllegalArgumentException("ID da conta é obrigatório");
+        }
+        return historicos.get(idConta.trim());
+    }
+}
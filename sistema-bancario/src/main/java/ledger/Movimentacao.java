@@ -0,0 +1,93 @@
+package ledger;
+
+import model.Conta;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Movimentação de uma conta, como aparece no extrato.
+ * Criada sob demanda a partir do armazenamento compacto do {@link LivroRazao}.
+ */
+public final class Movimentacao {
+    private final Instant instante;
+    private final TipoMovimentacao tipo;
+    private final BigDecimal valor;
+    private final String contraparte;
+    private final BigDecimal saldoResultante;
+    private final long versao;
+
+    Movimentacao(Instant instante, TipoMovimentacao tipo, BigDecimal valor, String contraparte,
+                 BigDecimal saldoResultante, long versao) {
+        this.instante = instante;
+        this.tipo = tipo;
+        this.valor = valor;
+        this.contraparte = contraparte;
+        this.saldoResultante = saldoResultante;
+        this.versao = versao;
+    }
+
+    /**
+     * Retorna o instante em que a movimentação foi registrada.
+     *
+     * @return instante da movimentação
+     */
+    public Instant getInstante() {
+        return instante;
+    }
+
+    /**
+     * Retorna o tipo da movimentação.
+     *
+     * @return tipo da movimentação
+     */
+    public TipoMovimentacao getTipo() {
+        return tipo;
+    }
+
+    /**
+     * Retorna o valor movimentado, sempre positivo.
+     *
+     * @return valor da movimentação
+     */
+    public BigDecimal getValor() {
+        return valor;
+    }
+
+    /**
+     * Retorna o ID da outra conta envolvida em uma transferência.
+     *
+     * @return ID da contraparte, ou null em depósitos e saques
+     */
+    public String getContraparte() {
+        return contraparte;
+    }
+
+    /**
+     * Retorna o saldo da conta logo após a movimentação.
+     *
+     * @return saldo resultante
+     */
+    public BigDecimal getSaldoResultante() {
+        return saldoResultante;
+    }
+
+    /**
+     * Retorna a versão do saldo produzida pela movimentação.
+     *
+     * @return versão do saldo
+     */
+    public long getVersao() {
+        return versao;
+    }
+
+    @Override
+    public String toString() {
+        return "Movimentacao{" +
+                "instante=" + instante +
+                ", tipo=" + tipo +
+                ", valor=" + Conta.formatarMoeda(valor) +
+                (contraparte != null ? ", contraparte='" + contraparte + '\'' : "") +
+                ", saldoResultante=" + Conta.formatarMoeda(saldoResultante) +
+                '}';
+    }
+}
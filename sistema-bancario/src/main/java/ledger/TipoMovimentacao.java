@@ -0,0 +1,11 @@
+package ledger;
+
+/**
+ * Tipos de movimentação registrados no extrato de uma conta.
+ */
+public enum TipoMovimentacao {
+    DEPOSITO,
+    SAQUE,
+    TRANSFERENCIA_ENVIADA,
+    TRANSFERENCIA_RECEBIDA
+}
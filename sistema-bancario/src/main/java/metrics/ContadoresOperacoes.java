@@ -0,0 +1,79 @@
+package metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores de operações concluídas e com erro, e de erros por motivo.
+ *
+ * Cada contador é um {@link LongAdder}, que distribui os incrementos concorrentes entre
+ * células separadas em vez de disputar uma única variável; a leitura soma as células.
+ */
+public final class ContadoresOperacoes {
+    private final LongAdder[] concluidas = criar(Operacao.values().length);
+    private final LongAdder[] comErro = criar(Operacao.values().length);
+    private final LongAdder[] errosPorMotivo = criar(MotivoErro.values().length);
+
+    /**
+     * Construtor com todos os contadores zerados.
+     */
+    public ContadoresOperacoes() {
+    }
+
+    /**
+     * Conta uma operação concluída.
+     *
+     * @param operacao Operação concluída
+     */
+    public void registrarSucesso(Operacao operacao) {
+        concluidas[operacao.ordinal()].increment();
+    }
+
+    /**
+     * Conta uma operação que lançou exceção.
+     *
+     * @param operacao Operação que falhou
+     * @param motivo Motivo do erro
+     */
+    public void registrarErro(Operacao operacao, MotivoErro motivo) {
+        comErro[operacao.ordinal()].increment();
+        errosPorMotivo[motivo.ordinal()].increment();
+    }
+
+    /**
+     * Retorna quantas vezes a operação foi concluída.
+     *
+     * @param operacao Operação consultada
+     * @return número de execuções concluídas
+     */
+    public long getConcluidas(Operacao operacao) {
+        return concluidas[operacao.ordinal()].sum();
+    }
+
+    /**
+     * Retorna quantas vezes a operação lançou exceção.
+     *
+     * @param operacao Operação consultada
+     * @return número de execuções com erro
+     */
+    public long getComErro(Operacao operacao) {
+        return comErro[operacao.ordinal()].sum();
+    }
+
+    /**
+     * Retorna quantos erros tiveram o motivo informado, somando todas as operações.
+     *
+     * @param motivo Motivo consultado
+     * @return número de erros
+     */
+    public long getErros(MotivoErro motivo) {
+        return errosPorMotivo[motivo.ordinal()].sum();
+    }
+
+    private static LongAdder[] criar(int quantidade) {
+        LongAdder[] contadores = new LongAdder[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            contadores[i] = new LongAdder();
+        }
+        return contadores;
+    }
+}
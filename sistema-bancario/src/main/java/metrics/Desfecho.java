@@ -0,0 +1,11 @@
+package metrics;
+
+/**
+ * Desfecho de uma operação medida.
+ */
+public enum Desfecho {
+    /** A operação terminou normalmente. */
+    SUCESSO,
+    /** A operação terminou lançando uma exceção. */
+    ERRO
+}
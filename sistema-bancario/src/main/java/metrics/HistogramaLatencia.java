@@ -0,0 +1,131 @@
+package metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Histograma de latências em faixas logarítmicas, no estilo do HdrHistogram.
+ *
+ * Valores até 63 nanossegundos têm faixa própria; acima disso cada potência de dois é
+ * dividida em 32 faixas, então o valor informado para um percentil fica no máximo cerca
+ * de 3% acima do medido. São 1888 contadores fixos cobrindo todo o intervalo de
+ * {@code long}.
+ *
+ * Para que threads medindo ao mesmo tempo não disputem os mesmos contadores, cada thread
+ * registra em um dos histogramas parciais, escolhido pelo seu ID; há tantos parciais quanto
+ * a potência de dois que cobre o número de processadores, e cada um é alocado no primeiro
+ * registro que recebe. O registro é um incremento atômico no parcial, sem travas; a captura
+ * soma os parciais e, feita durante registros concorrentes, pode não incluir os mais recentes.
+ */
+public final class HistogramaLatencia {
+    private static final int BITS_SUBFAIXA = 5;
+    private static final int SUBFAIXAS = 1 << BITS_SUBFAIXA;
+    private static final int FAIXAS_EXATAS = SUBFAIXAS * 2;
+    static final int FAIXAS = FAIXAS_EXATAS + (Long.SIZE - 1 - BITS_SUBFAIXA - 1) * SUBFAIXAS;
+    private static final int PARCIAIS =
+            Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors()) * 2 - 1);
+
+    private final AtomicReferenceArray<Parcial> parciais = new AtomicReferenceArray<>(PARCIAIS);
+
+    /**
+     * Construtor de um histograma vazio.
+     */
+    public HistogramaLatencia() {
+    }
+
+    /**
+     * Registra uma latência.
+     *
+     * @param nanos Latência em nanossegundos; valores negativos contam como zero
+     */
+    public void registrar(long nanos) {
+        long valor = Math.max(0, nanos);
+        Parcial parcial = parcialDaThread();
+        parcial.contagens.incrementAndGet(faixaDe(valor));
+
+        long atual = parcial.maximo.get();
+        while (valor > atual && !parcial.maximo.compareAndSet(atual, valor)) {
+            atual = parcial.maximo.get();
+        }
+    }
+
+    /**
+     * Captura os percentis registrados até agora.
+     *
+     * @return percentis do histograma
+     */
+    public PercentisLatencia capturar() {
+        return somar(false);
+    }
+
+    /**
+     * Captura os percentis e zera o histograma, para medir o próximo intervalo.
+     *
+     * @return percentis do intervalo encerrado
+     */
+    public PercentisLatencia capturarEReiniciar() {
+        return somar(true);
+    }
+
+    private PercentisLatencia somar(boolean reiniciar) {
+        long[] soma = new long[FAIXAS];
+        long maximo = 0;
+        for (int p = 0; p < PARCIAIS; p++) {
+            Parcial parcial = parciais.get(p);
+            if (parcial == null) {
+                continue;
+            }
+            for (int i = 0; i < FAIXAS; i++) {
+                soma[i] += reiniciar ? parcial.contagens.getAndSet(i, 0) : parcial.contagens.get(i);
+            }
+            maximo = Math.max(maximo, reiniciar ? parcial.maximo.getAndSet(0) : parcial.maximo.get());
+        }
+        return new PercentisLatencia(soma, maximo);
+    }
+
+    private Parcial parcialDaThread() {
+        long h = Thread.currentThread().threadId() * 0x9E3779B97F4A7C15L;
+        int indice = (int) (h >>> 32) & (PARCIAIS - 1);
+        Parcial parcial = parciais.get(indice);
+        if (parcial == null) {
+            parciais.compareAndSet(indice, null, new Parcial());
+            parcial = parciais.get(indice);
+        }
+        return parcial;
+    }
+
+    static int faixaDe(long valor) {
+        if (valor < FAIXAS_EXATAS) {
+            return (int) valor;
+        }
+
+        int expoente = Long.SIZE - 1 - Long.numberOfLeadingZeros(valor);
+        int deslocamento = expoente - BITS_SUBFAIXA;
+        return FAIXAS_EXATAS + (expoente - BITS_SUBFAIXA - 1) * SUBFAIXAS
+                + (int) (valor >>> deslocamento) - SUBFAIXAS;
+    }
+
+    /**
+     * Maior valor que cai na faixa, usado como valor dos percentis.
+     */
+    static long limiteDe(int faixa) {
+        if (faixa < FAIXAS_EXATAS) {
+            return faixa;
+        }
+
+        int relativa = faixa - FAIXAS_EXATAS;
+        int deslocamento = relativa / SUBFAIXAS + 1;
+        long inicioProxima = (long) (relativa % SUBFAIXAS + SUBFAIXAS + 1) << deslocamento;
+        // Na última faixa o início da próxima estoura para Long.MIN_VALUE e o limite fica Long.MAX_VALUE
+        return inicioProxima - 1;
+    }
+
+    /**
+     * Contadores das faixas e maior valor registrados pelas threads de um parcial.
+     */
+    private static final class Parcial {
+        final AtomicLongArray contagens = new AtomicLongArray(FAIXAS);
+        final AtomicLong maximo = new AtomicLong();
+    }
+}
@@ -0,0 +1,109 @@
+package metrics;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Histogramas de latência por operação e por desfecho.
+ *
+ * Os histogramas são criados todos na construção, então medir uma operação custa duas
+ * leituras de {@link System#nanoTime()} e um incremento atômico, sem travas nem mapas.
+ */
+public final class MetricasLatencia {
+    private static final Operacao[] OPERACOES = Operacao.values();
+    private static final Desfecho[] DESFECHOS = Desfecho.values();
+
+    private final HistogramaLatencia[] histogramas = new HistogramaLatencia[OPERACOES.length * DESFECHOS.length];
+
+    /**
+     * Construtor com todos os histogramas vazios.
+     */
+    public MetricasLatencia() {
+        for (int i = 0; i < histogramas.length; i++) {
+            histogramas[i] = new HistogramaLatencia();
+        }
+    }
+
+    /**
+     * Executa uma operação registrando sua latência com o desfecho correspondente.
+     *
+     * @param operacao Operação medida
+     * @param execucao Execução da operação
+     * @return resultado da execução
+     */
+    public <T> T medir(Operacao operacao, Supplier<T> execucao) {
+        long inicio = System.nanoTime();
+        Desfecho desfecho = Desfecho.ERRO;
+        try {
+            T resultado = execucao.get();
+            desfecho = Desfecho.SUCESSO;
+            return resultado;
+        } finally {
+            registrar(operacao, desfecho, System.nanoTime() - inicio);
+        }
+    }
+
+    /**
+     * Registra a latência de uma operação medida externamente.
+     *
+     * @param operacao Operação medida
+     * @param desfecho Desfecho da operação
+     * @param nanos Latência em nanossegundos
+     */
+    public void registrar(Operacao operacao, Desfecho desfecho, long nanos) {
+        histograma(operacao, desfecho).registrar(nanos);
+    }
+
+    /**
+     * Captura os percentis de uma operação e desfecho.
+     *
+     * @param operacao Operação consultada
+     * @param desfecho Desfecho consultado
+     * @return percentis registrados desde a última reinicialização
+     */
+    public PercentisLatencia capturar(Operacao operacao, Desfecho desfecho) {
+        return histograma(operacao, desfecho).capturar();
+    }
+
+    /**
+     * Captura os percentis de todas as operações com o desfecho informado.
+     * Operações sem registros não aparecem no resultado.
+     *
+     * @param desfecho Desfecho consultado
+     * @return percentis por operação
+     */
+    public Map<Operacao, PercentisLatencia> capturar(Desfecho desfecho) {
+        Map<Operacao, PercentisLatencia> percentis = new EnumMap<>(Operacao.class);
+        for (Operacao operacao : OPERACOES) {
+            PercentisLatencia capturados = capturar(operacao, desfecho);
+            if (capturados.getTotal() > 0) {
+                percentis.put(operacao, capturados);
+            }
+        }
+        return percentis;
+    }
+
+    /**
+     * Captura os percentis de todas as operações e zera os histogramas, encerrando o intervalo.
+     * Operações e desfechos sem registros no intervalo não aparecem no resultado.
+     *
+     * @return percentis por operação e desfecho
+     */
+    public Map<Operacao, Map<Desfecho, PercentisLatencia>> capturarEReiniciar() {
+        Map<Operacao, Map<Desfecho, PercentisLatencia>> percentis = new EnumMap<>(Operacao.class);
+        for (Operacao operacao : OPERACOES) {
+            for (Desfecho desfecho : DESFECHOS) {
+                PercentisLatencia intervalo = histograma(operacao, desfecho).capturarEReiniciar();
+                if (intervalo.getTotal() > 0) {
+                    percentis.computeIfAbsent(operacao, o -> new EnumMap<>(Desfecho.class)).put(desfecho, intervalo);
+                }
+            }
+        }
+        return percentis;
+    }
+
+    private HistogramaLatencia histograma(Operacao operacao, Desfecho desfecho) {
+        return histogramas[operacao.ordinal() * DESFECHOS.length + desfecho.ordinal()];
+    }
+}
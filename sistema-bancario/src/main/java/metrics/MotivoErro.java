@@ -0,0 +1,33 @@
+package metrics;
+
+import model.MotivoRecusa;
+import model.OperacaoRecusadaException;
+
+/**
+ * Motivos de erro contados separadamente nas operações do serviço.
+ * Cada {@link MotivoRecusa} definido ao lançar uma {@link OperacaoRecusadaException} tem um
+ * motivo correspondente; as demais exceções são contadas como {@link #OUTRO}.
+ */
+public enum MotivoErro {
+    SALDO_INSUFICIENTE,
+    CONTA_NAO_ENCONTRADA,
+    CPF_INVALIDO,
+    OUTRO;
+
+    /**
+     * Classifica uma exceção lançada por uma operação.
+     *
+     * @param erro Exceção lançada
+     * @return motivo da recusa, ou {@link #OUTRO} se a exceção não for uma recusa
+     */
+    public static MotivoErro de(Throwable erro) {
+        if (!(erro instanceof OperacaoRecusadaException recusa)) {
+            return OUTRO;
+        }
+        return switch (recusa.getMotivo()) {
+            case SALDO_INSUFICIENTE -> SALDO_INSUFICIENTE;
+            case CONTA_NAO_ENCONTRADA -> CONTA_NAO_ENCONTRADA;
+            case CPF_INVALIDO -> CPF_INVALIDO;
+        };
+    }
+}
@@ -0,0 +1,17 @@
+package metrics;
+
+/**
+ * Operações do serviço e do repositório cujas latências são medidas.
+ */
+public enum Operacao {
+    CRIAR_CONTA,
+    DEPOSITAR,
+    SACAR,
+    TRANSFERIR,
+    CONSULTAR_SALDO,
+    EXECUTAR_LOTE,
+    BUSCAR_POR_ID,
+    BUSCAR_POR_CPF,
+    BUSCAR_POR_NOME,
+    LISTAR_ORDENADAS
+}
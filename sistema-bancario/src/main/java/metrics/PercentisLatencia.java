@@ -0,0 +1,106 @@
+package metrics;
+
+/**
+ * Captura imutável de um {@link HistogramaLatencia}, com os percentis em nanossegundos.
+ */
+public final class PercentisLatencia {
+    private final long[] contagens;
+    private final long total;
+    private final long maximo;
+
+    PercentisLatencia(long[] contagens, long maximo) {
+        long soma = 0;
+        for (long contagem : contagens) {
+            soma += contagem;
+        }
+        this.contagens = contagens;
+        this.total = soma;
+        this.maximo = maximo;
+    }
+
+    /**
+     * Retorna o número de latências registradas.
+     *
+     * @return número de registros
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * Retorna a latência abaixo da qual fica a porcentagem informada dos registros.
+     *
+     * @param porcentagem Porcentagem entre 0 e 100
+     * @return latência em nanossegundos, ou zero se não houver registros
+     * @throws IllegalArgumentException se a porcentagem estiver fora do intervalo
+     */
+    public long getPercentil(double porcentagem) {
+        if (porcentagem < 0 || porcentagem > 100) {
+            throw new IllegalArgumentException("Porcentagem deve estar entre 0 e 100");
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        long posicao = Math.max(1, (long) Math.ceil(porcentagem / 100 * total));
+        long acumulado = 0;
+        for (int faixa = 0; faixa < contagens.length; faixa++) {
+            acumulado += contagens[faixa];
+            if (acumulado >= posicao) {
+                return Math.min(HistogramaLatencia.limiteDe(faixa), maximo);
+            }
+        }
+        return maximo;
+    }
+
+    /**
+     * Retorna a mediana das latências.
+     *
+     * @return percentil 50 em nanossegundos
+     */
+    public long getP50() {
+        return getPercentil(50);
+    }
+
+    /**
+     * Retorna o percentil 99 das latências.
+     *
+     * @return percentil 99 em nanossegundos
+     */
+    public long getP99() {
+        return getPercentil(99);
+    }
+
+    /**
+     * Retorna o percentil 99,9 das latências.
+     *
+     * @return percentil 99,9 em nanossegundos
+     */
+    public long getP999() {
+        return getPercentil(99.9);
+    }
+
+    /**
+     * Retorna a maior latência registrada.
+     *
+     * @return latência máxima em nanossegundos
+     */
+    public long getMaximo() {
+        return maximo;
+    }
+
+    /**
+     * Resume os percentis mais usados, sem as contagens do histograma.
+     *
+     * @return resumo dos percentis
+     */
+    public ResumoLatencia resumir() {
+        return new ResumoLatencia(total, getP50(), getP99(), getP999(), maximo);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PercentisLatencia{total=%d, p50=%dns, p99=%dns, p99.9=%dns, max=%dns}",
+                total, getP50(), getP99(), getP999(), maximo);
+    }
+}
@@ -0,0 +1,53 @@
+package metrics;
+
+import java.lang.management.ManagementFactory;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Registro de MBeans no servidor de MBeans da plataforma.
+ */
+public final class RegistroJmx {
+    /**
+     * Domínio dos nomes dos MBeans do sistema.
+     */
+    public static final String DOMINIO = "sistema.bancario";
+
+    private RegistroJmx() {
+    }
+
+    /**
+     * Registra um MBean com o nome {@code sistema.bancario:type=<tipo>}.
+     *
+     * @param mbean Objeto que implementa uma interface MBean ou MXBean
+     * @param tipo Tipo usado no nome, normalmente o nome da classe monitorada
+     * @return nome com que o MBean foi registrado
+     * @throws IllegalStateException se o registro falhar, inclusive por nome já registrado
+     */
+    public static ObjectName registrar(Object mbean, String tipo) {
+        try {
+            ObjectName nome = new ObjectName(DOMINIO, "type", tipo);
+            ManagementFactory.getPlatformMBeanServer().registerMBean(mbean, nome);
+            return nome;
+        } catch (JMException e) {
+            throw new IllegalStateException("Não foi possível registrar o MBean " + tipo, e);
+        }
+    }
+
+    /**
+     * Remove um MBean registrado; não faz nada se ele já tiver sido removido.
+     *
+     * @param nome Nome devolvido por {@link #registrar(Object, String)}
+     */
+    public static void remover(ObjectName nome) {
+        MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+        try {
+            if (servidor.isRegistered(nome)) {
+                servidor.unregisterMBean(nome);
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException("Não foi possível remover o MBean " + nome, e);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package metrics;
+
+/**
+ * Resumo dos percentis de latência, em nanossegundos, como publicado por JMX.
+ *
+ * @param total Número de latências registradas
+ * @param p50 Mediana
+ * @param p99 Percentil 99
+ * @param p999 Percentil 99,9
+ * @param maximo Maior latência registrada
+ */
+public record ResumoLatencia(long total, long p50, long p99, long p999, long maximo) {
+}
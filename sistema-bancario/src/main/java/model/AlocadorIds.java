@@ -0,0 +1,173 @@
+package model;
+
+import java.math.BigInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Alocador de IDs de conta sem colisões.
+ *
+ * Percorre o espaço de IDs com uma permutação afim {@code (a * k + b) mod n} sobre um
+ * contador atômico: cada valor do contador corresponde a exatamente um ID, então os IDs
+ * nunca se repetem, parecem espalhados e a alocação é O(1) mesmo com o espaço quase
+ * cheio. O espaço padrão são os 900.000 números de 6 dígitos; {@link #comDigitos(int)}
+ * cria alocadores para IDs mais largos.
+ */
+public class AlocadorIds {
+    private static final AlocadorIds PADRAO = comDigitos(6);
+    private static final double RAZAO_AUREA = 0.6180339887498949;
+
+    private final long primeiroId;
+    private final long tamanho;
+    private final long multiplicador;
+    private final long multiplicadorInverso;
+    private final long deslocamento;
+    private final int digitos;
+    private final AtomicLong proximoIndice;
+
+    /**
+     * Cria um alocador para IDs numéricos com a quantidade de dígitos informada.
+     *
+     * @param digitos Quantidade de dígitos dos IDs (1 a 18)
+     * @return alocador para o intervalo [10^(digitos-1), 10^digitos - 1]
+     * @throws IllegalArgumentException se a quantidade de dígitos for inválida
+     */
+    public static AlocadorIds comDigitos(int digitos) {
+        if (digitos < 1 || digitos > 18) {
+            throw new IllegalArgumentException("Quantidade de dígitos deve estar entre 1 e 18");
+        }
+
+        long primeiroId = digitos == 1 ? 0 : pow10(digitos - 1);
+        return new AlocadorIds(primeiroId, pow10(digitos) - primeiroId, digitos);
+    }
+
+    /**
+     * Retorna o alocador compartilhado de IDs de 6 dígitos usado pelas contas.
+     *
+     * @return alocador padrão
+     */
+    public static AlocadorIds padrao() {
+        return PADRAO;
+    }
+
+    private AlocadorIds(long primeiroId, long tamanho, int digitos) {
+        this.primeiroId = primeiroId;
+        this.tamanho = tamanho;
+        this.digitos = digitos;
+
+        // Multiplicador próximo da razão áurea do espaço e coprimo com ele, para que a
+        // permutação seja uma bijeção e IDs consecutivos fiquem distantes entre si
+        long candidato = Math.max(1, (long) (tamanho * RAZAO_AUREA));
+        while (BigInteger.valueOf(candidato).gcd(BigInteger.valueOf(tamanho)).longValue() != 1) {
+            candidato++;
+        }
+        this.multiplicador = candidato % tamanho;
+        this.multiplicadorInverso = tamanho == 1 ? 0 : BigInteger.valueOf(multiplicador)
+                .modInverse(BigInteger.valueOf(tamanho)).longValue();
+        this.deslocamento = (long) (tamanho * (1 - RAZAO_AUREA));
+        this.proximoIndice = new AtomicLong();
+    }
+
+    /**
+     * Aloca o próximo ID livre.
+     *
+     * @return ID ainda não alocado, com a quantidade de dígitos do alocador
+     * @throws IllegalStateException se todos os IDs do espaço já foram alocados
+     */
+    public String proximoId() {
+        long indice = proximoIndice.getAndIncrement();
+        if (indice >= tamanho) {
+            proximoIndice.set(tamanho);
+            throw new IllegalStateException("Não há mais IDs de conta disponíveis");
+        }
+
+        return String.valueOf(primeiroId + permutar(indice));
+    }
+
+    /**
+     * Marca um ID já existente como usado, para que nunca seja alocado novamente.
+     * Usado ao restaurar contas persistidas. IDs fora do espaço do alocador são ignorados.
+     *
+     * @param id ID de uma conta existente
+     */
+    public void marcarUsado(String id) {
+        long indice = indiceDe(id);
+        if (indice >= 0) {
+            marcarUsadosAte(indice);
+        }
+    }
+
+    /**
+     * Marca como usados todos os IDs alocados até a posição informada, inclusive.
+     * Permite restaurar o alocador a partir de uma posição persistida sem percorrer as contas.
+     *
+     * @param indice Posição na sequência de alocação, obtida com {@link #indiceDe(String)}
+     */
+    public void marcarUsadosAte(long indice) {
+        if (indice >= 0) {
+            proximoIndice.accumulateAndGet(Math.min(indice + 1, tamanho), Math::max);
+        }
+    }
+
+    /**
+     * Retorna a posição de um ID na sequência de alocação.
+     *
+     * @param id ID de uma conta
+     * @return posição do ID, ou -1 se ele não pertencer ao espaço do alocador
+     */
+    public long indiceDe(String id) {
+        if (id == null) {
+            return -1;
+        }
+
+        long numero;
+        try {
+            numero = Long.parseLong(id.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+
+        if (numero < primeiroId || numero - primeiroId >= tamanho) {
+            return -1;
+        }
+
+        return mulMod(Math.floorMod(numero - primeiroId - deslocamento, tamanho), multiplicadorInverso);
+    }
+
+    /**
+     * Retorna a quantidade de IDs ainda disponíveis.
+     *
+     * @return IDs livres
+     */
+    public long getDisponiveis() {
+        return Math.max(0, tamanho - proximoIndice.get());
+    }
+
+    /**
+     * Retorna a quantidade de dígitos dos IDs gerados.
+     *
+     * @return quantidade de dígitos
+     */
+    public int getDigitos() {
+        return digitos;
+    }
+
+    private long permutar(long indice) {
+        return (mulMod(indice, multiplicador) + deslocamento) % tamanho;
+    }
+
+    private long mulMod(long a, long b) {
+        // Espaços de até 18 dígitos podem estourar o produto em long
+        if (Math.multiplyHigh(a, b) == 0 && a * b >= 0) {
+            return (a * b) % tamanho;
+        }
+        return BigInteger.valueOf(a).multiply(BigInteger.valueOf(b)).mod(BigInteger.valueOf(tamanho)).longValue();
+    }
+
+    private static long pow10(int expoente) {
+        long resultado = 1;
+        for (int i = 0; i < expoente; i++) {
+            resultado *= 10;
+        }
+        return resultado;
+    }
+}
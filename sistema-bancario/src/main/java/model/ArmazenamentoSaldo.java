@@ -0,0 +1,64 @@
+package model;
+
+/**
+ * Local onde fica o estado do saldo de uma conta.
+ * A conta lê o estado atual e o substitui por compare-and-set. A implementação padrão
+ * guarda o estado em memória; armazenamentos persistentes podem mantê-lo fora do heap,
+ * desde que a troca seja atômica em relação a outras trocas do mesmo saldo.
+ *
+ * Operações que envolvem mais de uma conta travam os saldos com {@link #travar} e os
+ * publicam com {@link #liberar}. Enquanto o saldo está travado, {@link #ler()} continua
+ * devolvendo o último estado publicado e {@link #compararETrocar} falha.
+ */
+public interface ArmazenamentoSaldo {
+
+    /**
+     * Lê o último estado publicado do saldo, com saldo e versão coerentes entre si.
+     *
+     * @return estado atual
+     */
+    SaldoVersionado ler();
+
+    /**
+     * Lê o estado do saldo se ele não estiver travado.
+     *
+     * @return estado atual, ou null se o saldo estiver travado
+     */
+    SaldoVersionado lerSeLivre();
+
+    /**
+     * Substitui o estado se ele ainda for o esperado e o saldo não estiver travado.
+     * A conta sempre passa um novo estado com a versão seguinte à do esperado.
+     *
+     * @param esperado Estado lido anteriormente
+     * @param novo Estado que substituirá o esperado
+     * @return true se a troca ocorreu, false se o estado mudou desde a leitura ou está travado
+     */
+    boolean compararETrocar(SaldoVersionado esperado, SaldoVersionado novo);
+
+    /**
+     * Trava o saldo se ele ainda estiver no estado esperado e não estiver travado.
+     *
+     * @param esperado Estado lido anteriormente
+     * @return true se o saldo foi travado por esta chamada
+     */
+    boolean travar(SaldoVersionado esperado);
+
+    /**
+     * Confere se o estado pode ser guardado neste armazenamento, antes de ele ser publicado
+     * por {@link #liberar}, que não pode falhar. A implementação padrão aceita qualquer estado.
+     *
+     * @param novo Estado a conferir
+     * @throws IllegalArgumentException se o estado não puder ser guardado
+     */
+    default void verificar(SaldoVersionado novo) {
+    }
+
+    /**
+     * Publica o novo estado e destrava o saldo; deve ser chamado por quem o travou.
+     *
+     * @param travado Estado em que o saldo foi travado
+     * @param novo Estado a publicar, ou o próprio estado travado para destravar sem alteração
+     */
+    void liberar(SaldoVersionado travado, SaldoVersionado novo);
+}
@@ -0,0 +1,91 @@
+package model;
+
+import java.math.BigDecimal;
+
+/**
+ * Aritmética monetária em centavos representados como long.
+ * Converte de e para BigDecimal apenas na fronteira da API; as operações
+ * intermediárias não alocam objetos e detectam estouro de capacidade.
+ */
+public final class Centavos {
+
+    /**
+     * Número de casas decimais da moeda (centavos de real).
+     */
+    public static final int ESCALA = 2;
+
+    private Centavos() {
+    }
+
+    /**
+     * Converte um valor monetário em centavos.
+     *
+     * @param valor Valor em reais
+     * @return valor em centavos
+     * @throws IllegalArgumentException se o valor for nulo, tiver frações de centavo
+     *         ou não couber em um long
+     */
+    public static long deValor(BigDecimal valor) {
+        if (valor == null) {
+            throw new IllegalArgumentException("Valor não pode ser nulo");
+        }
+
+        try {
+            return valor.movePointRight(ESCALA).longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Valor deve ter no máximo " + ESCALA + " casas decimais e caber no limite suportado");
+        }
+    }
+
+    /**
+     * Converte centavos em um valor monetário com duas casas decimais.
+     *
+     * @param centavos Valor em centavos
+     * @return valor em reais
+     */
+    public static BigDecimal paraValor(long centavos) {
+        return BigDecimal.valueOf(centavos, ESCALA);
+    }
+
+    /**
+     * Soma dois valores em centavos.
+     *
+     * @param a Primeira parcela
+     * @param b Segunda parcela
+     * @return soma dos valores
+     * @throws IllegalArgumentException se a soma estourar a capacidade de um long
+     */
+    public static long somar(long a, long b) {
+        try {
+            return Math.addExact(a, b);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Valor excede o limite suportado");
+        }
+    }
+
+    /**
+     * Subtrai dois valores em centavos.
+     *
+     * @param a Minuendo
+     * @param b Subtraendo
+     * @return diferença dos valores
+     * @throws IllegalArgumentException se a diferença estourar a capacidade de um long
+     */
+    public static long subtrair(long a, long b) {
+        try {
+            return Math.subtractExact(a, b);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Valor excede o limite suportado");
+        }
+    }
+
+    /**
+     * Formata um valor em centavos em moeda brasileira.
+     *
+     * @param centavos Valor em centavos
+     * @return valor formatado (ex: R$ 1.234,56)
+     */
+    public static String formatar(long centavos) {
+        return Conta.formatarMoeda(paraValor(centavos));
+    }
+}
@@ -0,0 +1,97 @@
+package model;
+
+/**
+ * Classe que representa um cliente do banco.
+ * Contém informações básicas como nome e CPF.
+ */
+public class Cliente {
+    private final String nome;
+    private final long cpf;
+
+    /**
+     * Construtor da classe Cliente.
+     * 
+     * @param nome Nome completo do cliente
+     * @param cpf CPF do cliente (deve ser válido)
+     * @throws IllegalArgumentException se o nome for inválido ou CPF for inválido
+     */
+    public Cliente(String nome, String cpf) {
+        this(nome, Cpf.converter(cpf));
+    }
+
+    /**
+     * Construtor da classe Cliente a partir do número do CPF.
+     * 
+     * @param nome Nome completo do cliente
+     * @param cpf Número do CPF do cliente (deve ser válido)
+     * @throws IllegalArgumentException se o nome for inválido ou CPF for inválido
+     */
+    public Cliente(String nome, long cpf) {
+        if (nome == null || nome.trim().isEmpty()) {
+            throw new IllegalArgumentException("Nome não pode ser vazio");
+        }
+        if (!Cpf.isValido(cpf)) {
+            throw new OperacaoRecusadaException(MotivoRecusa.CPF_INVALIDO, "CPF inválido");
+        }
+        
+        this.nome = nome.trim();
+        this.cpf = cpf;
+    }
+
+    /**
+     * Retorna o nome do cliente.
+     * 
+     * @return nome do cliente
+     */
+    public String getNome() {
+        return nome;
+    }
+
+    /**
+     * Retorna o CPF do cliente, sem formatação.
+     * 
+     * @return CPF do cliente com 11 dígitos
+     */
+    public String getCpf() {
+        return Cpf.paraTexto(cpf);
+    }
+
+    /**
+     * Retorna o número do CPF do cliente, usado como chave nos índices.
+     * 
+     * @return número do CPF
+     */
+    public long getCpfNumerico() {
+        return cpf;
+    }
+
+    /**
+     * Retorna o CPF formatado (XXX.XXX.XXX-XX).
+     * 
+     * @return CPF formatado
+     */
+    public String getCpfFormatado() {
+        return Cpf.formatar(cpf);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        Cliente cliente = (Cliente) obj;
+        return cpf == cliente.cpf;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(cpf);
+    }
+
+    @Override
+    public String toString() {
+        return "Cliente{" +
+                "nome='" + nome + '\'' +
+                ", cpf='" + getCpfFormatado() + '\'' +
+                '}';
+    }
+}
\ No newline at end of file
@@ -0,0 +1,382 @@
+package model;
+
+import java.math.BigDecimal;
+import java.text.NumberFormat;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Classe que representa uma conta bancária.
+ * Contém informações do cliente, saldo e ID único.
+ * 
+ * O saldo é alterado por compare-and-set, de modo que depósitos e saques
+ * concorrentes não perdem atualizações nem deixam a conta negativa. Cada
+ * movimentação produz um novo {@link SaldoVersionado} com a versão incrementada.
+ * O estado fica em um {@link ArmazenamentoSaldo}, em memória por padrão.
+ * Transferências travam as duas contas com uma {@link TransacaoContas}.
+ */
+public class Conta {
+    private final String id;
+    private final Cliente cliente;
+    private final ArmazenamentoSaldo estado;
+    private static final NumberFormat currencyFormat = NumberFormat.getCurrencyInstance(new Locale("pt", "BR"));
+
+    /**
+     * Construtor da classe Conta.
+     * Aloca automaticamente um ID único de 6 dígitos.
+     * 
+     * @param cliente Cliente proprietário da conta
+     * @throws IllegalArgumentException se o cliente for nulo
+     * @throws IllegalStateException se não houver mais IDs disponíveis
+     */
+    public Conta(Cliente cliente) {
+        this(cliente, AlocadorIds.padrao());
+    }
+
+    /**
+     * Construtor da classe Conta com alocador de IDs específico.
+     * 
+     * @param cliente Cliente proprietário da conta
+     * @param alocadorIds Alocador que fornecerá o ID da conta
+     * @throws IllegalArgumentException se o cliente ou o alocador forem nulos
+     * @throws IllegalStateException se não houver mais IDs disponíveis
+     */
+    public Conta(Cliente cliente, AlocadorIds alocadorIds) {
+        if (cliente == null) {
+            throw new IllegalArgumentException("Cliente não pode ser nulo");
+        }
+        if (alocadorIds == null) {
+            throw new IllegalArgumentException("Alocador de IDs não pode ser nulo");
+        }
+        
+        this.id = alocadorIds.proximoId();
+        this.cliente = cliente;
+        this.estado = new SaldoEmMemoria(SaldoVersionado.INICIAL);
+    }
+
+    private Conta(String id, Cliente cliente, ArmazenamentoSaldo estado) {
+        this.id = id;
+        this.cliente = cliente;
+        this.estado = estado;
+    }
+
+    /**
+     * Reconstrói uma conta já existente com seu ID e estado de saldo.
+     * Usado na recuperação de contas persistidas; não consome IDs do alocador.
+     * 
+     * @param id ID original da conta
+     * @param cliente Cliente proprietário da conta
+     * @param estado Saldo e versão da conta
+     * @return conta restaurada
+     * @throws IllegalArgumentException se algum parâmetro for inválido
+     */
+    public static Conta restaurar(String id, Cliente cliente, SaldoVersionado estado) {
+        if (id == null || id.trim().isEmpty()) {
+            throw new IllegalArgumentException("ID da conta é obrigatório");
+        }
+        if (cliente == null) {
+            throw new IllegalArgumentException("Cliente não pode ser nulo");
+        }
+        if (estado == null) {
+            throw new IllegalArgumentException("Estado do saldo não pode ser nulo");
+        }
+        
+        return new Conta(id.trim(), cliente, new SaldoEmMemoria(estado));
+    }
+
+    /**
+     * Reconstrói uma conta já existente cujo saldo fica em um armazenamento externo.
+     * Várias instâncias sobre o mesmo armazenamento compartilham o saldo, e as
+     * movimentações feitas por qualquer uma delas continuam atômicas.
+     * 
+     * @param id ID original da conta
+     * @param cliente Cliente proprietário da conta
+     * @param armazenamento Armazenamento do saldo da conta
+     * @return conta restaurada
+     * @throws IllegalArgumentException se algum parâmetro for inválido
+     */
+    public static Conta restaurar(String id, Cliente cliente, ArmazenamentoSaldo armazenamento) {
+        if (id == null || id.trim().isEmpty()) {
+            throw new IllegalArgumentException("ID da conta é obrigatório");
+        }
+        if (cliente == null) {
+            throw new IllegalArgumentException("Cliente não pode ser nulo");
+        }
+        if (armazenamento == null) {
+            throw new IllegalArgumentException("Armazenamento do saldo não pode ser nulo");
+        }
+        
+        return new Conta(id.trim(), cliente, armazenamento);
+    }
+
+    /**
+     * Retorna o ID da conta.
+     * 
+     * @return ID da conta
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Retorna o cliente proprietário da conta.
+     * 
+     * @return cliente da conta
+     */
+    public Cliente getCliente() {
+        return cliente;
+    }
+
+    /**
+     * Retorna o saldo atual da conta.
+     * 
+     * @return saldo da conta
+     */
+    public BigDecimal getSaldo() {
+        return estado.ler().getSaldo();
+    }
+
+    /**
+     * Retorna o saldo atual junto com sua versão, lidos atomicamente.
+     * 
+     * @return estado atual do saldo
+     */
+    public SaldoVersionado getEstado() {
+        return estado.ler();
+    }
+
+    /**
+     * Lê os estados de várias contas em um mesmo instante.
+     * As contas são lidas duas vezes, e a leitura é repetida enquanto alguma estiver travada
+     * por uma transação ou mudar entre as duas passagens; assim o resultado nunca mostra uma
+     * transferência aplicada em apenas uma das contas.
+     * 
+     * @param contas Contas a serem lidas
+     * @return estados das contas, na ordem informada
+     * @throws IllegalArgumentException se alguma conta for nula
+     */
+    public static SaldoVersionado[] lerEstados(Conta... contas) {
+        if (contas == null) {
+            throw new IllegalArgumentException("Contas são obrigatórias");
+        }
+        for (Conta conta : contas) {
+            if (conta == null) {
+                throw new IllegalArgumentException("Conta não pode ser nula");
+            }
+        }
+        
+        SaldoVersionado[] estados = new SaldoVersionado[contas.length];
+        for (int tentativa = 0; ; tentativa++) {
+            if (lerSeLivres(contas, estados) && confirmarLeitura(contas, estados)) {
+                return estados;
+            }
+            TransacaoContas.aguardar(tentativa);
+        }
+    }
+
+    private static boolean lerSeLivres(Conta[] contas, SaldoVersionado[] estados) {
+        for (int i = 0; i < contas.length; i++) {
+            estados[i] = contas[i].estado.lerSeLivre();
+            if (estados[i] == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean confirmarLeitura(Conta[] contas, SaldoVersionado[] estados) {
+        for (int i = 0; i < contas.length; i++) {
+            SaldoVersionado releitura = contas[i].estado.lerSeLivre();
+            if (releitura == null || releitura.getVersao() != estados[i].getVersao()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Retorna o saldo formatado em moeda brasileira.
+     * 
+     * @return saldo formatado (ex: R$ 1.234,56)
+     */
+    public String getSaldoFormatado() {
+        return currencyFormat.format(estado.ler().getSaldo());
+    }
+
+    /**
+     * Realiza um depósito na conta.
+     * 
+     * @param valor Valor a ser depositado
+     * @return estado do saldo após o depósito
+     * @throws IllegalArgumentException se o valor for inválido
+     */
+    public SaldoVersionado depositar(BigDecimal valor) {
+        if (valor == null || valor.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("Valor do depósito deve ser positivo");
+        }
+        
+        for (int tentativa = 0; ; tentativa++) {
+            SaldoVersionado atual = estado.ler();
+            SaldoVersionado novo = new SaldoVersionado(atual.getSaldo().add(valor), atual.getVersao() + 1);
+            if (estado.compararETrocar(atual, novo)) {
+                return novo;
+            }
+            TransacaoContas.aguardar(tentativa);
+        }
+    }
+
+    /**
+     * Realiza um saque na conta.
+     * A verificação de saldo e o débito acontecem no mesmo passo atômico.
+     * 
+     * @param valor Valor a ser sacado
+     * @return estado do saldo após o saque
+     * @throws IllegalArgumentException se o valor for inválido ou insuficiente
+     */
+    public SaldoVersionado sacar(BigDecimal valor) {
+        if (valor == null || valor.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("Valor do saque deve ser positivo");
+        }
+        
+        return debitar(valor, "Saldo insuficiente para saque");
+    }
+
+    /**
+     * Transfere um valor desta conta para a conta de destino.
+     * As duas contas são travadas em ordem de ID, o que elimina a possibilidade de deadlock
+     * entre transferências cruzadas, e os dois novos saldos são publicados juntos: nenhuma
+     * leitura por {@link #lerEstados(Conta...)} vê o valor fora das duas contas ou nas duas.
+     * 
+     * @param destino Conta que receberá o valor
+     * @param valor Valor a ser transferido
+     * @return estados das duas contas após a transferência
+     * @throws IllegalArgumentException se o destino for inválido, o valor não for positivo
+     *         ou o saldo for insuficiente
+     */
+    public ResultadoTransferencia transferirPara(Conta destino, BigDecimal valor) {
+        if (destino == null) {
+            throw new IllegalArgumentException("Conta de destino não pode ser nula");
+        }
+        
+        if (destino == this || destino.id.equals(this.id)) {
+            throw new IllegalArgumentException("Conta de origem e destino devem ser diferentes");
+        }
+        
+        if (valor == null || valor.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("Valor da transferência deve ser positivo");
+        }
+        
+        try (TransacaoContas transacao = TransacaoContas.travar(this, destino)) {
+            SaldoVersionado origem = transacao.debitar(this, valor, "Saldo insuficiente na conta de origem");
+            SaldoVersionado resultadoDestino = transacao.creditar(destino, valor);
+            transacao.confirmar();
+            return new ResultadoTransferencia(origem, resultadoDestino);
+        }
+    }
+
+    /**
+     * Aplica várias movimentações em sequência com um único compare-and-set.
+     * Valores positivos creditam e negativos debitam; um débito sem saldo suficiente é
+     * recusado sem impedir os seguintes. Cada movimentação aceita recebe a sua própria
+     * versão, como se tivesse sido feita isoladamente.
+     * 
+     * @param valores Valores das movimentações, na ordem de aplicação
+     * @return estado após cada movimentação, ou null na posição das recusadas por saldo insuficiente
+     * @throws IllegalArgumentException se algum valor for nulo ou zero
+     */
+    public SaldoVersionado[] aplicarMovimentacoes(BigDecimal[] valores) {
+        if (valores == null) {
+            throw new IllegalArgumentException("Valores das movimentações são obrigatórios");
+        }
+        for (BigDecimal valor : valores) {
+            if (valor == null || valor.signum() == 0) {
+                throw new IllegalArgumentException("Valor da movimentação não pode ser nulo ou zero");
+            }
+        }
+        
+        SaldoVersionado[] resultados = new SaldoVersionado[valores.length];
+        for (int tentativa = 0; ; tentativa++) {
+            SaldoVersionado atual = estado.ler();
+            SaldoVersionado ultimo = atual;
+            for (int i = 0; i < valores.length; i++) {
+                BigDecimal saldo = ultimo.getSaldo().add(valores[i]);
+                if (saldo.signum() < 0) {
+                    resultados[i] = null;
+                } else {
+                    ultimo = new SaldoVersionado(saldo, ultimo.getVersao() + 1);
+                    resultados[i] = ultimo;
+                }
+            }
+            if (ultimo == atual || estado.compararETrocar(atual, ultimo)) {
+                return resultados;
+            }
+            TransacaoContas.aguardar(tentativa);
+        }
+    }
+
+    /**
+     * Debita um valor verificando o saldo dentro do mesmo compare-and-set.
+     */
+    private SaldoVersionado debitar(BigDecimal valor, String mensagemSaldoInsuficiente) {
+        for (int tentativa = 0; ; tentativa++) {
+            SaldoVersionado atual = estado.ler();
+            if (valor.compareTo(atual.getSaldo()) > 0) {
+                throw new OperacaoRecusadaException(MotivoRecusa.SALDO_INSUFICIENTE, mensagemSaldoInsuficiente);
+            }
+            SaldoVersionado novo = new SaldoVersionado(atual.getSaldo().subtract(valor), atual.getVersao() + 1);
+            if (estado.compararETrocar(atual, novo)) {
+                return novo;
+            }
+            TransacaoContas.aguardar(tentativa);
+        }
+    }
+
+    /**
+     * Retorna o armazenamento do saldo, travado pelas transações.
+     */
+    ArmazenamentoSaldo armazenamento() {
+        return estado;
+    }
+
+    /**
+     * Verifica se a conta tem saldo suficiente para um valor.
+     * 
+     * @param valor Valor a ser verificado
+     * @return true se o saldo for suficiente, false caso contrário
+     */
+    public boolean temSaldoSuficiente(BigDecimal valor) {
+        return valor != null && estado.ler().getSaldo().compareTo(valor) >= 0;
+    }
+
+    /**
+     * Formata um valor em moeda brasileira.
+     * 
+     * @param valor Valor a ser formatado
+     * @return valor formatado (ex: R$ 1.234,56)
+     */
+    public static String formatarMoeda(BigDecimal valor) {
+        return currencyFormat.format(valor != null ? valor : BigDecimal.ZERO);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        Conta conta = (Conta) obj;
+        return Objects.equals(id, conta.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public String toString() {
+        return "Conta{" +
+                "id='" + id + '\'' +
+                ", cliente=" + cliente.getNome() +
+                ", saldo=" + getSaldoFormatado() +
+                '}';
+    }
+}
\ No newline at end of file
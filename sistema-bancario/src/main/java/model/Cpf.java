@@ -0,0 +1,147 @@
+package model;
+
+/**
+ * Leitura e validação de CPF em uma única passada, sem expressões regulares.
+ * Caracteres que não são dígitos (pontos, hífen, espaços) são ignorados, e os
+ * dígitos verificadores são calculados enquanto o número é lido.
+ */
+public final class Cpf {
+
+    /**
+     * Quantidade de dígitos de um CPF.
+     */
+    public static final int DIGITOS = 11;
+
+    /**
+     * Valor devolvido por {@link #converter(CharSequence)} para um CPF inválido.
+     */
+    public static final long INVALIDO = -1L;
+
+    private static final long MAXIMO = 99_999_999_999L;
+
+    private Cpf() {
+    }
+
+    /**
+     * Converte um CPF, com ou sem formatação, no número de 11 dígitos que ele representa.
+     *
+     * @param cpf CPF a converter
+     * @return número do CPF, ou {@link #INVALIDO} se o CPF for nulo, não tiver 11 dígitos,
+     *         tiver todos os dígitos iguais ou dígitos verificadores incorretos
+     */
+    public static long converter(CharSequence cpf) {
+        if (cpf == null) {
+            return INVALIDO;
+        }
+
+        long numero = 0;
+        int digitos = 0;
+        for (int i = 0; i < cpf.length(); i++) {
+            char c = cpf.charAt(i);
+            if (c < '0' || c > '9') {
+                continue;
+            }
+            if (++digitos > DIGITOS) {
+                return INVALIDO;
+            }
+            numero = numero * 10 + (c - '0');
+        }
+        return digitos == DIGITOS && isValido(numero) ? numero : INVALIDO;
+    }
+
+    /**
+     * Valida um CPF usando o algoritmo oficial.
+     *
+     * @param cpf CPF a validar, com ou sem formatação
+     * @return true se o CPF for válido
+     */
+    public static boolean isValido(CharSequence cpf) {
+        return converter(cpf) != INVALIDO;
+    }
+
+    /**
+     * Valida o número de um CPF usando o algoritmo oficial, sem convertê-lo em texto.
+     *
+     * @param numero Número do CPF, com os zeros à esquerda implícitos
+     * @return true se o número tiver até 11 dígitos, não tiver todos os dígitos iguais
+     *         e os dígitos verificadores conferirem
+     */
+    public static boolean isValido(long numero) {
+        if (numero < 0 || numero > MAXIMO) {
+            return false;
+        }
+
+        int segundoVerificador = (int) (numero % 10);
+        int primeiroVerificador = (int) (numero / 10 % 10);
+        boolean todosIguais = primeiroVerificador == segundoVerificador;
+        int somaPrimeiro = 0;
+        int somaSegundo = primeiroVerificador * 2;
+        long restante = numero / 100;
+        for (int posicao = 8; posicao >= 0; posicao--) {
+            int digito = (int) (restante % 10);
+            restante /= 10;
+            todosIguais &= digito == segundoVerificador;
+            somaPrimeiro += digito * (10 - posicao);
+            somaSegundo += digito * (11 - posicao);
+        }
+        return !todosIguais
+                && primeiroVerificador == verificador(somaPrimeiro)
+                && segundoVerificador == verificador(somaSegundo);
+    }
+
+    /**
+     * Remove a formatação de um CPF válido.
+     * Se o CPF já estiver sem formatação, devolve a própria instância recebida.
+     *
+     * @param cpf CPF a normalizar
+     * @return CPF com apenas os 11 dígitos, ou null se o CPF for inválido
+     */
+    public static String normalizar(String cpf) {
+        long numero = converter(cpf);
+        if (numero == INVALIDO) {
+            return null;
+        }
+        return cpf.length() == DIGITOS ? cpf : paraTexto(numero);
+    }
+
+    /**
+     * Escreve o número de um CPF com os 11 dígitos, incluindo zeros à esquerda.
+     *
+     * @param numero Número do CPF
+     * @return CPF sem formatação
+     */
+    public static String paraTexto(long numero) {
+        char[] digitos = new char[DIGITOS];
+        for (int i = DIGITOS - 1; i >= 0; i--) {
+            digitos[i] = (char) ('0' + numero % 10);
+            numero /= 10;
+        }
+        return new String(digitos);
+    }
+
+    /**
+     * Formata o número de um CPF como XXX.XXX.XXX-XX.
+     *
+     * @param numero Número do CPF
+     * @return CPF formatado
+     */
+    public static String formatar(long numero) {
+        char[] formatado = new char[DIGITOS + 3];
+        for (int i = formatado.length - 1; i >= 0; i--) {
+            if (i == 3 || i == 7) {
+                formatado[i] = '.';
+            } else if (i == 11) {
+                formatado[i] = '-';
+            } else {
+                formatado[i] = (char) ('0' + numero % 10);
+                numero /= 10;
+            }
+        }
+        return new String(formatado);
+    }
+
+    private static int verificador(int soma) {
+        int resto = 11 - soma % 11;
+        return resto >= 10 ? 0 : resto;
+    }
+}
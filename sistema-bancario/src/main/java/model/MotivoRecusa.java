@@ -0,0 +1,10 @@
+package model;
+
+/**
+ * Motivos pelos quais uma operação é recusada com {@link OperacaoRecusadaException}.
+ */
+public enum MotivoRecusa {
+    SALDO_INSUFICIENTE,
+    CONTA_NAO_ENCONTRADA,
+    CPF_INVALIDO
+}
@@ -0,0 +1,32 @@
+package model;
+
+/**
+ * Validação que recusa uma operação por um motivo contado separadamente no monitoramento,
+ * como saldo insuficiente ou conta inexistente. O motivo é definido onde a exceção é
+ * lançada, então a mensagem pode mudar sem afetar a classificação.
+ */
+public class OperacaoRecusadaException extends IllegalArgumentException {
+    private static final long serialVersionUID = 1L;
+
+    private final MotivoRecusa motivo;
+
+    /**
+     * Construtor da exceção.
+     *
+     * @param motivo Motivo da recusa
+     * @param mensagem Mensagem exibida ao usuário
+     */
+    public OperacaoRecusadaException(MotivoRecusa motivo, String mensagem) {
+        super(mensagem);
+        this.motivo = motivo;
+    }
+
+    /**
+     * Retorna o motivo da recusa.
+     *
+     * @return motivo definido ao lançar a exceção
+     */
+    public MotivoRecusa getMotivo() {
+        return motivo;
+    }
+}
@@ -0,0 +1,38 @@
+package model;
+
+/**
+ * Estados resultantes das duas contas envolvidas em uma transferência.
+ */
+public final class ResultadoTransferencia {
+    private final SaldoVersionado origem;
+    private final SaldoVersionado destino;
+
+    /**
+     * Construtor do resultado da transferência.
+     *
+     * @param origem Estado da conta de origem após o débito
+     * @param destino Estado da conta de destino após o crédito
+     */
+    public ResultadoTransferencia(SaldoVersionado origem, SaldoVersionado destino) {
+        this.origem = origem;
+        this.destino = destino;
+    }
+
+    /**
+     * Retorna o estado da conta de origem após o débito.
+     *
+     * @return estado da origem
+     */
+    public SaldoVersionado getOrigem() {
+        return origem;
+    }
+
+    /**
+     * Retorna o estado da conta de destino após o crédito.
+     *
+     * @return estado do destino
+     */
+    public SaldoVersionado getDestino() {
+        return destino;
+    }
+}
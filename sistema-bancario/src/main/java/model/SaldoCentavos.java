@@ -0,0 +1,109 @@
+package model;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Saldo mantido em centavos com atualização atômica.
+ * Alternativa ao saldo em BigDecimal da {@link Conta} para o caminho crítico:
+ * depósitos e saques são compare-and-set sobre um long e não alocam objetos.
+ */
+public class SaldoCentavos {
+    private final AtomicLong centavos;
+
+    /**
+     * Cria um saldo zerado.
+     */
+    public SaldoCentavos() {
+        this(0L);
+    }
+
+    /**
+     * Cria um saldo com valor inicial.
+     *
+     * @param centavosIniciais Saldo inicial em centavos
+     * @throws IllegalArgumentException se o saldo inicial for negativo
+     */
+    public SaldoCentavos(long centavosIniciais) {
+        if (centavosIniciais < 0) {
+            throw new IllegalArgumentException("Saldo inicial não pode ser negativo");
+        }
+        this.centavos = new AtomicLong(centavosIniciais);
+    }
+
+    /**
+     * Retorna o saldo atual em centavos.
+     *
+     * @return saldo em centavos
+     */
+    public long getCentavos() {
+        return centavos.get();
+    }
+
+    /**
+     * Retorna o saldo atual como valor monetário.
+     *
+     * @return saldo em reais
+     */
+    public BigDecimal getSaldo() {
+        return Centavos.paraValor(centavos.get());
+    }
+
+    /**
+     * Realiza um depósito.
+     *
+     * @param valor Valor em centavos
+     * @return saldo resultante em centavos
+     * @throws IllegalArgumentException se o valor não for positivo ou o saldo estourar
+     */
+    public long depositar(long valor) {
+        if (valor <= 0) {
+            throw new IllegalArgumentException("Valor do depósito deve ser positivo");
+        }
+
+        long atual;
+        long novo;
+        do {
+            atual = centavos.get();
+            novo = Centavos.somar(atual, valor);
+        } while (!centavos.compareAndSet(atual, novo));
+        return novo;
+    }
+
+    /**
+     * Realiza um saque. A verificação de saldo e o débito são atômicos.
+     *
+     * @param valor Valor em centavos
+     * @return saldo resultante em centavos
+     * @throws IllegalArgumentException se o valor não for positivo ou o saldo for insuficiente
+     */
+    public long sacar(long valor) {
+        if (valor <= 0) {
+            throw new IllegalArgumentException("Valor do saque deve ser positivo");
+        }
+
+        long atual;
+        do {
+            atual = centavos.get();
+            if (valor > atual) {
+                throw new OperacaoRecusadaException(MotivoRecusa.SALDO_INSUFICIENTE, "Saldo insuficiente para saque");
+            }
+        } while (!centavos.compareAndSet(atual, atual - valor));
+        return atual - valor;
+    }
+
+    /**
+     * Verifica se o saldo cobre um valor.
+     *
+     * @param valor Valor em centavos
+     * @return true se o saldo for suficiente, false caso contrário
+     */
+    public boolean temSaldoSuficiente(long valor) {
+        return centavos.get() >= valor;
+    }
+
+    @Override
+    public String toString() {
+        return Centavos.formatar(centavos.get());
+    }
+}
@@ -0,0 +1,50 @@
+package model;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Armazenamento de saldo em memória, usado pelas contas por padrão.
+ * O saldo travado é representado por uma {@link Trava} que embrulha o último estado publicado.
+ */
+final class SaldoEmMemoria implements ArmazenamentoSaldo {
+    private final AtomicReference<Object> estado;
+
+    SaldoEmMemoria(SaldoVersionado inicial) {
+        this.estado = new AtomicReference<>(inicial);
+    }
+
+    @Override
+    public SaldoVersionado ler() {
+        Object atual = estado.get();
+        return atual instanceof Trava trava ? trava.publicado : (SaldoVersionado) atual;
+    }
+
+    @Override
+    public SaldoVersionado lerSeLivre() {
+        Object atual = estado.get();
+        return atual instanceof Trava ? null : (SaldoVersionado) atual;
+    }
+
+    @Override
+    public boolean compararETrocar(SaldoVersionado esperado, SaldoVersionado novo) {
+        return estado.compareAndSet(esperado, novo);
+    }
+
+    @Override
+    public boolean travar(SaldoVersionado esperado) {
+        return estado.compareAndSet(esperado, new Trava(esperado));
+    }
+
+    @Override
+    public void liberar(SaldoVersionado travado, SaldoVersionado novo) {
+        estado.set(novo);
+    }
+
+    private static final class Trava {
+        private final SaldoVersionado publicado;
+
+        private Trava(SaldoVersionado publicado) {
+            this.publicado = publicado;
+        }
+    }
+}
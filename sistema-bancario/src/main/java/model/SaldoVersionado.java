@@ -0,0 +1,74 @@
+package model;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * Estado imutável do saldo de uma conta em um instante.
+ * A versão começa em zero e aumenta de um em cada movimentação, permitindo
+ * ordenar os estados de uma mesma conta sem depender de relógio.
+ */
+public final class SaldoVersionado {
+    static final SaldoVersionado INICIAL = new SaldoVersionado(BigDecimal.ZERO, 0);
+
+    private final BigDecimal saldo;
+    private final long versao;
+
+    /**
+     * Construtor do estado de saldo.
+     *
+     * @param saldo Saldo da conta
+     * @param versao Versão do saldo
+     * @throws IllegalArgumentException se o saldo for nulo ou negativo, ou a versão for negativa
+     */
+    public SaldoVersionado(BigDecimal saldo, long versao) {
+        if (saldo == null || saldo.signum() < 0) {
+            throw new IllegalArgumentException("Saldo não pode ser nulo ou negativo");
+        }
+        if (versao < 0) {
+            throw new IllegalArgumentException("Versão não pode ser negativa");
+        }
+
+        this.saldo = saldo;
+        this.versao = versao;
+    }
+
+    /**
+     * Retorna o saldo.
+     *
+     * @return saldo da conta neste estado
+     */
+    public BigDecimal getSaldo() {
+        return saldo;
+    }
+
+    /**
+     * Retorna a versão do saldo.
+     *
+     * @return versão deste estado
+     */
+    public long getVersao() {
+        return versao;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        SaldoVersionado outro = (SaldoVersionado) obj;
+        return versao == outro.versao && saldo.equals(outro.saldo);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(saldo, versao);
+    }
+
+    @Override
+    public String toString() {
+        return "SaldoVersionado{" +
+                "saldo=" + Conta.formatarMoeda(saldo) +
+                ", versao=" + versao +
+                '}';
+    }
+}
@@ -0,0 +1,206 @@
+package model;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Alteração atômica dos saldos de um conjunto de contas.
+ *
+ * As contas são travadas em ordem crescente de ID, o que impede deadlock entre transações
+ * que travam as mesmas contas em ordens diferentes. As movimentações alteram apenas uma
+ * cópia dos estados; ao fechar, os novos estados são publicados se a transação tiver sido
+ * confirmada, e descartados caso contrário. Enquanto a transação está aberta, as demais
+ * movimentações das contas esperam, e as leituras devolvem os estados anteriores.
+ *
+ * Contas diferentes com o mesmo ID, como as instâncias de um repositório mapeado, são
+ * travadas uma única vez. A transação pertence à thread que a abriu.
+ */
+public final class TransacaoContas implements AutoCloseable {
+    private static final Comparator<Conta> POR_ID = Comparator.comparing(Conta::getId);
+    private static final int ESPERAS_ATIVAS = 64;
+    private static final int ESPERAS_CEDENDO = 128;
+    private static final long ESPERA_MAXIMA_NANOS = 50_000L;
+
+    private final Conta[] contas;
+    private final SaldoVersionado[] travados;
+    private final SaldoVersionado[] atuais;
+    private int travadas;
+    private boolean confirmada;
+
+    private TransacaoContas(Conta[] contas) {
+        this.contas = contas;
+        this.travados = new SaldoVersionado[contas.length];
+        this.atuais = new SaldoVersionado[contas.length];
+    }
+
+    /**
+     * Trava as contas informadas, esperando as transações que já as tenham travado.
+     *
+     * @param contas Contas que participam da transação
+     * @return transação aberta, a ser fechada pelo chamador
+     * @throws IllegalArgumentException se alguma conta for nula
+     */
+    public static TransacaoContas travar(Conta... contas) {
+        if (contas == null) {
+            throw new IllegalArgumentException("Contas são obrigatórias");
+        }
+        return abrir(contas.clone());
+    }
+
+    /**
+     * Trava as contas informadas, esperando as transações que já as tenham travado.
+     *
+     * @param contas Contas que participam da transação
+     * @return transação aberta, a ser fechada pelo chamador
+     * @throws IllegalArgumentException se alguma conta for nula
+     */
+    public static TransacaoContas travar(Collection<Conta> contas) {
+        if (contas == null) {
+            throw new IllegalArgumentException("Contas são obrigatórias");
+        }
+        return abrir(contas.toArray(new Conta[0]));
+    }
+
+    private static TransacaoContas abrir(Conta[] contas) {
+        for (Conta conta : contas) {
+            if (conta == null) {
+                throw new IllegalArgumentException("Conta não pode ser nula");
+            }
+        }
+
+        Arrays.sort(contas, POR_ID);
+        int distintas = 0;
+        for (Conta conta : contas) {
+            if (distintas == 0 || !contas[distintas - 1].getId().equals(conta.getId())) {
+                contas[distintas++] = conta;
+            }
+        }
+
+        TransacaoContas transacao = new TransacaoContas(Arrays.copyOf(contas, distintas));
+        try {
+            transacao.travarTodas();
+        } catch (RuntimeException | Error e) {
+            transacao.close();
+            throw e;
+        }
+        return transacao;
+    }
+
+    private void travarTodas() {
+        for (; travadas < contas.length; travadas++) {
+            ArmazenamentoSaldo armazenamento = contas[travadas].armazenamento();
+            for (int tentativa = 0; ; tentativa++) {
+                SaldoVersionado atual = armazenamento.ler();
+                if (armazenamento.travar(atual)) {
+                    travados[travadas] = atual;
+                    atuais[travadas] = atual;
+                    break;
+                }
+                aguardar(tentativa);
+            }
+        }
+    }
+
+    /**
+     * Retorna o estado da conta dentro da transação, com as movimentações já feitas nela.
+     *
+     * @param conta Conta travada pela transação
+     * @return estado da conta
+     * @throws IllegalArgumentException se a conta não fizer parte da transação
+     */
+    public SaldoVersionado getEstado(Conta conta) {
+        return atuais[indice(conta)];
+    }
+
+    /**
+     * Credita um valor na conta.
+     *
+     * @param conta Conta travada pela transação
+     * @param valor Valor positivo
+     * @return estado da conta após o crédito
+     * @throws IllegalArgumentException se o valor não for positivo, a conta não fizer parte da
+     *         transação ou o novo saldo não puder ser guardado
+     */
+    public SaldoVersionado creditar(Conta conta, BigDecimal valor) {
+        if (valor == null || valor.signum() <= 0) {
+            throw new IllegalArgumentException("Valor do crédito deve ser positivo");
+        }
+
+        int i = indice(conta);
+        return movimentar(i, atuais[i].getSaldo().add(valor));
+    }
+
+    /**
+     * Debita um valor da conta, se o saldo for suficiente.
+     *
+     * @param conta Conta travada pela transação
+     * @param valor Valor positivo
+     * @param mensagemSaldoInsuficiente Mensagem da exceção lançada se o saldo não for suficiente
+     * @return estado da conta após o débito
+     * @throws IllegalArgumentException se o valor não for positivo, o saldo for insuficiente
+     *         ou a conta não fizer parte da transação
+     */
+    public SaldoVersionado debitar(Conta conta, BigDecimal valor, String mensagemSaldoInsuficiente) {
+        if (valor == null || valor.signum() <= 0) {
+            throw new IllegalArgumentException("Valor do débito deve ser positivo");
+        }
+
+        int i = indice(conta);
+        if (valor.compareTo(atuais[i].getSaldo()) > 0) {
+            throw new OperacaoRecusadaException(MotivoRecusa.SALDO_INSUFICIENTE, mensagemSaldoInsuficiente);
+        }
+        return movimentar(i, atuais[i].getSaldo().subtract(valor));
+    }
+
+    /**
+     * Marca a transação para que os novos estados sejam publicados ao fechar.
+     */
+    public void confirmar() {
+        confirmada = true;
+    }
+
+    /**
+     * Destrava as contas, publicando os novos estados se a transação foi confirmada.
+     */
+    @Override
+    public void close() {
+        for (int i = 0; i < travadas; i++) {
+            contas[i].armazenamento().liberar(travados[i], confirmada ? atuais[i] : travados[i]);
+        }
+        travadas = 0;
+    }
+
+    /**
+     * Espera antes de uma nova tentativa de travar ou trocar um saldo disputado, primeiro
+     * ativamente e, se a disputa persistir, estacionando a thread por pouco tempo.
+     *
+     * @param tentativa Número de tentativas já feitas
+     */
+    static void aguardar(int tentativa) {
+        if (tentativa < ESPERAS_ATIVAS) {
+            Thread.onSpinWait();
+        } else if (tentativa < ESPERAS_CEDENDO) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(ESPERA_MAXIMA_NANOS);
+        }
+    }
+
+    private SaldoVersionado movimentar(int i, BigDecimal saldo) {
+        SaldoVersionado novo = new SaldoVersionado(saldo, atuais[i].getVersao() + 1);
+        contas[i].armazenamento().verificar(novo);
+        atuais[i] = novo;
+        return novo;
+    }
+
+    private int indice(Conta conta) {
+        int i = conta == null ? -1 : Arrays.binarySearch(contas, conta, POR_ID);
+        if (i < 0) {
+            throw new IllegalArgumentException("Conta não faz parte da transação");
+        }
+        return i;
+    }
+}
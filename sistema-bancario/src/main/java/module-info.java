@@ -2,9 +2,13 @@ module sistema.bancario {
     requires javafx.controls;
     requires javafx.fxml;
     requires java.desktop;
+    requires transitive java.management;
     
     exports app;
     exports model;
     exports service;
     exports repository;
+    exports persistence;
+    exports ledger;
+    exports metrics;
 }
\ No newline at end of file
@@ -0,0 +1,81 @@
+package persistence;
+
+import model.AlocadorIds;
+import model.Cliente;
+import model.Conta;
+import model.SaldoVersionado;
+import repository.ContaRepository;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Acumula o estado das contas lido da persistência durante a recuperação.
+ *
+ * Os saldos são registrados com sua versão e apenas a maior versão de cada conta é
+ * mantida. Por isso a ordem em que os registros são lidos não importa: contas criadas e
+ * movimentações podem aparecer em qualquer ordem, inclusive repetidas. Os cancelamentos de
+ * criação também são aplicados só no final.
+ */
+class EstadoRecuperado {
+    private static final SaldoVersionado SALDO_INICIAL = new SaldoVersionado(BigDecimal.ZERO, 0);
+
+    private final Map<String, Cliente> clientes;
+    private final Map<String, SaldoVersionado> saldos;
+    private final Set<Cancelamento> cancelamentos;
+
+    EstadoRecuperado() {
+        this.clientes = new LinkedHashMap<>();
+        this.saldos = new HashMap<>();
+        this.cancelamentos = new HashSet<>();
+    }
+
+    /**
+     * Registra a existência de uma conta.
+     */
+    void registrarConta(String id, String nome, String cpf) {
+        clientes.putIfAbsent(id, new Cliente(nome, cpf));
+    }
+
+    /**
+     * Registra que a criação da conta foi desfeita. O CPF identifica a criação cancelada, para
+     * que o cancelamento de uma criação com ID repetido não remova a conta que já usava o ID.
+     */
+    void cancelarConta(String id, long cpf) {
+        cancelamentos.add(new Cancelamento(id, cpf));
+    }
+
+    /**
+     * Registra um estado de saldo, mantendo o de maior versão.
+     */
+    void registrarSaldo(String id, SaldoVersionado saldo) {
+        saldos.merge(id, saldo, (atual, novo) -> novo.getVersao() > atual.getVersao() ? novo : atual);
+    }
+
+    /**
+     * Cria as contas recuperadas no repositório e reserva seus IDs no alocador padrão.
+     *
+     * @param repositorio Repositório de destino
+     * @return número de contas restauradas
+     */
+    int aplicar(ContaRepository repositorio) {
+        int restauradas = 0;
+        for (Map.Entry<String, Cliente> entrada : clientes.entrySet()) {
+            String id = entrada.getKey();
+            if (cancelamentos.contains(new Cancelamento(id, entrada.getValue().getCpfNumerico()))) {
+                continue;
+            }
+            SaldoVersionado saldo = saldos.getOrDefault(id, SALDO_INICIAL);
+            repositorio.salvar(Conta.restaurar(id, entrada.getValue(), saldo));
+            AlocadorIds.padrao().marcarUsado(id);
+            restauradas++;
+        }
+        return restauradas;
+    }
+
+    private record Cancelamento(String id, long cpf) {
+    }
+}
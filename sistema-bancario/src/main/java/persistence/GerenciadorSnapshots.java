@@ -0,0 +1,111 @@
+package persistence;
+
+import repository.ContaRepository;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gera snapshots periódicos das contas e descarta os segmentos do journal já cobertos.
+ *
+ * O snapshot é feito com as operações em andamento: o journal troca de segmento e aguarda
+ * a publicação das operações gravadas no segmento encerrado, as contas são gravadas com o
+ * estado de cada uma lido atomicamente, e então os segmentos e snapshots anteriores são
+ * apagados. Toda operação de um segmento apagado já está refletida no snapshot. Assim o tempo de recuperação depende do tamanho do snapshot e
+ * não do histórico acumulado de operações.
+ */
+public class GerenciadorSnapshots implements Closeable {
+    private static final System.Logger LOGGER = System.getLogger(GerenciadorSnapshots.class.getName());
+
+    private final Journal journal;
+    private final ContaRepository repositorio;
+    private ScheduledExecutorService agendador;
+
+    /**
+     * Construtor do gerenciador.
+     *
+     * @param journal Journal cujos segmentos serão descartados após cada snapshot
+     * @param repositorio Repositório com as contas a serem gravadas
+     * @throws IllegalArgumentException se algum parâmetro for nulo
+     */
+    public GerenciadorSnapshots(Journal journal, ContaRepository repositorio) {
+        if (journal == null || repositorio == null) {
+            throw new IllegalArgumentException("Journal e repositório são obrigatórios");
+        }
+        this.journal = journal;
+        this.repositorio = repositorio;
+    }
+
+    /**
+     * Gera um snapshot agora e remove os segmentos do journal que ele cobre.
+     *
+     * @return caminho do snapshot gravado
+     * @throws IOException se o snapshot não puder ser gravado
+     */
+    public synchronized Path gerarSnapshot() throws IOException {
+        long segmento = journal.rotacionar();
+        Path arquivo = Snapshot.gravar(journal.getDiretorio(), segmento, repositorio.listarTodas());
+        Snapshot.removerAnteriores(journal.getDiretorio(), segmento);
+        journal.removerSegmentosAnteriores(segmento);
+        return arquivo;
+    }
+
+    /**
+     * Passa a gerar snapshots periodicamente em uma thread de fundo.
+     *
+     * @param intervalo Intervalo entre o fim de um snapshot e o início do próximo
+     * @throws IllegalArgumentException se o intervalo não for positivo
+     * @throws IllegalStateException se os snapshots já estiverem agendados
+     */
+    public synchronized void agendar(Duration intervalo) {
+        if (intervalo == null || intervalo.isNegative() || intervalo.isZero()) {
+            throw new IllegalArgumentException("Intervalo deve ser positivo");
+        }
+        if (agendador != null) {
+            throw new IllegalStateException("Snapshots já agendados");
+        }
+
+        agendador = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "snapshot-contas");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long milissegundos = intervalo.toMillis();
+        agendador.scheduleWithFixedDelay(this::gerarSnapshotAgendado, milissegundos, milissegundos, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Cancela os snapshots agendados, aguardando o término de um snapshot em andamento.
+     */
+    @Override
+    public void close() {
+        ScheduledExecutorService atual;
+        synchronized (this) {
+            atual = agendador;
+            agendador = null;
+        }
+        if (atual == null) {
+            return;
+        }
+
+        atual.shutdown();
+        try {
+            atual.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void gerarSnapshotAgendado() {
+        try {
+            gerarSnapshot();
+        } catch (IOException | RuntimeException e) {
+            // Mantém o agendamento; os segmentos continuam disponíveis para a recuperação
+            LOGGER.log(System.Logger.Level.WARNING, "Falha ao gerar snapshot das contas", e);
+        }
+    }
+}
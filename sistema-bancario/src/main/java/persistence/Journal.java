@@ -0,0 +1,613 @@
+package persistence;
+
+import model.Conta;
+import model.ResultadoTransferencia;
+import model.SaldoVersionado;
+import repository.ContaRepository;
+import service.ObservadorOperacoes;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Journal de escrita antecipada (write-ahead log) das operações bancárias.
+ *
+ * Cada operação do {@link service.ContaService} é anexada ao arquivo como um registro com
+ * tamanho e CRC32 enquanto as contas envolvidas estão travadas, e o serviço só publica os
+ * novos saldos, ou insere a conta criada, depois que o registro está no disco. Se a gravação
+ * falhar, a operação é desfeita; a partir daí o journal recusa todas as operações seguintes
+ * antes que alterem qualquer saldo.
+ * Uma thread escritora grava em lote todos os registros que chegaram enquanto o fsync
+ * anterior estava em andamento (group commit), de modo que um único fsync confirma várias
+ * operações concorrentes.
+ *
+ * Os registros de movimentação guardam o saldo resultante e sua versão. Na recuperação vale
+ * o estado de maior versão de cada conta, o que torna a reexecução independente da ordem dos
+ * registros. Um registro final incompleto ou corrompido (queda durante a escrita) é
+ * descartado na abertura. Se a conta criada não puder ser inserida no repositório depois de
+ * gravada, um registro de cancelamento impede que ela volte na recuperação.
+ *
+ * O journal é dividido em segmentos numerados ({@code journal-00000001.log}, ...). Ao gerar
+ * um {@link Snapshot}, o segmento ativo é encerrado e os segmentos anteriores ao snapshot
+ * podem ser apagados, de modo que a recuperação lê apenas o snapshot mais recente e os
+ * segmentos posteriores a ele. Como o registro fica durável antes de o saldo mudar, o
+ * journal guarda as sequências das operações ainda não publicadas, retiradas em
+ * {@link #aoConcluir()}, e a troca de segmento só retorna quando todas as operações do
+ * segmento encerrado estão visíveis.
+ */
+public class Journal implements ObservadorOperacoes, Closeable {
+    private static final byte CRIACAO = 1;
+    private static final byte DEPOSITO = 2;
+    private static final byte SAQUE = 3;
+    private static final byte TRANSFERENCIA = 4;
+    private static final byte CANCELAMENTO_CRIACAO = 5;
+    private static final String PREFIXO_SEGMENTO = "journal-";
+    private static final String SUFIXO_SEGMENTO = ".log";
+    // Maior conteúdo que um registro pode ter: três campos writeUTF de até 64 KiB e os saldos
+    private static final int TAMANHO_MAXIMO_REGISTRO = 1 << 20;
+
+    private final Path diretorio;
+    private final Thread escritor;
+
+    private final ReentrantLock trava;
+    private final Condition haPendencias;
+    private final Condition gravado;
+    private final Condition rotacionado;
+    private final Condition concluido;
+    private final TreeSet<Long> emAndamento;
+    private final ThreadLocal<Long> sequenciaDaThread;
+    private FileChannel canal;
+    private long segmentoAtivo;
+    private ByteArrayOutputStream pendentes;
+    private int inicioNovoSegmento;
+    private long ultimaSequencia;
+    private long sequenciaDuravel;
+    private IOException falha;
+    private boolean fechado;
+
+    private Journal(Path diretorio, FileChannel canal, long segmentoAtivo) {
+        this.diretorio = diretorio;
+        this.canal = canal;
+        this.segmentoAtivo = segmentoAtivo;
+        this.trava = new ReentrantLock();
+        this.haPendencias = trava.newCondition();
+        this.gravado = trava.newCondition();
+        this.rotacionado = trava.newCondition();
+        this.concluido = trava.newCondition();
+        this.emAndamento = new TreeSet<>();
+        this.sequenciaDaThread = new ThreadLocal<>();
+        this.pendentes = new ByteArrayOutputStream();
+        this.inicioNovoSegmento = -1;
+        this.escritor = new Thread(this::gravarLotes, "journal-escritor");
+        this.escritor.setDaemon(true);
+    }
+
+    /**
+     * Abre (ou cria) o journal no diretório informado.
+     * Um registro final incompleto no último segmento é truncado e as novas operações são
+     * anexadas ao final desse segmento.
+     *
+     * @param diretorio Diretório dos segmentos do journal e dos snapshots
+     * @return journal pronto para recuperação e escrita
+     * @throws IOException se o diretório ou o segmento ativo não puderem ser abertos
+     */
+    public static Journal abrir(Path diretorio) throws IOException {
+        Files.createDirectories(diretorio);
+
+        List<Long> segmentos = listarSegmentos(diretorio);
+        long segmentoAtivo = segmentos.isEmpty() ? 1 : segmentos.get(segmentos.size() - 1);
+        Path arquivo = caminhoSegmento(diretorio, segmentoAtivo);
+
+        long tamanhoValido = Files.exists(arquivo) ? ler(arquivo, null) : 0;
+        FileChannel canal = FileChannel.open(arquivo,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            Snapshot.sincronizarDiretorio(diretorio);
+            canal.truncate(tamanhoValido);
+            canal.position(tamanhoValido);
+        } catch (IOException e) {
+            canal.close();
+            throw e;
+        }
+
+        Journal journal = new Journal(diretorio, canal, segmentoAtivo);
+        journal.escritor.start();
+        return journal;
+    }
+
+    /**
+     * Restaura as contas no repositório a partir do snapshot mais recente e dos segmentos
+     * do journal gravados depois dele.
+     * Deve ser chamado antes de o journal ser registrado como observador do serviço.
+     *
+     * @param repositorio Repositório vazio que receberá as contas
+     * @return número de contas restauradas
+     * @throws IOException se os arquivos não puderem ser lidos
+     */
+    public int recuperar(ContaRepository repositorio) throws IOException {
+        if (repositorio == null) {
+            throw new IllegalArgumentException("Repositório não pode ser nulo");
+        }
+
+        EstadoRecuperado estado = new EstadoRecuperado();
+        long primeiroSegmento = Snapshot.lerMaisRecente(diretorio, estado);
+        for (long segmento : listarSegmentos(diretorio)) {
+            if (segmento >= primeiroSegmento) {
+                ler(caminhoSegmento(diretorio, segmento), estado);
+            }
+        }
+        return estado.aplicar(repositorio);
+    }
+
+    /**
+     * Retorna o diretório do journal.
+     *
+     * @return diretório dos segmentos e snapshots
+     */
+    public Path getDiretorio() {
+        return diretorio;
+    }
+
+    /**
+     * Encerra o segmento ativo e passa a gravar em um novo segmento, aguardando que as
+     * operações gravadas nos segmentos anteriores sejam publicadas ou desfeitas. Ao retornar,
+     * os efeitos de todos os registros dos segmentos anteriores ao retornado estão visíveis
+     * nas contas; registros de operações concorrentes ficam no novo segmento.
+     *
+     * @return número do novo segmento ativo
+     * @throws IOException se o novo segmento não puder ser criado
+     */
+    long rotacionar() throws IOException {
+        trava.lock();
+        try {
+            if (falha != null) {
+                throw new IOException("Falha anterior ao gravar o journal", falha);
+            }
+            if (fechado) {
+                throw new IllegalStateException("Journal fechado");
+            }
+
+            long novoSegmento = segmentoAtivo + 1;
+            long corte = ultimaSequencia;
+            if (inicioNovoSegmento < 0) {
+                inicioNovoSegmento = pendentes.size();
+            }
+            haPendencias.signal();
+            while (segmentoAtivo < novoSegmento && falha == null) {
+                rotacionado.awaitUninterruptibly();
+            }
+            if (segmentoAtivo < novoSegmento) {
+                throw new IOException("Falha ao rotacionar o journal", falha);
+            }
+            while (!emAndamento.isEmpty() && emAndamento.first() <= corte) {
+                concluido.awaitUninterruptibly();
+            }
+            return novoSegmento;
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    /**
+     * Apaga os segmentos com número menor que o informado.
+     *
+     * @param segmento Primeiro segmento a ser mantido
+     * @throws IOException se algum segmento não puder ser apagado
+     */
+    void removerSegmentosAnteriores(long segmento) throws IOException {
+        for (long existente : listarSegmentos(diretorio)) {
+            if (existente < segmento) {
+                Files.deleteIfExists(caminhoSegmento(diretorio, existente));
+            }
+        }
+    }
+
+    @Override
+    public void aoCriarConta(Conta conta) {
+        registrar(codificar(criacao(conta)));
+    }
+
+    @Override
+    public void aoDesfazerCriacao(Conta conta) {
+        registrar(codificar(cancelamentoCriacao(conta)));
+    }
+
+    @Override
+    public void aoDepositar(Conta conta, BigDecimal valor, SaldoVersionado resultado) {
+        registrar(codificar(movimento(DEPOSITO, conta, valor, resultado)));
+    }
+
+    @Override
+    public void aoSacar(Conta conta, BigDecimal valor, SaldoVersionado resultado) {
+        registrar(codificar(movimento(SAQUE, conta, valor, resultado)));
+    }
+
+    @Override
+    public void aoTransferir(Conta origem, Conta destino, BigDecimal valor, ResultadoTransferencia resultado) {
+        registrar(codificar(transferencia(origem, destino, valor, resultado)));
+    }
+
+    /**
+     * Marca como publicada a operação que esta thread gravou, liberando a troca de segmento.
+     */
+    @Override
+    public void aoConcluir() {
+        Long sequencia = sequenciaDaThread.get();
+        if (sequencia == null) {
+            return;
+        }
+
+        sequenciaDaThread.remove();
+        trava.lock();
+        try {
+            emAndamento.remove(sequencia);
+            concluido.signalAll();
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    /**
+     * Grava os registros de todas as operações do lote com uma única espera pelo disco.
+     */
+    @Override
+    public void aoExecutarLote(List<Consumer<ObservadorOperacoes>> operacoes) {
+        ByteArrayOutputStream registros = new ByteArrayOutputStream();
+        ObservadorOperacoes codificador = new ObservadorOperacoes() {
+            @Override
+            public void aoDepositar(Conta conta, BigDecimal valor, SaldoVersionado resultado) {
+                registros.writeBytes(codificar(movimento(DEPOSITO, conta, valor, resultado)));
+            }
+
+            @Override
+            public void aoSacar(Conta conta, BigDecimal valor, SaldoVersionado resultado) {
+                registros.writeBytes(codificar(movimento(SAQUE, conta, valor, resultado)));
+            }
+
+            @Override
+            public void aoTransferir(Conta origem, Conta destino, BigDecimal valor, ResultadoTransferencia resultado) {
+                registros.writeBytes(codificar(transferencia(origem, destino, valor, resultado)));
+            }
+        };
+        for (Consumer<ObservadorOperacoes> operacao : operacoes) {
+            operacao.accept(codificador);
+        }
+        if (registros.size() > 0) {
+            registrar(registros.toByteArray());
+        }
+    }
+
+    /**
+     * Aguarda a gravação dos registros pendentes e fecha o arquivo.
+     *
+     * @throws IOException se o arquivo não puder ser fechado
+     */
+    @Override
+    public void close() throws IOException {
+        trava.lock();
+        try {
+            fechado = true;
+            haPendencias.signalAll();
+        } finally {
+            trava.unlock();
+        }
+
+        try {
+            escritor.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        canal.close();
+    }
+
+    private interface Escrita {
+        void escrever(DataOutputStream saida) throws IOException;
+    }
+
+    private static Escrita criacao(Conta conta) {
+        return saida -> {
+            saida.writeByte(CRIACAO);
+            saida.writeUTF(conta.getId());
+            saida.writeUTF(conta.getCliente().getNome());
+            saida.writeUTF(conta.getCliente().getCpf());
+        };
+    }
+
+    private static Escrita cancelamentoCriacao(Conta conta) {
+        return saida -> {
+            saida.writeByte(CANCELAMENTO_CRIACAO);
+            saida.writeUTF(conta.getId());
+            saida.writeLong(conta.getCliente().getCpfNumerico());
+        };
+    }
+
+    private static Escrita movimento(byte tipo, Conta conta, BigDecimal valor, SaldoVersionado resultado) {
+        return saida -> escreverMovimento(saida, tipo, conta, valor, resultado);
+    }
+
+    private static Escrita transferencia(Conta origem, Conta destino, BigDecimal valor, ResultadoTransferencia resultado) {
+        return saida -> {
+            saida.writeByte(TRANSFERENCIA);
+            saida.writeUTF(origem.getId());
+            saida.writeUTF(destino.getId());
+            saida.writeUTF(valor.toString());
+            escreverSaldo(saida, resultado.getOrigem());
+            escreverSaldo(saida, resultado.getDestino());
+        };
+    }
+
+    /**
+     * Anexa registros já codificados à fila de gravação e aguarda até que estejam no disco.
+     * A operação fica em andamento até {@link #aoConcluir()} na mesma thread; uma operação
+     * que grava mais de um registro, como a criação desfeita, é representada pelo primeiro.
+     */
+    private void registrar(byte[] registro) {
+        Long pendente = sequenciaDaThread.get();
+        long sequencia;
+
+        trava.lock();
+        try {
+            if (falha != null) {
+                throw new UncheckedIOException("Falha anterior ao gravar o journal", falha);
+            }
+            if (fechado) {
+                throw new IllegalStateException("Journal fechado");
+            }
+
+            pendentes.write(registro, 0, registro.length);
+            sequencia = ++ultimaSequencia;
+            if (pendente == null) {
+                emAndamento.add(sequencia);
+            }
+            haPendencias.signal();
+
+            while (sequenciaDuravel < sequencia && falha == null) {
+                gravado.awaitUninterruptibly();
+            }
+            if (sequenciaDuravel < sequencia) {
+                if (pendente == null) {
+                    emAndamento.remove(sequencia);
+                    concluido.signalAll();
+                }
+                throw new UncheckedIOException("Falha ao gravar o journal", falha);
+            }
+            if (pendente == null) {
+                sequenciaDaThread.set(sequencia);
+            }
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    /**
+     * Laço da thread escritora: grava em um único write + fsync tudo o que estiver pendente,
+     * trocando de segmento no ponto marcado por {@link #rotacionar()}.
+     */
+    private void gravarLotes() {
+        while (true) {
+            byte[] lote;
+            int inicioNovo;
+            long sequenciaLote;
+
+            trava.lock();
+            try {
+                while (pendentes.size() == 0 && inicioNovoSegmento < 0 && !fechado) {
+                    haPendencias.awaitUninterruptibly();
+                }
+                if (pendentes.size() == 0 && inicioNovoSegmento < 0) {
+                    return;
+                }
+
+                lote = pendentes.toByteArray();
+                inicioNovo = inicioNovoSegmento;
+                pendentes = new ByteArrayOutputStream(Math.max(32, lote.length));
+                inicioNovoSegmento = -1;
+                sequenciaLote = ultimaSequencia;
+            } finally {
+                trava.unlock();
+            }
+
+            try {
+                if (inicioNovo >= 0) {
+                    gravar(lote, 0, inicioNovo);
+                    FileChannel novoCanal = FileChannel.open(caminhoSegmento(diretorio, segmentoAtivo + 1),
+                            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                    Snapshot.sincronizarDiretorio(diretorio);
+                    canal.close();
+                    trava.lock();
+                    try {
+                        canal = novoCanal;
+                        segmentoAtivo++;
+                        rotacionado.signalAll();
+                    } finally {
+                        trava.unlock();
+                    }
+                    gravar(lote, inicioNovo, lote.length - inicioNovo);
+                } else {
+                    gravar(lote, 0, lote.length);
+                }
+            } catch (IOException e) {
+                trava.lock();
+                try {
+                    falha = e;
+                    gravado.signalAll();
+                    rotacionado.signalAll();
+                } finally {
+                    trava.unlock();
+                }
+                return;
+            }
+
+            trava.lock();
+            try {
+                sequenciaDuravel = sequenciaLote;
+                gravado.signalAll();
+            } finally {
+                trava.unlock();
+            }
+        }
+    }
+
+    private void gravar(byte[] lote, int inicio, int tamanho) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(lote, inicio, tamanho);
+        while (buffer.hasRemaining()) {
+            canal.write(buffer);
+        }
+        canal.force(false);
+    }
+
+    private static Path caminhoSegmento(Path diretorio, long segmento) {
+        return diretorio.resolve(String.format("%s%08d%s", PREFIXO_SEGMENTO, segmento, SUFIXO_SEGMENTO));
+    }
+
+    /**
+     * Lista os números dos segmentos existentes no diretório, em ordem crescente.
+     */
+    private static List<Long> listarSegmentos(Path diretorio) throws IOException {
+        List<Long> segmentos = new ArrayList<>();
+        if (!Files.isDirectory(diretorio)) {
+            return segmentos;
+        }
+
+        try (var arquivos = Files.newDirectoryStream(diretorio, PREFIXO_SEGMENTO + "*" + SUFIXO_SEGMENTO)) {
+            for (Path arquivo : arquivos) {
+                String nome = arquivo.getFileName().toString();
+                try {
+                    segmentos.add(Long.parseLong(nome.substring(PREFIXO_SEGMENTO.length(),
+                            nome.length() - SUFIXO_SEGMENTO.length())));
+                } catch (NumberFormatException e) {
+                    // arquivo com nome parecido que não é segmento do journal
+                }
+            }
+        }
+        segmentos.sort(null);
+        return segmentos;
+    }
+
+    /**
+     * Monta o registro: tamanho do conteúdo, CRC32 do conteúdo e o conteúdo.
+     */
+    private static byte[] codificar(Escrita escrita) {
+        try {
+            ByteArrayOutputStream conteudo = new ByteArrayOutputStream(64);
+            escrita.escrever(new DataOutputStream(conteudo));
+            byte[] bytes = conteudo.toByteArray();
+
+            CRC32 crc = new CRC32();
+            crc.update(bytes);
+
+            ByteArrayOutputStream registro = new ByteArrayOutputStream(bytes.length + 8);
+            DataOutputStream saida = new DataOutputStream(registro);
+            saida.writeInt(bytes.length);
+            saida.writeInt((int) crc.getValue());
+            saida.write(bytes);
+            return registro.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void escreverMovimento(DataOutputStream saida, byte tipo, Conta conta,
+                                          BigDecimal valor, SaldoVersionado resultado) throws IOException {
+        saida.writeByte(tipo);
+        saida.writeUTF(conta.getId());
+        saida.writeUTF(valor.toString());
+        escreverSaldo(saida, resultado);
+    }
+
+    private static void escreverSaldo(DataOutputStream saida, SaldoVersionado saldo) throws IOException {
+        saida.writeUTF(saldo.getSaldo().toString());
+        saida.writeLong(saldo.getVersao());
+    }
+
+    private static SaldoVersionado lerSaldo(DataInputStream entrada) throws IOException {
+        BigDecimal saldo = new BigDecimal(entrada.readUTF());
+        return new SaldoVersionado(saldo, entrada.readLong());
+    }
+
+    /**
+     * Percorre os registros válidos do arquivo, aplicando-os ao estado quando informado.
+     * Um tamanho maior que o de qualquer registro ou que os bytes restantes no arquivo vem de
+     * uma escrita interrompida ou corrompida e encerra a leitura, como um CRC incorreto.
+     *
+     * @return quantidade de bytes até o último registro válido
+     */
+    static long ler(Path arquivo, EstadoRecuperado estado) throws IOException {
+        long tamanhoArquivo = Files.size(arquivo);
+        long posicaoValida = 0;
+        try (InputStream in = Files.newInputStream(arquivo);
+             DataInputStream entrada = new DataInputStream(new BufferedInputStream(in))) {
+            CRC32 crc = new CRC32();
+            while (true) {
+                int tamanho;
+                int crcEsperado;
+                byte[] conteudo;
+                try {
+                    tamanho = entrada.readInt();
+                    crcEsperado = entrada.readInt();
+                    if (tamanho <= 0 || tamanho > TAMANHO_MAXIMO_REGISTRO
+                            || tamanho > tamanhoArquivo - posicaoValida - 8) {
+                        break;
+                    }
+                    conteudo = new byte[tamanho];
+                    entrada.readFully(conteudo);
+                } catch (EOFException e) {
+                    break;
+                }
+
+                crc.reset();
+                crc.update(conteudo);
+                if ((int) crc.getValue() != crcEsperado) {
+                    break;
+                }
+
+                if (estado != null) {
+                    aplicar(new DataInputStream(new ByteArrayInputStream(conteudo)), estado);
+                }
+                posicaoValida += 8 + tamanho;
+            }
+        }
+        return posicaoValida;
+    }
+
+    private static void aplicar(DataInputStream registro, EstadoRecuperado estado) throws IOException {
+        byte tipo = registro.readByte();
+        switch (tipo) {
+            case CRIACAO -> estado.registrarConta(registro.readUTF(), registro.readUTF(), registro.readUTF());
+            case CANCELAMENTO_CRIACAO -> estado.cancelarConta(registro.readUTF(), registro.readLong());
+            case DEPOSITO, SAQUE -> {
+                String id = registro.readUTF();
+                registro.readUTF(); // valor movimentado
+                estado.registrarSaldo(id, lerSaldo(registro));
+            }
+            case TRANSFERENCIA -> {
+                String origem = registro.readUTF();
+                String destino = registro.readUTF();
+                registro.readUTF(); // valor movimentado
+                estado.registrarSaldo(origem, lerSaldo(registro));
+                estado.registrarSaldo(destino, lerSaldo(registro));
+            }
+            default -> throw new IOException("Tipo de registro desconhecido no journal: " + tipo);
+        }
+    }
+}
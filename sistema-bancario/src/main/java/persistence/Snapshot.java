@@ -0,0 +1,197 @@
+package persistence;
+
+import model.Conta;
+import model.SaldoVersionado;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Formato binário compacto dos snapshots de contas.
+ *
+ * O arquivo {@code snapshot-N.bin} contém cabeçalho, o número N do primeiro segmento do
+ * journal que não está coberto pelo snapshot e, para cada conta, ID, nome, CPF como número,
+ * saldo (escala e valor sem escala) e versão, seguidos do CRC32 de todo o conteúdo. O
+ * arquivo é gravado em um temporário e renomeado atomicamente, então um snapshot visível
+ * está sempre completo.
+ */
+final class Snapshot {
+    private static final int MAGICO = 0x534E4150; // "SNAP"
+    private static final int VERSAO_FORMATO = 1;
+    private static final String PREFIXO = "snapshot-";
+    private static final String SUFIXO = ".bin";
+
+    private Snapshot() {
+    }
+
+    /**
+     * Grava o snapshot das contas informadas.
+     * Cada conta é lida com {@link Conta#getEstado()}, que devolve saldo e versão coerentes
+     * entre si; operações concorrentes podem continuar durante a gravação porque os registros
+     * do journal a partir do segmento informado são reaplicados por versão na recuperação.
+     *
+     * @param diretorio Diretório do journal
+     * @param segmento Primeiro segmento do journal não coberto pelo snapshot
+     * @param contas Contas a serem gravadas
+     * @return caminho do snapshot gravado
+     * @throws IOException se o arquivo não puder ser gravado
+     */
+    static Path gravar(Path diretorio, long segmento, Collection<Conta> contas) throws IOException {
+        Path destino = caminho(diretorio, segmento);
+        Path temporario = diretorio.resolve(destino.getFileName() + ".tmp");
+
+        try (FileChannel canal = FileChannel.open(temporario, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            CRC32 crc = new CRC32();
+            DataOutputStream saida = new DataOutputStream(new BufferedOutputStream(
+                    new CheckedOutputStream(Channels.newOutputStream(canal), crc), 1 << 16));
+            saida.writeInt(MAGICO);
+            saida.writeInt(VERSAO_FORMATO);
+            saida.writeLong(segmento);
+            saida.writeInt(contas.size());
+            for (Conta conta : contas) {
+                SaldoVersionado estado = conta.getEstado();
+                byte[] semEscala = estado.getSaldo().unscaledValue().toByteArray();
+                saida.writeUTF(conta.getId());
+                saida.writeUTF(conta.getCliente().getNome());
+                saida.writeLong(conta.getCliente().getCpfNumerico());
+                saida.writeInt(estado.getSaldo().scale());
+                saida.writeByte(semEscala.length);
+                saida.write(semEscala);
+                saida.writeLong(estado.getVersao());
+            }
+            saida.flush();
+
+            ByteBuffer rodape = ByteBuffer.allocate(Long.BYTES).putLong(crc.getValue()).flip();
+            while (rodape.hasRemaining()) {
+                canal.write(rodape);
+            }
+            canal.force(true);
+        }
+
+        Files.move(temporario, destino, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        // Sem isso, uma queda pode desfazer a renomeação depois de os arquivos antigos serem apagados
+        sincronizarDiretorio(diretorio);
+        return destino;
+    }
+
+    /**
+     * Grava no disco as entradas do diretório, tornando duráveis as criações e renomeações
+     * feitas nele. Em sistemas que não permitem abrir diretórios, como o Windows, não faz nada.
+     *
+     * @param diretorio Diretório a sincronizar
+     * @throws IOException se o diretório não puder ser sincronizado
+     */
+    static void sincronizarDiretorio(Path diretorio) throws IOException {
+        try (FileChannel canal = FileChannel.open(diretorio, StandardOpenOption.READ)) {
+            canal.force(true);
+        } catch (AccessDeniedException e) {
+            // diretórios não podem ser abertos como arquivo nesta plataforma
+        }
+    }
+
+    /**
+     * Carrega o snapshot mais recente do diretório no estado de recuperação.
+     *
+     * @param diretorio Diretório do journal
+     * @param estado Estado que receberá as contas
+     * @return primeiro segmento do journal a ser reaplicado (0 se não houver snapshot)
+     * @throws IOException se o snapshot estiver corrompido ou não puder ser lido
+     */
+    static long lerMaisRecente(Path diretorio, EstadoRecuperado estado) throws IOException {
+        List<Long> snapshots = listar(diretorio);
+        if (snapshots.isEmpty()) {
+            return 0;
+        }
+
+        Path arquivo = caminho(diretorio, snapshots.get(snapshots.size() - 1));
+        CRC32 crc = new CRC32();
+        try (InputStream in = Files.newInputStream(arquivo);
+             BufferedInputStream buffer = new BufferedInputStream(in, 1 << 16);
+             CheckedInputStream verificado = new CheckedInputStream(buffer, crc)) {
+            DataInputStream entrada = new DataInputStream(verificado);
+            if (entrada.readInt() != MAGICO || entrada.readInt() != VERSAO_FORMATO) {
+                throw new IOException("Formato de snapshot desconhecido: " + arquivo);
+            }
+
+            long segmento = entrada.readLong();
+            int quantidade = entrada.readInt();
+            for (int i = 0; i < quantidade; i++) {
+                String id = entrada.readUTF();
+                String nome = entrada.readUTF();
+                String cpf = String.format("%011d", entrada.readLong());
+                int escala = entrada.readInt();
+                byte[] semEscala = new byte[entrada.readUnsignedByte()];
+                entrada.readFully(semEscala);
+                long versao = entrada.readLong();
+
+                estado.registrarConta(id, nome, cpf);
+                estado.registrarSaldo(id, new SaldoVersionado(new BigDecimal(new BigInteger(semEscala), escala), versao));
+            }
+
+            long calculado = crc.getValue();
+            if (new DataInputStream(buffer).readLong() != calculado) {
+                throw new IOException("Snapshot corrompido: " + arquivo);
+            }
+            return segmento;
+        }
+    }
+
+    /**
+     * Apaga os snapshots anteriores ao informado.
+     *
+     * @param diretorio Diretório do journal
+     * @param segmento Número do snapshot a ser mantido
+     * @throws IOException se algum arquivo não puder ser apagado
+     */
+    static void removerAnteriores(Path diretorio, long segmento) throws IOException {
+        for (long existente : listar(diretorio)) {
+            if (existente < segmento) {
+                Files.deleteIfExists(caminho(diretorio, existente));
+            }
+        }
+    }
+
+    private static Path caminho(Path diretorio, long segmento) {
+        return diretorio.resolve(String.format("%s%08d%s", PREFIXO, segmento, SUFIXO));
+    }
+
+    private static List<Long> listar(Path diretorio) throws IOException {
+        List<Long> snapshots = new ArrayList<>();
+        if (!Files.isDirectory(diretorio)) {
+            return snapshots;
+        }
+
+        try (var arquivos = Files.newDirectoryStream(diretorio, PREFIXO + "*" + SUFIXO)) {
+            for (Path arquivo : arquivos) {
+                String nome = arquivo.getFileName().toString();
+                try {
+                    snapshots.add(Long.parseLong(nome.substring(PREFIXO.length(), nome.length() - SUFIXO.length())));
+                } catch (NumberFormatException e) {
+                    // arquivo com nome parecido que não é snapshot
+                }
+            }
+        }
+        snapshots.sort(null);
+        return snapshots;
+    }
+}
@@ -0,0 +1,93 @@
+package repository;
+
+import model.AlocadorIds;
+import model.Conta;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Estrutura em que o {@link ContaRepository} guarda e indexa as contas.
+ * O repositório valida os argumentos e mede as latências; o armazenamento recebe IDs e
+ * termos já sem espaços nas extremidades e nunca vazios, e CPFs já convertidos em número.
+ */
+interface ArmazenamentoContas {
+
+    /**
+     * Insere a conta, reservando ID e CPF de forma atômica.
+     *
+     * @param conta Conta não nula
+     * @throws IllegalArgumentException se já existir uma conta com o mesmo ID ou CPF
+     */
+    void salvar(Conta conta);
+
+    /**
+     * Busca a conta com o ID informado.
+     *
+     * @return conta encontrada ou null
+     */
+    Conta buscarPorId(String id);
+
+    /**
+     * Busca as contas cujo nome do cliente contém o termo, ignorando acentos e maiúsculas.
+     */
+    List<Conta> buscarPorNome(String termo);
+
+    /**
+     * Busca a conta do CPF informado.
+     *
+     * @return conta encontrada ou null
+     */
+    Conta buscarPorCpf(long cpf);
+
+    /**
+     * Verifica se existe uma conta com o ID informado, sem materializá-la.
+     */
+    boolean existePorId(String id);
+
+    /**
+     * Verifica se existe uma conta para o CPF informado, sem materializá-la.
+     */
+    boolean existePorCpf(long cpf);
+
+    /**
+     * Lista todas as contas, sem ordem definida.
+     */
+    List<Conta> listarTodas();
+
+    /**
+     * Lista as contas na ordem por nome do cliente e ID, pulando {@code deslocamento} contas
+     * a partir da primeira posterior ao cursor.
+     *
+     * @param cursor Conta após a qual a listagem começa, ou null para começar do início
+     * @param deslocamento Quantidade de contas a pular, não negativa
+     * @param limite Quantidade máxima de contas, positiva
+     */
+    List<Conta> listarOrdenadas(Conta cursor, int deslocamento, int limite);
+
+    /**
+     * Remove a conta com o ID informado.
+     *
+     * @return true se a conta foi removida
+     */
+    boolean remover(String id);
+
+    /**
+     * Retorna o número de contas armazenadas.
+     */
+    int getTotalContas();
+
+    /**
+     * Remove todas as contas. Não é atômico em relação a operações concorrentes.
+     */
+    void limpar();
+
+    /**
+     * Retorna o alocador que gera os IDs das contas criadas para este armazenamento.
+     */
+    AlocadorIds getAlocadorIds();
+
+    /**
+     * Retorna o número de entradas de cada índice, para monitoramento.
+     */
+    Map<String, Long> tamanhosIndices();
+}
@@ -0,0 +1,243 @@
+package repository;
+
+import model.AlocadorIds;
+import model.Centavos;
+import model.Cliente;
+import model.Conta;
+import model.SaldoVersionado;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Armazenamento das contas em um {@link ArquivoContas}, mapeado de um arquivo ou em memória direta.
+ *
+ * Buscas por ID e CPF consultam as tabelas do arquivo e devolvem uma conta nova cujo saldo
+ * fica no registro, então duas instâncias da mesma conta compartilham o saldo e suas
+ * movimentações continuam atômicas. A conta passada a {@link #salvar(Conta)} é copiada para
+ * o arquivo; as movimentações seguintes devem ser feitas nas contas obtidas do repositório.
+ *
+ * Saldos, CPFs e nomes ficam no arquivo, e abrir o armazenamento só lê o cabeçalho. Os índices
+ * de nome são construídos na primeira busca por nome ou listagem ordenada, percorrendo as
+ * contas ativas, e guardam posições do arquivo em memória direta: o
+ * {@link IndiceTrigramasDireto} para as buscas e a {@link OrdemNomesDireta} para as listagens.
+ * Nenhuma estrutura proporcional ao número de contas fica no heap. Como uma posição só volta a
+ * ser usada depois de {@link #limpar()}, os índices não retiram contas removidas: as entradas
+ * são descartadas ao conferir se a posição continua ativa.
+ */
+final class ArmazenamentoContasArquivo implements ArmazenamentoContas {
+    private final ArquivoContas arquivo;
+    private final AlocadorIds alocador;
+    private final ReadWriteLock construcaoIndices = new ReentrantReadWriteLock();
+    private volatile Indices indices;
+
+    ArmazenamentoContasArquivo(ArquivoContas arquivo) {
+        this.arquivo = arquivo;
+        this.alocador = AlocadorIds.comDigitos(6);
+        alocador.marcarUsadosAte(arquivo.getIdsAlocados() - 1);
+    }
+
+    @Override
+    public void salvar(Conta conta) {
+        long id = converterId(conta.getId());
+        if (id < 0) {
+            throw new IllegalArgumentException("ID da conta deve ser numérico, sem zeros à esquerda: " + conta.getId());
+        }
+
+        SaldoVersionado estado = conta.getEstado();
+        String nome = conta.getCliente().getNome();
+        long cpf = conta.getCliente().getCpfNumerico();
+        long centavos = Centavos.deValor(estado.getSaldo());
+
+        Indices atuais = indices;
+        int posicao;
+        if (atuais != null) {
+            posicao = arquivo.inserir(id, cpf, nome, centavos, estado.getVersao());
+        } else {
+            // Sem índices, a inserção não pode correr junto com a leitura que os constrói
+            Lock leitura = construcaoIndices.readLock();
+            leitura.lock();
+            try {
+                posicao = arquivo.inserir(id, cpf, nome, centavos, estado.getVersao());
+                atuais = indices;
+            } finally {
+                leitura.unlock();
+            }
+        }
+
+        long indice = alocador.indiceDe(conta.getId());
+        alocador.marcarUsadosAte(indice);
+        arquivo.marcarIdsAlocados(indice);
+        if (atuais != null) {
+            atuais.indexar(posicao, nome, conta.getId());
+        }
+    }
+
+    @Override
+    public Conta buscarPorId(String id) {
+        long numero = converterId(id);
+        int posicao = numero < 0 ? -1 : arquivo.localizar(numero);
+        return posicao < 0 ? null : criarConta(posicao);
+    }
+
+    @Override
+    public List<Conta> buscarPorNome(String termo) {
+        List<Conta> encontradas = new ArrayList<>();
+        for (int posicao : indices().trigramas.buscar(termo)) {
+            if (arquivo.ativa(posicao)) {
+                encontradas.add(criarConta(posicao));
+            }
+        }
+        return encontradas;
+    }
+
+    @Override
+    public Conta buscarPorCpf(long cpf) {
+        int posicao = arquivo.localizarPorCpf(cpf);
+        return posicao < 0 ? null : criarConta(posicao);
+    }
+
+    @Override
+    public boolean existePorId(String id) {
+        long numero = converterId(id);
+        return numero >= 0 && arquivo.localizar(numero) >= 0;
+    }
+
+    @Override
+    public boolean existePorCpf(long cpf) {
+        return arquivo.localizarPorCpf(cpf) >= 0;
+    }
+
+    @Override
+    public List<Conta> listarTodas() {
+        List<Conta> contas = new ArrayList<>();
+        for (int p = 0; p < arquivo.getPosicoes(); p++) {
+            if (arquivo.ativa(p)) {
+                contas.add(criarConta(p));
+            }
+        }
+        return contas;
+    }
+
+    @Override
+    public List<Conta> listarOrdenadas(Conta cursor, int deslocamento, int limite) {
+        String nomeCursor = cursor == null ? null : cursor.getCliente().getNome();
+        String idCursor = cursor == null ? null : cursor.getId();
+        List<Integer> posicoes = indices().ordem.listar(nomeCursor, idCursor, deslocamento, limite);
+
+        List<Conta> pagina = new ArrayList<>(posicoes.size());
+        for (int posicao : posicoes) {
+            pagina.add(criarConta(posicao));
+        }
+        return pagina;
+    }
+
+    @Override
+    public boolean remover(String id) {
+        long numero = converterId(id);
+        return numero >= 0 && arquivo.remover(numero);
+    }
+
+    @Override
+    public int getTotalContas() {
+        return (int) arquivo.getAtivas();
+    }
+
+    @Override
+    public void limpar() {
+        Lock escrita = construcaoIndices.writeLock();
+        escrita.lock();
+        try {
+            arquivo.limpar();
+            indices = null;
+        } finally {
+            escrita.unlock();
+        }
+    }
+
+    @Override
+    public AlocadorIds getAlocadorIds() {
+        return alocador;
+    }
+
+    @Override
+    public Map<String, Long> tamanhosIndices() {
+        Map<String, Long> tamanhos = new LinkedHashMap<>();
+        tamanhos.put("ativas", arquivo.getAtivas());
+        tamanhos.put("ocupadas", arquivo.getOcupadas());
+        tamanhos.put("posicoes", (long) arquivo.getPosicoes());
+        tamanhos.put("bytesNomes", arquivo.getBytesNomes());
+        Indices atuais = indices;
+        tamanhos.put("trigramas", atuais == null ? 0L : atuais.trigramas.getTrigramas());
+        tamanhos.put("ordenacao", atuais == null ? 0L : atuais.ordem.getTamanho());
+        return tamanhos;
+    }
+
+    /**
+     * Retorna os índices de nome, construindo-os a partir das contas ativas no primeiro uso.
+     * Inserções que chegam durante a construção esperam por ela e se indexam em seguida.
+     */
+    private Indices indices() {
+        Indices atuais = indices;
+        if (atuais != null) {
+            return atuais;
+        }
+
+        Lock escrita = construcaoIndices.writeLock();
+        escrita.lock();
+        try {
+            if (indices == null) {
+                IndiceTrigramasDireto trigramas = new IndiceTrigramasDireto(arquivo);
+                for (int p = 0; p < arquivo.getPosicoes(); p++) {
+                    if (arquivo.ativa(p)) {
+                        trigramas.adicionar(p, arquivo.lerNome(p));
+                    }
+                }
+                indices = new Indices(trigramas, new OrdemNomesDireta(arquivo));
+            }
+            return indices;
+        } finally {
+            escrita.unlock();
+        }
+    }
+
+    private Conta criarConta(int posicao) {
+        Cliente cliente = new Cliente(arquivo.lerNome(posicao), arquivo.lerCpf(posicao));
+        return Conta.restaurar(Long.toString(arquivo.lerId(posicao)), cliente, arquivo.saldo(posicao));
+    }
+
+    /**
+     * Converte um ID em número, exigindo a forma canônica para que a volta seja exata.
+     *
+     * @return valor numérico positivo ou -1 se o ID não estiver na forma canônica
+     */
+    static long converterId(String id) {
+        if (id.isEmpty() || id.length() > 18 || id.charAt(0) == '0') {
+            return -1;
+        }
+
+        long numero = 0;
+        for (int i = 0; i < id.length(); i++) {
+            int digito = id.charAt(i) - '0';
+            if (digito < 0 || digito > 9) {
+                return -1;
+            }
+            numero = numero * 10 + digito;
+        }
+        return numero;
+    }
+
+    /**
+     * Índices de nome das contas do arquivo: trigramas e ordem por nome e ID.
+     */
+    private record Indices(IndiceTrigramasDireto trigramas, OrdemNomesDireta ordem) {
+        void indexar(int posicao, String nome, String id) {
+            trigramas.adicionar(posicao, nome);
+            ordem.adicionar(posicao, nome, id);
+        }
+    }
+}
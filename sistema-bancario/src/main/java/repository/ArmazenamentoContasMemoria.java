@@ -0,0 +1,139 @@
+package repository;
+
+import model.AlocadorIds;
+import model.Conta;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Armazenamento das contas no heap: uma {@link TabelaContas} por ID, um
+ * {@link MapaContasPrimitivo} por CPF, o índice de trigramas dos nomes e um conjunto
+ * ordenado por nome mantido a cada inserção e remoção. Thread-safe se a tabela de IDs for.
+ */
+final class ArmazenamentoContasMemoria implements ArmazenamentoContas {
+    private static final Comparator<Conta> ORDEM_POR_NOME =
+            Comparator.comparing((Conta conta) -> conta.getCliente().getNome())
+                    .thenComparing(Conta::getId);
+
+    private final TabelaContas contas;
+    private final MapaContasPrimitivo contasPorCpf;
+    private final IndiceNomes<Conta> indiceNomes;
+    private final NavigableSet<Conta> contasOrdenadas;
+
+    ArmazenamentoContasMemoria(TabelaContas contas) {
+        this.contas = contas;
+        this.contasPorCpf = new MapaContasPrimitivo(conta -> conta.getCliente().getCpfNumerico());
+        this.indiceNomes = new IndiceNomes<>();
+        this.contasOrdenadas = new ConcurrentSkipListSet<>(ORDEM_POR_NOME);
+    }
+
+    @Override
+    public void salvar(Conta conta) {
+        // Reserva o CPF primeiro e desfaz a reserva se o ID já estiver em uso
+        long cpf = conta.getCliente().getCpfNumerico();
+        if (contasPorCpf.inserirSeAusente(cpf, conta) != null) {
+            throw new IllegalArgumentException("Já existe uma conta cadastrada para este CPF");
+        }
+
+        if (contas.inserirSeAusente(conta) != null) {
+            contasPorCpf.remover(cpf, conta);
+            throw new IllegalArgumentException("Já existe uma conta com o ID: " + conta.getId());
+        }
+
+        indiceNomes.adicionar(conta, conta.getCliente().getNome());
+        contasOrdenadas.add(conta);
+    }
+
+    @Override
+    public Conta buscarPorId(String id) {
+        return contas.buscar(id);
+    }
+
+    @Override
+    public List<Conta> buscarPorNome(String termo) {
+        return indiceNomes.buscar(termo);
+    }
+
+    @Override
+    public Conta buscarPorCpf(long cpf) {
+        return contasPorCpf.buscar(cpf);
+    }
+
+    @Override
+    public boolean existePorId(String id) {
+        return contas.buscar(id) != null;
+    }
+
+    @Override
+    public boolean existePorCpf(long cpf) {
+        return contasPorCpf.buscar(cpf) != null;
+    }
+
+    @Override
+    public List<Conta> listarTodas() {
+        return contas.listar();
+    }
+
+    @Override
+    public List<Conta> listarOrdenadas(Conta cursor, int deslocamento, int limite) {
+        Iterator<Conta> iterador = cursor == null
+                ? contasOrdenadas.iterator()
+                : contasOrdenadas.tailSet(cursor, false).iterator();
+        for (int i = 0; i < deslocamento && iterador.hasNext(); i++) {
+            iterador.next();
+        }
+
+        List<Conta> pagina = new ArrayList<>(Math.min(limite, 256));
+        while (pagina.size() < limite && iterador.hasNext()) {
+            pagina.add(iterador.next());
+        }
+        return pagina;
+    }
+
+    @Override
+    public boolean remover(String id) {
+        Conta removida = contas.remover(id);
+        if (removida == null) {
+            return false;
+        }
+
+        contasPorCpf.remover(removida.getCliente().getCpfNumerico(), removida);
+        indiceNomes.remover(removida);
+        contasOrdenadas.remove(removida);
+        return true;
+    }
+
+    @Override
+    public int getTotalContas() {
+        return contas.tamanho();
+    }
+
+    @Override
+    public void limpar() {
+        contas.limpar();
+        contasPorCpf.limpar();
+        indiceNomes.limpar();
+        contasOrdenadas.clear();
+    }
+
+    @Override
+    public AlocadorIds getAlocadorIds() {
+        return AlocadorIds.padrao();
+    }
+
+    @Override
+    public Map<String, Long> tamanhosIndices() {
+        Map<String, Long> tamanhos = new LinkedHashMap<>();
+        tamanhos.put("id", (long) contas.tamanho());
+        tamanhos.put("cpf", (long) contasPorCpf.tamanho());
+        tamanhos.put("trigramas", (long) indiceNomes.getTrigramas());
+        tamanhos.put("ordenacao", (long) contasOrdenadas.size());
+        return tamanhos;
+    }
+}
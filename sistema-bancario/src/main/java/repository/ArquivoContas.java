@@ -0,0 +1,668 @@
+package repository;
+
+import model.ArmazenamentoSaldo;
+import model.Centavos;
+import model.SaldoVersionado;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Arquivo de contas mapeado em memória, com registros de tamanho fixo.
+ *
+ * O arquivo tem quatro regiões, todas em little-endian:
+ * <ul>
+ *   <li>cabeçalho de 4 KiB com formato, tamanho das tabelas e contadores;</li>
+ *   <li>tabela de contas com registros de 48 bytes (ID, CPF, início e tamanho do nome,
+ *       situação, saldo em centavos e versão), endereçada pelo hash do ID com sondagem linear;</li>
+ *   <li>tabela de CPFs com entradas de 16 bytes (CPF e posição do registro), também com
+ *       sondagem linear;</li>
+ *   <li>área de nomes em UTF-8, apenas acrescentada, mapeada em blocos conforme cresce.</li>
+ * </ul>
+ * Abrir o arquivo só mapeia as regiões; as páginas são carregadas pelo sistema operacional
+ * quando acessadas, e nenhuma estrutura proporcional ao número de contas fica no heap.
+ * Os índices de nome mantidos sobre o arquivo por um repositório
+ * {@link ContaRepository#mapeado(ArquivoContas) mapeado} também ficam em memória direta e só
+ * são construídos na primeira busca por nome ou listagem ordenada.
+ *
+ * Inserções reservam a posição com compare-and-set no campo do ID e publicam o registro
+ * ao final. O saldo é trocado com compare-and-set na versão, que fica travada durante a
+ * escrita dos centavos; leitores repetem a leitura se a versão mudar no meio. Posições
+ * removidas não são reaproveitadas, então a capacidade definida na criação limita o total
+ * de contas já inseridas. Se o processo terminar sem {@link #close()}, a próxima abertura
+ * descarta inserções incompletas e destrava saldos em escrita.
+ *
+ * {@link #emMemoria(int)} cria o mesmo layout em buffers diretos, fora do heap e sem
+ * arquivo: as contas não são percorridas pelo coletor de lixo e o conteúdo é perdido
+ * quando a instância deixa de ser usada. O limite é o da memória direta da JVM
+ * ({@code -XX:MaxDirectMemorySize}).
+ */
+public final class ArquivoContas implements Closeable {
+    private static final VarHandle LONG = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle INT = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private static final int MAGICO = 0x544E4F43; // "CONT"
+    private static final int VERSAO_FORMATO = 1;
+    private static final int TAMANHO_CABECALHO = 4096;
+    private static final int CAPACIDADE_MAXIMA = 1 << 28;
+
+    private static final int C_MAGICO = 0;
+    private static final int C_VERSAO = 4;
+    private static final int C_POSICOES = 8;
+    private static final int C_CAPACIDADE = 12;
+    private static final int C_ATIVAS = 16;
+    private static final int C_OCUPADAS = 24;
+    private static final int C_FIM_NOMES = 32;
+    private static final int C_IDS_ALOCADOS = 40;
+    private static final int C_FECHADO = 48;
+
+    private static final int TAMANHO_REGISTRO = 48;
+    private static final int R_ID = 0;
+    private static final int R_CPF = 8;
+    private static final int R_INICIO_NOME = 16;
+    private static final int R_TAMANHO_NOME = 24;
+    private static final int R_SITUACAO = 28;
+    private static final int R_CENTAVOS = 32;
+    private static final int R_VERSAO = 40;
+
+    private static final int EM_INSERCAO = 0;
+    private static final int ATIVA = 1;
+    private static final int REMOVIDA = 2;
+
+    private static final int TAMANHO_ENTRADA_CPF = 16;
+    private static final int E_CPF = 0;
+    private static final int E_POSICAO = 8;
+    private static final long CPF_REMOVIDO = -1;
+
+    private static final long TRAVA = Long.MIN_VALUE;
+    private static final long RESERVA = 1L << 62;
+    private static final int BITS_BLOCO = 20;
+    private static final int POSICOES_POR_BLOCO = 1 << BITS_BLOCO;
+    private static final int TAMANHO_BLOCO_NOMES = 16 << 20;
+    private static final int MAXIMO_BLOCOS_NOMES = 4096;
+
+    private final FileChannel canal;
+    private final ByteBuffer cabecalho;
+    private final ByteBuffer[] registros;
+    private final ByteBuffer[] cpfs;
+    private final AtomicReferenceArray<ByteBuffer> nomes;
+    private final long inicioNomes;
+    private final int posicoes;
+    private final int capacidade;
+
+    private ArquivoContas(FileChannel canal, ByteBuffer cabecalho) {
+        this.canal = canal;
+        this.cabecalho = cabecalho;
+        this.posicoes = (int) INT.get(cabecalho, C_POSICOES);
+        this.capacidade = (int) INT.get(cabecalho, C_CAPACIDADE);
+
+        long inicioCpfs = TAMANHO_CABECALHO + (long) posicoes * TAMANHO_REGISTRO;
+        long fimCpfs = inicioCpfs + (long) posicoes * TAMANHO_ENTRADA_CPF;
+        this.registros = mapearTabela(TAMANHO_CABECALHO, TAMANHO_REGISTRO);
+        this.cpfs = mapearTabela(inicioCpfs, TAMANHO_ENTRADA_CPF);
+        this.inicioNomes = (fimCpfs + TAMANHO_CABECALHO - 1) / TAMANHO_CABECALHO * TAMANHO_CABECALHO;
+        this.nomes = new AtomicReferenceArray<>(MAXIMO_BLOCOS_NOMES);
+    }
+
+    /**
+     * Abre o arquivo de contas, criando-o se não existir.
+     *
+     * @param arquivo Caminho do arquivo
+     * @param capacidade Número máximo de contas, usado apenas na criação do arquivo
+     * @return arquivo aberto
+     * @throws IllegalArgumentException se a capacidade estiver fora do intervalo suportado
+     * @throws IOException se o arquivo não puder ser aberto ou não tiver o formato esperado
+     */
+    public static ArquivoContas abrir(Path arquivo, int capacidade) throws IOException {
+        if (capacidade <= 0 || capacidade > CAPACIDADE_MAXIMA) {
+            throw new IllegalArgumentException("Capacidade deve estar entre 1 e " + CAPACIDADE_MAXIMA);
+        }
+
+        FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            boolean novo = canal.size() == 0;
+            MappedByteBuffer cabecalho = canal.map(FileChannel.MapMode.READ_WRITE, 0, TAMANHO_CABECALHO);
+            if (novo) {
+                inicializarCabecalho(cabecalho, capacidade);
+                cabecalho.force();
+            } else if ((int) INT.get(cabecalho, C_MAGICO) != MAGICO
+                    || (int) INT.get(cabecalho, C_VERSAO) != VERSAO_FORMATO) {
+                throw new IOException("Formato de arquivo de contas desconhecido: " + arquivo);
+            }
+
+            ArquivoContas contas = new ArquivoContas(canal, cabecalho);
+            if ((long) LONG.get(cabecalho, C_FECHADO) == 0) {
+                contas.reparar();
+            }
+            LONG.set(cabecalho, C_FECHADO, 0L);
+            cabecalho.force();
+            return contas;
+        } catch (IOException | RuntimeException e) {
+            canal.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Cria o layout de contas em memória direta, fora do heap e sem arquivo.
+     *
+     * @param capacidade Número máximo de contas
+     * @return armazenamento em memória
+     * @throws IllegalArgumentException se a capacidade estiver fora do intervalo suportado
+     */
+    public static ArquivoContas emMemoria(int capacidade) {
+        if (capacidade <= 0 || capacidade > CAPACIDADE_MAXIMA) {
+            throw new IllegalArgumentException("Capacidade deve estar entre 1 e " + CAPACIDADE_MAXIMA);
+        }
+
+        ByteBuffer cabecalho = ByteBuffer.allocateDirect(TAMANHO_CABECALHO);
+        inicializarCabecalho(cabecalho, capacidade);
+        return new ArquivoContas(null, cabecalho);
+    }
+
+    /**
+     * Retorna o número máximo de contas que podem ser inseridas no arquivo.
+     *
+     * @return capacidade definida na criação
+     */
+    public int getCapacidade() {
+        return capacidade;
+    }
+
+    /**
+     * Grava no disco as páginas alteradas. Não faz nada no armazenamento em memória.
+     *
+     * @throws IOException se a gravação falhar
+     */
+    public void sincronizar() throws IOException {
+        if (canal == null) {
+            return;
+        }
+
+        for (ByteBuffer bloco : registros) {
+            ((MappedByteBuffer) bloco).force();
+        }
+        for (ByteBuffer bloco : cpfs) {
+            ((MappedByteBuffer) bloco).force();
+        }
+        for (int i = 0; i < MAXIMO_BLOCOS_NOMES && nomes.get(i) != null; i++) {
+            ((MappedByteBuffer) nomes.get(i)).force();
+        }
+        ((MappedByteBuffer) cabecalho).force();
+    }
+
+    /**
+     * Grava as alterações, marca o arquivo como fechado corretamente e o fecha.
+     * No armazenamento em memória não há o que fechar; a memória é liberada com a instância.
+     *
+     * @throws IOException se a gravação falhar
+     */
+    @Override
+    public void close() throws IOException {
+        if (canal == null) {
+            return;
+        }
+
+        try {
+            sincronizar();
+            LONG.setRelease(cabecalho, C_FECHADO, 1L);
+            ((MappedByteBuffer) cabecalho).force();
+        } finally {
+            canal.close();
+        }
+    }
+
+    /**
+     * Localiza o registro ativo de uma conta pelo ID.
+     *
+     * @return posição do registro ou -1 se não existir
+     */
+    int localizar(long id) {
+        for (int i = 0, p = hash(id); i < posicoes; i++, p = (p + 1) & (posicoes - 1)) {
+            ByteBuffer bloco = registros[p >>> BITS_BLOCO];
+            int base = deslocamento(p, TAMANHO_REGISTRO);
+            long atual = (long) LONG.getAcquire(bloco, base + R_ID);
+            if (atual == 0) {
+                return -1;
+            }
+            if (atual == id && (int) INT.getAcquire(bloco, base + R_SITUACAO) == ATIVA) {
+                return p;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Localiza o registro ativo de uma conta pelo CPF.
+     *
+     * @return posição do registro ou -1 se não existir
+     */
+    int localizarPorCpf(long cpf) {
+        for (int i = 0, p = hash(cpf); i < posicoes; i++, p = (p + 1) & (posicoes - 1)) {
+            ByteBuffer bloco = cpfs[p >>> BITS_BLOCO];
+            int base = deslocamento(p, TAMANHO_ENTRADA_CPF);
+            long atual = (long) LONG.getAcquire(bloco, base + E_CPF);
+            if (atual == 0) {
+                return -1;
+            }
+            if (atual == cpf) {
+                long posicao = (long) LONG.getAcquire(bloco, base + E_POSICAO);
+                if (posicao > 0 && ativa((int) posicao - 1)) {
+                    return (int) posicao - 1;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Insere uma conta, reservando o ID e depois o CPF.
+     *
+     * @return posição do novo registro
+     * @throws IllegalArgumentException se o ID ou o CPF já estiverem em uso, ou o nome for grande demais
+     * @throws IllegalStateException se a capacidade do arquivo estiver esgotada
+     */
+    int inserir(long id, long cpf, String nome, long centavos, long versao) {
+        byte[] bytesNome = nome.getBytes(StandardCharsets.UTF_8);
+        if (bytesNome.length > TAMANHO_BLOCO_NOMES) {
+            throw new IllegalArgumentException("Nome do cliente excede o tamanho suportado");
+        }
+        if ((long) LONG.getAndAdd(cabecalho, C_OCUPADAS, 1L) >= capacidade) {
+            LONG.getAndAdd(cabecalho, C_OCUPADAS, -1L);
+            throw new IllegalStateException("Capacidade do arquivo de contas esgotada");
+        }
+
+        int posicao = reservarId(id);
+        if (posicao < 0) {
+            LONG.getAndAdd(cabecalho, C_OCUPADAS, -1L);
+            throw new IllegalArgumentException("Já existe uma conta com o ID: " + id);
+        }
+
+        ByteBuffer bloco = registros[posicao >>> BITS_BLOCO];
+        int base = deslocamento(posicao, TAMANHO_REGISTRO);
+        try {
+            LONG.set(bloco, base + R_CPF, cpf);
+            LONG.set(bloco, base + R_INICIO_NOME, gravarNome(bytesNome));
+            INT.set(bloco, base + R_TAMANHO_NOME, bytesNome.length);
+            LONG.set(bloco, base + R_CENTAVOS, centavos);
+            LONG.set(bloco, base + R_VERSAO, versao);
+            if (!reservarCpf(cpf, posicao)) {
+                throw new IllegalArgumentException("Já existe uma conta cadastrada para este CPF");
+            }
+        } catch (RuntimeException e) {
+            // A posição do ID continua ocupada, agora como removida
+            INT.setRelease(bloco, base + R_SITUACAO, REMOVIDA);
+            throw e;
+        }
+
+        INT.setRelease(bloco, base + R_SITUACAO, ATIVA);
+        LONG.getAndAdd(cabecalho, C_ATIVAS, 1L);
+        return posicao;
+    }
+
+    /**
+     * Remove a conta com o ID informado.
+     *
+     * @return true se a conta estava ativa e foi removida
+     */
+    boolean remover(long id) {
+        int posicao = localizar(id);
+        if (posicao < 0) {
+            return false;
+        }
+
+        ByteBuffer bloco = registros[posicao >>> BITS_BLOCO];
+        int base = deslocamento(posicao, TAMANHO_REGISTRO);
+        if (!INT.compareAndSet(bloco, base + R_SITUACAO, ATIVA, REMOVIDA)) {
+            return false;
+        }
+
+        liberarCpf((long) LONG.get(bloco, base + R_CPF), posicao);
+        LONG.getAndAdd(cabecalho, C_ATIVAS, -1L);
+        return true;
+    }
+
+    /**
+     * Verifica se a posição contém uma conta ativa.
+     */
+    boolean ativa(int posicao) {
+        return (int) INT.getAcquire(registros[posicao >>> BITS_BLOCO],
+                deslocamento(posicao, TAMANHO_REGISTRO) + R_SITUACAO) == ATIVA;
+    }
+
+    long lerId(int posicao) {
+        return (long) LONG.get(registros[posicao >>> BITS_BLOCO], deslocamento(posicao, TAMANHO_REGISTRO) + R_ID);
+    }
+
+    long lerCpf(int posicao) {
+        return (long) LONG.get(registros[posicao >>> BITS_BLOCO], deslocamento(posicao, TAMANHO_REGISTRO) + R_CPF);
+    }
+
+    String lerNome(int posicao) {
+        ByteBuffer bloco = registros[posicao >>> BITS_BLOCO];
+        int base = deslocamento(posicao, TAMANHO_REGISTRO);
+        long inicio = (long) LONG.get(bloco, base + R_INICIO_NOME);
+        byte[] bytes = new byte[(int) INT.get(bloco, base + R_TAMANHO_NOME)];
+        blocoNomes((int) (inicio / TAMANHO_BLOCO_NOMES)).get((int) (inicio % TAMANHO_BLOCO_NOMES), bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Retorna o saldo do registro como armazenamento para uma {@link model.Conta}.
+     */
+    ArmazenamentoSaldo saldo(int posicao) {
+        return new SaldoRegistro(posicao);
+    }
+
+    /**
+     * Retorna o número de posições da tabela de contas, para percorrê-la com {@link #ativa(int)}.
+     */
+    int getPosicoes() {
+        return posicoes;
+    }
+
+    long getAtivas() {
+        return (long) LONG.getAcquire(cabecalho, C_ATIVAS);
+    }
+
+    /**
+     * Retorna quantas posições da tabela de contas já foram ocupadas, incluindo as removidas.
+     */
+    long getOcupadas() {
+        return (long) LONG.getAcquire(cabecalho, C_OCUPADAS);
+    }
+
+    /**
+     * Retorna quantos bytes da área de nomes já foram usados.
+     */
+    long getBytesNomes() {
+        return (long) LONG.getAcquire(cabecalho, C_FIM_NOMES);
+    }
+
+    /**
+     * Retorna quantos IDs do alocador do repositório já foram usados pelas contas do arquivo.
+     */
+    long getIdsAlocados() {
+        return (long) LONG.getAcquire(cabecalho, C_IDS_ALOCADOS);
+    }
+
+    /**
+     * Registra que os IDs do alocador do repositório até a posição informada estão em uso.
+     */
+    void marcarIdsAlocados(long indice) {
+        long atual;
+        do {
+            atual = (long) LONG.getAcquire(cabecalho, C_IDS_ALOCADOS);
+        } while (indice + 1 > atual && !LONG.compareAndSet(cabecalho, C_IDS_ALOCADOS, atual, indice + 1));
+    }
+
+    /**
+     * Apaga todas as contas. Não é atômico em relação a operações concorrentes.
+     */
+    void limpar() {
+        zerar(registros);
+        zerar(cpfs);
+        LONG.setRelease(cabecalho, C_ATIVAS, 0L);
+        LONG.setRelease(cabecalho, C_OCUPADAS, 0L);
+        LONG.setRelease(cabecalho, C_FIM_NOMES, 0L);
+    }
+
+    private int reservarId(long id) {
+        for (int i = 0, p = hash(id); i < posicoes; i++, p = (p + 1) & (posicoes - 1)) {
+            ByteBuffer bloco = registros[p >>> BITS_BLOCO];
+            int base = deslocamento(p, TAMANHO_REGISTRO);
+            long atual = (long) LONG.getAcquire(bloco, base + R_ID);
+            if (atual == 0) {
+                atual = (long) LONG.compareAndExchange(bloco, base + R_ID, 0L, id);
+                if (atual == 0) {
+                    return p;
+                }
+            }
+            // Um registro do mesmo ID em inserção também conta como existente
+            if (atual == id && (int) INT.getAcquire(bloco, base + R_SITUACAO) != REMOVIDA) {
+                return -1;
+            }
+        }
+        throw new IllegalStateException("Capacidade do arquivo de contas esgotada");
+    }
+
+    private boolean reservarCpf(long cpf, int posicao) {
+        for (int i = 0, p = hash(cpf); i < posicoes; i++, p = (p + 1) & (posicoes - 1)) {
+            ByteBuffer bloco = cpfs[p >>> BITS_BLOCO];
+            int base = deslocamento(p, TAMANHO_ENTRADA_CPF);
+            long atual = (long) LONG.getAcquire(bloco, base + E_CPF);
+            if (atual == 0) {
+                atual = (long) LONG.compareAndExchange(bloco, base + E_CPF, 0L, cpf);
+                if (atual == 0) {
+                    LONG.setRelease(bloco, base + E_POSICAO, posicao + 1L);
+                    return true;
+                }
+            }
+            if (atual == cpf && (long) LONG.getAcquire(bloco, base + E_POSICAO) != CPF_REMOVIDO) {
+                return false;
+            }
+        }
+        throw new IllegalStateException("Capacidade do arquivo de contas esgotada");
+    }
+
+    private void liberarCpf(long cpf, int posicao) {
+        for (int i = 0, p = hash(cpf); i < posicoes; i++, p = (p + 1) & (posicoes - 1)) {
+            ByteBuffer bloco = cpfs[p >>> BITS_BLOCO];
+            int base = deslocamento(p, TAMANHO_ENTRADA_CPF);
+            long atual = (long) LONG.getAcquire(bloco, base + E_CPF);
+            if (atual == 0) {
+                return;
+            }
+            if (atual == cpf && LONG.compareAndSet(bloco, base + E_POSICAO, posicao + 1L, CPF_REMOVIDO)) {
+                return;
+            }
+        }
+    }
+
+    private long gravarNome(byte[] bytes) {
+        long fim;
+        long inicio;
+        do {
+            fim = (long) LONG.getAcquire(cabecalho, C_FIM_NOMES);
+            inicio = fim;
+            // Um nome nunca atravessa a fronteira entre dois blocos
+            if (fim % TAMANHO_BLOCO_NOMES + bytes.length > TAMANHO_BLOCO_NOMES) {
+                inicio = (fim / TAMANHO_BLOCO_NOMES + 1) * TAMANHO_BLOCO_NOMES;
+            }
+        } while (!LONG.compareAndSet(cabecalho, C_FIM_NOMES, fim, inicio + bytes.length));
+
+        blocoNomes((int) (inicio / TAMANHO_BLOCO_NOMES)).put((int) (inicio % TAMANHO_BLOCO_NOMES), bytes);
+        return inicio;
+    }
+
+    private ByteBuffer blocoNomes(int indice) {
+        if (indice >= MAXIMO_BLOCOS_NOMES) {
+            throw new IllegalStateException("Área de nomes do arquivo de contas esgotada");
+        }
+
+        ByteBuffer bloco = nomes.get(indice);
+        if (bloco != null) {
+            return bloco;
+        }
+        synchronized (nomes) {
+            bloco = nomes.get(indice);
+            if (bloco == null) {
+                bloco = mapear(inicioNomes + (long) indice * TAMANHO_BLOCO_NOMES, TAMANHO_BLOCO_NOMES);
+                nomes.set(indice, bloco);
+            }
+            return bloco;
+        }
+    }
+
+    /**
+     * Desfaz os efeitos de um encerramento sem {@link #close()}: inserções pela metade
+     * são descartadas e saldos travados voltam à última versão publicada.
+     */
+    private void reparar() {
+        long ativas = 0;
+        for (int p = 0; p < posicoes; p++) {
+            ByteBuffer bloco = registros[p >>> BITS_BLOCO];
+            int base = deslocamento(p, TAMANHO_REGISTRO);
+            if ((long) LONG.get(bloco, base + R_ID) == 0) {
+                continue;
+            }
+
+            long versao = (long) LONG.get(bloco, base + R_VERSAO);
+            if ((versao & (TRAVA | RESERVA)) != 0) {
+                LONG.set(bloco, base + R_VERSAO, versao & ~(TRAVA | RESERVA));
+            }
+            int situacao = (int) INT.get(bloco, base + R_SITUACAO);
+            if (situacao == EM_INSERCAO) {
+                INT.set(bloco, base + R_SITUACAO, REMOVIDA);
+                liberarCpf((long) LONG.get(bloco, base + R_CPF), p);
+            } else if (situacao == ATIVA) {
+                ativas++;
+            }
+        }
+
+        for (int p = 0; p < posicoes; p++) {
+            ByteBuffer bloco = cpfs[p >>> BITS_BLOCO];
+            int base = deslocamento(p, TAMANHO_ENTRADA_CPF);
+            if ((long) LONG.get(bloco, base + E_CPF) != 0 && (long) LONG.get(bloco, base + E_POSICAO) == 0) {
+                LONG.set(bloco, base + E_POSICAO, CPF_REMOVIDO);
+            }
+        }
+        LONG.set(cabecalho, C_ATIVAS, ativas);
+    }
+
+    private ByteBuffer[] mapearTabela(long inicio, int tamanhoEntrada) {
+        int porBloco = Math.min(posicoes, POSICOES_POR_BLOCO);
+        ByteBuffer[] blocos = new ByteBuffer[posicoes / porBloco];
+        for (int i = 0; i < blocos.length; i++) {
+            blocos[i] = mapear(inicio + (long) i * porBloco * tamanhoEntrada, porBloco * tamanhoEntrada);
+        }
+        return blocos;
+    }
+
+    /**
+     * Mapeia uma região do arquivo, ou aloca um buffer direto zerado no armazenamento em memória.
+     */
+    private ByteBuffer mapear(long inicio, int tamanho) {
+        if (canal == null) {
+            return ByteBuffer.allocateDirect(tamanho);
+        }
+
+        try {
+            return canal.map(FileChannel.MapMode.READ_WRITE, inicio, tamanho);
+        } catch (IOException e) {
+            throw new IllegalStateException("Falha ao mapear o arquivo de contas", e);
+        }
+    }
+
+    private static void inicializarCabecalho(ByteBuffer cabecalho, int capacidade) {
+        // Metade das posições fica livre para manter as sondagens curtas
+        INT.set(cabecalho, C_POSICOES, Integer.highestOneBit(capacidade * 2 - 1) << 1);
+        INT.set(cabecalho, C_CAPACIDADE, capacidade);
+        INT.set(cabecalho, C_VERSAO, VERSAO_FORMATO);
+        INT.set(cabecalho, C_MAGICO, MAGICO);
+        LONG.set(cabecalho, C_FECHADO, 1L);
+    }
+
+    private static void zerar(ByteBuffer[] blocos) {
+        for (ByteBuffer bloco : blocos) {
+            for (int i = 0; i < bloco.capacity(); i += Long.BYTES) {
+                LONG.setRelease(bloco, i, 0L);
+            }
+        }
+    }
+
+    private int hash(long chave) {
+        long h = chave * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & (posicoes - 1);
+    }
+
+    private static int deslocamento(int posicao, int tamanhoEntrada) {
+        return (posicao & (POSICOES_POR_BLOCO - 1)) * tamanhoEntrada;
+    }
+
+    /**
+     * Saldo guardado no registro, trocado com a versão servindo de trava. O bit
+     * {@code TRAVA} marca a escrita dos centavos, durante a qual os leitores esperam; o bit
+     * {@code RESERVA} marca o saldo travado por uma operação, que os leitores ignoram.
+     */
+    private final class SaldoRegistro implements ArmazenamentoSaldo {
+        private final ByteBuffer bloco;
+        private final int base;
+
+        SaldoRegistro(int posicao) {
+            this.bloco = registros[posicao >>> BITS_BLOCO];
+            this.base = deslocamento(posicao, TAMANHO_REGISTRO);
+        }
+
+        @Override
+        public SaldoVersionado ler() {
+            while (true) {
+                long versao = (long) LONG.getAcquire(bloco, base + R_VERSAO);
+                long centavos = (long) LONG.getAcquire(bloco, base + R_CENTAVOS);
+                if ((versao & TRAVA) == 0 && (long) LONG.getAcquire(bloco, base + R_VERSAO) == versao) {
+                    return new SaldoVersionado(Centavos.paraValor(centavos), versao & ~RESERVA);
+                }
+                Thread.onSpinWait();
+            }
+        }
+
+        @Override
+        public SaldoVersionado lerSeLivre() {
+            while (true) {
+                long versao = (long) LONG.getAcquire(bloco, base + R_VERSAO);
+                if ((versao & RESERVA) != 0) {
+                    return null;
+                }
+                long centavos = (long) LONG.getAcquire(bloco, base + R_CENTAVOS);
+                if (versao >= 0 && (long) LONG.getAcquire(bloco, base + R_VERSAO) == versao) {
+                    return new SaldoVersionado(Centavos.paraValor(centavos), versao);
+                }
+                Thread.onSpinWait();
+            }
+        }
+
+        @Override
+        public boolean compararETrocar(SaldoVersionado esperado, SaldoVersionado novo) {
+            long centavos = Centavos.deValor(novo.getSaldo());
+            long versao = esperado.getVersao();
+            if (!LONG.compareAndSet(bloco, base + R_VERSAO, versao, versao | TRAVA)) {
+                return false;
+            }
+
+            LONG.setRelease(bloco, base + R_CENTAVOS, centavos);
+            LONG.setRelease(bloco, base + R_VERSAO, novo.getVersao());
+            return true;
+        }
+
+        @Override
+        public boolean travar(SaldoVersionado esperado) {
+            long versao = esperado.getVersao();
+            return LONG.compareAndSet(bloco, base + R_VERSAO, versao, versao | RESERVA);
+        }
+
+        @Override
+        public void verificar(SaldoVersionado novo) {
+            Centavos.deValor(novo.getSaldo());
+        }
+
+        @Override
+        public void liberar(SaldoVersionado travado, SaldoVersionado novo) {
+            if (novo.getVersao() != travado.getVersao()) {
+                long centavos = Centavos.deValor(novo.getSaldo());
+                LONG.setVolatile(bloco, base + R_VERSAO, travado.getVersao() | RESERVA | TRAVA);
+                LONG.setRelease(bloco, base + R_CENTAVOS, centavos);
+            }
+            LONG.setRelease(bloco, base + R_VERSAO, novo.getVersao());
+        }
+    }
+}
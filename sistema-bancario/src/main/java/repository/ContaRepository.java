@@ -0,0 +1,308 @@
+package repository;
+
+import metrics.MetricasLatencia;
+import metrics.Operacao;
+import model.AlocadorIds;
+import model.Conta;
+import model.Cpf;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Repositório responsável pelo armazenamento e recuperação de contas em memória.
+ * Implementa operações CRUD básicas para contas bancárias.
+ * 
+ * A instância criada pelo construtor padrão indexa as contas pelo valor numérico do ID e do
+ * CPF em tabelas de endereçamento aberto com chaves primitivas, seguras para várias threads e
+ * com buscas sem bloqueio. {@link #concorrente()} guarda as contas por ID em um
+ * {@link ConcurrentHashMap}. {@link #indexadoPorId()}
+ * endereça as contas diretamente pelo valor numérico do ID. O repositório criado
+ * por {@link #mapeado(ArquivoContas)} guarda as contas em um arquivo mapeado em memória,
+ * e o criado por {@link #foraDoHeap(int)} usa o mesmo layout em memória direta.
+ * Cada modo é um {@link ArmazenamentoContas}; o repositório valida os argumentos, mede as
+ * latências e delega ao armazenamento.
+ */
+public class ContaRepository {
+    private final ArmazenamentoContas armazenamento;
+    private final MetricasLatencia metricas = new MetricasLatencia();
+
+    /**
+     * Construtor do repositório.
+     * Inicializa a estrutura de dados para armazenamento das contas
+     * e o índice secundário por CPF.
+     */
+    public ContaRepository() {
+        this(new TabelaContasPrimitiva());
+    }
+
+    private ContaRepository(TabelaContas contas) {
+        this(new ArmazenamentoContasMemoria(contas));
+    }
+
+    private ContaRepository(ArmazenamentoContas armazenamento) {
+        this.armazenamento = armazenamento;
+    }
+
+    /**
+     * Cria um repositório seguro para acesso concorrente que guarda as contas por ID em um
+     * {@link ConcurrentHashMap}, com escritas disputando apenas o compartimento da chave.
+     * Aceita qualquer formato de ID da mesma forma, sem distinguir os numéricos.
+     * Inserções reservam ID e CPF de forma atômica e as buscas não bloqueiam.
+     * 
+     * @return repositório thread-safe
+     */
+    public static ContaRepository concorrente() {
+        return new ContaRepository(new TabelaContasHash(new ConcurrentHashMap<>()));
+    }
+
+    /**
+     * Cria um repositório thread-safe que guarda as contas em um array plano indexado
+     * pelo ID numérico de 6 dígitos, dispensando o hash da String na busca por ID.
+     * Ocupa memória fixa para as 900.000 posições, independentemente do número de contas.
+     * 
+     * @return repositório thread-safe com tabela densa de IDs
+     */
+    public static ContaRepository indexadoPorId() {
+        return new ContaRepository(new TabelaContasDensa());
+    }
+
+    /**
+     * Cria um repositório thread-safe persistente sobre um arquivo de contas mapeado em memória.
+     * As contas não ficam no heap: cada busca devolve uma conta cujo saldo é lido e alterado
+     * diretamente no arquivo. Criar o repositório só lê o cabeçalho do arquivo; os índices de
+     * nome e de ordenação ficam em memória direta e são construídos na primeira busca por nome
+     * ou listagem ordenada. Os IDs das contas criadas pelo serviço vêm de um
+     * alocador próprio, retomado da posição gravada no arquivo.
+     * 
+     * @param arquivo Arquivo de contas aberto, que continua sob responsabilidade de quem o abriu
+     * @return repositório sobre o arquivo
+     * @throws IllegalArgumentException se o arquivo for nulo
+     */
+    public static ContaRepository mapeado(ArquivoContas arquivo) {
+        if (arquivo == null) {
+            throw new IllegalArgumentException("Arquivo de contas não pode ser nulo");
+        }
+        
+        return new ContaRepository(new ArmazenamentoContasArquivo(arquivo));
+    }
+
+    /**
+     * Cria um repositório thread-safe, não persistente, com as contas em registros de tamanho
+     * fixo fora do heap. O coletor de lixo não percorre as contas armazenadas nem os índices de
+     * nome, que também ficam em memória direta; cada busca devolve uma conta de vida curta cujo
+     * saldo é lido e alterado diretamente no registro.
+     * 
+     * @param capacidade Número máximo de contas
+     * @return repositório fora do heap
+     * @throws IllegalArgumentException se a capacidade estiver fora do intervalo suportado
+     */
+    public static ContaRepository foraDoHeap(int capacidade) {
+        return new ContaRepository(new ArmazenamentoContasArquivo(ArquivoContas.emMemoria(capacidade)));
+    }
+
+    /**
+     * Retorna as latências das buscas e listagens ordenadas, por operação e desfecho.
+     * 
+     * @return métricas de latência do repositório
+     */
+    public MetricasLatencia getMetricas() {
+        return metricas;
+    }
+
+    /**
+     * Retorna o alocador que gera os IDs das contas criadas para este repositório.
+     * Os repositórios em memória usam o {@link AlocadorIds#padrao() alocador padrão}; os
+     * repositórios sobre um {@link ArquivoContas} têm alocador próprio.
+     * 
+     * @return alocador de IDs
+     */
+    public AlocadorIds getAlocadorIds() {
+        return armazenamento.getAlocadorIds();
+    }
+
+    /**
+     * Retorna o número de entradas de cada índice do repositório, para monitoramento.
+     */
+    Map<String, Long> tamanhosIndices() {
+        return armazenamento.tamanhosIndices();
+    }
+
+    /**
+     * Salva uma conta no repositório.
+     * 
+     * @param conta Conta a ser salva
+     * @throws IllegalArgumentException se a conta for nula ou se já existir uma conta com o mesmo ID ou CPF
+     */
+    public void salvar(Conta conta) {
+        if (conta == null) {
+            throw new IllegalArgumentException("Conta não pode ser nula");
+        }
+        
+        armazenamento.salvar(conta);
+    }
+
+    /**
+     * Busca uma conta pelo ID.
+     * 
+     * @param id ID da conta a ser buscada
+     * @return Optional contendo a conta se encontrada, Optional.empty() caso contrário
+     */
+    public Optional<Conta> buscarPorId(String id) {
+        return metricas.medir(Operacao.BUSCAR_POR_ID, () -> {
+            if (id == null || id.trim().isEmpty()) {
+                return Optional.empty();
+            }
+        
+            return Optional.ofNullable(armazenamento.buscarPorId(id.trim()));
+        });
+    }
+
+    /**
+     * Busca contas pelo nome do cliente (busca parcial, sem distinguir maiúsculas e acentos).
+     * Usa o índice de trigramas dos nomes em vez de percorrer todas as contas.
+     * 
+     * @param nome Nome ou parte do nome do cliente
+     * @return Lista de contas que correspondem ao critério de busca
+     */
+    public List<Conta> buscarPorNome(String nome) {
+        return metricas.medir(Operacao.BUSCAR_POR_NOME, () -> {
+            if (nome == null || nome.trim().isEmpty()) {
+                return new ArrayList<>();
+            }
+        
+            return armazenamento.buscarPorNome(nome.trim());
+        });
+    }
+
+    /**
+     * Busca uma conta pelo CPF do cliente.
+     * 
+     * @param cpf CPF do cliente
+     * @return Optional contendo a conta se encontrada, Optional.empty() caso contrário
+     */
+    public Optional<Conta> buscarPorCpf(String cpf) {
+        return metricas.medir(Operacao.BUSCAR_POR_CPF, () -> {
+            long numero = Cpf.converter(cpf);
+            if (numero == Cpf.INVALIDO) {
+                return Optional.empty();
+            }
+        
+            return Optional.ofNullable(armazenamento.buscarPorCpf(numero));
+        });
+    }
+
+    /**
+     * Lista todas as contas cadastradas.
+     * 
+     * @return Lista com todas as contas
+     */
+    public List<Conta> listarTodas() {
+        return armazenamento.listarTodas();
+    }
+
+    /**
+     * Lista todas as contas ordenadas por nome do cliente.
+     * A ordem é mantida incrementalmente, então a listagem é um percurso linear sem ordenação.
+     * 
+     * @return Lista de contas ordenadas por nome
+     */
+    public List<Conta> listarTodasOrdenadas() {
+        return metricas.medir(Operacao.LISTAR_ORDENADAS, () -> {
+            return armazenamento.listarOrdenadas(null, 0, Integer.MAX_VALUE);
+        });
+    }
+
+    /**
+     * Lista uma página das contas ordenadas por nome do cliente.
+     * 
+     * @param deslocamento Quantidade de contas a pular desde o início da ordem
+     * @param limite Quantidade máxima de contas na página
+     * @return Lista com as contas da página
+     * @throws IllegalArgumentException se o deslocamento for negativo ou o limite não for positivo
+     */
+    public List<Conta> listarOrdenadas(int deslocamento, int limite) {
+        return metricas.medir(Operacao.LISTAR_ORDENADAS, () -> {
+            if (deslocamento < 0) {
+                throw new IllegalArgumentException("Deslocamento não pode ser negativo");
+            }
+        
+            validarLimite(limite);
+            return armazenamento.listarOrdenadas(null, deslocamento, limite);
+        });
+    }
+
+    /**
+     * Lista as contas que vêm depois da conta informada na ordem por nome do cliente.
+     * Permite paginar com cursor: passe a última conta da página anterior, mesmo que
+     * ela tenha sido removida desde então.
+     * 
+     * @param cursor Última conta da página anterior, ou null para começar do início
+     * @param limite Quantidade máxima de contas na página
+     * @return Lista com as contas seguintes ao cursor
+     * @throws IllegalArgumentException se o limite não for positivo
+     */
+    public List<Conta> listarOrdenadasApos(Conta cursor, int limite) {
+        return metricas.medir(Operacao.LISTAR_ORDENADAS, () -> {
+            validarLimite(limite);
+            return armazenamento.listarOrdenadas(cursor, 0, limite);
+        });
+    }
+
+    private static void validarLimite(int limite) {
+        if (limite <= 0) {
+            throw new IllegalArgumentException("Limite deve ser positivo");
+        }
+    }
+
+    /**
+     * Remove uma conta do repositório.
+     * 
+     * @param id ID da conta a ser removida
+     * @return true se a conta foi removida, false se não foi encontrada
+     */
+    public boolean remover(String id) {
+        if (id == null || id.trim().isEmpty()) {
+            return false;
+        }
+        
+        return armazenamento.remover(id.trim());
+    }
+
+    /**
+     * Verifica se existe uma conta com o ID especificado.
+     * 
+     * @param id ID a ser verificado
+     * @return true se existe, false caso contrário
+     */
+    public boolean existePorId(String id) {
+        return id != null && !id.trim().isEmpty() && armazenamento.existePorId(id.trim());
+    }
+
+    /**
+     * Verifica se existe uma conta para o CPF especificado.
+     * 
+     * @param cpf CPF a ser verificado
+     * @return true se existe, false caso contrário
+     */
+    public boolean existePorCpf(String cpf) {
+        long numero = Cpf.converter(cpf);
+        return numero != Cpf.INVALIDO && armazenamento.existePorCpf(numero);
+    }
+
+    /**
+     * Retorna o número total de contas cadastradas.
+     * 
+     * @return número de contas
+     */
+    public int getTotalContas() {
+        return armazenamento.getTotalContas();
+    }
+
+    /**
+     * Limpa todas as contas do repositório.
+     * Método útil para testes; não é atômico em relação a inserções concorrentes.
+     */
+    public void limparTodas() {
+        armazenamento.limpar();
+    }
+}
\ No newline at end of file
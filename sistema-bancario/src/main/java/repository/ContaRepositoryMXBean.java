@@ -0,0 +1,30 @@
+package repository;
+
+import metrics.ResumoLatencia;
+import java.util.Map;
+
+/**
+ * Interface de monitoramento JMX do {@link ContaRepository}.
+ */
+public interface ContaRepositoryMXBean {
+
+    /**
+     * @return número de contas armazenadas
+     */
+    int getTotalContas();
+
+    /**
+     * @return número de entradas de cada índice, por nome do índice
+     */
+    Map<String, Long> getTamanhosIndices();
+
+    /**
+     * @return percentis de latência das buscas concluídas, em nanossegundos, por operação
+     */
+    Map<String, ResumoLatencia> getLatencias();
+
+    /**
+     * Zera os histogramas de latência, iniciando um novo intervalo de medição.
+     */
+    void reiniciarLatencias();
+}
@@ -0,0 +1,140 @@
+package repository;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Índice de trigramas sobre os nomes dos clientes para busca parcial.
+ *
+ * Os nomes são normalizados (sem acentos, em minúsculas) e cada trigrama aponta para as
+ * contas que o contêm. Uma consulta usa a menor lista entre os trigramas do termo buscado e
+ * confirma cada candidata com {@code contains}, evitando percorrer todas as contas.
+ * Termos com menos de três caracteres são verificados diretamente nos nomes normalizados.
+ * Thread-safe.
+ *
+ * @param <T> Referência à conta indexada: a própria conta ou sua posição em um arquivo
+ */
+class IndiceNomes<T> {
+    private static final int TAMANHO_GRAMA = 3;
+
+    private final Map<String, Set<T>> contasPorTrigrama;
+    private final Map<T, String> nomesNormalizados;
+
+    IndiceNomes() {
+        this.contasPorTrigrama = new ConcurrentHashMap<>();
+        this.nomesNormalizados = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Retorna o número de trigramas distintos no índice.
+     */
+    int getTrigramas() {
+        return contasPorTrigrama.size();
+    }
+
+    /**
+     * Normaliza um texto para comparação: remove acentos e converte para minúsculas.
+     *
+     * @param texto Texto original
+     * @return texto normalizado
+     */
+    static String normalizar(String texto) {
+        String decomposto = Normalizer.normalize(texto, Normalizer.Form.NFD);
+        StringBuilder normalizado = new StringBuilder(decomposto.length());
+        for (int i = 0; i < decomposto.length(); i++) {
+            char c = decomposto.charAt(i);
+            if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                normalizado.append(c);
+            }
+        }
+        return normalizado.toString().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Indexa o nome do cliente da conta.
+     *
+     * @param conta Conta a ser indexada
+     * @param nomeCliente Nome do cliente da conta
+     */
+    void adicionar(T conta, String nomeCliente) {
+        String nome = normalizar(nomeCliente);
+        nomesNormalizados.put(conta, nome);
+        for (int i = 0; i + TAMANHO_GRAMA <= nome.length(); i++) {
+            // Inserção dentro do compute para não competir com a remoção de listas vazias
+            contasPorTrigrama.compute(nome.substring(i, i + TAMANHO_GRAMA), (k, contas) -> {
+                Set<T> lista = contas != null ? contas : ConcurrentHashMap.newKeySet();
+                lista.add(conta);
+                return lista;
+            });
+        }
+    }
+
+    /**
+     * Remove a conta do índice.
+     *
+     * @param conta Conta a ser removida
+     */
+    void remover(T conta) {
+        String nome = nomesNormalizados.remove(conta);
+        if (nome == null) {
+            return;
+        }
+
+        for (int i = 0; i + TAMANHO_GRAMA <= nome.length(); i++) {
+            contasPorTrigrama.computeIfPresent(nome.substring(i, i + TAMANHO_GRAMA), (k, contas) -> {
+                contas.remove(conta);
+                return contas.isEmpty() ? null : contas;
+            });
+        }
+    }
+
+    /**
+     * Busca as contas cujo nome contém o termo, ignorando acentos e maiúsculas.
+     *
+     * @param termo Termo de busca já sem espaços nas extremidades
+     * @return contas encontradas
+     */
+    List<T> buscar(String termo) {
+        String termoNormalizado = normalizar(termo);
+        if (termoNormalizado.length() < TAMANHO_GRAMA) {
+            return filtrar(nomesNormalizados.keySet(), termoNormalizado);
+        }
+
+        Set<T> menor = null;
+        for (int i = 0; i + TAMANHO_GRAMA <= termoNormalizado.length(); i++) {
+            Set<T> contas = contasPorTrigrama.get(termoNormalizado.substring(i, i + TAMANHO_GRAMA));
+            if (contas == null) {
+                return new ArrayList<>();
+            }
+            if (menor == null || contas.size() < menor.size()) {
+                menor = contas;
+            }
+        }
+
+        return filtrar(menor, termoNormalizado);
+    }
+
+    /**
+     * Remove todas as entradas do índice.
+     */
+    void limpar() {
+        contasPorTrigrama.clear();
+        nomesNormalizados.clear();
+    }
+
+    private List<T> filtrar(Set<T> candidatas, String termoNormalizado) {
+        List<T> encontradas = new ArrayList<>();
+        for (T conta : candidatas) {
+            String nome = nomesNormalizados.get(conta);
+            if (nome != null && nome.contains(termoNormalizado)) {
+                encontradas.add(conta);
+            }
+        }
+        return encontradas;
+    }
+}
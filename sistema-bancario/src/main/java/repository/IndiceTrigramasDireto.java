@@ -0,0 +1,150 @@
+package repository;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Índice de trigramas sobre os nomes de um {@link ArquivoContas}, com as listas de posições
+ * em memória direta.
+ *
+ * Segue a busca do {@link IndiceNomes}: a consulta usa a menor lista entre os trigramas do
+ * termo e confirma cada candidata com {@code contains} no nome normalizado, lido do arquivo.
+ * No heap fica um objeto por trigrama distinto, não por conta; cada conta ocupa quatro bytes
+ * de memória direta por trigrama do nome. Posições não são retiradas das listas: como só
+ * voltam a ser usadas depois de {@link ArquivoContas#limpar()}, quem consulta descarta as
+ * que deixaram de estar ativas. Termos com menos de três caracteres percorrem as contas do
+ * arquivo. Thread-safe.
+ */
+final class IndiceTrigramasDireto {
+    private static final int TAMANHO_GRAMA = 3;
+
+    private final ArquivoContas arquivo;
+    private final Map<Long, Posicoes> posicoesPorTrigrama = new ConcurrentHashMap<>();
+
+    IndiceTrigramasDireto(ArquivoContas arquivo) {
+        this.arquivo = arquivo;
+    }
+
+    /**
+     * Retorna o número de trigramas distintos no índice.
+     */
+    int getTrigramas() {
+        return posicoesPorTrigrama.size();
+    }
+
+    /**
+     * Indexa o nome da conta na posição do arquivo. Cada posição deve ser indexada uma vez.
+     *
+     * @param posicao Posição da conta no arquivo
+     * @param nomeCliente Nome do cliente da conta
+     */
+    void adicionar(int posicao, String nomeCliente) {
+        String nome = IndiceNomes.normalizar(nomeCliente);
+        if (nome.length() < TAMANHO_GRAMA) {
+            return;
+        }
+
+        // Um trigrama repetido no nome entra uma vez só na lista
+        long[] trigramas = new long[nome.length() - TAMANHO_GRAMA + 1];
+        for (int i = 0; i < trigramas.length; i++) {
+            trigramas[i] = codificar(nome, i);
+        }
+        Arrays.sort(trigramas);
+        for (int i = 0; i < trigramas.length; i++) {
+            if (i == 0 || trigramas[i] != trigramas[i - 1]) {
+                posicoesPorTrigrama.computeIfAbsent(trigramas[i], t -> new Posicoes()).adicionar(posicao);
+            }
+        }
+    }
+
+    /**
+     * Busca as posições cujo nome contém o termo, ignorando acentos e maiúsculas.
+     * O resultado pode incluir posições de contas já removidas.
+     *
+     * @param termo Termo de busca já sem espaços nas extremidades
+     * @return posições encontradas
+     */
+    int[] buscar(String termo) {
+        String termoNormalizado = IndiceNomes.normalizar(termo);
+        if (termoNormalizado.length() < TAMANHO_GRAMA) {
+            return percorrerArquivo(termoNormalizado);
+        }
+
+        Posicoes menor = null;
+        for (int i = 0; i + TAMANHO_GRAMA <= termoNormalizado.length(); i++) {
+            Posicoes posicoes = posicoesPorTrigrama.get(codificar(termoNormalizado, i));
+            if (posicoes == null) {
+                return new int[0];
+            }
+            if (menor == null || posicoes.tamanho < menor.tamanho) {
+                menor = posicoes;
+            }
+        }
+
+        // O tamanho é lido antes do buffer, que tem ao menos essas entradas
+        int tamanho = menor.tamanho;
+        IntBuffer candidatas = menor.buffer;
+        int[] encontradas = new int[Math.min(tamanho, 256)];
+        int total = 0;
+        for (int i = 0; i < tamanho; i++) {
+            int posicao = candidatas.get(i);
+            if (IndiceNomes.normalizar(arquivo.lerNome(posicao)).contains(termoNormalizado)) {
+                if (total == encontradas.length) {
+                    encontradas = Arrays.copyOf(encontradas, total * 2);
+                }
+                encontradas[total++] = posicao;
+            }
+        }
+        return Arrays.copyOf(encontradas, total);
+    }
+
+    private int[] percorrerArquivo(String termoNormalizado) {
+        int[] encontradas = new int[256];
+        int total = 0;
+        for (int p = 0; p < arquivo.getPosicoes(); p++) {
+            if (arquivo.ativa(p) && IndiceNomes.normalizar(arquivo.lerNome(p)).contains(termoNormalizado)) {
+                if (total == encontradas.length) {
+                    encontradas = Arrays.copyOf(encontradas, total * 2);
+                }
+                encontradas[total++] = p;
+            }
+        }
+        return Arrays.copyOf(encontradas, total);
+    }
+
+    private static long codificar(String nome, int inicio) {
+        return (long) nome.charAt(inicio) << 32 | (long) nome.charAt(inicio + 1) << 16 | nome.charAt(inicio + 2);
+    }
+
+    /**
+     * Lista de posições de um trigrama, apenas acrescentada. O buffer é trocado por um maior
+     * quando enche, e o tamanho só avança depois que a posição foi escrita.
+     */
+    private static final class Posicoes {
+        private static final int CAPACIDADE_INICIAL = 8;
+        private static final int CAPACIDADE_MAXIMA = Integer.MAX_VALUE / Integer.BYTES;
+
+        volatile IntBuffer buffer = alocar(CAPACIDADE_INICIAL);
+        volatile int tamanho;
+
+        synchronized void adicionar(int posicao) {
+            IntBuffer atual = buffer;
+            if (tamanho == atual.capacity()) {
+                IntBuffer maior = alocar((int) Math.min((long) tamanho * 2, CAPACIDADE_MAXIMA));
+                maior.put(0, atual, 0, tamanho);
+                buffer = maior;
+                atual = maior;
+            }
+            atual.put(tamanho, posicao);
+            tamanho = tamanho + 1;
+        }
+
+        private static IntBuffer alocar(int capacidade) {
+            return ByteBuffer.allocateDirect(capacidade * Integer.BYTES).order(ByteOrder.nativeOrder()).asIntBuffer();
+        }
+    }
+}
@@ -0,0 +1,372 @@
+package repository;
+
+import model.Conta;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.ToLongFunction;
+
+/**
+ * Mapa de chaves long positivas para contas, em tabela de endereçamento aberto com sondagem
+ * linear. Cada posição é um par chave/conta em arrays paralelos, sem objeto por entrada nem
+ * chave encaixotada. Usado pelos índices de ID e de CPF do {@link ContaRepository}.
+ *
+ * <p>As chaves são divididas em segmentos pelos bits altos do hash, cada um com suas tabelas
+ * e seu monitor, de modo que inserções e remoções só disputam com as do mesmo segmento.
+ * Buscas não bloqueiam. A conta é publicada antes da chave, e a busca confere a chave da conta
+ * lida, pois a posição pode ter sido liberada e reaproveitada entre as duas leituras. Remoções
+ * deixam uma lápide para não interromper a sequência de sondagem.
+ *
+ * <p>O crescimento é incremental e por segmento: ao atingir a ocupação máxima, uma tabela nova
+ * passa a receber as inserções do segmento e cada escrita seguinte nele migra um lote de
+ * posições da anterior, que continua sendo consultada até ser esvaziada. Assim nenhuma
+ * inserção paga a cópia da tabela inteira.
+ */
+final class MapaContasPrimitivo {
+    private static final long VAZIA = 0L;
+    private static final long REMOVIDA = -1L;
+    private static final int CAPACIDADE_INICIAL = 16;
+    private static final int POSICOES_POR_MIGRACAO = 1024;
+    private static final int BITS_SEGMENTOS = 4;
+
+    private static final class Tabela {
+        final AtomicLongArray chaves;
+        final AtomicReferenceArray<Conta> contas;
+        final int mascara;
+        int ocupadas;
+
+        Tabela(int capacidade) {
+            this.chaves = new AtomicLongArray(capacidade);
+            this.contas = new AtomicReferenceArray<>(capacidade);
+            this.mascara = capacidade - 1;
+        }
+
+        int capacidade() {
+            return mascara + 1;
+        }
+
+        boolean cheia() {
+            // Ocupação máxima de 3/4, contando as lápides
+            return ocupadas * 4L > capacidade() * 3L;
+        }
+
+        int inicio(long chave) {
+            return (int) espalhar(chave) & mascara;
+        }
+
+        /**
+         * Posição da chave, ou -1 se ela não estiver na tabela.
+         */
+        int localizar(long chave) {
+            for (int p = inicio(chave), i = 0; i <= mascara; i++, p = (p + 1) & mascara) {
+                long atual = chaves.get(p);
+                if (atual == chave) {
+                    return p;
+                }
+                if (atual == VAZIA) {
+                    return -1;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Grava a chave na primeira lápide ou posição vazia da sequência de sondagem.
+         * A chave não pode estar presente.
+         */
+        void inserir(long chave, Conta conta) {
+            int livre = -1;
+            for (int p = inicio(chave), i = 0; i <= mascara; i++, p = (p + 1) & mascara) {
+                long atual = chaves.get(p);
+                if (atual == REMOVIDA && livre < 0) {
+                    livre = p;
+                } else if (atual == VAZIA) {
+                    if (livre < 0) {
+                        livre = p;
+                        ocupadas++;
+                    }
+                    break;
+                }
+            }
+            contas.set(livre, conta);
+            chaves.set(livre, chave);
+        }
+
+        /**
+         * Troca a chave por uma lápide se ela estiver associada à conta informada.
+         */
+        boolean remover(long chave, Conta conta) {
+            int p = localizar(chave);
+            if (p < 0 || contas.get(p) != conta) {
+                return false;
+            }
+            chaves.set(p, REMOVIDA);
+            contas.set(p, null);
+            return true;
+        }
+    }
+
+    private final ToLongFunction<Conta> chaveDaConta;
+    private final Segmento[] segmentos = new Segmento[1 << BITS_SEGMENTOS];
+
+    /**
+     * @param chaveDaConta Extrai de uma conta a chave sob a qual ela é indexada
+     */
+    MapaContasPrimitivo(ToLongFunction<Conta> chaveDaConta) {
+        this.chaveDaConta = chaveDaConta;
+        for (int i = 0; i < segmentos.length; i++) {
+            segmentos[i] = new Segmento();
+        }
+    }
+
+    /**
+     * Busca a conta associada à chave.
+     *
+     * @param chave Chave positiva
+     * @return conta encontrada ou null
+     */
+    Conta buscar(long chave) {
+        return segmento(chave).buscar(chave);
+    }
+
+    /**
+     * Insere a conta se a chave ainda não estiver ocupada.
+     *
+     * @param chave Chave positiva
+     * @param conta Conta a inserir
+     * @return conta que já ocupava a chave, ou null se a inserção ocorreu
+     */
+    Conta inserirSeAusente(long chave, Conta conta) {
+        return segmento(chave).inserirSeAusente(chave, conta);
+    }
+
+    /**
+     * Remove a chave se ela ainda estiver associada à conta informada.
+     *
+     * @param chave Chave positiva
+     * @param conta Conta associada
+     * @return true se a chave foi removida
+     */
+    boolean remover(long chave, Conta conta) {
+        return segmento(chave).remover(chave, conta);
+    }
+
+    /**
+     * Remove e devolve a conta associada à chave.
+     *
+     * @param chave Chave positiva
+     * @return conta removida ou null se não existia
+     */
+    Conta remover(long chave) {
+        return segmento(chave).remover(chave);
+    }
+
+    /**
+     * Acrescenta as contas do mapa à lista informada.
+     *
+     * @param destino Lista que recebe as contas
+     */
+    void copiarPara(List<Conta> destino) {
+        for (Segmento segmento : segmentos) {
+            segmento.copiarPara(destino);
+        }
+    }
+
+    /**
+     * Retorna a quantidade de chaves no mapa.
+     */
+    int tamanho() {
+        int tamanho = 0;
+        for (Segmento segmento : segmentos) {
+            tamanho += segmento.tamanho;
+        }
+        return tamanho;
+    }
+
+    /**
+     * Remove todas as chaves.
+     */
+    void limpar() {
+        for (Segmento segmento : segmentos) {
+            segmento.limpar();
+        }
+    }
+
+    private Segmento segmento(long chave) {
+        // Bits altos do hash, independentes dos bits baixos que escolhem a posição na tabela
+        return segmentos[(int) (espalhar(chave) >>> (Long.SIZE - BITS_SEGMENTOS))];
+    }
+
+    private static long espalhar(long chave) {
+        long h = chave * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 32);
+    }
+
+    /**
+     * Parte das chaves, com tabelas e monitor próprios.
+     */
+    private final class Segmento {
+        private volatile Tabela atual = new Tabela(CAPACIDADE_INICIAL);
+        private volatile Tabela anterior;
+        private int migradas;
+        private volatile int tamanho;
+
+        /**
+         * Busca a conta associada à chave.
+         *
+         * @param chave Chave positiva
+         * @return conta encontrada ou null
+         */
+        Conta buscar(long chave) {
+            // Lê a tabela atual antes da anterior: a anterior é publicada antes da nova tabela
+            Tabela tabela = atual;
+            Tabela emMigracao = anterior;
+            Conta conta = buscar(tabela, chave);
+            if (conta == null && emMigracao != null && emMigracao != tabela) {
+                conta = buscar(emMigracao, chave);
+            }
+            return conta;
+        }
+
+        /**
+         * Insere a conta se a chave ainda não estiver ocupada.
+         *
+         * @param chave Chave positiva
+         * @param conta Conta a inserir
+         * @return conta que já ocupava a chave, ou null se a inserção ocorreu
+         */
+        synchronized Conta inserirSeAusente(long chave, Conta conta) {
+            migrar(POSICOES_POR_MIGRACAO);
+
+            Conta existente = buscarParaEscrita(chave);
+            if (existente != null) {
+                return existente;
+            }
+
+            Tabela tabela = atual;
+            tabela.inserir(chave, conta);
+            tamanho++;
+            if (tabela.cheia()) {
+                crescer();
+            }
+            return null;
+        }
+
+        /**
+         * Remove a chave se ela ainda estiver associada à conta informada.
+         *
+         * @param chave Chave positiva
+         * @param conta Conta associada
+         * @return true se a chave foi removida
+         */
+        synchronized boolean remover(long chave, Conta conta) {
+            migrar(POSICOES_POR_MIGRACAO);
+
+            // Entradas já migradas continuam na tabela anterior até o fim da migração
+            boolean removida = atual.remover(chave, conta);
+            Tabela emMigracao = anterior;
+            if (emMigracao != null) {
+                removida |= emMigracao.remover(chave, conta);
+            }
+            if (removida) {
+                tamanho--;
+            }
+            return removida;
+        }
+
+        /**
+         * Remove e devolve a conta associada à chave.
+         *
+         * @param chave Chave positiva
+         * @return conta removida ou null se não existia
+         */
+        synchronized Conta remover(long chave) {
+            Conta conta = buscarParaEscrita(chave);
+            return conta != null && remover(chave, conta) ? conta : null;
+        }
+
+        /**
+         * Acrescenta as contas do mapa à lista informada.
+         *
+         * @param destino Lista que recebe as contas
+         */
+        synchronized void copiarPara(List<Conta> destino) {
+            migrar(Integer.MAX_VALUE);
+            Tabela tabela = atual;
+            for (int p = 0; p < tabela.capacidade(); p++) {
+                long chave = tabela.chaves.get(p);
+                if (chave != VAZIA && chave != REMOVIDA) {
+                    destino.add(tabela.contas.get(p));
+                }
+            }
+        }
+
+        /**
+         * Remove todas as chaves.
+         */
+        synchronized void limpar() {
+            anterior = null;
+            atual = new Tabela(CAPACIDADE_INICIAL);
+            tamanho = 0;
+        }
+
+        private Conta buscar(Tabela tabela, long chave) {
+            int p = tabela.localizar(chave);
+            if (p < 0) {
+                return null;
+            }
+            Conta conta = tabela.contas.get(p);
+            return conta != null && chaveDaConta.applyAsLong(conta) == chave ? conta : null;
+        }
+
+        private Conta buscarParaEscrita(long chave) {
+            int p = atual.localizar(chave);
+            if (p >= 0) {
+                return atual.contas.get(p);
+            }
+            Tabela emMigracao = anterior;
+            if (emMigracao == null) {
+                return null;
+            }
+            p = emMigracao.localizar(chave);
+            return p >= 0 ? emMigracao.contas.get(p) : null;
+        }
+
+        /**
+         * Começa a migração para uma tabela com o dobro da capacidade, ou com a mesma capacidade
+         * quando a ocupação vem principalmente de lápides.
+         */
+        private void crescer() {
+            // Uma migração ainda em curso termina antes de começar outra
+            migrar(Integer.MAX_VALUE);
+
+            Tabela cheia = atual;
+            int capacidade = tamanho * 2L > cheia.capacidade() ? cheia.capacidade() * 2 : cheia.capacidade();
+            anterior = cheia;
+            migradas = 0;
+            atual = new Tabela(capacidade);
+        }
+
+        /**
+         * Copia até {@code limite} posições da tabela anterior para a atual.
+         */
+        private void migrar(int limite) {
+            Tabela origem = anterior;
+            if (origem == null) {
+                return;
+            }
+
+            Tabela destino = atual;
+            int fim = (int) Math.min(origem.capacidade(), (long) migradas + limite);
+            for (; migradas < fim; migradas++) {
+                long chave = origem.chaves.get(migradas);
+                if (chave != VAZIA && chave != REMOVIDA) {
+                    destino.inserir(chave, origem.contas.get(migradas));
+                }
+            }
+            if (migradas == origem.capacidade()) {
+                anterior = null;
+            }
+        }
+    }
+}
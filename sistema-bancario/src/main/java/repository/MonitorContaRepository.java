@@ -0,0 +1,70 @@
+package repository;
+
+import metrics.Desfecho;
+import metrics.RegistroJmx;
+import metrics.ResumoLatencia;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.management.ObjectName;
+
+/**
+ * MBean que publica o tamanho dos índices e as latências de um {@link ContaRepository}.
+ */
+public final class MonitorContaRepository implements ContaRepositoryMXBean, AutoCloseable {
+    private final ContaRepository repositorio;
+    private ObjectName nome;
+
+    private MonitorContaRepository(ContaRepository repositorio) {
+        this.repositorio = repositorio;
+    }
+
+    /**
+     * Registra o monitor de um repositório como {@code sistema.bancario:type=<tipo>}.
+     *
+     * @param repositorio Repositório monitorado
+     * @param tipo Tipo usado no nome do MBean, como {@code ContaRepository}
+     * @return monitor registrado; {@link #close()} remove o registro
+     * @throws IllegalArgumentException se o repositório for nulo
+     * @throws IllegalStateException se o registro falhar
+     */
+    public static MonitorContaRepository registrar(ContaRepository repositorio, String tipo) {
+        if (repositorio == null) {
+            throw new IllegalArgumentException("ContaRepository não pode ser nulo");
+        }
+
+        MonitorContaRepository monitor = new MonitorContaRepository(repositorio);
+        monitor.nome = RegistroJmx.registrar(monitor, tipo);
+        return monitor;
+    }
+
+    @Override
+    public int getTotalContas() {
+        return repositorio.getTotalContas();
+    }
+
+    @Override
+    public Map<String, Long> getTamanhosIndices() {
+        return repositorio.tamanhosIndices();
+    }
+
+    @Override
+    public Map<String, ResumoLatencia> getLatencias() {
+        Map<String, ResumoLatencia> latencias = new LinkedHashMap<>();
+        repositorio.getMetricas().capturar(Desfecho.SUCESSO)
+                .forEach((operacao, percentis) -> latencias.put(operacao.name(), percentis.resumir()));
+        return latencias;
+    }
+
+    @Override
+    public void reiniciarLatencias() {
+        repositorio.getMetricas().capturarEReiniciar();
+    }
+
+    /**
+     * Remove o MBean do servidor.
+     */
+    @Override
+    public void close() {
+        RegistroJmx.remover(nome);
+    }
+}
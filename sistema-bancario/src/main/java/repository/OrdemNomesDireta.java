@@ -0,0 +1,336 @@
+package repository;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Ordem das contas de um {@link ArquivoContas} por nome e ID, com as posições em memória direta.
+ *
+ * A ordem tem duas camadas: um vetor ordenado de posições em memória direta e, no heap, as
+ * chaves das contas inseridas depois da última consolidação. Quando as chaves recentes chegam
+ * a {@value #LIMITE_RECENTES}, a thread que insere mescla as duas camadas em um vetor novo,
+ * lendo os nomes do arquivo; as listagens percorrem as duas camadas em conjunto. A construção
+ * ordena as contas em blocos de {@value #TAMANHO_BLOCO} no heap e mescla os blocos no vetor,
+ * então o heap usado não cresce com o número de contas. Posições de contas removidas são
+ * descartadas nas listagens e deixam o vetor na consolidação seguinte. Thread-safe.
+ */
+final class OrdemNomesDireta {
+    private static final Comparator<Chave> ORDEM_DAS_CHAVES =
+            Comparator.comparing(Chave::nome).thenComparing(Chave::id).thenComparingInt(Chave::posicao);
+    private static final int TAMANHO_BLOCO = 1 << 16;
+    private static final int LIMITE_RECENTES = 1 << 16;
+
+    private final ArquivoContas arquivo;
+    private final ReadWriteLock troca = new ReentrantReadWriteLock();
+    private final Lock consolidacao = new ReentrantLock();
+    private volatile Camadas camadas;
+
+    /**
+     * Constrói a ordem a partir das contas ativas do arquivo.
+     *
+     * @param arquivo Arquivo de contas; as inserções devem ser informadas por {@link #adicionar}
+     */
+    OrdemNomesDireta(ArquivoContas arquivo) {
+        this.arquivo = arquivo;
+        this.camadas = new Camadas(construir());
+    }
+
+    /**
+     * Inclui na ordem a conta inserida na posição do arquivo.
+     *
+     * @param posicao Posição da conta no arquivo
+     * @param nome Nome do cliente
+     * @param id ID da conta
+     */
+    void adicionar(int posicao, String nome, String id) {
+        int recentes;
+        Lock leitura = troca.readLock();
+        leitura.lock();
+        try {
+            Camadas atuais = camadas;
+            atuais.recentes.add(new Chave(nome, id, posicao));
+            recentes = atuais.totalRecentes.incrementAndGet();
+        } finally {
+            leitura.unlock();
+        }
+
+        if (recentes >= LIMITE_RECENTES) {
+            consolidar();
+        }
+    }
+
+    /**
+     * Lista as posições de uma página na ordem por nome e ID, a partir do cursor.
+     *
+     * @param nomeCursor Nome da última conta da página anterior ou nulo para começar do início
+     * @param idCursor ID da última conta da página anterior
+     * @param deslocamento Número de contas ativas a pular depois do cursor
+     * @param limite Número máximo de posições
+     * @return posições de contas ativas, em ordem
+     */
+    List<Integer> listar(String nomeCursor, String idCursor, int deslocamento, int limite) {
+        Camadas atuais = camadas;
+        // A posição máxima põe o cursor depois de qualquer chave com o mesmo nome e ID
+        Chave cursor = nomeCursor == null ? null : new Chave(nomeCursor, idCursor, Integer.MAX_VALUE);
+        Iterator<Chave> recentes = cursor == null
+                ? atuais.recentes.iterator()
+                : atuais.recentes.tailSet(cursor, false).iterator();
+        int inicio = cursor == null ? 0 : primeiraDepois(atuais.vetor, cursor);
+
+        List<Integer> pagina = new ArrayList<>(Math.min(limite, 256));
+        int pular = deslocamento;
+        if (!recentes.hasNext()) {
+            // Sem chaves recentes depois do cursor, o vetor é percorrido sem ler os nomes
+            Vetor vetor = atuais.vetor;
+            for (int i = inicio; i < vetor.tamanho() && pagina.size() < limite; i++) {
+                int posicao = vetor.posicoes().get(i);
+                if (!arquivo.ativa(posicao)) {
+                    continue;
+                }
+                if (pular > 0) {
+                    pular--;
+                } else {
+                    pagina.add(posicao);
+                }
+            }
+            return pagina;
+        }
+
+        Mescla mescla = new Mescla(List.of(new FonteVetor(atuais.vetor, inicio), new FonteChaves(recentes)));
+        Chave chave;
+        while (pagina.size() < limite && (chave = mescla.proxima()) != null) {
+            if (pular > 0) {
+                pular--;
+            } else {
+                pagina.add(chave.posicao());
+            }
+        }
+        return pagina;
+    }
+
+    /**
+     * Retorna o número de entradas da ordem, incluindo as de contas removidas ainda não descartadas.
+     */
+    long getTamanho() {
+        Camadas atuais = camadas;
+        return atuais.vetor.tamanho() + (long) atuais.totalRecentes.get();
+    }
+
+    private void consolidar() {
+        if (!consolidacao.tryLock()) {
+            return;
+        }
+
+        try {
+            Camadas atuais = camadas;
+            List<Chave> mescladas = new ArrayList<>(atuais.recentes);
+            Vetor vetor = mesclar(List.of(new FonteVetor(atuais.vetor, 0), new FonteChaves(mescladas.iterator())),
+                    atuais.vetor.tamanho() + mescladas.size());
+
+            // Com a troca bloqueada nenhuma inserção está pela metade nas camadas atuais
+            Lock escrita = troca.writeLock();
+            escrita.lock();
+            try {
+                Camadas novas = new Camadas(vetor);
+                Set<Chave> incluidas = new HashSet<>(mescladas);
+                for (Chave chave : atuais.recentes) {
+                    if (!incluidas.contains(chave)) {
+                        novas.recentes.add(chave);
+                        novas.totalRecentes.incrementAndGet();
+                    }
+                }
+                camadas = novas;
+            } finally {
+                escrita.unlock();
+            }
+        } finally {
+            consolidacao.unlock();
+        }
+    }
+
+    private Vetor construir() {
+        List<Fonte> blocos = new ArrayList<>();
+        List<Chave> bloco = new ArrayList<>();
+        int total = 0;
+        for (int p = 0; p < arquivo.getPosicoes(); p++) {
+            if (arquivo.ativa(p)) {
+                bloco.add(lerChave(p));
+                total++;
+                if (bloco.size() == TAMANHO_BLOCO) {
+                    blocos.add(new FonteVetor(ordenar(bloco), 0));
+                    bloco.clear();
+                }
+            }
+        }
+        if (!bloco.isEmpty()) {
+            blocos.add(new FonteVetor(ordenar(bloco), 0));
+        }
+        return mesclar(blocos, total);
+    }
+
+    private static Vetor ordenar(List<Chave> bloco) {
+        bloco.sort(ORDEM_DAS_CHAVES);
+        IntBuffer posicoes = alocar(bloco.size());
+        for (int i = 0; i < bloco.size(); i++) {
+            posicoes.put(i, bloco.get(i).posicao());
+        }
+        return new Vetor(posicoes, bloco.size());
+    }
+
+    private static Vetor mesclar(List<Fonte> fontes, int capacidade) {
+        IntBuffer posicoes = alocar(capacidade);
+        Mescla mescla = new Mescla(fontes);
+        int tamanho = 0;
+        Chave chave;
+        while ((chave = mescla.proxima()) != null) {
+            posicoes.put(tamanho++, chave.posicao());
+        }
+        return new Vetor(posicoes, tamanho);
+    }
+
+    private int primeiraDepois(Vetor vetor, Chave cursor) {
+        int baixo = 0;
+        int alto = vetor.tamanho();
+        while (baixo < alto) {
+            int meio = (baixo + alto) >>> 1;
+            if (ORDEM_DAS_CHAVES.compare(lerChave(vetor.posicoes().get(meio)), cursor) <= 0) {
+                baixo = meio + 1;
+            } else {
+                alto = meio;
+            }
+        }
+        return baixo;
+    }
+
+    private Chave lerChave(int posicao) {
+        return new Chave(arquivo.lerNome(posicao), Long.toString(arquivo.lerId(posicao)), posicao);
+    }
+
+    private static IntBuffer alocar(int capacidade) {
+        return ByteBuffer.allocateDirect(Math.max(capacidade, 1) * Integer.BYTES)
+                .order(ByteOrder.nativeOrder()).asIntBuffer();
+    }
+
+    /**
+     * Chave de ordenação de uma conta do arquivo, sem materializar a conta.
+     */
+    private record Chave(String nome, String id, int posicao) {
+    }
+
+    /**
+     * Posições ordenadas em memória direta; apenas as {@code tamanho} primeiras são válidas.
+     */
+    private record Vetor(IntBuffer posicoes, int tamanho) {
+    }
+
+    /**
+     * Vetor consolidado e chaves inseridas depois dele.
+     */
+    private static final class Camadas {
+        final Vetor vetor;
+        final NavigableSet<Chave> recentes = new ConcurrentSkipListSet<>(ORDEM_DAS_CHAVES);
+        final AtomicInteger totalRecentes = new AtomicInteger();
+
+        Camadas(Vetor vetor) {
+            this.vetor = vetor;
+        }
+    }
+
+    /**
+     * Sequência ordenada de chaves de contas ativas.
+     */
+    private interface Fonte {
+        /**
+         * @return próxima chave ou nulo ao final
+         */
+        Chave proxima();
+    }
+
+    private final class FonteVetor implements Fonte {
+        private final Vetor vetor;
+        private int indice;
+
+        FonteVetor(Vetor vetor, int inicio) {
+            this.vetor = vetor;
+            this.indice = inicio;
+        }
+
+        @Override
+        public Chave proxima() {
+            while (indice < vetor.tamanho()) {
+                int posicao = vetor.posicoes().get(indice++);
+                if (arquivo.ativa(posicao)) {
+                    return lerChave(posicao);
+                }
+            }
+            return null;
+        }
+    }
+
+    private final class FonteChaves implements Fonte {
+        private final Iterator<Chave> chaves;
+
+        FonteChaves(Iterator<Chave> chaves) {
+            this.chaves = chaves;
+        }
+
+        @Override
+        public Chave proxima() {
+            while (chaves.hasNext()) {
+                Chave chave = chaves.next();
+                if (arquivo.ativa(chave.posicao())) {
+                    return chave;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Intercala fontes ordenadas, lendo uma chave à frente de cada uma.
+     */
+    private static final class Mescla {
+        private final PriorityQueue<Cabeca> cabecas =
+                new PriorityQueue<>(Comparator.comparing(Cabeca::chave, ORDEM_DAS_CHAVES));
+
+        Mescla(List<? extends Fonte> fontes) {
+            for (Fonte fonte : fontes) {
+                avancar(fonte);
+            }
+        }
+
+        Chave proxima() {
+            Cabeca cabeca = cabecas.poll();
+            if (cabeca == null) {
+                return null;
+            }
+            avancar(cabeca.fonte());
+            return cabeca.chave();
+        }
+
+        private void avancar(Fonte fonte) {
+            Chave chave = fonte.proxima();
+            if (chave != null) {
+                cabecas.add(new Cabeca(chave, fonte));
+            }
+        }
+    }
+
+    private record Cabeca(Chave chave, Fonte fonte) {
+    }
+}
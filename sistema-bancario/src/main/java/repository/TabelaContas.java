@@ -0,0 +1,54 @@
+package repository;
+
+import model.Conta;
+import java.util.List;
+
+/**
+ * Armazenamento primário de contas indexado pelo ID.
+ * Abstrai a estrutura usada pelo {@link ContaRepository} para mapear IDs em contas.
+ */
+interface TabelaContas {
+
+    /**
+     * Busca a conta com o ID informado (já sem espaços nas extremidades).
+     *
+     * @param id ID da conta
+     * @return conta encontrada ou null
+     */
+    Conta buscar(String id);
+
+    /**
+     * Insere a conta se o ID ainda não estiver ocupado.
+     *
+     * @param conta Conta a ser inserida
+     * @return conta que já ocupava o ID, ou null se a inserção ocorreu
+     */
+    Conta inserirSeAusente(Conta conta);
+
+    /**
+     * Remove a conta com o ID informado.
+     *
+     * @param id ID da conta
+     * @return conta removida ou null se não existia
+     */
+    Conta remover(String id);
+
+    /**
+     * Retorna uma cópia das contas armazenadas.
+     *
+     * @return lista com as contas
+     */
+    List<Conta> listar();
+
+    /**
+     * Retorna a quantidade de contas armazenadas.
+     *
+     * @return número de contas
+     */
+    int tamanho();
+
+    /**
+     * Remove todas as contas.
+     */
+    void limpar();
+}
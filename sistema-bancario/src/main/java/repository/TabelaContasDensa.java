@@ -0,0 +1,115 @@
+package repository;
+
+import model.Conta;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Tabela de contas endereçada diretamente pelo valor numérico do ID.
+ *
+ * IDs de 6 dígitos ocupam a posição {@code id - 100000} de um array plano com 900.000
+ * posições, de modo que a busca é uma conversão de dígitos e um acesso ao array, sem
+ * cálculo de hash. IDs fora desse intervalo (por exemplo, um esquema futuro com mais
+ * dígitos) vão para uma tabela compacta de reserva. Thread-safe.
+ */
+class TabelaContasDensa implements TabelaContas {
+    static final int PRIMEIRO_ID = 100_000;
+    static final int CAPACIDADE = 900_000;
+    private static final int DIGITOS = 6;
+
+    private final AtomicReferenceArray<Conta> posicoes;
+    private final AtomicInteger ocupadas;
+    private final TabelaContas reserva;
+
+    TabelaContasDensa() {
+        this.posicoes = new AtomicReferenceArray<>(CAPACIDADE);
+        this.ocupadas = new AtomicInteger();
+        this.reserva = new TabelaContasHash(new ConcurrentHashMap<>());
+    }
+
+    /**
+     * Converte um ID de 6 dígitos na posição do array.
+     *
+     * @return posição no array ou -1 se o ID não for de 6 dígitos
+     */
+    static int posicao(String id) {
+        if (id.length() != DIGITOS) {
+            return -1;
+        }
+
+        int numero = 0;
+        for (int i = 0; i < DIGITOS; i++) {
+            int digito = id.charAt(i) - '0';
+            if (digito < 0 || digito > 9) {
+                return -1;
+            }
+            numero = numero * 10 + digito;
+        }
+
+        int posicao = numero - PRIMEIRO_ID;
+        return posicao >= 0 ? posicao : -1;
+    }
+
+    @Override
+    public Conta buscar(String id) {
+        int posicao = posicao(id);
+        return posicao >= 0 ? posicoes.get(posicao) : reserva.buscar(id);
+    }
+
+    @Override
+    public Conta inserirSeAusente(Conta conta) {
+        int posicao = posicao(conta.getId());
+        if (posicao < 0) {
+            return reserva.inserirSeAusente(conta);
+        }
+
+        Conta existente = posicoes.compareAndExchange(posicao, null, conta);
+        if (existente == null) {
+            ocupadas.incrementAndGet();
+        }
+        return existente;
+    }
+
+    @Override
+    public Conta remover(String id) {
+        int posicao = posicao(id);
+        if (posicao < 0) {
+            return reserva.remover(id);
+        }
+
+        Conta removida = posicoes.getAndSet(posicao, null);
+        if (removida != null) {
+            ocupadas.decrementAndGet();
+        }
+        return removida;
+    }
+
+    @Override
+    public List<Conta> listar() {
+        List<Conta> contas = reserva.listar();
+        for (int i = 0; i < CAPACIDADE; i++) {
+            Conta conta = posicoes.get(i);
+            if (conta != null) {
+                contas.add(conta);
+            }
+        }
+        return contas;
+    }
+
+    @Override
+    public int tamanho() {
+        return ocupadas.get() + reserva.tamanho();
+    }
+
+    @Override
+    public void limpar() {
+        for (int i = 0; i < CAPACIDADE; i++) {
+            if (posicoes.getAndSet(i, null) != null) {
+                ocupadas.decrementAndGet();
+            }
+        }
+        reserva.limpar();
+    }
+}
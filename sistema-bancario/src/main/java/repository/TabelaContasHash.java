@@ -0,0 +1,48 @@
+package repository;
+
+import model.Conta;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tabela de contas sobre um mapa de IDs em String.
+ * A segurança para uso concorrente depende do mapa recebido.
+ */
+class TabelaContasHash implements TabelaContas {
+    private final Map<String, Conta> contas;
+
+    TabelaContasHash(Map<String, Conta> contas) {
+        this.contas = contas;
+    }
+
+    @Override
+    public Conta buscar(String id) {
+        return contas.get(id);
+    }
+
+    @Override
+    public Conta inserirSeAusente(Conta conta) {
+        return contas.putIfAbsent(conta.getId(), conta);
+    }
+
+    @Override
+    public Conta remover(String id) {
+        return contas.remove(id);
+    }
+
+    @Override
+    public List<Conta> listar() {
+        return new ArrayList<>(contas.values());
+    }
+
+    @Override
+    public int tamanho() {
+        return contas.size();
+    }
+
+    @Override
+    public void limpar() {
+        contas.clear();
+    }
+}
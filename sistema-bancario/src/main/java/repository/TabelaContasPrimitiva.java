@@ -0,0 +1,56 @@
+package repository;
+
+import model.Conta;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tabela de contas indexada pelo valor numérico do ID em um {@link MapaContasPrimitivo},
+ * sem a entrada e a chave String por conta de um mapa de hash. IDs que não estão na forma
+ * numérica canônica vão para uma tabela de reserva. Thread-safe.
+ */
+class TabelaContasPrimitiva implements TabelaContas {
+    private final MapaContasPrimitivo contas;
+    private final TabelaContas reserva;
+
+    TabelaContasPrimitiva() {
+        this.contas = new MapaContasPrimitivo(conta -> ArmazenamentoContasArquivo.converterId(conta.getId()));
+        this.reserva = new TabelaContasHash(new ConcurrentHashMap<>());
+    }
+
+    @Override
+    public Conta buscar(String id) {
+        long numero = ArmazenamentoContasArquivo.converterId(id);
+        return numero > 0 ? contas.buscar(numero) : reserva.buscar(id);
+    }
+
+    @Override
+    public Conta inserirSeAusente(Conta conta) {
+        long numero = ArmazenamentoContasArquivo.converterId(conta.getId());
+        return numero > 0 ? contas.inserirSeAusente(numero, conta) : reserva.inserirSeAusente(conta);
+    }
+
+    @Override
+    public Conta remover(String id) {
+        long numero = ArmazenamentoContasArquivo.converterId(id);
+        return numero > 0 ? contas.remover(numero) : reserva.remover(id);
+    }
+
+    @Override
+    public List<Conta> listar() {
+        List<Conta> lista = reserva.listar();
+        contas.copiarPara(lista);
+        return lista;
+    }
+
+    @Override
+    public int tamanho() {
+        return contas.tamanho() + reserva.tamanho();
+    }
+
+    @Override
+    public void limpar() {
+        contas.limpar();
+        reserva.limpar();
+    }
+}
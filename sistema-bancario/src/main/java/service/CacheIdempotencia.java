@@ -0,0 +1,271 @@
+package service;
+
+import metrics.Operacao;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+/**
+ * Cache de resultados das operações feitas com chave de idempotência.
+ *
+ * A primeira operação com uma chave é executada e seu resultado fica guardado; repetições
+ * da chave devolvem esse resultado sem executar de novo, inclusive quando chegam enquanto
+ * a original ainda executa, caso em que aguardam o término dela. Operações recusadas com
+ * {@link IllegalArgumentException} (parâmetros inválidos, conta inexistente ou saldo
+ * insuficiente) não são guardadas, pois o serviço as recusa antes de alterar qualquer saldo,
+ * e podem ser tentadas de novo. Qualquer outra falha, como a do journal, fica guardada: o
+ * desfecho da original é incerto, e as repetições recebem a mesma exceção em vez de executar
+ * de novo. Cada chave fica associada à operação e aos parâmetros da primeira chamada;
+ * reutilizá-la com outros parâmetros é recusado.
+ *
+ * As entradas expiram após a validade e são descartadas em ordem de criação quando o
+ * número máximo é atingido: cada inserção ocupa a próxima posição de um anel com o número
+ * máximo de entradas e descarta a entrada que estava nela. Com o limite no tamanho das
+ * chaves, a memória ocupada fica limitada. A consulta é uma leitura em
+ * {@link ConcurrentHashMap}, e a inserção não usa travas nem aloca além da própria entrada.
+ */
+public final class CacheIdempotencia {
+    /**
+     * Número máximo de entradas usado pelo construtor padrão.
+     */
+    public static final int MAXIMO_ENTRADAS_PADRAO = 100_000;
+
+    /**
+     * Validade das entradas usada pelo construtor padrão.
+     */
+    public static final Duration VALIDADE_PADRAO = Duration.ofHours(24);
+
+    /**
+     * Tamanho máximo de uma chave de idempotência.
+     */
+    public static final int TAMANHO_MAXIMO_CHAVE = 128;
+
+    private final ConcurrentHashMap<String, Entrada> entradas = new ConcurrentHashMap<>();
+    private final AtomicReferenceArray<Entrada> ordemCriacao;
+    private final AtomicLong inseridas = new AtomicLong();
+    private final long validadeMillis;
+    private final Clock relogio;
+
+    /**
+     * Construtor com {@link #MAXIMO_ENTRADAS_PADRAO} entradas e validade de {@link #VALIDADE_PADRAO}.
+     */
+    public CacheIdempotencia() {
+        this(MAXIMO_ENTRADAS_PADRAO, VALIDADE_PADRAO);
+    }
+
+    /**
+     * Construtor do cache, usando o relógio do sistema.
+     *
+     * @param maximoEntradas Número máximo de chaves guardadas
+     * @param validade Tempo durante o qual uma chave é reconhecida
+     * @throws IllegalArgumentException se o máximo ou a validade não forem positivos
+     */
+    public CacheIdempotencia(int maximoEntradas, Duration validade) {
+        this(maximoEntradas, validade, Clock.systemUTC());
+    }
+
+    /**
+     * Construtor do cache.
+     *
+     * @param maximoEntradas Número máximo de chaves guardadas
+     * @param validade Tempo durante o qual uma chave é reconhecida
+     * @param relogio Relógio usado para expirar as chaves
+     * @throws IllegalArgumentException se algum parâmetro for inválido
+     */
+    public CacheIdempotencia(int maximoEntradas, Duration validade, Clock relogio) {
+        if (maximoEntradas <= 0) {
+            throw new IllegalArgumentException("Número máximo de entradas deve ser positivo");
+        }
+        if (validade == null || validade.isNegative() || validade.isZero()) {
+            throw new IllegalArgumentException("Validade deve ser positiva");
+        }
+        if (relogio == null) {
+            throw new IllegalArgumentException("Relógio não pode ser nulo");
+        }
+
+        this.ordemCriacao = new AtomicReferenceArray<>(maximoEntradas);
+        this.validadeMillis = validade.toMillis();
+        this.relogio = relogio;
+    }
+
+    /**
+     * Retorna o número de chaves guardadas, incluindo as ainda não descartadas por expiração.
+     *
+     * @return número de chaves
+     */
+    public int getTamanho() {
+        return entradas.size();
+    }
+
+    /**
+     * Executa a operação uma única vez por chave, devolvendo o resultado guardado nas repetições.
+     * Os parâmetros são comparados nas repetições; IDs diferentes apenas por espaços nas pontas
+     * e valores iguais em escalas diferentes são equivalentes.
+     *
+     * @param chave Chave de idempotência informada pelo cliente
+     * @param operacao Operação executada
+     * @param idConta ID da conta, ou da conta de origem
+     * @param idContaDestino ID da conta de destino, ou null
+     * @param valor Valor da operação
+     * @param execucao Execução da operação
+     * @return resultado da operação original
+     * @throws IllegalArgumentException se a chave for inválida ou já tiver sido usada com outros parâmetros
+     */
+    <T> T executar(String chave, Operacao operacao, String idConta, String idContaDestino, BigDecimal valor,
+                   Supplier<T> execucao) {
+        if (chave == null || chave.isBlank()) {
+            throw new IllegalArgumentException("Chave de idempotência é obrigatória");
+        }
+        if (chave.length() > TAMANHO_MAXIMO_CHAVE) {
+            throw new IllegalArgumentException("Chave de idempotência deve ter no máximo " + TAMANHO_MAXIMO_CHAVE + " caracteres");
+        }
+
+        long agora = relogio.millis();
+        Entrada nova = null;
+        while (true) {
+            Entrada existente = entradas.get(chave);
+            if (existente != null && agora - existente.criadaEm >= validadeMillis) {
+                entradas.remove(chave, existente);
+                existente = null;
+            }
+            if (existente != null) {
+                existente.conferir(operacao, idConta, idContaDestino, valor);
+                return existente.aguardar();
+            }
+
+            if (nova == null) {
+                nova = new Entrada(chave, operacao, idConta, idContaDestino, valor, agora);
+            }
+            if (entradas.putIfAbsent(chave, nova) == null) {
+                break;
+            }
+        }
+
+        // Ocupa a próxima posição do anel, descartando a entrada mais antiga
+        int posicao = (int) (inseridas.getAndIncrement() % ordemCriacao.length());
+        Entrada descartada = ordemCriacao.getAndSet(posicao, nova);
+        if (descartada != null) {
+            entradas.remove(descartada.chave, descartada);
+        }
+
+        T resultado;
+        try {
+            resultado = execucao.get();
+        } catch (IllegalArgumentException e) {
+            // Recusada antes de alterar saldo: a chave fica livre para uma nova tentativa
+            entradas.remove(chave, nova);
+            nova.concluir(new Falha(e));
+            throw e;
+        } catch (RuntimeException | Error e) {
+            nova.concluir(new Falha(e));
+            throw e;
+        }
+        nova.concluir(resultado);
+        return resultado;
+    }
+
+    private static boolean mesmoId(String a, String b) {
+        if (a == null || b == null) {
+            return a == b;
+        }
+        return a.equals(b) || a.trim().equals(b.trim());
+    }
+
+    private static boolean mesmoValor(BigDecimal a, BigDecimal b) {
+        if (a == null || b == null) {
+            return a == b;
+        }
+        return a.compareTo(b) == 0;
+    }
+
+    /**
+     * Exceção com que uma operação terminou, guardada no lugar do resultado.
+     */
+    private record Falha(Throwable erro) {
+    }
+
+    /**
+     * Operação registrada para uma chave, com o resultado publicado ao terminar.
+     */
+    private static final class Entrada {
+        private static final Object PENDENTE = new Object();
+
+        private final String chave;
+        private final Operacao operacao;
+        private final String idConta;
+        private final String idContaDestino;
+        private final BigDecimal valor;
+        private final long criadaEm;
+        private volatile Object resultado = PENDENTE;
+        private volatile CountDownLatch espera;
+
+        private Entrada(String chave, Operacao operacao, String idConta, String idContaDestino, BigDecimal valor,
+                        long criadaEm) {
+            this.chave = chave;
+            this.operacao = operacao;
+            this.idConta = idConta;
+            this.idContaDestino = idContaDestino;
+            this.valor = valor;
+            this.criadaEm = criadaEm;
+        }
+
+        private void conferir(Operacao operacaoRepetida, String idContaRepetida, String idContaDestinoRepetida,
+                              BigDecimal valorRepetido) {
+            if (operacao != operacaoRepetida
+                    || !mesmoId(idConta, idContaRepetida)
+                    || !mesmoId(idContaDestino, idContaDestinoRepetida)
+                    || !mesmoValor(valor, valorRepetido)) {
+                throw new IllegalArgumentException("Chave de idempotência já usada em outra operação: " + chave);
+            }
+        }
+
+        private void concluir(Object desfecho) {
+            // Escrita volátil antes da leitura da espera: ou quem aguarda vê o resultado, ou este vê a espera
+            resultado = desfecho;
+            CountDownLatch aguardando = espera;
+            if (aguardando != null) {
+                aguardando.countDown();
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T> T aguardar() {
+            Object desfecho = resultado;
+            if (desfecho == PENDENTE) {
+                CountDownLatch aguardando = criarEspera();
+                boolean interrompida = false;
+                while ((desfecho = resultado) == PENDENTE) {
+                    try {
+                        aguardando.await();
+                    } catch (InterruptedException e) {
+                        interrompida = true;
+                    }
+                }
+                if (interrompida) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            if (desfecho instanceof Falha falha) {
+                // A repetição recebe a mesma exceção da operação original
+                if (falha.erro() instanceof Error erro) {
+                    throw erro;
+                }
+                throw (RuntimeException) falha.erro();
+            }
+            return (T) desfecho;
+        }
+
+        private synchronized CountDownLatch criarEspera() {
+            if (espera == null) {
+                espera = new CountDownLatch(1);
+            }
+            return espera;
+        }
+    }
+}
@@ -0,0 +1,705 @@
+package service;
+
+import metrics.ContadoresOperacoes;
+import metrics.Desfecho;
+import metrics.MetricasLatencia;
+import metrics.MotivoErro;
+import metrics.Operacao;
+import model.Cliente;
+import model.Conta;
+import model.MotivoRecusa;
+import model.OperacaoRecusadaException;
+import model.ResultadoTransferencia;
+import model.SaldoVersionado;
+import model.TransacaoContas;
+import repository.ContaRepository;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Serviço responsável pela lógica de negócio das operações bancárias.
+ * Implementa todas as funcionalidades do sistema bancário com validações robustas.
+ * 
+ * Com observadores registrados, cada operação trava as contas envolvidas, notifica os
+ * observadores com os novos saldos e só então os publica; se um observador falhar, como o
+ * journal ao gravar no disco, a operação é desfeita. Contas novas só são inseridas no
+ * repositório depois da notificação. Sem observadores, depósitos e saques usam apenas o
+ * compare-and-set da conta.
+ */
+public class ContaService {
+    private static final int TRAVAS_CRIACAO = 64;
+
+    private final ContaRepository contaRepository;
+    private final List<ObservadorOperacoes> observadores;
+    private final CacheIdempotencia idempotencia;
+    private final MetricasLatencia metricas = new MetricasLatencia();
+    private final ContadoresOperacoes contadores = new ContadoresOperacoes();
+    private final ReentrantLock[] travasCriacao = new ReentrantLock[TRAVAS_CRIACAO];
+
+    /**
+     * Construtor do serviço, com o cache de idempotência padrão.
+     * 
+     * @param contaRepository Repositório de contas
+     */
+    public ContaService(ContaRepository contaRepository) {
+        this(contaRepository, new CacheIdempotencia());
+    }
+
+    /**
+     * Construtor do serviço.
+     * 
+     * @param contaRepository Repositório de contas
+     * @param idempotencia Cache das operações feitas com chave de idempotência
+     */
+    public ContaService(ContaRepository contaRepository, CacheIdempotencia idempotencia) {
+        if (contaRepository == null) {
+            throw new IllegalArgumentException("ContaRepository não pode ser nulo");
+        }
+        if (idempotencia == null) {
+            throw new IllegalArgumentException("Cache de idempotência não pode ser nulo");
+        }
+        this.contaRepository = contaRepository;
+        this.observadores = new CopyOnWriteArrayList<>();
+        this.idempotencia = idempotencia;
+        for (int i = 0; i < TRAVAS_CRIACAO; i++) {
+            travasCriacao[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Registra um observador das operações, como o journal de persistência.
+     * Os observadores são notificados na ordem de registro, e a falha de um deles desfaz a
+     * operação sem notificar os seguintes; o journal deve ser registrado primeiro, para que os
+     * demais só vejam operações já gravadas.
+     * 
+     * @param observador Observador a ser notificado
+     * @throws IllegalArgumentException se o observador for nulo
+     */
+    public void registrarObservador(ObservadorOperacoes observador) {
+        if (observador == null) {
+            throw new IllegalArgumentException("Observador não pode ser nulo");
+        }
+        observadores.add(observador);
+    }
+
+    /**
+     * Retorna as latências das operações do serviço, por operação e desfecho.
+     * 
+     * @return métricas de latência do serviço
+     */
+    public MetricasLatencia getMetricas() {
+        return metricas;
+    }
+
+    /**
+     * Retorna os contadores de operações concluídas e de erros por motivo.
+     * 
+     * @return contadores do serviço
+     */
+    public ContadoresOperacoes getContadores() {
+        return contadores;
+    }
+
+    /**
+     * Cria uma nova conta bancária.
+     * 
+     * @param nome Nome do cliente
+     * @param cpf CPF do cliente
+     * @return Conta criada
+     * @throws IllegalArgumentException se os dados forem inválidos ou se já existir conta para o CPF
+     */
+    public Conta criarConta(String nome, String cpf) {
+        return medir(Operacao.CRIAR_CONTA, () -> aplicarCriacaoConta(nome, cpf));
+    }
+
+    private Conta aplicarCriacaoConta(String nome, String cpf) {
+        // Validações básicas
+        if (nome == null || nome.trim().isEmpty()) {
+            throw new IllegalArgumentException("Nome é obrigatório");
+        }
+        
+        if (cpf == null || cpf.trim().isEmpty()) {
+            throw new OperacaoRecusadaException(MotivoRecusa.CPF_INVALIDO, "CPF é obrigatório");
+        }
+
+        // Verifica se já existe conta para este CPF
+        if (contaRepository.existePorCpf(cpf)) {
+            throw new IllegalArgumentException("Já existe uma conta cadastrada para este CPF");
+        }
+
+        Cliente cliente;
+        try {
+            // Cria o cliente (validação de CPF é feita na classe Cliente)
+            cliente = new Cliente(nome, cpf);
+        } catch (OperacaoRecusadaException e) {
+            throw new OperacaoRecusadaException(e.getMotivo(), "Erro ao criar conta: " + e.getMessage());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Erro ao criar conta: " + e.getMessage());
+        }
+
+        // Criações do mesmo CPF são serializadas, para que a conta notificada seja a inserida
+        ReentrantLock trava = travasCriacao[Long.hashCode(cliente.getCpfNumerico()) & (TRAVAS_CRIACAO - 1)];
+        trava.lock();
+        try {
+            if (contaRepository.existePorCpf(cpf)) {
+                throw new IllegalArgumentException("Já existe uma conta cadastrada para este CPF");
+            }
+
+            Conta conta = new Conta(cliente, contaRepository.getAlocadorIds());
+            try {
+                for (ObservadorOperacoes observador : observadores) {
+                    observador.aoCriarConta(conta);
+                }
+
+                // Salva no repositório; se falhar, os observadores já notificados desfazem a criação
+                try {
+                    contaRepository.salvar(conta);
+                } catch (IllegalArgumentException e) {
+                    IllegalArgumentException erro = new IllegalArgumentException("Erro ao criar conta: " + e.getMessage());
+                    desfazerCriacao(conta, erro);
+                    throw erro;
+                } catch (RuntimeException e) {
+                    desfazerCriacao(conta, e);
+                    throw e;
+                }
+            } finally {
+                concluirNotificacoes();
+            }
+            return conta;
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    /**
+     * Realiza um depósito em uma conta.
+     * 
+     * @param idConta ID da conta
+     * @param valor Valor a ser depositado
+     * @throws IllegalArgumentException se os parâmetros forem inválidos ou conta não existir
+     */
+    public void depositar(String idConta, BigDecimal valor) {
+        medir(Operacao.DEPOSITAR, () -> aplicarDeposito(idConta, valor));
+    }
+
+    /**
+     * Realiza um depósito identificado por uma chave de idempotência.
+     * Repetir a chave devolve o resultado original sem depositar de novo.
+     * 
+     * @param idConta ID da conta
+     * @param valor Valor a ser depositado
+     * @param chaveIdempotencia Chave escolhida pelo cliente para a operação
+     * @return estado do saldo logo após o depósito original
+     * @throws IllegalArgumentException se os parâmetros forem inválidos, conta não existir
+     *         ou a chave já tiver sido usada em outra operação
+     */
+    public SaldoVersionado depositar(String idConta, BigDecimal valor, String chaveIdempotencia) {
+        return medir(Operacao.DEPOSITAR, () -> idempotencia.executar(chaveIdempotencia,
+                Operacao.DEPOSITAR, idConta, null, valor, () -> aplicarDeposito(idConta, valor)));
+    }
+
+    private SaldoVersionado aplicarDeposito(String idConta, BigDecimal valor) {
+        // Validações
+        if (idConta == null || idConta.trim().isEmpty()) {
+            throw new IllegalArgumentException("ID da conta é obrigatório");
+        }
+        
+        if (valor == null || valor.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("Valor do depósito deve ser positivo");
+        }
+
+        // Busca a conta
+        Optional<Conta> contaOpt = contaRepository.buscarPorId(idConta);
+        if (contaOpt.isEmpty()) {
+            throw new OperacaoRecusadaException(MotivoRecusa.CONTA_NAO_ENCONTRADA, "Conta não encontrada com ID: " + idConta);
+        }
+
+        // Realiza o depósito
+        Conta conta = contaOpt.get();
+        if (observadores.isEmpty()) {
+            return conta.depositar(valor);
+        }
+        
+        try (TransacaoContas transacao = TransacaoContas.travar(conta)) {
+            SaldoVersionado resultado = transacao.creditar(conta, valor);
+            for (ObservadorOperacoes observador : observadores) {
+                observador.aoDepositar(conta, valor, resultado);
+            }
+            transacao.confirmar();
+            return resultado;
+        } finally {
+            concluirNotificacoes();
+        }
+    }
+
+    /**
+     * Realiza um saque de uma conta.
+     * 
+     * @param idConta ID da conta
+     * @param valor Valor a ser sacado
+     * @throws IllegalArgumentException se os parâmetros forem inválidos, conta não existir ou saldo insuficiente
+     */
+    public void sacar(String idConta, BigDecimal valor) {
+        medir(Operacao.SACAR, () -> aplicarSaque(idConta, valor));
+    }
+
+    /**
+     * Realiza um saque identificado por uma chave de idempotência.
+     * Repetir a chave devolve o resultado original sem sacar de novo.
+     * 
+     * @param idConta ID da conta
+     * @param valor Valor a ser sacado
+     * @param chaveIdempotencia Chave escolhida pelo cliente para a operação
+     * @return estado do saldo logo após o saque original
+     * @throws IllegalArgumentException se os parâmetros forem inválidos, conta não existir,
+     *         saldo insuficiente ou a chave já tiver sido usada em outra operação
+     */
+    public SaldoVersionado sacar(String idConta, BigDecimal valor, String chaveIdempotencia) {
+        return medir(Operacao.SACAR, () -> idempotencia.executar(chaveIdempotencia,
+                Operacao.SACAR, idConta, null, valor, () -> aplicarSaque(idConta, valor)));
+    }
+
+    private SaldoVersionado aplicarSaque(String idConta, BigDecimal valor) {
+        // Validações
+        if (idConta == null || idConta.trim().isEmpty()) {
+            throw new IllegalArgumentException("ID da conta é obrigatório");
+        }
+        
+        if (valor == null || valor.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("Valor do saque deve ser positivo");
+        }
+
+        // Busca a conta
+        Optional<Conta> contaOpt = contaRepository.buscarPorId(idConta);
+        if (contaOpt.isEmpty()) {
+            throw new OperacaoRecusadaException(MotivoRecusa.CONTA_NAO_ENCONTRADA, "Conta não encontrada com ID: " + idConta);
+        }
+
+        // Realiza o saque (validação de saldo é feita na classe Conta)
+        Conta conta = contaOpt.get();
+        if (observadores.isEmpty()) {
+            return conta.sacar(valor);
+        }
+        
+        try (TransacaoContas transacao = TransacaoContas.travar(conta)) {
+            SaldoVersionado resultado = transacao.debitar(conta, valor, "Saldo insuficiente para saque");
+            for (ObservadorOperacoes observador : observadores) {
+                observador.aoSacar(conta, valor, resultado);
+            }
+            transacao.confirmar();
+            return resultado;
+        } finally {
+            concluirNotificacoes();
+        }
+    }
+
+    /**
+     * Realiza uma transferência entre contas.
+     * 
+     * @param idContaOrigem ID da conta de origem
+     * @param idContaDestino ID da conta de destino
+     * @param valor Valor a ser transferido
+     * @throws IllegalArgumentException se os parâmetros forem inválidos, contas não existirem ou saldo insuficiente
+     */
+    public void transferir(String idContaOrigem, String idContaDestino, BigDecimal valor) {
+        medir(Operacao.TRANSFERIR, () -> aplicarTransferencia(idContaOrigem, idContaDestino, valor));
+    }
+
+    /**
+     * Realiza uma transferência identificada por uma chave de idempotência.
+     * Repetir a chave devolve o resultado original sem transferir de novo.
+     * 
+     * @param idContaOrigem ID da conta de origem
+     * @param idContaDestino ID da conta de destino
+     * @param valor Valor a ser transferido
+     * @param chaveIdempotencia Chave escolhida pelo cliente para a operação
+     * @return estados das duas contas logo após a transferência original
+     * @throws IllegalArgumentException se os parâmetros forem inválidos, contas não existirem,
+     *         saldo insuficiente ou a chave já tiver sido usada em outra operação
+     */
+    public ResultadoTransferencia transferir(String idContaOrigem, String idContaDestino, BigDecimal valor,
+                                             String chaveIdempotencia) {
+        return medir(Operacao.TRANSFERIR, () -> idempotencia.executar(chaveIdempotencia,
+                Operacao.TRANSFERIR, idContaOrigem, idContaDestino, valor,
+                () -> aplicarTransferencia(idContaOrigem, idContaDestino, valor)));
+    }
+
+    private ResultadoTransferencia aplicarTransferencia(String idContaOrigem, String idContaDestino, BigDecimal valor) {
+        // Validações básicas
+        validarTransferencia(idContaOrigem, idContaDestino, valor);
+
+        // Busca as contas
+        Conta contaOrigem = buscarContaDaTransferencia(idContaOrigem, "Conta de origem não encontrada com ID: ");
+        Conta contaDestino = buscarContaDaTransferencia(idContaDestino, "Conta de destino não encontrada com ID: ");
+
+        // Trava as duas contas; os saldos só são publicados depois da notificação
+        try (TransacaoContas transacao = TransacaoContas.travar(contaOrigem, contaDestino)) {
+            SaldoVersionado origem = transacao.debitar(contaOrigem, valor, "Saldo insuficiente na conta de origem");
+            SaldoVersionado destino = transacao.creditar(contaDestino, valor);
+            ResultadoTransferencia resultado = new ResultadoTransferencia(origem, destino);
+            notificarTransferencia(contaOrigem, contaDestino, valor, resultado);
+            transacao.confirmar();
+            return resultado;
+        } finally {
+            concluirNotificacoes();
+        }
+    }
+
+    /**
+     * Executa uma operação registrando sua latência e contando o desfecho.
+     */
+    private <T> T medir(Operacao operacao, Supplier<T> execucao) {
+        try {
+            T resultado = metricas.medir(operacao, execucao);
+            contadores.registrarSucesso(operacao);
+            return resultado;
+        } catch (RuntimeException e) {
+            contadores.registrarErro(operacao, MotivoErro.de(e));
+            throw e;
+        }
+    }
+
+    /**
+     * Registra a latência e o desfecho de uma operação cujas fases rodam em threads
+     * diferentes e por isso não passam por {@link #medir}, como as transferências entre
+     * partições.
+     *
+     * @param inicio Valor de {@link System#nanoTime()} no início da operação
+     * @param erro Exceção que encerrou a operação, ou null se ela foi concluída
+     */
+    void registrarMedicao(Operacao operacao, long inicio, Throwable erro) {
+        metricas.registrar(operacao, erro == null ? Desfecho.SUCESSO : Desfecho.ERRO, System.nanoTime() - inicio);
+        if (erro == null) {
+            contadores.registrarSucesso(operacao);
+        } else {
+            contadores.registrarErro(operacao, MotivoErro.de(erro));
+        }
+    }
+
+    /**
+     * Valida os parâmetros de uma transferência que não dependem do repositório.
+     * 
+     * @throws IllegalArgumentException se algum parâmetro for inválido
+     */
+    static void validarTransferencia(String idContaOrigem, String idContaDestino, BigDecimal valor) {
+        if (idContaOrigem == null || idContaOrigem.trim().isEmpty()) {
+            throw new IllegalArgumentException("ID da conta de origem é obrigatório");
+        }
+        
+        if (idContaDestino == null || idContaDestino.trim().isEmpty()) {
+            throw new IllegalArgumentException("ID da conta de destino é obrigatório");
+        }
+        
+        if (valor == null || valor.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("Valor da transferência deve ser positivo");
+        }
+
+        // Verifica se as contas são diferentes
+        if (idContaOrigem.trim().equals(idContaDestino.trim())) {
+            throw new IllegalArgumentException("Conta de origem e destino devem ser diferentes");
+        }
+    }
+
+    /**
+     * Busca uma das contas de uma transferência.
+     * 
+     * @throws IllegalArgumentException com a mensagem informada seguida do ID, se a conta não existir
+     */
+    Conta buscarContaDaTransferencia(String id, String mensagemNaoEncontrada) {
+        Optional<Conta> conta = contaRepository.buscarPorId(id);
+        if (conta.isEmpty()) {
+            throw new OperacaoRecusadaException(MotivoRecusa.CONTA_NAO_ENCONTRADA, mensagemNaoEncontrada + id);
+        }
+        return conta.get();
+    }
+
+    /**
+     * Indica se há observadores registrados, cujas notificações precisam preceder a publicação dos saldos.
+     */
+    boolean temObservadores() {
+        return !observadores.isEmpty();
+    }
+
+    /**
+     * Avisa os observadores que a conta notificada não foi inserida. Falhas ao desfazer são
+     * anexadas ao erro da inserção, que é o propagado ao chamador.
+     */
+    private void desfazerCriacao(Conta conta, RuntimeException erro) {
+        for (ObservadorOperacoes observador : observadores) {
+            try {
+                observador.aoDesfazerCriacao(conta);
+            } catch (RuntimeException e) {
+                erro.addSuppressed(e);
+            }
+        }
+    }
+
+    /**
+     * Avisa os observadores que a operação notificada nesta thread foi publicada ou desfeita.
+     */
+    private void concluirNotificacoes() {
+        for (ObservadorOperacoes observador : observadores) {
+            observador.aoConcluir();
+        }
+    }
+
+    /**
+     * Notifica os observadores de uma transferência.
+     */
+    void notificarTransferencia(Conta origem, Conta destino, BigDecimal valor, ResultadoTransferencia resultado) {
+        for (ObservadorOperacoes observador : observadores) {
+            observador.aoTransferir(origem, destino, valor, resultado);
+        }
+    }
+
+    /**
+     * Executa um lote de depósitos, saques e transferências, devolvendo um resultado por operação.
+     * 
+     * Cada conta é buscada uma única vez, e todas as contas do lote são travadas juntas por uma
+     * {@link TransacaoContas}. Os depósitos, saques e débitos de transferência são aplicados na
+     * ordem do lote, e depois os créditos das transferências aceitas; por isso um crédito
+     * recebido no lote não cobre débitos da própria conta no mesmo lote. Uma operação inválida
+     * ou sem saldo falha sozinha, sem afetar as demais. Os observadores recebem as operações
+     * aceitas, na ordem do lote, antes de os saldos serem publicados; se um deles falhar,
+     * nenhuma operação do lote é aplicada e a exceção é propagada.
+     * 
+     * @param operacoes Operações a serem executadas
+     * @return resultados na mesma ordem das operações
+     * @throws IllegalArgumentException se a lista de operações for nula
+     */
+    public List<ResultadoOperacao> executarLote(List<OperacaoLote> operacoes) {
+        return medir(Operacao.EXECUTAR_LOTE, () -> aplicarLote(operacoes));
+    }
+
+    private List<ResultadoOperacao> aplicarLote(List<OperacaoLote> operacoes) {
+        if (operacoes == null) {
+            throw new IllegalArgumentException("Lista de operações é obrigatória");
+        }
+
+        int total = operacoes.size();
+        ResultadoOperacao[] resultados = new ResultadoOperacao[total];
+        SaldoVersionado[] estados = new SaldoVersionado[total];
+        SaldoVersionado[] creditos = new SaldoVersionado[total];
+        Conta[] contas = new Conta[total];
+        Conta[] destinos = new Conta[total];
+        Map<String, Optional<Conta>> contasBuscadas = new HashMap<>();
+        Set<Conta> envolvidas = new HashSet<>();
+
+        // Valida as operações e busca as contas
+        for (int i = 0; i < total; i++) {
+            OperacaoLote operacao = operacoes.get(i);
+            String erro = validarOperacaoLote(operacao);
+            if (erro == null) {
+                contas[i] = buscarEmLote(contasBuscadas, operacao.getIdConta());
+                boolean transferencia = operacao.getTipo() == OperacaoLote.Tipo.TRANSFERENCIA;
+                destinos[i] = transferencia ? buscarEmLote(contasBuscadas, operacao.getIdContaDestino()) : null;
+                if (contas[i] == null) {
+                    erro = (transferencia ? "Conta de origem não encontrada com ID: " : "Conta não encontrada com ID: ")
+                            + operacao.getIdConta();
+                } else if (transferencia && destinos[i] == null) {
+                    erro = "Conta de destino não encontrada com ID: " + operacao.getIdContaDestino();
+                }
+            }
+            if (erro != null) {
+                resultados[i] = ResultadoOperacao.falha(erro);
+                continue;
+            }
+
+            envolvidas.add(contas[i]);
+            if (destinos[i] != null) {
+                envolvidas.add(destinos[i]);
+            }
+        }
+
+        try (TransacaoContas transacao = TransacaoContas.travar(envolvidas)) {
+            // Aplica os movimentos próprios de cada conta
+            for (int i = 0; i < total; i++) {
+                if (resultados[i] != null) {
+                    continue;
+                }
+
+                OperacaoLote operacao = operacoes.get(i);
+                try {
+                    estados[i] = switch (operacao.getTipo()) {
+                        case DEPOSITO -> transacao.creditar(contas[i], operacao.getValor());
+                        case SAQUE -> transacao.debitar(contas[i], operacao.getValor(), "Saldo insuficiente para saque");
+                        case TRANSFERENCIA -> transacao.debitar(contas[i], operacao.getValor(),
+                                "Saldo insuficiente na conta de origem");
+                    };
+                } catch (IllegalArgumentException e) {
+                    resultados[i] = ResultadoOperacao.falha(e.getMessage());
+                }
+            }
+
+            // Credita as transferências cujo débito foi aceito
+            for (int i = 0; i < total; i++) {
+                if (resultados[i] == null && destinos[i] != null) {
+                    try {
+                        creditos[i] = transacao.creditar(destinos[i], operacoes.get(i).getValor());
+                    } catch (IllegalArgumentException e) {
+                        // O débito ainda não foi publicado; devolvê-lo na transação não gera movimentação visível
+                        transacao.creditar(contas[i], operacoes.get(i).getValor());
+                        resultados[i] = ResultadoOperacao.falha(e.getMessage());
+                    }
+                }
+            }
+
+            if (!observadores.isEmpty()) {
+                List<Consumer<ObservadorOperacoes>> notificacoes = new ArrayList<>();
+                for (int i = 0; i < total; i++) {
+                    if (resultados[i] == null) {
+                        notificacoes.add(notificacaoLote(operacoes.get(i), contas[i], destinos[i], estados[i], creditos[i]));
+                    }
+                }
+                for (ObservadorOperacoes observador : observadores) {
+                    observador.aoExecutarLote(notificacoes);
+                }
+            }
+            transacao.confirmar();
+        } finally {
+            concluirNotificacoes();
+        }
+
+        for (int i = 0; i < total; i++) {
+            if (resultados[i] == null) {
+                resultados[i] = ResultadoOperacao.sucesso(estados[i]);
+            }
+        }
+        return List.of(resultados);
+    }
+
+    private static Consumer<ObservadorOperacoes> notificacaoLote(OperacaoLote operacao, Conta conta, Conta destino,
+                                                                 SaldoVersionado estado, SaldoVersionado credito) {
+        BigDecimal valor = operacao.getValor();
+        return switch (operacao.getTipo()) {
+            case DEPOSITO -> observador -> observador.aoDepositar(conta, valor, estado);
+            case SAQUE -> observador -> observador.aoSacar(conta, valor, estado);
+            case TRANSFERENCIA -> observador -> observador.aoTransferir(conta, destino, valor,
+                    new ResultadoTransferencia(estado, credito));
+        };
+    }
+
+    /**
+     * Valida os dados de uma operação do lote que não dependem do repositório.
+     * 
+     * @return mensagem de erro, ou null se a operação for válida
+     */
+    private static String validarOperacaoLote(OperacaoLote operacao) {
+        if (operacao == null || operacao.getTipo() == null) {
+            return "Operação não pode ser nula";
+        }
+
+        boolean transferencia = operacao.getTipo() == OperacaoLote.Tipo.TRANSFERENCIA;
+        if (operacao.getIdConta() == null || operacao.getIdConta().trim().isEmpty()) {
+            return transferencia ? "ID da conta de origem é obrigatório" : "ID da conta é obrigatório";
+        }
+        if (transferencia && (operacao.getIdContaDestino() == null || operacao.getIdContaDestino().trim().isEmpty())) {
+            return "ID da conta de destino é obrigatório";
+        }
+        if (operacao.getValor() == null || operacao.getValor().compareTo(BigDecimal.ZERO) <= 0) {
+            return switch (operacao.getTipo()) {
+                case DEPOSITO -> "Valor do depósito deve ser positivo";
+                case SAQUE -> "Valor do saque deve ser positivo";
+                case TRANSFERENCIA -> "Valor da transferência deve ser positivo";
+            };
+        }
+        if (transferencia && operacao.getIdConta().trim().equals(operacao.getIdContaDestino().trim())) {
+            return "Conta de origem e destino devem ser diferentes";
+        }
+        return null;
+    }
+
+    private Conta buscarEmLote(Map<String, Optional<Conta>> contasBuscadas, String id) {
+        return contasBuscadas.computeIfAbsent(id.trim(), contaRepository::buscarPorId).orElse(null);
+    }
+
+    /**
+     * Busca uma conta pelo ID.
+     * 
+     * @param id ID da conta
+     * @return Optional contendo a conta se encontrada
+     */
+    public Optional<Conta> buscarContaPorId(String id) {
+        if (id == null || id.trim().isEmpty()) {
+            return Optional.empty();
+        }
+        return contaRepository.buscarPorId(id);
+    }
+
+    /**
+     * Busca contas pelo nome do cliente.
+     * 
+     * @param nome Nome ou parte do nome do cliente
+     * @return Lista de contas encontradas
+     */
+    public List<Conta> buscarContasPorNome(String nome) {
+        return contaRepository.buscarPorNome(nome);
+    }
+
+    /**
+     * Lista todas as contas cadastradas ordenadas por nome do cliente.
+     * 
+     * @return Lista de todas as contas
+     */
+    public List<Conta> listarTodasContas() {
+        return contaRepository.listarTodasOrdenadas();
+    }
+
+    /**
+     * Lista uma página das contas ordenadas por nome do cliente.
+     * 
+     * @param deslocamento Quantidade de contas a pular desde o início da ordem
+     * @param limite Quantidade máxima de contas na página
+     * @return Lista com as contas da página
+     * @throws IllegalArgumentException se o deslocamento for negativo ou o limite não for positivo
+     */
+    public List<Conta> listarContas(int deslocamento, int limite) {
+        return contaRepository.listarOrdenadas(deslocamento, limite);
+    }
+
+    /**
+     * Verifica se existe uma conta com o ID especificado.
+     * 
+     * @param id ID a ser verificado
+     * @return true se existe, false caso contrário
+     */
+    public boolean existeContaComId(String id) {
+        return contaRepository.existePorId(id);
+    }
+
+    /**
+     * Retorna o número total de contas cadastradas.
+     * 
+     * @return número de contas
+     */
+    public int getTotalContas() {
+        return contaRepository.getTotalContas();
+    }
+
+    /**
+     * Consulta o saldo de uma conta.
+     * 
+     * @param idConta ID da conta
+     * @return Saldo da conta
+     * @throws IllegalArgumentException se a conta não existir
+     */
+    public BigDecimal consultarSaldo(String idConta) {
+        return medir(Operacao.CONSULTAR_SALDO, () -> {
+            Optional<Conta> contaOpt = buscarContaPorId(idConta);
+            if (contaOpt.isEmpty()) {
+                throw new OperacaoRecusadaException(MotivoRecusa.CONTA_NAO_ENCONTRADA, "Conta não encontrada com ID: " + idConta);
+            }
+            return contaOpt.get().getSaldo();
+        });
+    }
+}
\ No newline at end of file
@@ -0,0 +1,241 @@
+package service;
+
+import model.Conta;
+import model.ResultadoTransferencia;
+import model.SaldoVersionado;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Fachada assíncrona do {@link ContaService}.
+ *
+ * Cada chamada é executada em uma thread virtual própria e devolve um
+ * {@link CompletableFuture}, completado com o resultado ou, em caso de erro, com a mesma
+ * exceção que a chamada síncrona lançaria. Um semáforo limita quantas operações executam
+ * ao mesmo tempo; as demais aguardam estacionadas em suas threads virtuais, sem ocupar
+ * threads de plataforma, então o número de requisições pendentes pode ser muito maior que
+ * o limite de execução. Um segundo limite, verificado na submissão, restringe as
+ * requisições pendentes: acima dele o futuro é completado de imediato com
+ * {@link RejectedExecutionException}, sem criar thread. O serviço embrulhado precisa usar
+ * um repositório thread-safe.
+ */
+public class ContaServiceAssincrono implements AutoCloseable {
+    private static final int PENDENTES_POR_EXECUCAO = 1024;
+    private static final int MINIMO_PENDENTES = 100_000;
+
+    private final ContaService contaService;
+    private final ExecutorService executor;
+    private final Semaphore permissoes;
+    private final Semaphore pendentes;
+
+    /**
+     * Construtor da fachada, que aceita até {@value #PENDENTES_POR_EXECUCAO} requisições
+     * pendentes por operação simultânea e nunca menos de {@value #MINIMO_PENDENTES}.
+     *
+     * @param contaService Serviço que executará as operações
+     * @param maximoConcorrente Número máximo de operações executando ao mesmo tempo
+     * @throws IllegalArgumentException se o serviço for nulo ou o limite não for positivo
+     */
+    public ContaServiceAssincrono(ContaService contaService, int maximoConcorrente) {
+        this(contaService, maximoConcorrente, (int) Math.min(Integer.MAX_VALUE,
+                Math.max(MINIMO_PENDENTES, (long) maximoConcorrente * PENDENTES_POR_EXECUCAO)));
+    }
+
+    /**
+     * Construtor da fachada.
+     *
+     * @param contaService Serviço que executará as operações
+     * @param maximoConcorrente Número máximo de operações executando ao mesmo tempo
+     * @param maximoPendentes Número máximo de requisições aceitas e ainda não concluídas,
+     *        incluindo as que estão executando
+     * @throws IllegalArgumentException se o serviço for nulo, algum limite não for positivo
+     *         ou o limite de pendentes for menor que o de execução
+     */
+    public ContaServiceAssincrono(ContaService contaService, int maximoConcorrente, int maximoPendentes) {
+        if (contaService == null) {
+            throw new IllegalArgumentException("ContaService não pode ser nulo");
+        }
+        if (maximoConcorrente <= 0) {
+            throw new IllegalArgumentException("Limite de concorrência deve ser positivo");
+        }
+        if (maximoPendentes < maximoConcorrente) {
+            throw new IllegalArgumentException("Limite de pendentes não pode ser menor que o de concorrência");
+        }
+
+        this.contaService = contaService;
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.permissoes = new Semaphore(maximoConcorrente);
+        this.pendentes = new Semaphore(maximoPendentes);
+    }
+
+    /**
+     * Cria uma nova conta bancária.
+     *
+     * @param nome Nome do cliente
+     * @param cpf CPF do cliente
+     * @return futuro com a conta criada
+     * @see ContaService#criarConta(String, String)
+     */
+    public CompletableFuture<Conta> criarConta(String nome, String cpf) {
+        return executar(() -> contaService.criarConta(nome, cpf));
+    }
+
+    /**
+     * Realiza um depósito em uma conta.
+     *
+     * @param idConta ID da conta
+     * @param valor Valor a ser depositado
+     * @return futuro completado quando o depósito for aplicado
+     * @see ContaService#depositar(String, BigDecimal)
+     */
+    public CompletableFuture<Void> depositar(String idConta, BigDecimal valor) {
+        return executar(() -> {
+            contaService.depositar(idConta, valor);
+            return null;
+        });
+    }
+
+    /**
+     * Realiza um depósito identificado por uma chave de idempotência.
+     *
+     * @param idConta ID da conta
+     * @param valor Valor a ser depositado
+     * @param chaveIdempotencia Chave escolhida pelo cliente para a operação
+     * @return futuro com o estado do saldo logo após o depósito original
+     * @see ContaService#depositar(String, BigDecimal, String)
+     */
+    public CompletableFuture<SaldoVersionado> depositar(String idConta, BigDecimal valor, String chaveIdempotencia) {
+        return executar(() -> contaService.depositar(idConta, valor, chaveIdempotencia));
+    }
+
+    /**
+     * Realiza um saque de uma conta.
+     *
+     * @param idConta ID da conta
+     * @param valor Valor a ser sacado
+     * @return futuro completado quando o saque for aplicado
+     * @see ContaService#sacar(String, BigDecimal)
+     */
+    public CompletableFuture<Void> sacar(String idConta, BigDecimal valor) {
+        return executar(() -> {
+            contaService.sacar(idConta, valor);
+            return null;
+        });
+    }
+
+    /**
+     * Realiza um saque identificado por uma chave de idempotência.
+     *
+     * @param idConta ID da conta
+     * @param valor Valor a ser sacado
+     * @param chaveIdempotencia Chave escolhida pelo cliente para a operação
+     * @return futuro com o estado do saldo logo após o saque original
+     * @see ContaService#sacar(String, BigDecimal, String)
+     */
+    public CompletableFuture<SaldoVersionado> sacar(String idConta, BigDecimal valor, String chaveIdempotencia) {
+        return executar(() -> contaService.sacar(idConta, valor, chaveIdempotencia));
+    }
+
+    /**
+     * Realiza uma transferência entre contas.
+     *
+     * @param idContaOrigem ID da conta de origem
+     * @param idContaDestino ID da conta de destino
+     * @param valor Valor a ser transferido
+     * @return futuro completado quando a transferência for aplicada
+     * @see ContaService#transferir(String, String, BigDecimal)
+     */
+    public CompletableFuture<Void> transferir(String idContaOrigem, String idContaDestino, BigDecimal valor) {
+        return executar(() -> {
+            contaService.transferir(idContaOrigem, idContaDestino, valor);
+            return null;
+        });
+    }
+
+    /**
+     * Realiza uma transferência identificada por uma chave de idempotência.
+     *
+     * @param idContaOrigem ID da conta de origem
+     * @param idContaDestino ID da conta de destino
+     * @param valor Valor a ser transferido
+     * @param chaveIdempotencia Chave escolhida pelo cliente para a operação
+     * @return futuro com os estados das duas contas logo após a transferência original
+     * @see ContaService#transferir(String, String, BigDecimal, String)
+     */
+    public CompletableFuture<ResultadoTransferencia> transferir(String idContaOrigem, String idContaDestino,
+                                                                BigDecimal valor, String chaveIdempotencia) {
+        return executar(() -> contaService.transferir(idContaOrigem, idContaDestino, valor, chaveIdempotencia));
+    }
+
+    /**
+     * Consulta o saldo de uma conta.
+     *
+     * @param idConta ID da conta
+     * @return futuro com o saldo da conta
+     * @see ContaService#consultarSaldo(String)
+     */
+    public CompletableFuture<BigDecimal> consultarSaldo(String idConta) {
+        return executar(() -> contaService.consultarSaldo(idConta));
+    }
+
+    /**
+     * Executa um lote de operações.
+     *
+     * @param operacoes Operações a serem executadas
+     * @return futuro com os resultados na mesma ordem das operações
+     * @see ContaService#executarLote(List)
+     */
+    public CompletableFuture<List<ResultadoOperacao>> executarLote(List<OperacaoLote> operacoes) {
+        return executar(() -> contaService.executarLote(operacoes));
+    }
+
+    /**
+     * Deixa de aceitar novas operações e aguarda o término das pendentes.
+     * Chamadas posteriores lançam {@link java.util.concurrent.RejectedExecutionException}.
+     */
+    @Override
+    public void close() {
+        executor.close();
+    }
+
+    private <T> CompletableFuture<T> executar(Supplier<T> operacao) {
+        if (!pendentes.tryAcquire()) {
+            return CompletableFuture.failedFuture(
+                    new RejectedExecutionException("Limite de requisições pendentes atingido"));
+        }
+
+        CompletableFuture<T> futuro = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                T resultado = null;
+                Throwable erro = null;
+                permissoes.acquireUninterruptibly();
+                try {
+                    resultado = operacao.get();
+                } catch (Throwable e) {
+                    erro = e;
+                } finally {
+                    permissoes.release();
+                    pendentes.release();
+                }
+
+                // Completa só depois de liberar as vagas, para que quem reage ao futuro já possa submeter
+                if (erro == null) {
+                    futuro.complete(resultado);
+                } else {
+                    futuro.completeExceptionally(erro);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pendentes.release();
+            throw e;
+        }
+        return futuro;
+    }
+}
@@ -0,0 +1,47 @@
+package service;
+
+import metrics.ResumoLatencia;
+import java.util.Map;
+
+/**
+ * Interface de monitoramento JMX do {@link ContaService}.
+ * Os mapas são indexados pelo nome da operação ou do motivo de erro.
+ */
+public interface ContaServiceMXBean {
+
+    /**
+     * @return número de contas no repositório do serviço
+     */
+    int getTotalContas();
+
+    /**
+     * @return operações concluídas desde o início, por operação
+     */
+    Map<String, Long> getOperacoesConcluidas();
+
+    /**
+     * @return operações que lançaram exceção desde o início, por operação
+     */
+    Map<String, Long> getOperacoesComErro();
+
+    /**
+     * @return operações por segundo no último minuto, ou desde o registro do monitor se ele
+     *         for mais recente, por operação
+     */
+    Map<String, Double> getTaxasPorSegundo();
+
+    /**
+     * @return erros desde o início, por motivo
+     */
+    Map<String, Long> getErrosPorMotivo();
+
+    /**
+     * @return percentis de latência das operações concluídas, em nanossegundos, por operação
+     */
+    Map<String, ResumoLatencia> getLatencias();
+
+    /**
+     * Zera os histogramas de latência, iniciando um novo intervalo de medição.
+     */
+    void reiniciarLatencias();
+}
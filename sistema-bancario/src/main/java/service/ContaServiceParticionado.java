@@ -0,0 +1,363 @@
+package service;
+
+import metrics.Operacao;
+import model.Conta;
+import model.MotivoRecusa;
+import model.OperacaoRecusadaException;
+import model.ResultadoTransferencia;
+import model.SaldoVersionado;
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Execução particionada das operações do {@link ContaService}, com um único escritor por conta.
+ *
+ * As contas são divididas entre partições pelo ID, e cada partição tem uma thread própria
+ * que consome uma {@link FilaComandos} circular. Depósitos, saques e consultas executam na
+ * partição dona da conta, então o compare-and-set do saldo nunca disputa com outra thread.
+ * Transferências entre partições usam duas fases: o débito é feito na partição da origem e
+ * o crédito na do destino; se o crédito falhar, o débito é estornado na origem. Enquanto o
+ * crédito não é aplicado o valor não aparece em nenhuma das contas. Se o serviço tiver
+ * observadores, como o journal, que precisam ser notificados antes de os saldos mudarem, a
+ * transferência é feita inteira na partição da origem, travando as duas contas.
+ *
+ * As operações devolvem um {@link CompletableFuture} completado, como na fachada
+ * {@link ContaServiceAssincrono}, com o resultado ou a mesma exceção da chamada síncrona.
+ * Continuações não assíncronas executam na thread da partição e devem ser curtas. Para
+ * manter um único escritor, as movimentações das contas devem passar todas por esta
+ * classe; o serviço embrulhado precisa usar um repositório thread-safe.
+ */
+public class ContaServiceParticionado implements AutoCloseable {
+    private static final String MENSAGEM_ENCERRADO = "Serviço particionado encerrado";
+
+    private final ContaService contaService;
+    private final Particao[] particoes;
+    private final AtomicLong pendentes = new AtomicLong();
+    private volatile boolean encerrando;
+
+    /**
+     * Construtor do serviço particionado; as threads das partições são iniciadas aqui.
+     *
+     * @param contaService Serviço que executará as operações
+     * @param particoes Número de partições, cada uma com sua thread
+     * @param capacidadeFila Número de comandos que cada fila aceita antes de fazer os produtores esperarem
+     * @throws IllegalArgumentException se o serviço for nulo ou algum número não for positivo
+     */
+    public ContaServiceParticionado(ContaService contaService, int particoes, int capacidadeFila) {
+        if (contaService == null) {
+            throw new IllegalArgumentException("ContaService não pode ser nulo");
+        }
+        if (particoes <= 0) {
+            throw new IllegalArgumentException("Número de partições deve ser positivo");
+        }
+        if (capacidadeFila <= 0) {
+            throw new IllegalArgumentException("Capacidade da fila deve ser positiva");
+        }
+
+        this.contaService = contaService;
+        this.particoes = new Particao[particoes];
+        for (int i = 0; i < particoes; i++) {
+            this.particoes[i] = new Particao(capacidadeFila, "particao-contas-" + i);
+        }
+    }
+
+    /**
+     * Realiza um depósito em uma conta, na partição dona da conta.
+     *
+     * @param idConta ID da conta
+     * @param valor Valor a ser depositado
+     * @return futuro completado quando o depósito for aplicado
+     * @throws RejectedExecutionException se o serviço estiver encerrado
+     * @see ContaService#depositar(String, BigDecimal)
+     */
+    public CompletableFuture<Void> depositar(String idConta, BigDecimal valor) {
+        return executar(particaoDe(idConta), () -> {
+            contaService.depositar(idConta, valor);
+            return null;
+        });
+    }
+
+    /**
+     * Realiza um depósito identificado por uma chave de idempotência, na partição dona da conta.
+     *
+     * @param idConta ID da conta
+     * @param valor Valor a ser depositado
+     * @param chaveIdempotencia Chave escolhida pelo cliente para a operação
+     * @return futuro com o estado do saldo logo após o depósito original
+     * @throws RejectedExecutionException se o serviço estiver encerrado
+     * @see ContaService#depositar(String, BigDecimal, String)
+     */
+    public CompletableFuture<SaldoVersionado> depositar(String idConta, BigDecimal valor, String chaveIdempotencia) {
+        return executar(particaoDe(idConta), () -> contaService.depositar(idConta, valor, chaveIdempotencia));
+    }
+
+    /**
+     * Realiza um saque de uma conta, na partição dona da conta.
+     *
+     * @param idConta ID da conta
+     * @param valor Valor a ser sacado
+     * @return futuro completado quando o saque for aplicado
+     * @throws RejectedExecutionException se o serviço estiver encerrado
+     * @see ContaService#sacar(String, BigDecimal)
+     */
+    public CompletableFuture<Void> sacar(String idConta, BigDecimal valor) {
+        return executar(particaoDe(idConta), () -> {
+            contaService.sacar(idConta, valor);
+            return null;
+        });
+    }
+
+    /**
+     * Realiza um saque identificado por uma chave de idempotência, na partição dona da conta.
+     *
+     * @param idConta ID da conta
+     * @param valor Valor a ser sacado
+     * @param chaveIdempotencia Chave escolhida pelo cliente para a operação
+     * @return futuro com o estado do saldo logo após o saque original
+     * @throws RejectedExecutionException se o serviço estiver encerrado
+     * @see ContaService#sacar(String, BigDecimal, String)
+     */
+    public CompletableFuture<SaldoVersionado> sacar(String idConta, BigDecimal valor, String chaveIdempotencia) {
+        return executar(particaoDe(idConta), () -> contaService.sacar(idConta, valor, chaveIdempotencia));
+    }
+
+    /**
+     * Realiza uma transferência entre contas. Se as contas estiverem em partições
+     * diferentes e o serviço não tiver observadores, o débito e o crédito são aplicados em
+     * fases separadas.
+     *
+     * @param idContaOrigem ID da conta de origem
+     * @param idContaDestino ID da conta de destino
+     * @param valor Valor a ser transferido
+     * @return futuro completado quando as duas contas forem atualizadas
+     * @throws RejectedExecutionException se o serviço estiver encerrado
+     * @see ContaService#transferir(String, String, BigDecimal)
+     */
+    public CompletableFuture<Void> transferir(String idContaOrigem, String idContaDestino, BigDecimal valor) {
+        Particao origem = particaoDe(idContaOrigem);
+        Particao destino = particaoDe(idContaDestino);
+        if (origem == destino || contaService.temObservadores()) {
+            return executar(origem, () -> {
+                contaService.transferir(idContaOrigem, idContaDestino, valor);
+                return null;
+            });
+        }
+
+        // As fases rodam em partições diferentes, então a medição cobre do débito à conclusão
+        return submeter(origem, futuro -> {
+            long inicio = System.nanoTime();
+            try {
+                debitar(idContaOrigem, idContaDestino, valor, origem, destino, inicio, futuro);
+            } catch (RuntimeException e) {
+                contaService.registrarMedicao(Operacao.TRANSFERIR, inicio, e);
+                throw e;
+            }
+        });
+    }
+
+    /**
+     * Realiza uma transferência identificada por uma chave de idempotência. A transferência é
+     * feita inteira na partição da origem, travando as duas contas, para que o resultado guardado
+     * para a chave seja o da transferência completa.
+     *
+     * @param idContaOrigem ID da conta de origem
+     * @param idContaDestino ID da conta de destino
+     * @param valor Valor a ser transferido
+     * @param chaveIdempotencia Chave escolhida pelo cliente para a operação
+     * @return futuro com os estados das duas contas logo após a transferência original
+     * @throws RejectedExecutionException se o serviço estiver encerrado
+     * @see ContaService#transferir(String, String, BigDecimal, String)
+     */
+    public CompletableFuture<ResultadoTransferencia> transferir(String idContaOrigem, String idContaDestino,
+                                                                BigDecimal valor, String chaveIdempotencia) {
+        return executar(particaoDe(idContaOrigem),
+                () -> contaService.transferir(idContaOrigem, idContaDestino, valor, chaveIdempotencia));
+    }
+
+    /**
+     * Consulta o saldo de uma conta, na partição dona da conta.
+     *
+     * @param idConta ID da conta
+     * @return futuro com o saldo após as operações já publicadas para a conta
+     * @throws RejectedExecutionException se o serviço estiver encerrado
+     * @see ContaService#consultarSaldo(String)
+     */
+    public CompletableFuture<BigDecimal> consultarSaldo(String idConta) {
+        return executar(particaoDe(idConta), () -> contaService.consultarSaldo(idConta));
+    }
+
+    /**
+     * Retorna o número de partições.
+     *
+     * @return número de partições
+     */
+    public int getParticoes() {
+        return particoes.length;
+    }
+
+    /**
+     * Deixa de aceitar novas operações, aguarda o término das pendentes, inclusive das
+     * transferências entre partições, e encerra as threads das partições.
+     */
+    @Override
+    public void close() {
+        encerrando = true;
+        while (pendentes.get() > 0) {
+            LockSupport.parkNanos(1_000_000L);
+        }
+
+        for (Particao particao : particoes) {
+            particao.parar();
+        }
+        boolean interrompida = false;
+        for (Particao particao : particoes) {
+            while (particao.thread.isAlive()) {
+                try {
+                    particao.thread.join();
+                } catch (InterruptedException e) {
+                    interrompida = true;
+                }
+            }
+        }
+        if (interrompida) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Primeira fase de uma transferência entre partições, na partição da origem.
+     */
+    private void debitar(String idContaOrigem, String idContaDestino, BigDecimal valor,
+                         Particao origem, Particao destino, long inicio, CompletableFuture<Void> futuro) {
+        ContaService.validarTransferencia(idContaOrigem, idContaDestino, valor);
+        Conta contaOrigem = contaService.buscarContaDaTransferencia(idContaOrigem, "Conta de origem não encontrada com ID: ");
+        Conta contaDestino = contaService.buscarContaDaTransferencia(idContaDestino, "Conta de destino não encontrada com ID: ");
+
+        SaldoVersionado debito = contaOrigem.aplicarMovimentacoes(new BigDecimal[] {valor.negate()})[0];
+        if (debito == null) {
+            throw new OperacaoRecusadaException(MotivoRecusa.SALDO_INSUFICIENTE, "Saldo insuficiente na conta de origem");
+        }
+
+        destino.fila.publicarPrioritario(() -> creditar(contaOrigem, contaDestino, valor, debito, origem, inicio, futuro));
+    }
+
+    /**
+     * Segunda fase de uma transferência entre partições, na partição do destino.
+     */
+    private void creditar(Conta contaOrigem, Conta contaDestino, BigDecimal valor, SaldoVersionado debito,
+                          Particao origem, long inicio, CompletableFuture<Void> futuro) {
+        SaldoVersionado credito;
+        try {
+            credito = contaDestino.depositar(valor);
+        } catch (Throwable e) {
+            // Estorna o débito na partição da origem para não deixar a transferência pela metade
+            origem.fila.publicarPrioritario(() -> {
+                try {
+                    contaOrigem.depositar(valor);
+                } finally {
+                    contaService.registrarMedicao(Operacao.TRANSFERIR, inicio, e);
+                    futuro.completeExceptionally(e);
+                }
+            });
+            return;
+        }
+
+        try {
+            contaService.notificarTransferencia(contaOrigem, contaDestino, valor, new ResultadoTransferencia(debito, credito));
+        } catch (Throwable e) {
+            contaService.registrarMedicao(Operacao.TRANSFERIR, inicio, e);
+            futuro.completeExceptionally(e);
+            return;
+        }
+        contaService.registrarMedicao(Operacao.TRANSFERIR, inicio, null);
+        futuro.complete(null);
+    }
+
+    private <T> CompletableFuture<T> executar(Particao particao, Supplier<T> operacao) {
+        return submeter(particao, futuro -> futuro.complete(operacao.get()));
+    }
+
+    /**
+     * Publica um comando na partição; o comando é responsável por completar o futuro,
+     * exceto quando lança uma exceção, que completa o futuro com ela.
+     */
+    private <T> CompletableFuture<T> submeter(Particao particao, Consumer<CompletableFuture<T>> comando) {
+        pendentes.incrementAndGet();
+        if (encerrando) {
+            pendentes.decrementAndGet();
+            throw new RejectedExecutionException(MENSAGEM_ENCERRADO);
+        }
+
+        CompletableFuture<T> futuro = new CompletableFuture<>();
+        futuro.whenComplete((resultado, erro) -> pendentes.decrementAndGet());
+        particao.fila.publicar(() -> {
+            try {
+                comando.accept(futuro);
+            } catch (Throwable e) {
+                futuro.completeExceptionally(e);
+            }
+        });
+        return futuro;
+    }
+
+    private Particao particaoDe(String idConta) {
+        if (idConta == null) {
+            return particoes[0];
+        }
+
+        int hash = idConta.trim().hashCode();
+        return particoes[Math.floorMod(hash ^ (hash >>> 16), particoes.length)];
+    }
+
+    /**
+     * Partição com a thread que executa, em ordem, os comandos da sua fila.
+     */
+    private static final class Particao implements Runnable {
+        private static final System.Logger LOGGER = System.getLogger(ContaServiceParticionado.class.getName());
+
+        private final FilaComandos fila;
+        private final Thread thread;
+        private volatile boolean parada;
+
+        private Particao(int capacidadeFila, String nome) {
+            this.fila = new FilaComandos(capacidadeFila);
+            this.thread = new Thread(this, nome);
+            this.thread.setDaemon(true);
+            this.fila.definirConsumidor(thread);
+            this.thread.start();
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                Runnable comando = fila.retirar();
+                if (comando != null) {
+                    executar(comando);
+                } else if (parada) {
+                    return;
+                } else {
+                    fila.aguardar();
+                }
+            }
+        }
+
+        private void executar(Runnable comando) {
+            try {
+                comando.run();
+            } catch (Throwable e) {
+                // Os comandos completam seus futuros; o que escapar não pode parar a partição
+                LOGGER.log(System.Logger.Level.WARNING, "Falha ao executar comando da partição", e);
+            }
+        }
+
+        private void parar() {
+            parada = true;
+            fila.acordar();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package service;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Fila circular limitada de comandos, com vários produtores e um único consumidor.
+ *
+ * Cada produtor reserva uma sequência incrementando a cauda e grava o comando na posição
+ * correspondente; o consumidor percorre as posições em ordem, aguardando a gravação de uma
+ * sequência já reservada. Nenhuma operação usa travas: com a fila cheia o produtor espera
+ * o consumidor liberar posições, e com a fila vazia o consumidor estaciona até ser acordado
+ * por um produtor.
+ *
+ * Comandos publicados por consumidores de outras filas vão para uma fila prioritária sem
+ * limite, para que duas filas cheias não fiquem esperando uma pela outra. Pelo mesmo motivo,
+ * comandos que o próprio consumidor publica em {@link #publicar(Runnable)} também vão para
+ * a fila prioritária: esperar espaço seria esperar por si mesmo.
+ */
+final class FilaComandos {
+    private static final long ESPERA_NANOS = 1_000_000L;
+
+    private final AtomicReferenceArray<Runnable> posicoes;
+    private final int mascara;
+    private final AtomicLong cauda = new AtomicLong();
+    private final AtomicLong cabeca = new AtomicLong();
+    private final Queue<Runnable> prioritarios = new ConcurrentLinkedQueue<>();
+    private volatile Thread consumidor;
+    private volatile boolean aguardando;
+
+    /**
+     * @param capacidade Número mínimo de comandos pendentes; arredondado para potência de dois
+     */
+    FilaComandos(int capacidade) {
+        int tamanho = Integer.highestOneBit(Math.max(2, capacidade) * 2 - 1);
+        this.posicoes = new AtomicReferenceArray<>(tamanho);
+        this.mascara = tamanho - 1;
+    }
+
+    /**
+     * Define a thread que consome a fila, acordada quando houver comandos.
+     */
+    void definirConsumidor(Thread consumidor) {
+        this.consumidor = consumidor;
+    }
+
+    /**
+     * Publica um comando, aguardando espaço se a fila estiver cheia. Chamado pelo consumidor,
+     * publica na fila prioritária sem aguardar.
+     */
+    void publicar(Runnable comando) {
+        if (Thread.currentThread() == consumidor) {
+            prioritarios.add(comando);
+            return;
+        }
+
+        long sequencia = cauda.getAndIncrement();
+        while (sequencia - cabeca.get() > mascara) {
+            LockSupport.parkNanos(ESPERA_NANOS / 100);
+        }
+
+        // Escrita volátil: ou o consumidor a vê antes de estacionar, ou este vê o aviso dele
+        posicoes.set((int) sequencia & mascara, comando);
+        if (aguardando) {
+            LockSupport.unpark(consumidor);
+        }
+    }
+
+    /**
+     * Publica um comando sem aguardar espaço, para ser retirado antes dos da fila circular.
+     */
+    void publicarPrioritario(Runnable comando) {
+        prioritarios.add(comando);
+        if (aguardando) {
+            LockSupport.unpark(consumidor);
+        }
+    }
+
+    /**
+     * Retira o próximo comando; deve ser chamado apenas pelo consumidor.
+     *
+     * @return comando ou {@code null} se nenhum estiver publicado
+     */
+    Runnable retirar() {
+        Runnable prioritario = prioritarios.poll();
+        if (prioritario != null) {
+            return prioritario;
+        }
+
+        long sequencia = cabeca.get();
+        int indice = (int) sequencia & mascara;
+        Runnable comando = posicoes.get(indice);
+        if (comando == null) {
+            return null;
+        }
+
+        posicoes.lazySet(indice, null);
+        cabeca.lazySet(sequencia + 1);
+        return comando;
+    }
+
+    /**
+     * Estaciona o consumidor até que um comando seja publicado ou o tempo máximo passe.
+     */
+    void aguardar() {
+        aguardando = true;
+        if (prioritarios.isEmpty() && posicoes.get((int) cabeca.get() & mascara) == null) {
+            LockSupport.parkNanos(this, ESPERA_NANOS);
+        }
+        aguardando = false;
+    }
+
+    /**
+     * Acorda o consumidor, se estiver estacionado.
+     */
+    void acordar() {
+        LockSupport.unpark(consumidor);
+    }
+}
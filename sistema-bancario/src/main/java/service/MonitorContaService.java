@@ -0,0 +1,157 @@
+package service;
+
+import metrics.ContadoresOperacoes;
+import metrics.Desfecho;
+import metrics.MotivoErro;
+import metrics.Operacao;
+import metrics.RegistroJmx;
+import metrics.ResumoLatencia;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.management.ObjectName;
+
+/**
+ * MBean que publica os contadores e as latências de um {@link ContaService}.
+ * Os valores são lidos dos contadores do serviço a cada consulta, sem custo nas operações.
+ *
+ * As taxas vêm de uma janela de amostras dos totais, tomadas a cada segundo por uma thread
+ * do monitor e guardadas em um buffer circular; a consulta compara os totais atuais com a
+ * amostra mais antiga da janela sem alterá-la, então leitores diferentes veem a mesma taxa.
+ */
+public final class MonitorContaService implements ContaServiceMXBean, AutoCloseable {
+    private static final Operacao[] OPERACOES_DO_SERVICO = {
+        Operacao.CRIAR_CONTA, Operacao.DEPOSITAR, Operacao.SACAR, Operacao.TRANSFERIR,
+        Operacao.CONSULTAR_SALDO, Operacao.EXECUTAR_LOTE
+    };
+
+    private static final long PERIODO_AMOSTRAS_MS = 1000;
+    private static final int AMOSTRAS = 60;
+
+    private final ContaService contaService;
+    private ObjectName nome;
+    private ScheduledExecutorService amostrador;
+    private final long[] instantesAmostras = new long[AMOSTRAS];
+    private final long[][] totaisAmostras = new long[AMOSTRAS][OPERACOES_DO_SERVICO.length];
+    private int proximaAmostra;
+    private int amostras;
+
+    private MonitorContaService(ContaService contaService) {
+        this.contaService = contaService;
+        amostrar();
+    }
+
+    /**
+     * Registra o monitor de um serviço como {@code sistema.bancario:type=<tipo>}.
+     *
+     * @param contaService Serviço monitorado
+     * @param tipo Tipo usado no nome do MBean, como {@code ContaService}
+     * @return monitor registrado; {@link #close()} remove o registro
+     * @throws IllegalArgumentException se o serviço for nulo
+     * @throws IllegalStateException se o registro falhar
+     */
+    public static MonitorContaService registrar(ContaService contaService, String tipo) {
+        if (contaService == null) {
+            throw new IllegalArgumentException("ContaService não pode ser nulo");
+        }
+
+        MonitorContaService monitor = new MonitorContaService(contaService);
+        monitor.nome = RegistroJmx.registrar(monitor, tipo);
+        monitor.amostrador = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "monitor-taxas");
+            thread.setDaemon(true);
+            return thread;
+        });
+        monitor.amostrador.scheduleAtFixedRate(monitor::amostrar,
+                PERIODO_AMOSTRAS_MS, PERIODO_AMOSTRAS_MS, TimeUnit.MILLISECONDS);
+        return monitor;
+    }
+
+    @Override
+    public int getTotalContas() {
+        return contaService.getTotalContas();
+    }
+
+    @Override
+    public Map<String, Long> getOperacoesConcluidas() {
+        Map<String, Long> valores = new LinkedHashMap<>();
+        for (Operacao operacao : OPERACOES_DO_SERVICO) {
+            valores.put(operacao.name(), contaService.getContadores().getConcluidas(operacao));
+        }
+        return valores;
+    }
+
+    @Override
+    public Map<String, Long> getOperacoesComErro() {
+        Map<String, Long> valores = new LinkedHashMap<>();
+        for (Operacao operacao : OPERACOES_DO_SERVICO) {
+            valores.put(operacao.name(), contaService.getContadores().getComErro(operacao));
+        }
+        return valores;
+    }
+
+    @Override
+    public synchronized Map<String, Double> getTaxasPorSegundo() {
+        // Com a janela cheia, a próxima posição a sobrescrever guarda a amostra mais antiga
+        int antiga = amostras < AMOSTRAS ? 0 : proximaAmostra;
+        long[] totaisAntigos = totaisAmostras[antiga];
+        double segundos = Math.max(1, System.nanoTime() - instantesAmostras[antiga]) / 1e9;
+
+        Map<String, Double> taxas = new LinkedHashMap<>();
+        for (int i = 0; i < OPERACOES_DO_SERVICO.length; i++) {
+            taxas.put(OPERACOES_DO_SERVICO[i].name(), (total(OPERACOES_DO_SERVICO[i]) - totaisAntigos[i]) / segundos);
+        }
+        return taxas;
+    }
+
+    @Override
+    public Map<String, Long> getErrosPorMotivo() {
+        Map<String, Long> valores = new LinkedHashMap<>();
+        for (MotivoErro motivo : MotivoErro.values()) {
+            valores.put(motivo.name(), contaService.getContadores().getErros(motivo));
+        }
+        return valores;
+    }
+
+    @Override
+    public Map<String, ResumoLatencia> getLatencias() {
+        Map<String, ResumoLatencia> latencias = new LinkedHashMap<>();
+        contaService.getMetricas().capturar(Desfecho.SUCESSO)
+                .forEach((operacao, percentis) -> latencias.put(operacao.name(), percentis.resumir()));
+        return latencias;
+    }
+
+    @Override
+    public void reiniciarLatencias() {
+        contaService.getMetricas().capturarEReiniciar();
+    }
+
+    /**
+     * Encerra as amostras das taxas e remove o MBean do servidor.
+     */
+    @Override
+    public void close() {
+        amostrador.shutdownNow();
+        RegistroJmx.remover(nome);
+    }
+
+    /**
+     * Guarda os totais atuais na janela, sobrescrevendo a amostra mais antiga se ela estiver cheia.
+     */
+    private synchronized void amostrar() {
+        long[] totais = totaisAmostras[proximaAmostra];
+        for (int i = 0; i < OPERACOES_DO_SERVICO.length; i++) {
+            totais[i] = total(OPERACOES_DO_SERVICO[i]);
+        }
+        instantesAmostras[proximaAmostra] = System.nanoTime();
+        proximaAmostra = (proximaAmostra + 1) % AMOSTRAS;
+        amostras = Math.min(amostras + 1, AMOSTRAS);
+    }
+
+    private long total(Operacao operacao) {
+        ContadoresOperacoes contadores = contaService.getContadores();
+        return contadores.getConcluidas(operacao) + contadores.getComErro(operacao);
+    }
+}
@@ -0,0 +1,90 @@
+package service;
+
+import model.Conta;
+import model.ResultadoTransferencia;
+import model.SaldoVersionado;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Recebe as operações aceitas pelo {@link ContaService}.
+ *
+ * Os métodos são chamados na thread que executa a operação, com as contas travadas e
+ * antes de os novos saldos ficarem visíveis; a conta criada só é inserida no repositório
+ * depois da notificação. Uma exceção lançada aqui desfaz a operação e é propagada ao
+ * chamador, sem que os observadores registrados depois deste sejam notificados. Depois
+ * que os saldos são publicados, ou a operação é desfeita, todos os observadores recebem
+ * {@link #aoConcluir()} na mesma thread.
+ */
+public interface ObservadorOperacoes {
+
+    /**
+     * Chamado antes de a conta criada ser inserida no repositório.
+     *
+     * @param conta Conta criada
+     */
+    default void aoCriarConta(Conta conta) {
+    }
+
+    /**
+     * Chamado quando a conta notificada em {@link #aoCriarConta(Conta)} não pôde ser inserida
+     * no repositório, antes de a exceção chegar ao chamador.
+     *
+     * @param conta Conta que não foi criada
+     */
+    default void aoDesfazerCriacao(Conta conta) {
+    }
+
+    /**
+     * Chamado antes de o depósito ser publicado.
+     *
+     * @param conta Conta que recebeu o depósito
+     * @param valor Valor depositado
+     * @param resultado Estado do saldo após o depósito
+     */
+    default void aoDepositar(Conta conta, BigDecimal valor, SaldoVersionado resultado) {
+    }
+
+    /**
+     * Chamado antes de o saque ser publicado.
+     *
+     * @param conta Conta de onde o valor foi sacado
+     * @param valor Valor sacado
+     * @param resultado Estado do saldo após o saque
+     */
+    default void aoSacar(Conta conta, BigDecimal valor, SaldoVersionado resultado) {
+    }
+
+    /**
+     * Chamado antes de a transferência ser publicada.
+     *
+     * @param origem Conta de origem
+     * @param destino Conta de destino
+     * @param valor Valor transferido
+     * @param resultado Estados das duas contas após a transferência
+     */
+    default void aoTransferir(Conta origem, Conta destino, BigDecimal valor, ResultadoTransferencia resultado) {
+    }
+
+    /**
+     * Chamado uma vez por lote, antes de os saldos serem publicados, com as operações
+     * aceitas na ordem do lote. Cada elemento entrega uma operação ao método correspondente
+     * do observador recebido; a implementação padrão as entrega a este observador.
+     *
+     * @param operacoes Operações aceitas no lote
+     */
+    default void aoExecutarLote(List<Consumer<ObservadorOperacoes>> operacoes) {
+        for (Consumer<ObservadorOperacoes> operacao : operacoes) {
+            operacao.accept(this);
+        }
+    }
+
+    /**
+     * Chamado na thread da operação depois que os novos saldos, ou a conta criada, ficaram
+     * visíveis, ou depois que a operação foi desfeita. Também é chamado quando a notificação
+     * deste observador foi pulada pela falha de outro.
+     */
+    default void aoConcluir() {
+    }
+}
@@ -0,0 +1,102 @@
+package service;
+
+import java.math.BigDecimal;
+
+/**
+ * Operação a ser executada em lote por {@link ContaService#executarLote(java.util.List)}.
+ * Os dados não são validados na criação: uma operação inválida resulta em falha apenas
+ * no seu próprio resultado, sem interromper o lote.
+ */
+public final class OperacaoLote {
+
+    /**
+     * Tipos de operação aceitos em lote.
+     */
+    public enum Tipo {
+        DEPOSITO,
+        SAQUE,
+        TRANSFERENCIA
+    }
+
+    private final Tipo tipo;
+    private final String idConta;
+    private final String idContaDestino;
+    private final BigDecimal valor;
+
+    private OperacaoLote(Tipo tipo, String idConta, String idContaDestino, BigDecimal valor) {
+        this.tipo = tipo;
+        this.idConta = idConta;
+        this.idContaDestino = idContaDestino;
+        this.valor = valor;
+    }
+
+    /**
+     * Cria um depósito.
+     *
+     * @param idConta ID da conta
+     * @param valor Valor a ser depositado
+     * @return operação de depósito
+     */
+    public static OperacaoLote deposito(String idConta, BigDecimal valor) {
+        return new OperacaoLote(Tipo.DEPOSITO, idConta, null, valor);
+    }
+
+    /**
+     * Cria um saque.
+     *
+     * @param idConta ID da conta
+     * @param valor Valor a ser sacado
+     * @return operação de saque
+     */
+    public static OperacaoLote saque(String idConta, BigDecimal valor) {
+        return new OperacaoLote(Tipo.SAQUE, idConta, null, valor);
+    }
+
+    /**
+     * Cria uma transferência.
+     *
+     * @param idContaOrigem ID da conta de origem
+     * @param idContaDestino ID da conta de destino
+     * @param valor Valor a ser transferido
+     * @return operação de transferência
+     */
+    public static OperacaoLote transferencia(String idContaOrigem, String idContaDestino, BigDecimal valor) {
+        return new OperacaoLote(Tipo.TRANSFERENCIA, idContaOrigem, idContaDestino, valor);
+    }
+
+    /**
+     * Retorna o tipo da operação.
+     *
+     * @return tipo da operação
+     */
+    public Tipo getTipo() {
+        return tipo;
+    }
+
+    /**
+     * Retorna o ID da conta movimentada, ou da conta de origem em transferências.
+     *
+     * @return ID da conta
+     */
+    public String getIdConta() {
+        return idConta;
+    }
+
+    /**
+     * Retorna o ID da conta de destino.
+     *
+     * @return ID da conta de destino, ou null se não for transferência
+     */
+    public String getIdContaDestino() {
+        return idContaDestino;
+    }
+
+    /**
+     * Retorna o valor da operação.
+     *
+     * @return valor da operação
+     */
+    public BigDecimal getValor() {
+        return valor;
+    }
+}
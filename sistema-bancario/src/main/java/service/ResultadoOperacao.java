@@ -0,0 +1,58 @@
+package service;
+
+import model.SaldoVersionado;
+
+/**
+ * Resultado de uma operação executada em lote.
+ */
+public final class ResultadoOperacao {
+    private final SaldoVersionado estado;
+    private final String mensagemErro;
+
+    private ResultadoOperacao(SaldoVersionado estado, String mensagemErro) {
+        this.estado = estado;
+        this.mensagemErro = mensagemErro;
+    }
+
+    static ResultadoOperacao sucesso(SaldoVersionado estado) {
+        return new ResultadoOperacao(estado, null);
+    }
+
+    static ResultadoOperacao falha(String mensagemErro) {
+        return new ResultadoOperacao(null, mensagemErro);
+    }
+
+    /**
+     * Indica se a operação foi aplicada.
+     *
+     * @return true se a operação foi aplicada
+     */
+    public boolean isSucesso() {
+        return mensagemErro == null;
+    }
+
+    /**
+     * Retorna o estado da conta movimentada após a operação (a origem, em transferências).
+     *
+     * @return estado do saldo, ou null se a operação falhou
+     */
+    public SaldoVersionado getEstado() {
+        return estado;
+    }
+
+    /**
+     * Retorna o motivo da falha.
+     *
+     * @return mensagem de erro, ou null se a operação foi aplicada
+     */
+    public String getMensagemErro() {
+        return mensagemErro;
+    }
+
+    @Override
+    public String toString() {
+        return isSucesso()
+                ? "ResultadoOperacao{sucesso, estado=" + estado + '}'
+                : "ResultadoOperacao{falha='" + mensagemErro + "'}";
+    }
+}
@@ -0,0 +1,80 @@
+package sistema.bancario;
+
+import model.AlocadorIds;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para o AlocadorIds.
+ */
+@DisplayName("Testes do Alocador de IDs")
+class AlocadorIdsTest {
+
+    @Test
+    @DisplayName("Deve alocar todo o espaço de IDs sem repetição")
+    void deveAlocarTodoEspacoSemRepeticao() {
+        // Given
+        AlocadorIds alocador = AlocadorIds.comDigitos(3);
+        Set<String> ids = new HashSet<>();
+
+        // When
+        for (int i = 0; i < 900; i++) {
+            ids.add(alocador.proximoId());
+        }
+
+        // Then
+        assertEquals(900, ids.size());
+        assertTrue(ids.stream().allMatch(id -> id.length() == 3));
+        assertEquals(0, alocador.getDisponiveis());
+    }
+
+    @Test
+    @DisplayName("Deve falhar quando o espaço de IDs se esgota")
+    void deveFalharQuandoEspacoSeEsgota() {
+        // Given
+        AlocadorIds alocador = AlocadorIds.comDigitos(2);
+        for (int i = 0; i < 90; i++) {
+            alocador.proximoId();
+        }
+
+        // When & Then
+        IllegalStateException exception = assertThrows(
+            IllegalStateException.class,
+            alocador::proximoId
+        );
+
+        assertTrue(exception.getMessage().contains("IDs"));
+    }
+
+    @Test
+    @DisplayName("Não deve realocar IDs marcados como usados")
+    void naoDeveRealocarIdsMarcadosComoUsados() {
+        // Given
+        AlocadorIds original = AlocadorIds.comDigitos(4);
+        Set<String> existentes = new HashSet<>();
+        for (int i = 0; i < 500; i++) {
+            existentes.add(original.proximoId());
+        }
+
+        // When
+        AlocadorIds restaurado = AlocadorIds.comDigitos(4);
+        existentes.forEach(restaurado::marcarUsado);
+
+        // Then
+        for (int i = 0; i < 1000; i++) {
+            assertFalse(existentes.contains(restaurado.proximoId()));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve gerar IDs de 6 dígitos no alocador padrão")
+    void deveGerarIdsDeSeisDigitosNoPadrao() {
+        assertEquals(6, AlocadorIds.padrao().getDigitos());
+        assertEquals(6, AlocadorIds.padrao().proximoId().length());
+    }
+}
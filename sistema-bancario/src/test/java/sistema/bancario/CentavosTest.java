@@ -0,0 +1,73 @@
+package sistema.bancario;
+
+import model.Centavos;
+import model.SaldoCentavos;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para a representação de dinheiro em centavos.
+ */
+@DisplayName("Testes de Valores em Centavos")
+class CentavosTest {
+
+    @Test
+    @DisplayName("Deve converter valores entre reais e centavos")
+    void deveConverterValoresEntreReaisECentavos() {
+        assertEquals(123456L, Centavos.deValor(new BigDecimal("1234.56")));
+        assertEquals(100L, Centavos.deValor(BigDecimal.ONE));
+        assertEquals(new BigDecimal("1234.56"), Centavos.paraValor(123456L));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar frações de centavo")
+    void deveRejeitarFracoesDeCentavo() {
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> Centavos.deValor(new BigDecimal("0.001"))
+        );
+
+        assertTrue(exception.getMessage().contains("casas decimais"));
+    }
+
+    @Test
+    @DisplayName("Deve detectar estouro na soma")
+    void deveDetectarEstouroNaSoma() {
+        assertThrows(IllegalArgumentException.class, () -> Centavos.somar(Long.MAX_VALUE, 1L));
+    }
+
+    @Test
+    @DisplayName("Deve depositar e sacar em centavos")
+    void deveDepositarESacarEmCentavos() {
+        // Given
+        SaldoCentavos saldo = new SaldoCentavos();
+
+        // When
+        saldo.depositar(100_000L);
+        long restante = saldo.sacar(20_000L);
+
+        // Then
+        assertEquals(80_000L, restante);
+        assertEquals(new BigDecimal("800.00"), saldo.getSaldo());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar saque maior que o saldo em centavos")
+    void deveRejeitarSaqueMaiorQueSaldo() {
+        // Given
+        SaldoCentavos saldo = new SaldoCentavos(500L);
+
+        // When & Then
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> saldo.sacar(501L)
+        );
+
+        assertTrue(exception.getMessage().contains("insuficiente"));
+        assertEquals(500L, saldo.getCentavos());
+    }
+}
@@ -0,0 +1,214 @@
+package sistema.bancario;
+
+import model.Conta;
+import model.SaldoVersionado;
+import repository.ContaRepository;
+import service.ContaService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes de concorrência para as operações de saldo.
+ * Executa as operações a partir de várias threads e verifica os invariantes.
+ */
+@DisplayName("Testes de Concorrência")
+class ConcorrenciaTest {
+
+    private static final int THREADS = 8;
+    private static final int OPERACOES_POR_THREAD = 1_000;
+
+    private ContaService contaService;
+
+    @BeforeEach
+    void setUp() {
+        contaService = new ContaService(ContaRepository.concorrente());
+    }
+
+    /**
+     * Executa a tarefa em todas as threads ao mesmo tempo e aguarda o término.
+     */
+    private void executarEmParalelo(Runnable tarefa) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch largada = new CountDownLatch(1);
+        for (int i = 0; i < THREADS; i++) {
+            executor.submit(() -> {
+                largada.await();
+                tarefa.run();
+                return null;
+            });
+        }
+        largada.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+    }
+
+    @Nested
+    @DisplayName("Testes de Saldo Atômico")
+    class TestsSaldoAtomico {
+
+        private Conta conta;
+
+        @BeforeEach
+        void setUp() {
+            conta = contaService.criarConta("João Silva", "11144477735");
+        }
+
+        @Test
+        @DisplayName("Não deve perder depósitos concorrentes")
+        void naoDevePerderDepositosConcorrentes() throws InterruptedException {
+            // When
+            executarEmParalelo(() -> {
+                for (int i = 0; i < OPERACOES_POR_THREAD; i++) {
+                    contaService.depositar(conta.getId(), BigDecimal.ONE);
+                }
+            });
+
+            // Then
+            assertEquals(0, new BigDecimal(THREADS * OPERACOES_POR_THREAD).compareTo(conta.getSaldo()));
+        }
+
+        @Test
+        @DisplayName("Não deve permitir saques concorrentes além do saldo")
+        void naoDevePermitirSaquesAlemDoSaldo() throws InterruptedException {
+            // Given
+            contaService.depositar(conta.getId(), new BigDecimal("100"));
+            AtomicInteger saquesRealizados = new AtomicInteger();
+
+            // When
+            executarEmParalelo(() -> {
+                for (int i = 0; i < OPERACOES_POR_THREAD; i++) {
+                    try {
+                        contaService.sacar(conta.getId(), BigDecimal.ONE);
+                        saquesRealizados.incrementAndGet();
+                    } catch (IllegalArgumentException e) {
+                        // saldo insuficiente
+                    }
+                }
+            });
+
+            // Then
+            assertEquals(100, saquesRealizados.get());
+            assertEquals(0, BigDecimal.ZERO.compareTo(conta.getSaldo()));
+        }
+    }
+
+    @Nested
+    @DisplayName("Testes de Transferência Concorrente")
+    class TestsTransferenciaConcorrente {
+
+        private Conta contaA;
+        private Conta contaB;
+
+        @BeforeEach
+        void setUp() {
+            contaA = contaService.criarConta("João Silva", "11144477735");
+            contaB = contaService.criarConta("Maria Santos", "11122233396");
+            contaService.depositar(contaA.getId(), new BigDecimal("500"));
+            contaService.depositar(contaB.getId(), new BigDecimal("500"));
+        }
+
+        @Test
+        @DisplayName("Deve preservar o total em transferências cruzadas sem deadlock")
+        void devePreservarTotalEmTransferenciasCruzadas() throws InterruptedException {
+            // Given
+            AtomicInteger sentido = new AtomicInteger();
+
+            // When
+            executarEmParalelo(() -> {
+                boolean deAParaB = sentido.getAndIncrement() % 2 == 0;
+                String origem = deAParaB ? contaA.getId() : contaB.getId();
+                String destino = deAParaB ? contaB.getId() : contaA.getId();
+                for (int i = 0; i < OPERACOES_POR_THREAD; i++) {
+                    try {
+                        contaService.transferir(origem, destino, new BigDecimal("3"));
+                    } catch (IllegalArgumentException e) {
+                        // saldo insuficiente momentâneo
+                    }
+                }
+            });
+
+            // Then
+            BigDecimal total = contaA.getSaldo().add(contaB.getSaldo());
+            assertEquals(0, new BigDecimal("1000").compareTo(total));
+            assertTrue(contaA.getSaldo().signum() >= 0);
+            assertTrue(contaB.getSaldo().signum() >= 0);
+        }
+
+        @Test
+        @DisplayName("Deve manter a soma dos saldos constante para leitores durante as transferências")
+        void deveManterSomaConstanteDuranteTransferencias() throws InterruptedException {
+            // Given
+            AtomicInteger sentido = new AtomicInteger();
+            AtomicBoolean transferindo = new AtomicBoolean(true);
+            AtomicInteger leituras = new AtomicInteger();
+            AtomicInteger somasIncorretas = new AtomicInteger();
+            Thread leitor = new Thread(() -> {
+                while (transferindo.get()) {
+                    SaldoVersionado[] estados = Conta.lerEstados(contaA, contaB);
+                    BigDecimal soma = estados[0].getSaldo().add(estados[1].getSaldo());
+                    if (soma.compareTo(new BigDecimal("1000")) != 0) {
+                        somasIncorretas.incrementAndGet();
+                    }
+                    leituras.incrementAndGet();
+                }
+            });
+            leitor.start();
+
+            // When
+            executarEmParalelo(() -> {
+                boolean deAParaB = sentido.getAndIncrement() % 2 == 0;
+                String origem = deAParaB ? contaA.getId() : contaB.getId();
+                String destino = deAParaB ? contaB.getId() : contaA.getId();
+                for (int i = 0; i < OPERACOES_POR_THREAD * 5; i++) {
+                    try {
+                        contaService.transferir(origem, destino, new BigDecimal("7"));
+                    } catch (IllegalArgumentException e) {
+                        // saldo insuficiente momentâneo
+                    }
+                }
+            });
+            transferindo.set(false);
+            leitor.join();
+
+            // Then
+            assertTrue(leituras.get() > 0);
+            assertEquals(0, somasIncorretas.get());
+        }
+
+        @Test
+        @DisplayName("Não deve transferir mais do que o saldo disponível")
+        void naoDeveTransferirMaisQueSaldo() throws InterruptedException {
+            // Given
+            AtomicInteger transferencias = new AtomicInteger();
+
+            // When
+            executarEmParalelo(() -> {
+                for (int i = 0; i < OPERACOES_POR_THREAD; i++) {
+                    try {
+                        contaService.transferir(contaA.getId(), contaB.getId(), BigDecimal.TEN);
+                        transferencias.incrementAndGet();
+                    } catch (IllegalArgumentException e) {
+                        assertTrue(e.getMessage().contains("insuficiente"));
+                    }
+                }
+            });
+
+            // Then
+            assertEquals(50, transferencias.get());
+            assertEquals(0, BigDecimal.ZERO.compareTo(contaA.getSaldo()));
+            assertEquals(0, new BigDecimal("1000").compareTo(contaB.getSaldo()));
+        }
+    }
+}
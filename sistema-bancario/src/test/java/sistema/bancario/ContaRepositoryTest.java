@@ -0,0 +1,791 @@
+package sistema.bancario;
+
+import model.AlocadorIds;
+import model.Cliente;
+import model.Conta;
+import model.SaldoVersionado;
+import repository.ArquivoContas;
+import repository.ContaRepository;
+import repository.MonitorContaRepository;
+import service.ContaService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para o ContaRepository.
+ * Valida a consistência dos índices mantidos pelo repositório.
+ */
+@DisplayName("Testes do Repositório de Contas")
+class ContaRepositoryTest {
+
+    private ContaRepository contaRepository;
+
+    @BeforeEach
+    void setUp() {
+        contaRepository = new ContaRepository();
+    }
+
+    @Nested
+    @DisplayName("Testes do Índice por CPF")
+    class TestsIndiceCpf {
+
+        @Test
+        @DisplayName("Deve encontrar conta pelo CPF com ou sem formatação")
+        void deveEncontrarContaPeloCpf() {
+            // Given
+            Conta conta = new Conta(new Cliente("João Silva", "11144477735"));
+            contaRepository.salvar(conta);
+
+            // When
+            Optional<Conta> semFormatacao = contaRepository.buscarPorCpf("11144477735");
+            Optional<Conta> comFormatacao = contaRepository.buscarPorCpf("111.444.777-35");
+
+            // Then
+            assertTrue(semFormatacao.isPresent());
+            assertEquals(conta, semFormatacao.get());
+            assertTrue(comFormatacao.isPresent());
+            assertTrue(contaRepository.existePorCpf("111.444.777-35"));
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar segunda conta para o mesmo CPF")
+        void deveRejeitarSegundaContaParaMesmoCpf() {
+            // Given
+            contaRepository.salvar(new Conta(new Cliente("João Silva", "11144477735")));
+            Conta duplicada = new Conta(new Cliente("João Santos", "11144477735"));
+
+            // When & Then
+            IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> contaRepository.salvar(duplicada)
+            );
+
+            assertTrue(exception.getMessage().contains("Já existe"));
+            assertEquals(1, contaRepository.getTotalContas());
+        }
+
+        @Test
+        @DisplayName("Deve remover CPF do índice ao remover a conta")
+        void deveRemoverCpfDoIndiceAoRemoverConta() {
+            // Given
+            Conta conta = new Conta(new Cliente("João Silva", "11144477735"));
+            contaRepository.salvar(conta);
+
+            // When
+            boolean removida = contaRepository.remover(conta.getId());
+
+            // Then
+            assertTrue(removida);
+            assertFalse(contaRepository.existePorCpf("11144477735"));
+            assertDoesNotThrow(() -> contaRepository.salvar(new Conta(new Cliente("João Silva", "11144477735"))));
+        }
+
+        @Test
+        @DisplayName("Deve limpar o índice de CPF junto com as contas")
+        void deveLimparIndiceDeCpf() {
+            // Given
+            contaRepository.salvar(new Conta(new Cliente("João Silva", "11144477735")));
+            contaRepository.salvar(new Conta(new Cliente("Maria Santos", "11122233396")));
+
+            // When
+            contaRepository.limparTodas();
+
+            // Then
+            assertFalse(contaRepository.existePorCpf("11144477735"));
+            assertFalse(contaRepository.buscarPorCpf("11122233396").isPresent());
+            assertEquals(0, contaRepository.getTotalContas());
+        }
+
+        @Test
+        @DisplayName("Deve manter o índice de CPF ao crescer e reaproveitar posições removidas")
+        void deveManterIndiceDeCpfAoCrescerEReaproveitarPosicoes() {
+            // Given
+            AlocadorIds alocador = AlocadorIds.comDigitos(6);
+            String[] ids = new String[1000];
+            for (int i = 0; i < ids.length; i++) {
+                Conta conta = new Conta(new Cliente("Cliente " + i, gerarCpfValido(400_000_000 + i)), alocador);
+                contaRepository.salvar(conta);
+                ids[i] = conta.getId();
+            }
+
+            // When
+            for (int i = 0; i < ids.length; i += 2) {
+                assertTrue(contaRepository.remover(ids[i]));
+            }
+            for (int i = 0; i < ids.length; i += 4) {
+                contaRepository.salvar(new Conta(new Cliente("Novo " + i, gerarCpfValido(400_000_000 + i)), alocador));
+            }
+
+            // Then
+            for (int i = 0; i < ids.length; i++) {
+                Optional<Conta> conta = contaRepository.buscarPorCpf(gerarCpfValido(400_000_000 + i));
+                if (i % 4 == 0) {
+                    assertEquals("Novo " + i, conta.orElseThrow().getCliente().getNome());
+                } else if (i % 2 == 0) {
+                    assertFalse(conta.isPresent());
+                } else {
+                    assertEquals(ids[i], conta.orElseThrow().getId());
+                }
+            }
+            assertEquals(750, contaRepository.getTotalContas());
+        }
+    }
+
+    @Nested
+    @DisplayName("Testes do Índice de Nomes")
+    class TestsIndiceNomes {
+
+        private Conta joao;
+        private Conta maria;
+
+        @BeforeEach
+        void setUp() {
+            joao = new Conta(new Cliente("João Conceição", "11144477735"));
+            maria = new Conta(new Cliente("Maria Silva", "11122233396"));
+            contaRepository.salvar(joao);
+            contaRepository.salvar(maria);
+        }
+
+        @Test
+        @DisplayName("Deve buscar nomes ignorando acentos e maiúsculas")
+        void deveBuscarIgnorandoAcentosEMaiusculas() {
+            // When
+            List<Conta> semAcento = contaRepository.buscarPorNome("joao conceicao");
+            List<Conta> comAcento = contaRepository.buscarPorNome("CONCEIÇÃO");
+
+            // Then
+            assertEquals(List.of(joao), semAcento);
+            assertEquals(List.of(joao), comAcento);
+        }
+
+        @Test
+        @DisplayName("Deve buscar por trecho curto do nome")
+        void deveBuscarPorTrechoCurto() {
+            // When
+            List<Conta> encontradas = contaRepository.buscarPorNome("a");
+
+            // Then
+            assertEquals(2, encontradas.size());
+        }
+
+        @Test
+        @DisplayName("Deve exigir o trecho completo e não apenas os trigramas")
+        void deveExigirTrechoCompleto() {
+            // When
+            List<Conta> encontradas = contaRepository.buscarPorNome("silsilva");
+
+            // Then
+            assertTrue(encontradas.isEmpty());
+        }
+
+        @Test
+        @DisplayName("Não deve encontrar conta removida")
+        void naoDeveEncontrarContaRemovida() {
+            // When
+            contaRepository.remover(maria.getId());
+
+            // Then
+            assertTrue(contaRepository.buscarPorNome("Silva").isEmpty());
+            assertTrue(contaRepository.buscarPorNome("ia").isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("Testes da Listagem Ordenada")
+    class TestsListagemOrdenada {
+
+        private Conta ana;
+        private Conta bruno;
+        private Conta carla;
+
+        @BeforeEach
+        void setUp() {
+            carla = new Conta(new Cliente("Carla Dias", "11144477735"));
+            ana = new Conta(new Cliente("Ana Souza", "11122233396"));
+            bruno = new Conta(new Cliente("Bruno Lima", "12345678909"));
+            contaRepository.salvar(carla);
+            contaRepository.salvar(ana);
+            contaRepository.salvar(bruno);
+        }
+
+        @Test
+        @DisplayName("Deve manter as contas ordenadas por nome")
+        void deveManterContasOrdenadasPorNome() {
+            assertEquals(List.of(ana, bruno, carla), contaRepository.listarTodasOrdenadas());
+        }
+
+        @Test
+        @DisplayName("Deve paginar por deslocamento e limite")
+        void devePaginarPorDeslocamentoELimite() {
+            assertEquals(List.of(ana, bruno), contaRepository.listarOrdenadas(0, 2));
+            assertEquals(List.of(carla), contaRepository.listarOrdenadas(2, 2));
+            assertTrue(contaRepository.listarOrdenadas(5, 2).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Deve paginar por cursor mesmo após remover a conta do cursor")
+        void devePaginarPorCursor() {
+            // Given
+            List<Conta> primeiraPagina = contaRepository.listarOrdenadasApos(null, 1);
+
+            // When
+            contaRepository.remover(ana.getId());
+            List<Conta> segundaPagina = contaRepository.listarOrdenadasApos(primeiraPagina.get(0), 5);
+
+            // Then
+            assertEquals(List.of(ana), primeiraPagina);
+            assertEquals(List.of(bruno, carla), segundaPagina);
+            assertEquals(List.of(bruno, carla), contaRepository.listarTodasOrdenadas());
+        }
+    }
+
+    @Nested
+    @DisplayName("Testes do Repositório Concorrente")
+    class TestsRepositorioConcorrente {
+
+        private static final int THREADS = 8;
+
+        @Test
+        @DisplayName("Deve aceitar apenas uma conta por CPF sob concorrência")
+        void deveAceitarApenasUmaContaPorCpfSobConcorrencia() throws InterruptedException {
+            // Given
+            ContaRepository repositorio = ContaRepository.concorrente();
+            AtomicInteger sucessos = new AtomicInteger();
+            CountDownLatch largada = new CountDownLatch(1);
+            ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+            // When
+            for (int i = 0; i < THREADS; i++) {
+                executor.submit(() -> {
+                    Conta conta = new Conta(new Cliente("João Silva", "11144477735"));
+                    largada.await();
+                    try {
+                        repositorio.salvar(conta);
+                        sucessos.incrementAndGet();
+                    } catch (IllegalArgumentException e) {
+                        // esperado para as threads que perderam a corrida
+                    }
+                    return null;
+                });
+            }
+            largada.countDown();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+            // Then
+            assertEquals(1, sucessos.get());
+            assertEquals(1, repositorio.getTotalContas());
+        }
+
+        @Test
+        @DisplayName("Deve salvar contas de várias threads sem perder registros")
+        void deveSalvarContasDeVariasThreadsSemPerderRegistros() throws InterruptedException {
+            // Given
+            ContaRepository repositorio = ContaRepository.concorrente();
+            int contasPorThread = 200;
+            ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+            // When
+            for (int t = 0; t < THREADS; t++) {
+                int inicio = 100_000_000 + t * contasPorThread;
+                executor.submit(() -> {
+                    for (int i = 0; i < contasPorThread; i++) {
+                        repositorio.salvar(new Conta(new Cliente("Cliente " + i, gerarCpfValido(inicio + i))));
+                    }
+                });
+            }
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+            // Then
+            assertEquals(THREADS * contasPorThread, repositorio.getTotalContas());
+            assertTrue(repositorio.existePorCpf(gerarCpfValido(100_000_000)));
+        }
+    }
+
+    @Nested
+    @DisplayName("Testes das Tabelas de Chaves Primitivas")
+    class TestsTabelasPrimitivas {
+
+        @Test
+        @DisplayName("Deve guardar IDs fora da forma numérica canônica na tabela de reserva")
+        void deveGuardarIdsNaoNumericosNaReserva() {
+            // Given
+            Conta externa = Conta.restaurar("conta-externa", new Cliente("João Silva", "11144477735"),
+                    new SaldoVersionado(BigDecimal.ZERO, 0));
+            Conta comZero = Conta.restaurar("0123", new Cliente("Maria Santos", "11122233396"),
+                    new SaldoVersionado(BigDecimal.ZERO, 0));
+
+            // When
+            contaRepository.salvar(externa);
+            contaRepository.salvar(comZero);
+
+            // Then
+            assertSame(externa, contaRepository.buscarPorId("conta-externa").orElseThrow());
+            assertSame(comZero, contaRepository.buscarPorId("0123").orElseThrow());
+            assertFalse(contaRepository.buscarPorId("123").isPresent());
+            assertEquals(2, contaRepository.listarTodas().size());
+            assertTrue(contaRepository.remover("0123"));
+            assertEquals(1, contaRepository.getTotalContas());
+        }
+
+        @Test
+        @DisplayName("Deve encontrar contas existentes enquanto as tabelas crescem")
+        void deveEncontrarContasEnquantoTabelasCrescem() throws InterruptedException {
+            // Given
+            ContaRepository repositorio = new ContaRepository();
+            AlocadorIds alocador = AlocadorIds.comDigitos(6);
+            String[] ids = new String[100];
+            for (int i = 0; i < ids.length; i++) {
+                Conta conta = new Conta(new Cliente("Cliente " + i, gerarCpfValido(500_000_000 + i)), alocador);
+                repositorio.salvar(conta);
+                ids[i] = conta.getId();
+            }
+            AtomicInteger falhas = new AtomicInteger();
+            CountDownLatch escritaConcluida = new CountDownLatch(1);
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+
+            // When
+            executor.submit(() -> {
+                for (int i = ids.length; i < 20_000; i++) {
+                    repositorio.salvar(new Conta(new Cliente("Cliente " + i, gerarCpfValido(500_000_000 + i)), alocador));
+                }
+                escritaConcluida.countDown();
+            });
+            for (int t = 0; t < 3; t++) {
+                executor.submit(() -> {
+                    while (escritaConcluida.getCount() > 0) {
+                        for (int i = 0; i < ids.length; i++) {
+                            if (repositorio.buscarPorId(ids[i]).isEmpty()
+                                    || repositorio.buscarPorCpf(gerarCpfValido(500_000_000 + i)).isEmpty()) {
+                                falhas.incrementAndGet();
+                            }
+                        }
+                    }
+                });
+            }
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+            // Then
+            assertEquals(0, falhas.get());
+            assertEquals(20_000, repositorio.getTotalContas());
+            assertEquals(20_000, repositorio.listarTodas().size());
+        }
+
+        @Test
+        @DisplayName("Deve inserir e remover de várias threads mantendo o total")
+        void deveInserirERemoverDeVariasThreads() throws InterruptedException {
+            // Given
+            ContaRepository repositorio = new ContaRepository();
+            AlocadorIds alocador = AlocadorIds.comDigitos(6);
+            int contasPorThread = 2_000;
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+
+            // When
+            for (int t = 0; t < 4; t++) {
+                int inicio = 600_000_000 + t * contasPorThread;
+                executor.submit(() -> {
+                    for (int i = 0; i < contasPorThread; i++) {
+                        Conta conta = new Conta(new Cliente("Cliente " + i, gerarCpfValido(inicio + i)), alocador);
+                        repositorio.salvar(conta);
+                        if (i % 2 == 0) {
+                            repositorio.remover(conta.getId());
+                        }
+                    }
+                });
+            }
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+            // Then
+            assertEquals(4 * contasPorThread / 2, repositorio.getTotalContas());
+            assertEquals(4 * contasPorThread / 2, repositorio.listarTodas().size());
+            assertFalse(repositorio.existePorCpf(gerarCpfValido(600_000_000)));
+            assertTrue(repositorio.existePorCpf(gerarCpfValido(600_000_001)));
+        }
+    }
+
+    @Nested
+    @DisplayName("Testes da Tabela Densa por ID")
+    class TestsTabelaDensa {
+
+        private ContaRepository repositorio;
+
+        @BeforeEach
+        void setUp() {
+            repositorio = ContaRepository.indexadoPorId();
+        }
+
+        @Test
+        @DisplayName("Deve buscar, remover e contar contas pelo ID numérico")
+        void deveBuscarRemoverEContarContas() {
+            // Given
+            Conta conta1 = new Conta(new Cliente("João Silva", "11144477735"));
+            Conta conta2 = new Conta(new Cliente("Maria Santos", "11122233396"));
+            repositorio.salvar(conta1);
+            repositorio.salvar(conta2);
+
+            // When
+            Optional<Conta> encontrada = repositorio.buscarPorId(" " + conta1.getId() + " ");
+            boolean removida = repositorio.remover(conta2.getId());
+
+            // Then
+            assertTrue(encontrada.isPresent());
+            assertSame(conta1, encontrada.get());
+            assertTrue(removida);
+            assertFalse(repositorio.existePorId(conta2.getId()));
+            assertEquals(1, repositorio.getTotalContas());
+            assertEquals(1, repositorio.listarTodas().size());
+        }
+
+        @Test
+        @DisplayName("Deve aceitar IDs com mais dígitos na tabela de reserva")
+        void deveAceitarIdsComMaisDigitos() {
+            // Given
+            Conta conta = new Conta(new Cliente("João Silva", "11144477735"), AlocadorIds.comDigitos(9));
+
+            // When
+            repositorio.salvar(conta);
+
+            // Then
+            assertTrue(repositorio.buscarPorId(conta.getId()).isPresent());
+            assertFalse(repositorio.buscarPorId("abc").isPresent());
+            assertEquals(1, repositorio.getTotalContas());
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar ID já ocupado")
+        void deveRejeitarIdJaOcupado() {
+            // Given
+            AlocadorIds alocador = AlocadorIds.comDigitos(6);
+            repositorio.salvar(new Conta(new Cliente("João Silva", "11144477735"), alocador));
+            Conta mesmoId = new Conta(new Cliente("Maria Santos", "11122233396"), AlocadorIds.comDigitos(6));
+
+            // When & Then
+            IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> repositorio.salvar(mesmoId)
+            );
+
+            assertTrue(exception.getMessage().contains("ID"));
+            assertFalse(repositorio.existePorCpf("11122233396"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Testes do Arquivo Mapeado")
+    class TestsArquivoMapeado {
+
+        @TempDir
+        Path diretorio;
+
+        @Test
+        @DisplayName("Deve manter contas e saldos após reabrir o arquivo")
+        void deveManterContasAposReabrir() throws IOException {
+            // Given
+            Path caminho = diretorio.resolve("contas.dat");
+            String idJoao;
+            String idMaria;
+            try (ArquivoContas arquivo = ArquivoContas.abrir(caminho, 100)) {
+                ContaService contaService = new ContaService(ContaRepository.mapeado(arquivo));
+                idJoao = contaService.criarConta("João Silva", "11144477735").getId();
+                idMaria = contaService.criarConta("Maria Santos", "11122233396").getId();
+                contaService.depositar(idJoao, new BigDecimal("1000.00"));
+                contaService.transferir(idJoao, idMaria, new BigDecimal("250.50"));
+            }
+
+            // When
+            try (ArquivoContas arquivo = ArquivoContas.abrir(caminho, 100)) {
+                ContaRepository repositorio = ContaRepository.mapeado(arquivo);
+
+                // Then
+                assertEquals(2, repositorio.getTotalContas());
+                Conta joao = repositorio.buscarPorId(idJoao).orElseThrow();
+                assertEquals(new BigDecimal("749.50"), joao.getSaldo());
+                assertEquals(2, joao.getEstado().getVersao());
+                assertEquals("João Silva", joao.getCliente().getNome());
+                assertEquals(idMaria, repositorio.buscarPorCpf("111.222.333-96").orElseThrow().getId());
+                assertEquals(new BigDecimal("250.50"), repositorio.buscarPorId(idMaria).orElseThrow().getSaldo());
+            }
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar CPF e ID duplicados e liberar o CPF ao remover")
+        void deveRejeitarDuplicadosELiberarCpf() throws IOException {
+            try (ArquivoContas arquivo = ArquivoContas.abrir(diretorio.resolve("contas.dat"), 100)) {
+                // Given
+                ContaRepository repositorio = ContaRepository.mapeado(arquivo);
+                Conta conta = new Conta(new Cliente("João Silva", "11144477735"));
+                repositorio.salvar(conta);
+
+                // When & Then
+                IllegalArgumentException cpfDuplicado = assertThrows(IllegalArgumentException.class,
+                    () -> repositorio.salvar(new Conta(new Cliente("Outro Nome", "11144477735"))));
+                assertTrue(cpfDuplicado.getMessage().contains("CPF"));
+
+                Conta mesmoId = Conta.restaurar(conta.getId(), new Cliente("Maria Santos", "11122233396"), conta.getEstado());
+                IllegalArgumentException idDuplicado = assertThrows(IllegalArgumentException.class,
+                    () -> repositorio.salvar(mesmoId));
+                assertTrue(idDuplicado.getMessage().contains("ID"));
+                assertFalse(repositorio.existePorCpf("11122233396"));
+
+                assertTrue(repositorio.remover(conta.getId()));
+                assertFalse(repositorio.existePorId(conta.getId()));
+                repositorio.salvar(new Conta(new Cliente("João Silva", "11144477735")));
+                assertEquals(1, repositorio.getTotalContas());
+            }
+        }
+
+        @Test
+        @DisplayName("Deve aplicar depósitos concorrentes sobre o mesmo registro")
+        void deveAplicarDepositosConcorrentes() throws Exception {
+            try (ArquivoContas arquivo = ArquivoContas.abrir(diretorio.resolve("contas.dat"), 100)) {
+                // Given
+                ContaService contaService = new ContaService(ContaRepository.mapeado(arquivo));
+                String id = contaService.criarConta("João Silva", "11144477735").getId();
+
+                // When
+                ExecutorService executor = Executors.newFixedThreadPool(8);
+                for (int i = 0; i < 1600; i++) {
+                    executor.submit(() -> contaService.depositar(id, new BigDecimal("0.01")));
+                }
+                executor.shutdown();
+                assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+                // Then
+                Conta conta = contaService.buscarContaPorId(id).orElseThrow();
+                assertEquals(new BigDecimal("16.00"), conta.getSaldo());
+                assertEquals(1600, conta.getEstado().getVersao());
+            }
+        }
+
+        @Test
+        @DisplayName("Deve buscar por nome e paginar em ordem sobre o arquivo")
+        void deveBuscarPorNomeEPaginar() throws IOException {
+            try (ArquivoContas arquivo = ArquivoContas.abrir(diretorio.resolve("contas.dat"), 100)) {
+                // Given
+                ContaRepository repositorio = ContaRepository.mapeado(arquivo);
+                String[] nomes = {"Carla Dias", "Ana Souza", "Bruno Lima", "Érica Alves", "Daniel Reis"};
+                for (int i = 0; i < nomes.length; i++) {
+                    repositorio.salvar(new Conta(new Cliente(nomes[i], gerarCpfValido(200_000_000 + i))));
+                }
+
+                // When
+                List<Conta> primeiraPagina = repositorio.listarOrdenadas(0, 2);
+                List<Conta> segundaPagina = repositorio.listarOrdenadasApos(primeiraPagina.get(1), 2);
+
+                // Then
+                assertEquals(List.of("Ana Souza", "Bruno Lima"),
+                    primeiraPagina.stream().map(conta -> conta.getCliente().getNome()).toList());
+                assertEquals(List.of("Carla Dias", "Daniel Reis"),
+                    segundaPagina.stream().map(conta -> conta.getCliente().getNome()).toList());
+                assertEquals("Daniel Reis", repositorio.listarOrdenadas(3, 1).get(0).getCliente().getNome());
+                assertEquals("Érica Alves", repositorio.buscarPorNome("erica").get(0).getCliente().getNome());
+            }
+        }
+
+        @Test
+        @DisplayName("Deve reconstruir os índices de nome ao reabrir sem usar o alocador padrão")
+        void deveReconstruirIndicesAoReabrir() throws IOException {
+            // Given
+            Path caminho = diretorio.resolve("contas.dat");
+            long disponiveisPadrao = AlocadorIds.padrao().getDisponiveis();
+            String idRemovida;
+            try (ArquivoContas arquivo = ArquivoContas.abrir(caminho, 100)) {
+                ContaRepository repositorio = ContaRepository.mapeado(arquivo);
+                ContaService contaService = new ContaService(repositorio);
+                contaService.criarConta("Carla Dias", "11144477735");
+                contaService.criarConta("Ana Souza", "11122233396");
+                idRemovida = contaService.criarConta("Ana Lima", gerarCpfValido(400_000_000)).getId();
+                assertTrue(repositorio.remover(idRemovida));
+            }
+
+            // When
+            try (ArquivoContas arquivo = ArquivoContas.abrir(caminho, 100)) {
+                ContaRepository repositorio = ContaRepository.mapeado(arquivo);
+                String novoId = repositorio.getAlocadorIds().proximoId();
+
+                // Then
+                assertEquals(List.of("Ana Souza"),
+                    repositorio.buscarPorNome("ana").stream().map(conta -> conta.getCliente().getNome()).toList());
+                assertEquals(List.of("Ana Souza", "Carla Dias"),
+                    repositorio.listarTodasOrdenadas().stream().map(conta -> conta.getCliente().getNome()).toList());
+                assertNotEquals(idRemovida, novoId);
+                assertFalse(repositorio.existePorId(novoId));
+                assertEquals(disponiveisPadrao, AlocadorIds.padrao().getDisponiveis());
+            }
+        }
+
+        @Test
+        @DisplayName("Deve abrir o arquivo sem indexar as contas até a primeira busca por nome")
+        void deveConstruirIndicesNaPrimeiraBuscaPorNome() throws IOException {
+            // Given
+            Path caminho = diretorio.resolve("contas.dat");
+            try (ArquivoContas arquivo = ArquivoContas.abrir(caminho, 100)) {
+                ContaService contaService = new ContaService(ContaRepository.mapeado(arquivo));
+                contaService.criarConta("Carla Dias", "11144477735");
+                contaService.criarConta("Ana Souza", "11122233396");
+            }
+
+            try (ArquivoContas arquivo = ArquivoContas.abrir(caminho, 100)) {
+                ContaRepository repositorio = ContaRepository.mapeado(arquivo);
+                try (MonitorContaRepository monitor = MonitorContaRepository.registrar(repositorio, "ContaRepositoryArquivoTeste")) {
+                    assertEquals(0L, monitor.getTamanhosIndices().get("ordenacao"));
+                    repositorio.salvar(new Conta(new Cliente("Ana Lima", gerarCpfValido(400_000_000))));
+                    assertEquals(0L, monitor.getTamanhosIndices().get("ordenacao"));
+
+                    // When
+                    List<String> encontradas = repositorio.buscarPorNome("ana").stream()
+                        .map(conta -> conta.getCliente().getNome()).sorted().toList();
+
+                    // Then
+                    assertEquals(List.of("Ana Lima", "Ana Souza"), encontradas);
+                    assertEquals(3L, monitor.getTamanhosIndices().get("ordenacao"));
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("Deve lançar exceção quando a capacidade do arquivo se esgota")
+        void deveLancarExcecaoQuandoCapacidadeEsgota() throws IOException {
+            try (ArquivoContas arquivo = ArquivoContas.abrir(diretorio.resolve("contas.dat"), 2)) {
+                // Given
+                ContaRepository repositorio = ContaRepository.mapeado(arquivo);
+                repositorio.salvar(new Conta(new Cliente("João Silva", "11144477735")));
+                repositorio.salvar(new Conta(new Cliente("Maria Santos", "11122233396")));
+
+                // When & Then
+                assertThrows(IllegalStateException.class,
+                    () -> repositorio.salvar(new Conta(new Cliente("Ana Souza", gerarCpfValido(300_000_000)))));
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Testes do Repositório Fora do Heap")
+    class TestsForaDoHeap {
+
+        @Test
+        @DisplayName("Deve operar contas guardadas fora do heap pelo serviço")
+        void deveOperarContasForaDoHeap() {
+            // Given
+            ContaRepository repositorio = ContaRepository.foraDoHeap(1000);
+            ContaService contaService = new ContaService(repositorio);
+            String idJoao = contaService.criarConta("João Silva", "11144477735").getId();
+            String idMaria = contaService.criarConta("Maria Santos", "11122233396").getId();
+
+            // When
+            contaService.depositar(idJoao, new BigDecimal("500.00"));
+            contaService.sacar(idJoao, new BigDecimal("100.00"));
+            contaService.transferir(idJoao, idMaria, new BigDecimal("150.00"));
+
+            // Then
+            assertEquals(new BigDecimal("250.00"), contaService.consultarSaldo(idJoao));
+            assertEquals(new BigDecimal("150.00"), contaService.consultarSaldo(idMaria));
+            assertEquals("Maria Santos", repositorio.buscarPorCpf("11122233396").orElseThrow().getCliente().getNome());
+            assertEquals(2, repositorio.listarTodas().size());
+        }
+
+        @Test
+        @DisplayName("Deve manter a ordem por nome ao consolidar as contas inseridas depois da primeira listagem")
+        void deveManterOrdemAoConsolidarContasRecentes() {
+            // Given
+            ContaRepository repositorio = ContaRepository.foraDoHeap(80_000);
+            AlocadorIds alocador = AlocadorIds.comDigitos(6);
+            List<String> ids = new ArrayList<>();
+            for (int i = 0; i < 71_000; i++) {
+                if (i == 1000) {
+                    assertEquals(1000, repositorio.listarTodasOrdenadas().size());
+                }
+                String nome = String.format("Cliente %05d", i * 7919 % 71_000);
+                Conta conta = new Conta(new Cliente(nome, gerarCpfValido(400_000_000 + i)), alocador);
+                repositorio.salvar(conta);
+                ids.add(conta.getId());
+            }
+
+            // When
+            for (int i = 0; i < ids.size(); i += 10) {
+                assertTrue(repositorio.remover(ids.get(i)));
+            }
+            List<String> nomes = repositorio.listarTodasOrdenadas().stream()
+                .map(conta -> conta.getCliente().getNome()).toList();
+
+            // Then
+            assertEquals(71_000 - 7100, nomes.size());
+            assertEquals(nomes.stream().sorted().toList(), nomes);
+            assertEquals(List.of("Cliente 07919"),
+                repositorio.buscarPorNome("cliente 07919").stream().map(conta -> conta.getCliente().getNome()).toList());
+            assertEquals(nomes.subList(1000, 1010),
+                repositorio.listarOrdenadasApos(repositorio.listarOrdenadas(999, 1).get(0), 10).stream()
+                    .map(conta -> conta.getCliente().getNome()).toList());
+        }
+
+        @Test
+        @DisplayName("Deve preservar o total em transferências concorrentes")
+        void devePreservarTotalEmTransferenciasConcorrentes() throws Exception {
+            // Given
+            ContaRepository repositorio = ContaRepository.foraDoHeap(1000);
+            ContaService contaService = new ContaService(repositorio);
+            String idA = contaService.criarConta("João Silva", "11144477735").getId();
+            String idB = contaService.criarConta("Maria Santos", "11122233396").getId();
+            contaService.depositar(idA, new BigDecimal("1000.00"));
+            contaService.depositar(idB, new BigDecimal("1000.00"));
+
+            // When
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            for (int i = 0; i < 800; i++) {
+                boolean ida = i % 2 == 0;
+                executor.submit(() -> contaService.transferir(ida ? idA : idB, ida ? idB : idA, new BigDecimal("1.25")));
+            }
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+            // Then
+            BigDecimal total = contaService.consultarSaldo(idA).add(contaService.consultarSaldo(idB));
+            assertEquals(new BigDecimal("2000.00"), total);
+            assertEquals(801, repositorio.buscarPorId(idA).orElseThrow().getEstado().getVersao());
+        }
+    }
+
+    /**
+     * Gera um CPF válido a partir de uma base de nove dígitos.
+     */
+    static String gerarCpfValido(int base) {
+        int[] digitos = new int[11];
+        for (int i = 8; i >= 0; i--) {
+            digitos[i] = base % 10;
+            base /= 10;
+        }
+        for (int d = 9; d <= 10; d++) {
+            int soma = 0;
+            for (int i = 0; i < d; i++) {
+                soma += digitos[i] * (d + 1 - i);
+            }
+            int digito = 11 - (soma % 11);
+            digitos[d] = digito >= 10 ? 0 : digito;
+        }
+        StringBuilder cpf = new StringBuilder(11);
+        for (int digito : digitos) {
+            cpf.append(digito);
+        }
+        return cpf.toString();
+    }
+}
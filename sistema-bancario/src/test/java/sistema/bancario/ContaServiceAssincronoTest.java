@@ -0,0 +1,201 @@
+package sistema.bancario;
+
+import model.Conta;
+import model.ResultadoTransferencia;
+import model.SaldoVersionado;
+import repository.ContaRepository;
+import service.ContaService;
+import service.ContaServiceAssincrono;
+import service.ObservadorOperacoes;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes da fachada assíncrona do ContaService.
+ * Verifica resultados, propagação de erros e os limites de concorrência e de pendentes.
+ */
+@DisplayName("Testes do ContaService Assíncrono")
+class ContaServiceAssincronoTest {
+
+    private ContaService contaService;
+
+    @BeforeEach
+    void setUp() {
+        contaService = new ContaService(ContaRepository.concorrente());
+    }
+
+    @Test
+    @DisplayName("Deve executar as operações e completar os futuros")
+    void deveExecutarOperacoes() throws Exception {
+        try (ContaServiceAssincrono assincrono = new ContaServiceAssincrono(contaService, 16)) {
+            // Given
+            Conta joao = assincrono.criarConta("João Silva", "11144477735").get(10, TimeUnit.SECONDS);
+            Conta maria = assincrono.criarConta("Maria Santos", "11122233396").get(10, TimeUnit.SECONDS);
+
+            // When
+            assincrono.depositar(joao.getId(), new BigDecimal("1000.00"))
+                .thenCompose(v -> assincrono.sacar(joao.getId(), new BigDecimal("100.00")))
+                .thenCompose(v -> assincrono.transferir(joao.getId(), maria.getId(), new BigDecimal("300.00")))
+                .get(10, TimeUnit.SECONDS);
+
+            // Then
+            assertEquals(new BigDecimal("600.00"), assincrono.consultarSaldo(joao.getId()).get(10, TimeUnit.SECONDS));
+            assertEquals(new BigDecimal("300.00"), assincrono.consultarSaldo(maria.getId()).get(10, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve aplicar uma vez as operações repetidas com a mesma chave")
+    void deveAplicarUmaVezComMesmaChave() throws Exception {
+        try (ContaServiceAssincrono assincrono = new ContaServiceAssincrono(contaService, 16)) {
+            // Given
+            Conta joao = assincrono.criarConta("João Silva", "11144477735").get(10, TimeUnit.SECONDS);
+            Conta maria = assincrono.criarConta("Maria Santos", "11122233396").get(10, TimeUnit.SECONDS);
+
+            // When
+            SaldoVersionado deposito = assincrono.depositar(joao.getId(), new BigDecimal("100.00"), "dep-1").get(10, TimeUnit.SECONDS);
+            SaldoVersionado depositoRepetido = assincrono.depositar(joao.getId(), new BigDecimal("100.00"), "dep-1").get(10, TimeUnit.SECONDS);
+            assincrono.sacar(joao.getId(), BigDecimal.TEN, "saq-1").get(10, TimeUnit.SECONDS);
+            assincrono.sacar(joao.getId(), BigDecimal.TEN, "saq-1").get(10, TimeUnit.SECONDS);
+            ResultadoTransferencia transferencia = assincrono.transferir(joao.getId(), maria.getId(), BigDecimal.ONE, "trf-1").get(10, TimeUnit.SECONDS);
+            ResultadoTransferencia transferenciaRepetida = assincrono.transferir(joao.getId(), maria.getId(), BigDecimal.ONE, "trf-1").get(10, TimeUnit.SECONDS);
+
+            // Then
+            assertSame(deposito, depositoRepetido);
+            assertSame(transferencia, transferenciaRepetida);
+            assertEquals(new BigDecimal("89.00"), contaService.consultarSaldo(joao.getId()));
+            assertEquals(new BigDecimal("1"), contaService.consultarSaldo(maria.getId()));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve completar o futuro com a exceção da operação")
+    void deveCompletarComExcecao() {
+        try (ContaServiceAssincrono assincrono = new ContaServiceAssincrono(contaService, 16)) {
+            // When
+            CompletableFuture<Void> futuro = assincrono.depositar("999999", BigDecimal.TEN);
+
+            // Then
+            ExecutionException exception = assertThrows(ExecutionException.class, () -> futuro.get(10, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalArgumentException.class, exception.getCause());
+            assertTrue(exception.getCause().getMessage().contains("Conta não encontrada"));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve respeitar o limite de operações simultâneas")
+    void deveRespeitarLimiteDeConcorrencia() throws Exception {
+        // Given
+        AtomicInteger executando = new AtomicInteger();
+        AtomicInteger maximo = new AtomicInteger();
+        contaService.registrarObservador(new ObservadorOperacoes() {
+            @Override
+            public void aoDepositar(Conta conta, BigDecimal valor, SaldoVersionado resultado) {
+                maximo.accumulateAndGet(executando.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(2);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                executando.decrementAndGet();
+            }
+        });
+        String id = contaService.criarConta("João Silva", "11144477735").getId();
+
+        // When
+        try (ContaServiceAssincrono assincrono = new ContaServiceAssincrono(contaService, 4)) {
+            List<CompletableFuture<Void>> futuros = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                futuros.add(assincrono.depositar(id, BigDecimal.ONE));
+            }
+            CompletableFuture.allOf(futuros.toArray(new CompletableFuture[0])).get(30, TimeUnit.SECONDS);
+        }
+
+        // Then
+        assertTrue(maximo.get() <= 4);
+        assertEquals(new BigDecimal("200"), contaService.consultarSaldo(id));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar requisições acima do limite de pendentes")
+    void deveRejeitarAcimaDoLimiteDePendentes() throws Exception {
+        // Given
+        CountDownLatch liberar = new CountDownLatch(1);
+        contaService.registrarObservador(new ObservadorOperacoes() {
+            @Override
+            public void aoDepositar(Conta conta, BigDecimal valor, SaldoVersionado resultado) {
+                try {
+                    liberar.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        String id = contaService.criarConta("João Silva", "11144477735").getId();
+
+        try (ContaServiceAssincrono assincrono = new ContaServiceAssincrono(contaService, 1, 2)) {
+            CompletableFuture<Void> primeiro = assincrono.depositar(id, BigDecimal.ONE);
+            CompletableFuture<Void> segundo = assincrono.depositar(id, BigDecimal.ONE);
+
+            // When
+            CompletableFuture<Void> rejeitado = assincrono.depositar(id, BigDecimal.ONE);
+
+            // Then
+            ExecutionException exception = assertThrows(ExecutionException.class,
+                () -> rejeitado.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(RejectedExecutionException.class, exception.getCause());
+
+            liberar.countDown();
+            CompletableFuture.allOf(primeiro, segundo).get(30, TimeUnit.SECONDS);
+            assincrono.depositar(id, BigDecimal.ONE).get(30, TimeUnit.SECONDS);
+        }
+        assertEquals(new BigDecimal("3"), contaService.consultarSaldo(id));
+    }
+
+    @Test
+    @DisplayName("Deve suportar 100 mil requisições pendentes ao mesmo tempo")
+    void deveSuportarCemMilRequisicoesPendentes() throws Exception {
+        // Given
+        CountDownLatch liberar = new CountDownLatch(1);
+        contaService.registrarObservador(new ObservadorOperacoes() {
+            @Override
+            public void aoDepositar(Conta conta, BigDecimal valor, SaldoVersionado resultado) {
+                try {
+                    liberar.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        String id = contaService.criarConta("João Silva", "11144477735").getId();
+
+        // When
+        try (ContaServiceAssincrono assincrono = new ContaServiceAssincrono(contaService, 16)) {
+            CompletableFuture<?>[] futuros = new CompletableFuture<?>[100_000];
+            for (int i = 0; i < futuros.length; i++) {
+                futuros[i] = assincrono.depositar(id, new BigDecimal("0.01"));
+            }
+            for (CompletableFuture<?> futuro : futuros) {
+                assertFalse(futuro.isDone());
+            }
+            liberar.countDown();
+            CompletableFuture.allOf(futuros).get(60, TimeUnit.SECONDS);
+        }
+
+        // Then
+        assertEquals(new BigDecimal("1000.00"), contaService.consultarSaldo(id));
+    }
+}
@@ -0,0 +1,243 @@
+package sistema.bancario;
+
+import metrics.Desfecho;
+import metrics.Operacao;
+import model.Conta;
+import model.ResultadoTransferencia;
+import model.SaldoVersionado;
+import repository.ContaRepository;
+import service.ContaService;
+import service.ContaServiceParticionado;
+import service.ObservadorOperacoes;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes da execução particionada do ContaService.
+ * Verifica as operações por partição, as transferências em duas fases e o encerramento.
+ */
+@DisplayName("Testes do ContaService Particionado")
+class ContaServiceParticionadoTest {
+
+    private ContaService contaService;
+
+    @BeforeEach
+    void setUp() {
+        contaService = new ContaService(ContaRepository.concorrente());
+    }
+
+    @Test
+    @DisplayName("Deve executar as operações e completar os futuros")
+    void deveExecutarOperacoes() throws Exception {
+        // Given
+        String joao = contaService.criarConta("João Silva", "11144477735").getId();
+        String maria = contaService.criarConta("Maria Santos", "11122233396").getId();
+
+        try (ContaServiceParticionado particionado = new ContaServiceParticionado(contaService, 4, 64)) {
+            // When
+            particionado.depositar(joao, new BigDecimal("1000.00"))
+                .thenCompose(v -> particionado.sacar(joao, new BigDecimal("100.00")))
+                .thenCompose(v -> particionado.transferir(joao, maria, new BigDecimal("300.00")))
+                .get(10, TimeUnit.SECONDS);
+
+            // Then
+            assertEquals(new BigDecimal("600.00"), particionado.consultarSaldo(joao).get(10, TimeUnit.SECONDS));
+            assertEquals(new BigDecimal("300.00"), particionado.consultarSaldo(maria).get(10, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve aplicar uma vez as operações repetidas com a mesma chave")
+    void deveAplicarUmaVezComMesmaChave() throws Exception {
+        // Given
+        String joao = contaService.criarConta("João Silva", "11144477735").getId();
+        String maria = contaService.criarConta("Maria Santos", "11122233396").getId();
+
+        try (ContaServiceParticionado particionado = new ContaServiceParticionado(contaService, 4, 64)) {
+            // When
+            SaldoVersionado deposito = particionado.depositar(joao, new BigDecimal("100.00"), "dep-1").get(10, TimeUnit.SECONDS);
+            SaldoVersionado depositoRepetido = particionado.depositar(joao, new BigDecimal("100.00"), "dep-1").get(10, TimeUnit.SECONDS);
+            particionado.sacar(joao, BigDecimal.TEN, "saq-1").get(10, TimeUnit.SECONDS);
+            particionado.sacar(joao, BigDecimal.TEN, "saq-1").get(10, TimeUnit.SECONDS);
+            ResultadoTransferencia transferencia = particionado.transferir(joao, maria, BigDecimal.ONE, "trf-1").get(10, TimeUnit.SECONDS);
+            ResultadoTransferencia transferenciaRepetida = particionado.transferir(joao, maria, BigDecimal.ONE, "trf-1").get(10, TimeUnit.SECONDS);
+
+            // Then
+            assertSame(deposito, depositoRepetido);
+            assertSame(transferencia, transferenciaRepetida);
+            assertEquals(new BigDecimal("89.00"), particionado.consultarSaldo(joao).get(10, TimeUnit.SECONDS));
+            assertEquals(new BigDecimal("1"), particionado.consultarSaldo(maria).get(10, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve completar o futuro com a exceção da operação")
+    void deveCompletarComExcecao() {
+        // Given
+        String joao = contaService.criarConta("João Silva", "11144477735").getId();
+        String maria = contaService.criarConta("Maria Santos", "11122233396").getId();
+
+        try (ContaServiceParticionado particionado = new ContaServiceParticionado(contaService, 4, 64)) {
+            // When
+            CompletableFuture<Void> deposito = particionado.depositar("999999", BigDecimal.TEN);
+            CompletableFuture<Void> transferencia = particionado.transferir(joao, maria, BigDecimal.TEN);
+
+            // Then
+            ExecutionException exception = assertThrows(ExecutionException.class, () -> deposito.get(10, TimeUnit.SECONDS));
+            assertTrue(exception.getCause().getMessage().contains("Conta não encontrada"));
+            exception = assertThrows(ExecutionException.class, () -> transferencia.get(10, TimeUnit.SECONDS));
+            assertEquals("Saldo insuficiente na conta de origem", exception.getCause().getMessage());
+        }
+        assertEquals(0, contaService.consultarSaldo(joao).signum());
+        assertEquals(0, contaService.consultarSaldo(maria).signum());
+    }
+
+    @Test
+    @DisplayName("Deve aceitar operações publicadas pela própria partição com a fila cheia")
+    void deveAceitarOperacoesDaPropriaParticao() throws Exception {
+        // Given
+        String id = contaService.criarConta("João Silva", "11144477735").getId();
+        AtomicReference<ContaServiceParticionado> servico = new AtomicReference<>();
+        AtomicBoolean primeiro = new AtomicBoolean(true);
+        List<CompletableFuture<Void>> encadeados = new ArrayList<>();
+        contaService.registrarObservador(new ObservadorOperacoes() {
+            @Override
+            public void aoDepositar(Conta conta, BigDecimal valor, SaldoVersionado resultado) {
+                if (primeiro.compareAndSet(true, false)) {
+                    for (int i = 0; i < 8; i++) {
+                        encadeados.add(servico.get().depositar(id, BigDecimal.ONE));
+                    }
+                }
+            }
+        });
+
+        try (ContaServiceParticionado particionado = new ContaServiceParticionado(contaService, 1, 2)) {
+            servico.set(particionado);
+
+            // When
+            particionado.depositar(id, BigDecimal.ONE).get(10, TimeUnit.SECONDS);
+            CompletableFuture.allOf(encadeados.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+
+            // Then
+            assertEquals(8, encadeados.size());
+            assertEquals(new BigDecimal("9"), particionado.consultarSaldo(id).get(10, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve conservar o total em transferências concorrentes entre partições")
+    void deveConservarTotalEmTransferenciasConcorrentes() throws Exception {
+        // Given
+        AtomicInteger notificacoes = new AtomicInteger();
+        contaService.registrarObservador(new ObservadorOperacoes() {
+            @Override
+            public void aoTransferir(Conta origem, Conta destino, BigDecimal valor, ResultadoTransferencia resultado) {
+                notificacoes.incrementAndGet();
+            }
+        });
+        List<String> ids = new ArrayList<>();
+        String[] cpfs = {"11144477735", "11122233396", "52998224725", "12345678909",
+                "98765432100", "39053344705", "71428793860", "15350946056"};
+        for (int i = 0; i < cpfs.length; i++) {
+            String id = contaService.criarConta("Cliente " + i, cpfs[i]).getId();
+            contaService.depositar(id, new BigDecimal("100.00"));
+            ids.add(id);
+        }
+
+        // When
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try (ContaServiceParticionado particionado = new ContaServiceParticionado(contaService, 4, 16)) {
+            List<CompletableFuture<Void>> futuros = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int deslocamento = t;
+                executor.submit(() -> {
+                    for (int i = 0; i < 2000; i++) {
+                        String origem = ids.get((i + deslocamento) % ids.size());
+                        String destino = ids.get((i * 3 + deslocamento + 1) % ids.size());
+                        if (!origem.equals(destino)) {
+                            CompletableFuture<Void> futuro = particionado.transferir(origem, destino, new BigDecimal("7.00"));
+                            synchronized (futuros) {
+                                futuros.add(futuro);
+                            }
+                        }
+                    }
+                });
+            }
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+            CompletableFuture.allOf(futuros.toArray(new CompletableFuture[0])).exceptionally(e -> null).get(30, TimeUnit.SECONDS);
+
+            // Then
+            long concluidas = futuros.stream().filter(futuro -> !futuro.isCompletedExceptionally()).count();
+            assertEquals(concluidas, notificacoes.get());
+        }
+        BigDecimal total = BigDecimal.ZERO;
+        for (String id : ids) {
+            BigDecimal saldo = contaService.consultarSaldo(id);
+            assertTrue(saldo.signum() >= 0);
+            total = total.add(saldo);
+        }
+        assertEquals(new BigDecimal("800.00"), total);
+    }
+
+    @Test
+    @DisplayName("Deve medir e contar as transferências entre partições")
+    void deveMedirTransferenciasEntreParticoes() throws Exception {
+        // Given
+        String[] ids = new String[8];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = contaService.criarConta("Cliente " + i, ContaRepositoryTest.gerarCpfValido(700_000_000 + i)).getId();
+            contaService.depositar(ids[i], new BigDecimal("100.00"));
+        }
+
+        try (ContaServiceParticionado particionado = new ContaServiceParticionado(contaService, 4, 64)) {
+            // When
+            List<CompletableFuture<Void>> futuros = new ArrayList<>();
+            for (int i = 0; i < ids.length; i++) {
+                futuros.add(particionado.transferir(ids[i], ids[(i + 1) % ids.length], BigDecimal.ONE));
+            }
+            CompletableFuture.allOf(futuros.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+            CompletableFuture<Void> semSaldo = particionado.transferir(ids[0], ids[1], new BigDecimal("1000.00"));
+            assertThrows(ExecutionException.class, () -> semSaldo.get(10, TimeUnit.SECONDS));
+        }
+
+        // Then
+        assertEquals(ids.length, contaService.getContadores().getConcluidas(Operacao.TRANSFERIR));
+        assertEquals(1, contaService.getContadores().getComErro(Operacao.TRANSFERIR));
+        assertEquals(ids.length, contaService.getMetricas().capturar(Operacao.TRANSFERIR, Desfecho.SUCESSO).getTotal());
+        assertEquals(1, contaService.getMetricas().capturar(Operacao.TRANSFERIR, Desfecho.ERRO).getTotal());
+    }
+
+    @Test
+    @DisplayName("Deve recusar operações após o encerramento")
+    void deveRecusarOperacoesAposEncerramento() {
+        // Given
+        String id = contaService.criarConta("João Silva", "11144477735").getId();
+        ContaServiceParticionado particionado = new ContaServiceParticionado(contaService, 2, 8);
+        CompletableFuture<Void> deposito = particionado.depositar(id, BigDecimal.TEN);
+
+        // When
+        particionado.close();
+
+        // Then
+        assertTrue(deposito.isDone());
+        assertEquals(BigDecimal.TEN, contaService.consultarSaldo(id));
+        assertThrows(RejectedExecutionException.class, () -> particionado.sacar(id, BigDecimal.ONE));
+    }
+}
@@ -2,16 +2,29 @@ package sistema.bancario;
 
 import model.Cliente;
 import model.Conta;
+import model.ResultadoTransferencia;
+import model.SaldoVersionado;
 import repository.ContaRepository;
+import service.CacheIdempotencia;
 import service.ContaService;
+import service.ObservadorOperacoes;
+import service.OperacaoLote;
+import service.ResultadoOperacao;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -471,6 +484,242 @@ class ContaServiceTest {
         }
     }
     
+    @Nested
+    @DisplayName("Testes de Operações em Lote")
+    class TestsLote {
+        
+        private Conta contaJoao;
+        private Conta contaMaria;
+        
+        @BeforeEach
+        void setUp() {
+            contaJoao = contaService.criarConta("João Silva", "11144477735");
+            contaMaria = contaService.criarConta("Maria Santos", "11122233396");
+        }
+        
+        @Test
+        @DisplayName("Deve aplicar depósitos, saques e transferências do lote")
+        void deveAplicarOperacoesDoLote() {
+            // Given
+            List<OperacaoLote> operacoes = List.of(
+                OperacaoLote.deposito(contaJoao.getId(), new BigDecimal("1000.00")),
+                OperacaoLote.saque(contaJoao.getId(), new BigDecimal("100.00")),
+                OperacaoLote.transferencia(contaJoao.getId(), contaMaria.getId(), new BigDecimal("400.00")),
+                OperacaoLote.deposito(contaMaria.getId(), new BigDecimal("50.00"))
+            );
+            
+            // When
+            List<ResultadoOperacao> resultados = contaService.executarLote(operacoes);
+            
+            // Then
+            assertTrue(resultados.stream().allMatch(ResultadoOperacao::isSucesso));
+            assertEquals(new BigDecimal("500.00"), contaService.consultarSaldo(contaJoao.getId()));
+            assertEquals(new BigDecimal("450.00"), contaService.consultarSaldo(contaMaria.getId()));
+            assertEquals(new BigDecimal("500.00"), resultados.get(2).getEstado().getSaldo());
+            assertEquals(3, resultados.get(2).getEstado().getVersao());
+        }
+        
+        @Test
+        @DisplayName("Deve falhar apenas as operações inválidas ou sem saldo")
+        void deveFalharApenasOperacoesInvalidas() {
+            // Given
+            List<OperacaoLote> operacoes = List.of(
+                OperacaoLote.deposito(contaJoao.getId(), new BigDecimal("100.00")),
+                OperacaoLote.saque(contaJoao.getId(), new BigDecimal("500.00")),
+                OperacaoLote.deposito("999999", new BigDecimal("10.00")),
+                OperacaoLote.deposito(contaMaria.getId(), new BigDecimal("-5.00")),
+                OperacaoLote.transferencia(contaMaria.getId(), contaJoao.getId(), new BigDecimal("1.00")),
+                OperacaoLote.saque(contaJoao.getId(), new BigDecimal("30.00"))
+            );
+            
+            // When
+            List<ResultadoOperacao> resultados = contaService.executarLote(operacoes);
+            
+            // Then
+            assertEquals(List.of(true, false, false, false, false, true),
+                resultados.stream().map(ResultadoOperacao::isSucesso).toList());
+            assertTrue(resultados.get(1).getMensagemErro().contains("Saldo insuficiente"));
+            assertTrue(resultados.get(2).getMensagemErro().contains("não encontrada"));
+            assertTrue(resultados.get(3).getMensagemErro().contains("positivo"));
+            assertTrue(resultados.get(4).getMensagemErro().contains("Saldo insuficiente"));
+            assertEquals(new BigDecimal("70.00"), contaService.consultarSaldo(contaJoao.getId()));
+            assertEquals(0, contaService.consultarSaldo(contaMaria.getId()).compareTo(BigDecimal.ZERO));
+        }
+        
+        @Test
+        @DisplayName("Não deve usar crédito recebido no lote para cobrir débito do mesmo lote")
+        void naoDeveUsarCreditoDoLoteParaCobrirDebito() {
+            // Given
+            contaService.depositar(contaJoao.getId(), new BigDecimal("100.00"));
+            List<OperacaoLote> operacoes = List.of(
+                OperacaoLote.transferencia(contaJoao.getId(), contaMaria.getId(), new BigDecimal("100.00")),
+                OperacaoLote.saque(contaMaria.getId(), new BigDecimal("100.00"))
+            );
+            
+            // When
+            List<ResultadoOperacao> resultados = contaService.executarLote(operacoes);
+            
+            // Then
+            assertTrue(resultados.get(0).isSucesso());
+            assertFalse(resultados.get(1).isSucesso());
+            assertEquals(new BigDecimal("100.00"), contaService.consultarSaldo(contaMaria.getId()));
+        }
+
+        @Test
+        @DisplayName("Deve notificar o lote antes de publicar e desfazê-lo se o observador falhar")
+        void deveDesfazerLoteSeObservadorFalhar() {
+            // Given
+            contaService.depositar(contaJoao.getId(), new BigDecimal("100.00"));
+            List<BigDecimal> saldosVistos = new ArrayList<>();
+            contaService.registrarObservador(new ObservadorOperacoes() {
+                @Override
+                public void aoExecutarLote(List<Consumer<ObservadorOperacoes>> operacoes) {
+                    saldosVistos.add(contaJoao.getSaldo());
+                    saldosVistos.add(contaMaria.getSaldo());
+                    throw new IllegalStateException("Falha ao gravar o lote");
+                }
+            });
+            List<OperacaoLote> operacoes = List.of(
+                OperacaoLote.transferencia(contaJoao.getId(), contaMaria.getId(), new BigDecimal("60.00")),
+                OperacaoLote.deposito(contaMaria.getId(), new BigDecimal("10.00"))
+            );
+            
+            // When
+            assertThrows(IllegalStateException.class, () -> contaService.executarLote(operacoes));
+            
+            // Then
+            assertEquals(List.of(new BigDecimal("100.00"), BigDecimal.ZERO), saldosVistos);
+            assertEquals(new BigDecimal("100.00"), contaJoao.getSaldo());
+            assertEquals(1, contaJoao.getEstado().getVersao());
+            assertEquals(0, contaMaria.getSaldo().signum());
+            assertEquals(0, contaMaria.getEstado().getVersao());
+        }
+    }
+    
+    @Nested
+    @DisplayName("Testes de Idempotência")
+    class TestsIdempotencia {
+        
+        private Conta contaJoao;
+        private Conta contaMaria;
+        
+        @BeforeEach
+        void setUp() {
+            contaJoao = contaService.criarConta("João Silva", "11144477735");
+            contaMaria = contaService.criarConta("Maria Santos", "11122233396");
+        }
+        
+        @Test
+        @DisplayName("Deve aplicar apenas uma vez as operações com a mesma chave")
+        void deveAplicarUmaVezComMesmaChave() {
+            // When
+            SaldoVersionado primeiro = contaService.depositar(contaJoao.getId(), new BigDecimal("100.00"), "dep-1");
+            SaldoVersionado repetido = contaService.depositar(contaJoao.getId(), new BigDecimal("100.0"), "dep-1");
+            ResultadoTransferencia transferencia = contaService.transferir(contaJoao.getId(), contaMaria.getId(), new BigDecimal("40.00"), "trf-1");
+            ResultadoTransferencia transferenciaRepetida = contaService.transferir(contaJoao.getId(), contaMaria.getId(), new BigDecimal("40.00"), "trf-1");
+            
+            // Then
+            assertSame(primeiro, repetido);
+            assertSame(transferencia, transferenciaRepetida);
+            assertEquals(new BigDecimal("60.00"), contaService.consultarSaldo(contaJoao.getId()));
+            assertEquals(new BigDecimal("40.00"), contaService.consultarSaldo(contaMaria.getId()));
+        }
+        
+        @Test
+        @DisplayName("Deve recusar chave reutilizada em outra operação")
+        void deveRecusarChaveReutilizada() {
+            // Given
+            contaService.depositar(contaJoao.getId(), new BigDecimal("100.00"), "op-1");
+            
+            // When & Then
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> contaService.sacar(contaJoao.getId(), new BigDecimal("100.00"), "op-1"));
+            assertTrue(exception.getMessage().contains("já usada em outra operação"));
+            assertThrows(IllegalArgumentException.class,
+                () -> contaService.depositar(contaJoao.getId(), new BigDecimal("50.00"), "op-1"));
+            assertEquals(new BigDecimal("100.00"), contaService.consultarSaldo(contaJoao.getId()));
+        }
+        
+        @Test
+        @DisplayName("Deve permitir nova tentativa após operação com erro")
+        void devePermitirNovaTentativaAposErro() {
+            // Given
+            assertThrows(IllegalArgumentException.class,
+                () -> contaService.sacar(contaJoao.getId(), new BigDecimal("50.00"), "saque-1"));
+            contaService.depositar(contaJoao.getId(), new BigDecimal("80.00"));
+            
+            // When
+            SaldoVersionado resultado = contaService.sacar(contaJoao.getId(), new BigDecimal("50.00"), "saque-1");
+            
+            // Then
+            assertEquals(new BigDecimal("30.00"), resultado.getSaldo());
+        }
+        
+        @Test
+        @DisplayName("Deve guardar a falha que não é de validação e devolvê-la nas repetições")
+        void deveGuardarFalhaQueNaoEDeValidacao() {
+            // Given
+            AtomicInteger notificacoes = new AtomicInteger();
+            contaService.registrarObservador(new ObservadorOperacoes() {
+                @Override
+                public void aoDepositar(Conta conta, BigDecimal valor, SaldoVersionado resultado) {
+                    notificacoes.incrementAndGet();
+                    throw new IllegalStateException("Falha ao gravar o journal");
+                }
+            });
+            IllegalStateException original = assertThrows(IllegalStateException.class,
+                () -> contaService.depositar(contaJoao.getId(), BigDecimal.TEN, "dep-falha"));
+            
+            // When
+            IllegalStateException repetida = assertThrows(IllegalStateException.class,
+                () -> contaService.depositar(contaJoao.getId(), BigDecimal.TEN, "dep-falha"));
+            
+            // Then
+            assertSame(original, repetida);
+            assertEquals(1, notificacoes.get());
+            assertEquals(0, contaService.consultarSaldo(contaJoao.getId()).signum());
+        }
+        
+        @Test
+        @DisplayName("Deve aplicar uma vez repetições concorrentes da mesma chave")
+        void deveAplicarUmaVezRepeticoesConcorrentes() throws Exception {
+            // Given
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            List<Future<SaldoVersionado>> futuros = new ArrayList<>();
+            
+            // When
+            for (int i = 0; i < 64; i++) {
+                futuros.add(executor.submit(() -> contaService.depositar(contaJoao.getId(), BigDecimal.TEN, "dep-concorrente")));
+            }
+            executor.shutdown();
+            
+            // Then
+            SaldoVersionado primeiro = futuros.get(0).get();
+            for (Future<SaldoVersionado> futuro : futuros) {
+                assertSame(primeiro, futuro.get());
+            }
+            assertEquals(BigDecimal.TEN, contaService.consultarSaldo(contaJoao.getId()));
+        }
+        
+        @Test
+        @DisplayName("Deve descartar as chaves mais antigas ao atingir o limite")
+        void deveDescartarChavesMaisAntigas() {
+            // Given
+            CacheIdempotencia cache = new CacheIdempotencia(2, Duration.ofHours(1));
+            ContaService servico = new ContaService(contaRepository, cache);
+            
+            // When
+            servico.depositar(contaJoao.getId(), BigDecimal.ONE, "a");
+            servico.depositar(contaJoao.getId(), BigDecimal.ONE, "b");
+            servico.depositar(contaJoao.getId(), BigDecimal.ONE, "c");
+            servico.depositar(contaJoao.getId(), BigDecimal.ONE, "a");
+            
+            // Then
+            assertEquals(2, cache.getTamanho());
+            assertEquals(new BigDecimal("4"), servico.consultarSaldo(contaJoao.getId()));
+        }
+    }
+    
     @Test
     @DisplayName("Deve retornar total de contas correto")
     void deveRetornarTotalDeContasCorreto() {
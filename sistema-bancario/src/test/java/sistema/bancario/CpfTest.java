@@ -0,0 +1,65 @@
+package sistema.bancario;
+
+import model.Cpf;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para a leitura e validação de CPF.
+ */
+@DisplayName("Testes de Leitura de CPF")
+class CpfTest {
+
+    @Test
+    @DisplayName("Deve converter CPF com ou sem formatação")
+    void deveConverterCpfComOuSemFormatacao() {
+        assertEquals(11144477735L, Cpf.converter("11144477735"));
+        assertEquals(11144477735L, Cpf.converter("111.444.777-35"));
+        assertEquals(11144477735L, Cpf.converter(" 111 444 777 35 "));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar CPF com dígitos verificadores, tamanho ou dígitos repetidos inválidos")
+    void deveRejeitarCpfInvalido() {
+        assertEquals(Cpf.INVALIDO, Cpf.converter("11144477736"));
+        assertEquals(Cpf.INVALIDO, Cpf.converter("11144477725"));
+        assertEquals(Cpf.INVALIDO, Cpf.converter("1114447773"));
+        assertEquals(Cpf.INVALIDO, Cpf.converter("111444777350"));
+        assertEquals(Cpf.INVALIDO, Cpf.converter("000.000.000-00"));
+        assertEquals(Cpf.INVALIDO, Cpf.converter(""));
+        assertEquals(Cpf.INVALIDO, Cpf.converter(null));
+    }
+
+    @Test
+    @DisplayName("Deve normalizar sem copiar CPF já sem formatação")
+    void deveNormalizarSemCopiarCpfSemFormatacao() {
+        // Given
+        String semFormatacao = "11144477735";
+
+        // When & Then
+        assertSame(semFormatacao, Cpf.normalizar(semFormatacao));
+        assertEquals(semFormatacao, Cpf.normalizar("111.444.777-35"));
+        assertNull(Cpf.normalizar("111.444.777-36"));
+    }
+
+    @Test
+    @DisplayName("Deve escrever CPF com zeros à esquerda")
+    void deveEscreverCpfComZerosAEsquerda() {
+        assertEquals(191L, Cpf.converter("000.000.001-91"));
+        assertEquals("00000000191", Cpf.paraTexto(191L));
+    }
+
+    @Test
+    @DisplayName("Deve validar e formatar o número do CPF sem passar por texto")
+    void deveValidarEFormatarNumeroDoCpf() {
+        assertTrue(Cpf.isValido(11144477735L));
+        assertFalse(Cpf.isValido(11144477736L));
+        assertFalse(Cpf.isValido(22222222222L));
+        assertFalse(Cpf.isValido(-1L));
+        assertFalse(Cpf.isValido(111444777350L));
+        assertEquals("111.444.777-35", Cpf.formatar(11144477735L));
+        assertEquals("000.000.001-91", Cpf.formatar(191L));
+    }
+}
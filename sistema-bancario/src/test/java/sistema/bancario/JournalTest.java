@@ -0,0 +1,230 @@
+package sistema.bancario;
+
+import model.Conta;
+import persistence.Journal;
+import repository.ContaRepository;
+import service.ContaService;
+import service.OperacaoLote;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do journal de escrita antecipada.
+ * Grava operações, reabre o arquivo e verifica o estado recuperado.
+ */
+@DisplayName("Testes do Journal")
+class JournalTest {
+
+    @TempDir
+    Path diretorio;
+
+    @Test
+    @DisplayName("Deve recuperar contas e saldos após reinício")
+    void deveRecuperarContasESaldosAposReinicio() throws IOException {
+        // Given
+        String idJoao;
+        String idMaria;
+        try (Journal journal = Journal.abrir(diretorio)) {
+            ContaService contaService = new ContaService(new ContaRepository());
+            contaService.registrarObservador(journal);
+            idJoao = contaService.criarConta("João Silva", "11144477735").getId();
+            idMaria = contaService.criarConta("Maria Santos", "11122233396").getId();
+            contaService.depositar(idJoao, new BigDecimal("1000.00"));
+            contaService.sacar(idJoao, new BigDecimal("200.00"));
+            contaService.transferir(idJoao, idMaria, new BigDecimal("300.00"));
+        }
+
+        // When
+        ContaRepository recuperado = new ContaRepository();
+        int contas;
+        try (Journal journal = Journal.abrir(diretorio)) {
+            contas = journal.recuperar(recuperado);
+        }
+
+        // Then
+        assertEquals(2, contas);
+        Conta joao = recuperado.buscarPorId(idJoao).orElseThrow();
+        Conta maria = recuperado.buscarPorId(idMaria).orElseThrow();
+        assertEquals(new BigDecimal("500.00"), joao.getSaldo());
+        assertEquals(new BigDecimal("300.00"), maria.getSaldo());
+        assertEquals("João Silva", joao.getCliente().getNome());
+        assertEquals(3, joao.getEstado().getVersao());
+    }
+
+    @Test
+    @DisplayName("Deve descartar registro final incompleto e continuar gravando")
+    void deveDescartarRegistroFinalIncompleto() throws IOException {
+        // Given
+        String id;
+        try (Journal journal = Journal.abrir(diretorio)) {
+            ContaService contaService = new ContaService(new ContaRepository());
+            contaService.registrarObservador(journal);
+            id = contaService.criarConta("João Silva", "11144477735").getId();
+            contaService.depositar(id, new BigDecimal("100.00"));
+        }
+        Files.write(diretorio.resolve("journal-00000001.log"), new byte[] {0, 0, 0, 40, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        // When
+        ContaRepository repositorio = new ContaRepository();
+        try (Journal journal = Journal.abrir(diretorio)) {
+            journal.recuperar(repositorio);
+            ContaService contaService = new ContaService(repositorio);
+            contaService.registrarObservador(journal);
+            contaService.depositar(id, new BigDecimal("50.00"));
+        }
+        ContaRepository reaberto = new ContaRepository();
+        try (Journal journal = Journal.abrir(diretorio)) {
+            journal.recuperar(reaberto);
+        }
+
+        // Then
+        assertEquals(new BigDecimal("150.00"), reaberto.buscarPorId(id).orElseThrow().getSaldo());
+    }
+
+    @Test
+    @DisplayName("Deve descartar registro final com tamanho corrompido")
+    void deveDescartarRegistroComTamanhoCorrompido() throws IOException {
+        // Given
+        String id;
+        try (Journal journal = Journal.abrir(diretorio)) {
+            ContaService contaService = new ContaService(new ContaRepository());
+            contaService.registrarObservador(journal);
+            id = contaService.criarConta("João Silva", "11144477735").getId();
+            contaService.depositar(id, new BigDecimal("100.00"));
+        }
+        Files.write(diretorio.resolve("journal-00000001.log"),
+                new byte[] {0x7F, (byte) 0xFF, (byte) 0xFF, (byte) 0xF0, 1, 2, 3, 4, 5, 6}, StandardOpenOption.APPEND);
+
+        // When
+        ContaRepository repositorio = new ContaRepository();
+        try (Journal journal = Journal.abrir(diretorio)) {
+            journal.recuperar(repositorio);
+        }
+
+        // Then
+        assertEquals(new BigDecimal("100.00"), repositorio.buscarPorId(id).orElseThrow().getSaldo());
+    }
+
+    @Test
+    @DisplayName("Não deve recuperar conta cuja inserção no repositório falhou")
+    void naoDeveRecuperarContaNaoInserida() throws IOException {
+        // Given
+        String idJoao;
+        try (Journal journal = Journal.abrir(diretorio)) {
+            ContaService contaService = new ContaService(ContaRepository.foraDoHeap(1));
+            contaService.registrarObservador(journal);
+            idJoao = contaService.criarConta("João Silva", "11144477735").getId();
+
+            // When
+            assertThrows(IllegalStateException.class, () -> contaService.criarConta("Maria Santos", "11122233396"));
+        }
+
+        // Then
+        ContaRepository recuperado = new ContaRepository();
+        try (Journal journal = Journal.abrir(diretorio)) {
+            assertEquals(1, journal.recuperar(recuperado));
+        }
+        assertTrue(recuperado.buscarPorId(idJoao).isPresent());
+        assertFalse(recuperado.existePorCpf("11122233396"));
+    }
+
+    @Test
+    @DisplayName("Deve registrar operações concorrentes com group commit")
+    void deveRegistrarOperacoesConcorrentes() throws Exception {
+        // Given
+        String id;
+        try (Journal journal = Journal.abrir(diretorio)) {
+            ContaService contaService = new ContaService(ContaRepository.concorrente());
+            contaService.registrarObservador(journal);
+            id = contaService.criarConta("João Silva", "11144477735").getId();
+
+            // When
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            for (int i = 0; i < 400; i++) {
+                executor.submit(() -> contaService.depositar(id, BigDecimal.ONE));
+            }
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        }
+
+        // Then
+        ContaRepository recuperado = new ContaRepository();
+        try (Journal journal = Journal.abrir(diretorio)) {
+            journal.recuperar(recuperado);
+        }
+        Conta conta = recuperado.buscarPorId(id).orElseThrow();
+        assertEquals(new BigDecimal("400"), conta.getSaldo());
+        assertEquals(400, conta.getEstado().getVersao());
+    }
+
+    @Test
+    @DisplayName("Deve recuperar as operações de um lote gravado de uma só vez")
+    void deveRecuperarOperacoesDeLote() throws IOException {
+        // Given
+        String idJoao;
+        String idMaria;
+        try (Journal journal = Journal.abrir(diretorio)) {
+            ContaService contaService = new ContaService(new ContaRepository());
+            contaService.registrarObservador(journal);
+            idJoao = contaService.criarConta("João Silva", "11144477735").getId();
+            idMaria = contaService.criarConta("Maria Santos", "11122233396").getId();
+            contaService.executarLote(List.of(
+                OperacaoLote.deposito(idJoao, new BigDecimal("1000.00")),
+                OperacaoLote.saque(idJoao, new BigDecimal("200.00")),
+                OperacaoLote.transferencia(idJoao, idMaria, new BigDecimal("300.00")),
+                OperacaoLote.saque(idMaria, new BigDecimal("1.00"))
+            ));
+        }
+
+        // When
+        ContaRepository recuperado = new ContaRepository();
+        try (Journal journal = Journal.abrir(diretorio)) {
+            journal.recuperar(recuperado);
+        }
+
+        // Then
+        assertEquals(new BigDecimal("500.00"), recuperado.buscarPorId(idJoao).orElseThrow().getSaldo());
+        assertEquals(new BigDecimal("300.00"), recuperado.buscarPorId(idMaria).orElseThrow().getSaldo());
+        assertEquals(3, recuperado.buscarPorId(idJoao).orElseThrow().getEstado().getVersao());
+    }
+
+    @Test
+    @DisplayName("Não deve publicar operações que o journal não gravou")
+    void naoDevePublicarOperacoesNaoGravadas() throws IOException {
+        // Given
+        ContaRepository repositorio = new ContaRepository();
+        ContaService contaService = new ContaService(repositorio);
+        Journal journal = Journal.abrir(diretorio);
+        contaService.registrarObservador(journal);
+        Conta joao = contaService.criarConta("João Silva", "11144477735");
+        Conta maria = contaService.criarConta("Maria Santos", "11122233396");
+        contaService.depositar(joao.getId(), new BigDecimal("100.00"));
+        journal.close();
+
+        // When
+        assertThrows(IllegalStateException.class, () -> contaService.depositar(joao.getId(), BigDecimal.TEN));
+        assertThrows(IllegalStateException.class, () -> contaService.sacar(joao.getId(), BigDecimal.TEN));
+        assertThrows(IllegalStateException.class, () -> contaService.transferir(joao.getId(), maria.getId(), BigDecimal.TEN));
+        assertThrows(IllegalStateException.class, () -> contaService.criarConta("Ana Costa", "52998224725"));
+
+        // Then
+        assertEquals(new BigDecimal("100.00"), joao.getSaldo());
+        assertEquals(1, joao.getEstado().getVersao());
+        assertEquals(0, maria.getSaldo().signum());
+        assertFalse(repositorio.existePorCpf("52998224725"));
+        assertEquals(2, repositorio.getTotalContas());
+    }
+}
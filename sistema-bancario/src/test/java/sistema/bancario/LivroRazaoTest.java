@@ -0,0 +1,185 @@
+package sistema.bancario;
+
+import ledger.LivroRazao;
+import ledger.Movimentacao;
+import ledger.TipoMovimentacao;
+import repository.ContaRepository;
+import service.ContaService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do livro-razão de movimentações.
+ * Verifica o conteúdo do extrato e as consultas por intervalo de tempo.
+ */
+@DisplayName("Testes do Livro-Razão")
+class LivroRazaoTest {
+
+    private static final Instant INICIO = Instant.parse("2024-01-01T00:00:00Z");
+
+    private RelogioManual relogio;
+    private LivroRazao livro;
+    private ContaService contaService;
+
+    @BeforeEach
+    void setUp() {
+        relogio = new RelogioManual();
+        livro = new LivroRazao(relogio);
+        contaService = new ContaService(ContaRepository.concorrente());
+        contaService.registrarObservador(livro);
+    }
+
+    @Test
+    @DisplayName("Deve registrar movimentações com contraparte e saldo resultante")
+    void deveRegistrarMovimentacoes() {
+        // Given
+        String idJoao = contaService.criarConta("João Silva", "11144477735").getId();
+        String idMaria = contaService.criarConta("Maria Santos", "11122233396").getId();
+
+        // When
+        contaService.depositar(idJoao, new BigDecimal("1000.00"));
+        contaService.sacar(idJoao, new BigDecimal("200.00"));
+        contaService.transferir(idJoao, idMaria, new BigDecimal("300.00"));
+
+        // Then
+        List<Movimentacao> extrato = livro.extrato(idJoao).toList();
+        assertEquals(List.of(TipoMovimentacao.DEPOSITO, TipoMovimentacao.SAQUE, TipoMovimentacao.TRANSFERENCIA_ENVIADA),
+            extrato.stream().map(Movimentacao::getTipo).toList());
+        assertEquals(new BigDecimal("500.00"), extrato.get(2).getSaldoResultante());
+        assertEquals(idMaria, extrato.get(2).getContraparte());
+        assertNull(extrato.get(0).getContraparte());
+
+        Movimentacao recebida = livro.extrato(idMaria).findFirst().orElseThrow();
+        assertEquals(TipoMovimentacao.TRANSFERENCIA_RECEBIDA, recebida.getTipo());
+        assertEquals(new BigDecimal("300.00"), recebida.getValor());
+        assertEquals(idJoao, recebida.getContraparte());
+    }
+
+    @Test
+    @DisplayName("Deve retornar apenas as movimentações do intervalo")
+    void deveRetornarMovimentacoesDoIntervalo() {
+        // Given
+        String id = contaService.criarConta("João Silva", "11144477735").getId();
+        for (int i = 0; i < 1000; i++) {
+            relogio.definir(INICIO.plusSeconds(i));
+            contaService.depositar(id, BigDecimal.ONE);
+        }
+
+        // When
+        List<Movimentacao> extrato = livro.extrato(id, INICIO.plusSeconds(300), INICIO.plusSeconds(700)).toList();
+
+        // Then
+        assertEquals(400, extrato.size());
+        assertEquals(INICIO.plusSeconds(300), extrato.get(0).getInstante());
+        assertEquals(INICIO.plusSeconds(699), extrato.get(399).getInstante());
+        assertEquals(new BigDecimal("301"), extrato.get(0).getSaldoResultante());
+        assertEquals(0, livro.extrato(id, INICIO.minusSeconds(10), INICIO).count());
+    }
+
+    @Test
+    @DisplayName("Deve ler as movimentações em ordem ao atravessar blocos de tamanhos diferentes")
+    void deveLerMovimentacoesAtravesDosBlocos() {
+        // Given
+        String id = contaService.criarConta("João Silva", "11144477735").getId();
+        for (int i = 0; i < 600; i++) {
+            relogio.definir(INICIO.plusSeconds(i));
+            contaService.depositar(id, BigDecimal.ONE);
+        }
+
+        // When
+        List<Movimentacao> extrato = livro.extrato(id).toList();
+
+        // Then
+        assertEquals(600, extrato.size());
+        for (int i = 0; i < extrato.size(); i++) {
+            assertEquals(BigDecimal.valueOf(i + 1), extrato.get(i).getSaldoResultante());
+        }
+        for (int inicio : new int[] {7, 8, 23, 24, 247, 248, 503, 504}) {
+            Movimentacao primeira = livro.extrato(id, INICIO.plusSeconds(inicio), INICIO.plusSeconds(600))
+                    .findFirst().orElseThrow();
+            assertEquals(INICIO.plusSeconds(inicio), primeira.getInstante());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve manter instantes crescentes com registros concorrentes")
+    void deveManterInstantesCrescentes() throws Exception {
+        // Given
+        String id = contaService.criarConta("João Silva", "11144477735").getId();
+        relogio.definir(INICIO);
+
+        // When
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 800; i++) {
+            int segundos = i % 50;
+            executor.submit(() -> {
+                relogio.definir(INICIO.plusSeconds(segundos));
+                contaService.depositar(id, BigDecimal.ONE);
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        // Then
+        List<Movimentacao> extrato = livro.extrato(id).toList();
+        assertEquals(800, extrato.size());
+        for (int i = 1; i < extrato.size(); i++) {
+            assertFalse(extrato.get(i).getInstante().isBefore(extrato.get(i - 1).getInstante()));
+        }
+        assertEquals(800, livro.extrato(id, INICIO, INICIO.plusSeconds(3600)).count());
+    }
+
+    @Test
+    @DisplayName("Deve retornar extrato vazio para conta sem movimentações")
+    void deveRetornarExtratoVazio() {
+        // When & Then
+        assertEquals(0, livro.extrato("123456").count());
+        assertThrows(IllegalArgumentException.class,
+            () -> livro.extrato("123456", INICIO.plusSeconds(1), INICIO));
+    }
+
+    /**
+     * Relógio controlado pelo teste.
+     */
+    private static final class RelogioManual extends Clock {
+        private final AtomicLong milissegundos = new AtomicLong(INICIO.toEpochMilli());
+
+        void definir(Instant instante) {
+            milissegundos.set(instante.toEpochMilli());
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zona) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(milissegundos.get());
+        }
+
+        @Override
+        public long millis() {
+            return milissegundos.get();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package sistema.bancario;
+
+import metrics.Desfecho;
+import metrics.HistogramaLatencia;
+import metrics.Operacao;
+import metrics.PercentisLatencia;
+import repository.ContaRepository;
+import service.ContaService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes dos histogramas de latência.
+ * Verifica a precisão dos percentis e o registro das operações do serviço e do repositório.
+ */
+@DisplayName("Testes das Métricas de Latência")
+class MetricasLatenciaTest {
+
+    @Test
+    @DisplayName("Deve calcular percentis com erro relativo de até 3%")
+    void deveCalcularPercentis() {
+        // Given
+        HistogramaLatencia histograma = new HistogramaLatencia();
+        for (long nanos = 1; nanos <= 100_000; nanos++) {
+            histograma.registrar(nanos);
+        }
+
+        // When
+        PercentisLatencia percentis = histograma.capturar();
+
+        // Then
+        assertEquals(100_000, percentis.getTotal());
+        assertEquals(100_000, percentis.getMaximo());
+        assertEquals(50_000, percentis.getP50(), 50_000 * 0.03);
+        assertEquals(99_000, percentis.getP99(), 99_000 * 0.03);
+        assertEquals(99_900, percentis.getP999(), 99_900 * 0.03);
+        assertTrue(percentis.getP999() <= percentis.getMaximo());
+        assertEquals(1, percentis.getPercentil(0));
+    }
+
+    @Test
+    @DisplayName("Deve zerar o histograma ao capturar o intervalo")
+    void deveZerarAoCapturarIntervalo() {
+        // Given
+        HistogramaLatencia histograma = new HistogramaLatencia();
+        histograma.registrar(1_000);
+        histograma.registrar(Long.MAX_VALUE);
+
+        // When
+        PercentisLatencia intervalo = histograma.capturarEReiniciar();
+
+        // Then
+        assertEquals(2, intervalo.getTotal());
+        assertEquals(Long.MAX_VALUE, intervalo.getP99());
+        PercentisLatencia seguinte = histograma.capturar();
+        assertEquals(0, seguinte.getTotal());
+        assertEquals(0, seguinte.getP50());
+        assertEquals(0, seguinte.getMaximo());
+    }
+
+    @Test
+    @DisplayName("Deve registrar operações do serviço por desfecho")
+    void deveRegistrarOperacoesDoServicoPorDesfecho() {
+        // Given
+        ContaRepository repositorio = new ContaRepository();
+        ContaService contaService = new ContaService(repositorio);
+        String id = contaService.criarConta("João Silva", "11144477735").getId();
+
+        // When
+        contaService.depositar(id, new BigDecimal("100.00"));
+        contaService.depositar(id, new BigDecimal("50.00"));
+        assertThrows(IllegalArgumentException.class, () -> contaService.sacar(id, new BigDecimal("500.00")));
+
+        // Then
+        assertEquals(2, contaService.getMetricas().capturar(Operacao.DEPOSITAR, Desfecho.SUCESSO).getTotal());
+        assertEquals(0, contaService.getMetricas().capturar(Operacao.SACAR, Desfecho.SUCESSO).getTotal());
+        assertEquals(1, contaService.getMetricas().capturar(Operacao.SACAR, Desfecho.ERRO).getTotal());
+        assertEquals(3, repositorio.getMetricas().capturar(Operacao.BUSCAR_POR_ID, Desfecho.SUCESSO).getTotal());
+
+        Map<Operacao, Map<Desfecho, PercentisLatencia>> intervalo = contaService.getMetricas().capturarEReiniciar();
+        assertEquals(1, intervalo.get(Operacao.CRIAR_CONTA).get(Desfecho.SUCESSO).getTotal());
+        assertFalse(intervalo.containsKey(Operacao.TRANSFERIR));
+        assertTrue(contaService.getMetricas().capturarEReiniciar().isEmpty());
+    }
+}
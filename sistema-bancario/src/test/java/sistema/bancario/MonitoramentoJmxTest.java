@@ -0,0 +1,119 @@
+package sistema.bancario;
+
+import metrics.MotivoErro;
+import metrics.Operacao;
+import repository.ContaRepository;
+import repository.ContaRepositoryMXBean;
+import repository.MonitorContaRepository;
+import service.ContaService;
+import service.ContaServiceMXBean;
+import service.MonitorContaService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import javax.management.JMX;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes dos MBeans de monitoramento.
+ * Lê os atributos pelo servidor de MBeans da plataforma, como faria um console JMX.
+ */
+@DisplayName("Testes do Monitoramento JMX")
+class MonitoramentoJmxTest {
+
+    private final MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+
+    @Test
+    @DisplayName("Deve publicar contadores e erros por motivo do serviço")
+    void devePublicarContadoresDoServico() throws Exception {
+        // Given
+        ContaService contaService = new ContaService(ContaRepository.concorrente());
+        String id = contaService.criarConta("João Silva", "11144477735").getId();
+        contaService.depositar(id, new BigDecimal("100.00"));
+        assertThrows(IllegalArgumentException.class, () -> contaService.sacar(id, new BigDecimal("500.00")));
+        assertThrows(IllegalArgumentException.class, () -> contaService.depositar("999999", BigDecimal.ONE));
+        assertThrows(IllegalArgumentException.class, () -> contaService.criarConta("Maria Santos", "11111111111"));
+        assertThrows(IllegalArgumentException.class, () -> contaService.criarConta("Pedro Costa", " "));
+        assertThrows(IllegalArgumentException.class, () -> contaService.depositar(id, new BigDecimal("-1")));
+
+        try (MonitorContaService monitor = MonitorContaService.registrar(contaService, "ContaServiceTeste")) {
+            // When
+            ObjectName nome = new ObjectName("sistema.bancario", "type", "ContaServiceTeste");
+            ContaServiceMXBean proxy = JMX.newMXBeanProxy(servidor, nome, ContaServiceMXBean.class);
+
+            // Then
+            assertEquals(1, proxy.getTotalContas());
+            assertEquals(1L, proxy.getOperacoesConcluidas().get(Operacao.DEPOSITAR.name()));
+            assertEquals(1L, proxy.getOperacoesComErro().get(Operacao.SACAR.name()));
+            assertEquals(1L, proxy.getErrosPorMotivo().get(MotivoErro.SALDO_INSUFICIENTE.name()));
+            assertEquals(1L, proxy.getErrosPorMotivo().get(MotivoErro.CONTA_NAO_ENCONTRADA.name()));
+            assertEquals(2L, proxy.getErrosPorMotivo().get(MotivoErro.CPF_INVALIDO.name()));
+            assertEquals(1L, proxy.getErrosPorMotivo().get(MotivoErro.OUTRO.name()));
+
+            assertEquals(1, proxy.getLatencias().get(Operacao.DEPOSITAR.name()).total());
+            TabularData latencias = (TabularData) servidor.getAttribute(nome, "Latencias");
+            CompositeData deposito = (CompositeData) latencias.get(new Object[] {Operacao.DEPOSITAR.name()}).get("value");
+            assertTrue((Long) deposito.get("p99") > 0);
+        }
+        assertFalse(servidor.isRegistered(new ObjectName("sistema.bancario", "type", "ContaServiceTeste")));
+    }
+
+    @Test
+    @DisplayName("Deve calcular as taxas sem consumir a janela de amostras")
+    void deveCalcularTaxasSemConsumirJanela() throws Exception {
+        // Given
+        ContaService contaService = new ContaService(ContaRepository.concorrente());
+        String id = contaService.criarConta("João Silva", "11144477735").getId();
+
+        try (MonitorContaService monitor = MonitorContaService.registrar(contaService, "ContaServiceTaxas")) {
+            ObjectName nome = new ObjectName("sistema.bancario", "type", "ContaServiceTaxas");
+            ContaServiceMXBean proxy = JMX.newMXBeanProxy(servidor, nome, ContaServiceMXBean.class);
+            for (int i = 0; i < 10; i++) {
+                contaService.depositar(id, BigDecimal.ONE);
+            }
+
+            // When
+            double primeira = proxy.getTaxasPorSegundo().get(Operacao.DEPOSITAR.name());
+            double segunda = proxy.getTaxasPorSegundo().get(Operacao.DEPOSITAR.name());
+
+            // Then
+            assertTrue(primeira > 0);
+            assertTrue(segunda > 0);
+            assertEquals(0.0, proxy.getTaxasPorSegundo().get(Operacao.CRIAR_CONTA.name()));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve publicar tamanho dos índices e latências do repositório")
+    void devePublicarIndicesDoRepositorio() throws Exception {
+        // Given
+        ContaRepository repositorio = ContaRepository.concorrente();
+        ContaService contaService = new ContaService(repositorio);
+        String id = contaService.criarConta("João Silva", "11144477735").getId();
+        contaService.criarConta("Maria Santos", "11122233396");
+        repositorio.buscarPorId(id);
+
+        try (MonitorContaRepository monitor = MonitorContaRepository.registrar(repositorio, "ContaRepositoryTeste")) {
+            // When
+            ObjectName nome = new ObjectName("sistema.bancario", "type", "ContaRepositoryTeste");
+            ContaRepositoryMXBean proxy = JMX.newMXBeanProxy(servidor, nome, ContaRepositoryMXBean.class);
+
+            // Then
+            assertEquals(2, proxy.getTotalContas());
+            assertEquals(2L, proxy.getTamanhosIndices().get("id"));
+            assertEquals(2L, proxy.getTamanhosIndices().get("cpf"));
+            assertTrue(proxy.getTamanhosIndices().get("trigramas") > 0);
+            assertEquals(1, proxy.getLatencias().get(Operacao.BUSCAR_POR_ID.name()).total());
+
+            proxy.reiniciarLatencias();
+            assertTrue(proxy.getLatencias().isEmpty());
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package sistema.bancario;
+
+import model.Conta;
+import model.SaldoVersionado;
+import persistence.GerenciadorSnapshots;
+import persistence.Journal;
+import repository.ContaRepository;
+import service.ContaService;
+import service.ObservadorOperacoes;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes dos snapshots periódicos.
+ * Verifica a recuperação a partir do snapshot mais os segmentos seguintes do journal.
+ */
+@DisplayName("Testes de Snapshot")
+class SnapshotTest {
+
+    @TempDir
+    Path diretorio;
+
+    @Test
+    @DisplayName("Deve recuperar snapshot seguido das operações posteriores")
+    void deveRecuperarSnapshotEOperacoesPosteriores() throws IOException {
+        // Given
+        String id;
+        try (Journal journal = Journal.abrir(diretorio)) {
+            ContaRepository repositorio = new ContaRepository();
+            ContaService contaService = new ContaService(repositorio);
+            contaService.registrarObservador(journal);
+            id = contaService.criarConta("João Silva", "11144477735").getId();
+            contaService.depositar(id, new BigDecimal("1000.00"));
+
+            new GerenciadorSnapshots(journal, repositorio).gerarSnapshot();
+            contaService.sacar(id, new BigDecimal("250.00"));
+        }
+
+        // When
+        ContaRepository recuperado = new ContaRepository();
+        try (Journal journal = Journal.abrir(diretorio)) {
+            journal.recuperar(recuperado);
+        }
+
+        // Then
+        Conta conta = recuperado.buscarPorId(id).orElseThrow();
+        assertEquals(new BigDecimal("750.00"), conta.getSaldo());
+        assertEquals(2, conta.getEstado().getVersao());
+        assertEquals("11144477735", conta.getCliente().getCpf());
+    }
+
+    @Test
+    @DisplayName("Deve apagar segmentos e snapshots já cobertos")
+    void deveApagarSegmentosCobertos() throws IOException {
+        // Given
+        try (Journal journal = Journal.abrir(diretorio)) {
+            ContaRepository repositorio = new ContaRepository();
+            ContaService contaService = new ContaService(repositorio);
+            contaService.registrarObservador(journal);
+            GerenciadorSnapshots snapshots = new GerenciadorSnapshots(journal, repositorio);
+            String id = contaService.criarConta("João Silva", "11144477735").getId();
+
+            // When
+            snapshots.gerarSnapshot();
+            contaService.depositar(id, BigDecimal.TEN);
+            snapshots.gerarSnapshot();
+        }
+
+        // Then
+        assertEquals(List.of("journal-00000003.log", "snapshot-00000003.bin"), listarArquivos());
+    }
+
+    @Test
+    @DisplayName("Deve gerar snapshot enquanto operações continuam")
+    void deveGerarSnapshotDuranteOperacoes() throws Exception {
+        // Given
+        String id;
+        try (Journal journal = Journal.abrir(diretorio)) {
+            ContaRepository repositorio = ContaRepository.concorrente();
+            ContaService contaService = new ContaService(repositorio);
+            contaService.registrarObservador(journal);
+            GerenciadorSnapshots snapshots = new GerenciadorSnapshots(journal, repositorio);
+            id = contaService.criarConta("João Silva", "11144477735").getId();
+
+            // When
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            for (int i = 0; i < 400; i++) {
+                executor.submit(() -> contaService.depositar(id, BigDecimal.ONE));
+            }
+            for (int i = 0; i < 5; i++) {
+                snapshots.gerarSnapshot();
+            }
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        }
+
+        // Then
+        ContaRepository recuperado = new ContaRepository();
+        try (Journal journal = Journal.abrir(diretorio)) {
+            journal.recuperar(recuperado);
+        }
+        Conta conta = recuperado.buscarPorId(id).orElseThrow();
+        assertEquals(new BigDecimal("400"), conta.getSaldo());
+        assertEquals(400, conta.getEstado().getVersao());
+    }
+
+    @Test
+    @DisplayName("Deve incluir no snapshot as operações gravadas antes da troca de segmento")
+    void deveIncluirOperacoesGravadasAntesDaTroca() throws Exception {
+        // Given
+        String id;
+        CountDownLatch notificado = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        try (Journal journal = Journal.abrir(diretorio)) {
+            ContaRepository repositorio = ContaRepository.concorrente();
+            ContaService contaService = new ContaService(repositorio);
+            contaService.registrarObservador(journal);
+            id = contaService.criarConta("João Silva", "11144477735").getId();
+            contaService.registrarObservador(new ObservadorOperacoes() {
+                @Override
+                public void aoDepositar(Conta conta, BigDecimal valor, SaldoVersionado resultado) {
+                    // O depósito já está no journal, mas o saldo ainda não foi publicado
+                    notificado.countDown();
+                    try {
+                        liberar.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            });
+            GerenciadorSnapshots snapshots = new GerenciadorSnapshots(journal, repositorio);
+
+            // When
+            ExecutorService executor = Executors.newFixedThreadPool(2);
+            Future<?> deposito = executor.submit(() -> contaService.depositar(id, BigDecimal.TEN));
+            assertTrue(notificado.await(10, TimeUnit.SECONDS));
+            Future<Path> snapshot = executor.submit(snapshots::gerarSnapshot);
+            assertThrows(TimeoutException.class, () -> snapshot.get(200, TimeUnit.MILLISECONDS));
+            liberar.countDown();
+            deposito.get(10, TimeUnit.SECONDS);
+            snapshot.get(10, TimeUnit.SECONDS);
+            executor.shutdown();
+        }
+
+        // Then
+        ContaRepository recuperado = new ContaRepository();
+        try (Journal journal = Journal.abrir(diretorio)) {
+            journal.recuperar(recuperado);
+        }
+        assertEquals(BigDecimal.TEN, recuperado.buscarPorId(id).orElseThrow().getSaldo());
+    }
+
+    private List<String> listarArquivos() throws IOException {
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            return arquivos.map(arquivo -> arquivo.getFileName().toString()).sorted().toList();
+        }
+    }
+}